@@ -0,0 +1,146 @@
+package mil.nga.mgrs.grid.style;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Paint;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import mil.nga.color.Color;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Grid paints snapshot tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class GridPaintsTest {
+
+    /**
+     * Test snapshots are complete and unchanged by later style changes
+     */
+    @Test
+    public void testSnapshot() {
+
+        Grid grid = Grids.create().getGrid(GridType.KILOMETER);
+
+        GridPaints paints = grid.getPaints();
+        assertTrue(paints.isComplete());
+        assertEquals(GridType.KILOMETER, paints.getType());
+        assertSame(paints, grid.getPaints());
+        for (GridType lineType : grid.getLineTypes()) {
+            assertNotNull(paints.getLinePaint(lineType));
+        }
+        Paint linePaint = paints.getLinePaint(GridType.KILOMETER);
+        assertSame(linePaint, paints.getLinePaint(null));
+        assertNull(paints.getLinePaint(GridType.METER));
+
+        grid.setColor(GridType.KILOMETER, Color.red());
+        GridPaints changed = grid.getPaints();
+        assertNotSame(paints, changed);
+        assertSame(linePaint, paints.getLinePaint(GridType.KILOMETER));
+        assertNotSame(linePaint, changed.getLinePaint(GridType.KILOMETER));
+        assertEquals(Color.red().getColorWithAlpha(), changed.getLinePaint(GridType.KILOMETER).getColor());
+        assertSame(paints.getLinePaint(GridType.HUNDRED_KILOMETER),
+                changed.getLinePaint(GridType.HUNDRED_KILOMETER));
+
+        Paint previousLabelPaint = changed.getLabelPaint();
+        assertNotNull(previousLabelPaint);
+        Paint labelPaint = new Paint();
+        grid.setLabelPaint(labelPaint);
+        assertSame(labelPaint, grid.getPaints().getLabelPaint());
+        assertSame(previousLabelPaint, changed.getLabelPaint());
+
+        grid.resetLinePaint();
+        GridPaints reset = grid.getPaints();
+        assertTrue(reset.isComplete());
+        assertNotSame(changed.getLinePaint(GridType.KILOMETER), reset.getLinePaint(GridType.KILOMETER));
+        assertSame(labelPaint, reset.getLabelPaint());
+    }
+
+    /**
+     * Test a snapshot without paints
+     */
+    @Test
+    public void testCreate() {
+
+        GridPaints paints = GridPaints.create(GridType.TEN_KILOMETER);
+        assertEquals(GridType.TEN_KILOMETER, paints.getType());
+        assertFalse(paints.isComplete());
+        assertFalse(paints.isLabelPaintSet());
+        assertNull(paints.getLabelPaint());
+        assertNull(paints.getLinePaint(null));
+
+        Paint paint = new Paint();
+        GridPaints withPaint = paints.withLinePaint(GridType.TEN_KILOMETER, paint);
+        assertNull(paints.getLinePaint(GridType.TEN_KILOMETER));
+        assertSame(paint, withPaint.getLinePaint(null));
+
+        GridPaints withLabel = withPaint.withLabelPaint(null);
+        assertTrue(withLabel.isLabelPaintSet());
+        assertFalse(withPaint.isLabelPaintSet());
+        assertFalse(withLabel.withoutLabelPaint().isLabelPaintSet());
+        assertNull(withLabel.withoutLinePaints().getLinePaint(GridType.TEN_KILOMETER));
+        assertTrue(withLabel.asComplete().isComplete());
+    }
+
+    /**
+     * Test readers see consistent snapshots while the style changes
+     *
+     * @throws InterruptedException upon interruption
+     */
+    @Test
+    public void testConcurrent() throws InterruptedException {
+
+        final Grid grid = Grids.create().getGrid(GridType.HUNDRED_KILOMETER);
+        grid.setWidth(1.0);
+        final AtomicBoolean done = new AtomicBoolean(false);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        while (!done.get()) {
+                            GridPaints paints = grid.getPaints();
+                            assertTrue(paints.isComplete());
+                            Paint paint = paints.getLinePaint(GridType.HUNDRED_KILOMETER);
+                            assertNotNull(paint);
+                            float width = paint.getStrokeWidth();
+                            assertTrue("Unexpected width: " + width, width == 1.0f || width == 2.0f);
+                            assertSame(paint, paints.getLinePaint(null));
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+            readers[i].start();
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            grid.setWidth(i % 2 == 0 ? 1.0 : 2.0);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(2.0f, grid.getPaints().getLinePaint(null).getStrokeWidth(), 0.0f);
+    }
+
+}
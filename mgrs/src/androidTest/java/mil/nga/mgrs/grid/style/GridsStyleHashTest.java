@@ -0,0 +1,138 @@
+package mil.nga.mgrs.grid.style;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import android.graphics.Paint;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import mil.nga.color.Color;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Grids style hash and generation tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class GridsStyleHashTest {
+
+    /**
+     * Test the style hash is stable without changes and equal for equal styles
+     */
+    @Test
+    public void testStable() {
+
+        Grids grids = Grids.create();
+        int hash = grids.getStyleHash();
+        assertEquals(hash, grids.getStyleHash());
+        assertEquals(hash, Grids.create().getStyleHash());
+
+        grids.setColor(GridType.KILOMETER, Color.red());
+        assertNotEquals(hash, grids.getStyleHash());
+        grids.setColor(GridType.KILOMETER, Grids.create().getGrid(GridType.KILOMETER).getColor());
+        assertEquals(hash, grids.getStyleHash());
+    }
+
+    /**
+     * Test changes made through the grid setters increment the generation
+     * once and change the style hash
+     */
+    @Test
+    public void testDirectChanges() {
+
+        Grids grids = Grids.create();
+        final AtomicLong notified = new AtomicLong(-1);
+        grids.addListener(new GridsListener() {
+            @Override
+            public void onGridsChanged(Grids grids, long generation) {
+                notified.set(generation);
+            }
+        });
+        long generation = grids.getGeneration();
+        int hash = grids.getStyleHash();
+
+        Grid grid = grids.getGrid(GridType.TEN_KILOMETER);
+        grid.setWidth(GridType.TEN_KILOMETER, grid.getWidth(GridType.TEN_KILOMETER) + 1.0);
+        assertEquals(generation + 1, grids.getGeneration());
+        assertEquals(generation + 1, notified.get());
+        int widthHash = grids.getStyleHash();
+        assertNotEquals(hash, widthHash);
+
+        grid.setColor(GridType.HUNDRED_KILOMETER, Color.blue());
+        assertEquals(generation + 2, grids.getGeneration());
+        int colorHash = grids.getStyleHash();
+        assertNotEquals(widthHash, colorHash);
+
+        Paint labelPaint = new Paint(grid.getLabelPaint());
+        labelPaint.setTextSize(labelPaint.getTextSize() + 4.0f);
+        grid.setLabelPaint(labelPaint);
+        assertEquals(generation + 3, grids.getGeneration());
+        int labelHash = grids.getStyleHash();
+        assertNotEquals(colorHash, labelHash);
+
+        grid.setMaxZoom(grid.getMinZoom() + 1);
+        assertEquals(generation + 4, grids.getGeneration());
+        assertNotEquals(labelHash, grids.getStyleHash());
+
+        grids.disable(grid);
+        assertEquals(generation + 5, grids.getGeneration());
+        grids.disable(grid);
+        assertEquals(generation + 5, grids.getGeneration());
+        grids.setWidth(GridType.TEN_KILOMETER, 3.0);
+        assertEquals(generation + 6, grids.getGeneration());
+        assertEquals(generation + 6, notified.get());
+    }
+
+    /**
+     * Test the style hash is cached per generation
+     */
+    @Test
+    public void testCached() {
+
+        Grids grids = Grids.create();
+        int hash = grids.getStyleHash();
+
+        Grid grid = grids.getGrid(GridType.KILOMETER);
+        grid.getLabeler().setEnabled(!grid.getLabeler().isEnabled());
+        assertEquals(hash, grids.getStyleHash());
+
+        grids.notifyChanged();
+        assertNotEquals(hash, grids.getStyleHash());
+    }
+
+    /**
+     * Test the grids setters increment the generation and notify listeners
+     */
+    @Test
+    public void testGeneration() {
+
+        Grids grids = Grids.create();
+        final AtomicLong notified = new AtomicLong(-1);
+        GridsListener listener = new GridsListener() {
+            @Override
+            public void onGridsChanged(Grids grids, long generation) {
+                notified.set(generation);
+            }
+        };
+        grids.addListener(listener);
+
+        long generation = grids.getGeneration();
+        grids.setColor(GridType.KILOMETER, Color.red());
+        assertEquals(generation + 1, grids.getGeneration());
+        assertEquals(generation + 1, notified.get());
+
+        grids.notifyChanged();
+        assertEquals(generation + 2, notified.get());
+
+        grids.removeListener(listener);
+        grids.notifyChanged();
+        assertEquals(generation + 3, grids.getGeneration());
+        assertEquals(generation + 2, notified.get());
+    }
+
+}
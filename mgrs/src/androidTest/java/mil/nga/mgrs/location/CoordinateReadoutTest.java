@@ -0,0 +1,114 @@
+package mil.nga.mgrs.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grids;
+
+/**
+ * Coordinate readout tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class CoordinateReadoutTest {
+
+    /**
+     * Camera zoom
+     */
+    private static final float ZOOM = 12.5f;
+
+    /**
+     * Test the readout delivers the grid cell coordinate at the zoom
+     * precision only when the cell or precision changes
+     *
+     * @throws InterruptedException upon interruption
+     */
+    @Test
+    public void testReadout() throws InterruptedException {
+
+        Grids grids = Grids.create();
+        final BlockingQueue<String> coordinates = new LinkedBlockingQueue<>();
+        final AtomicBoolean offMainThread = new AtomicBoolean();
+        final CoordinateReadout readout = CoordinateReadout.create(grids, new CoordinateReadoutListener() {
+            @Override
+            public void onCoordinate(CoordinateReadout readout, String coordinate, GridType precision) {
+                if (Looper.myLooper() != Looper.getMainLooper()) {
+                    offMainThread.set(true);
+                }
+                coordinates.add(coordinate);
+            }
+        });
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        try {
+
+            GridType precision = grids.getPrecision((int) ZOOM);
+            update(mainHandler, readout, 38.9, -77.0, ZOOM);
+            String coordinate = coordinates.poll(10, TimeUnit.SECONDS);
+            assertEquals(libraryCoordinate(38.9, -77.0, precision), coordinate);
+            assertEquals(coordinate, readout.getCoordinate());
+            assertEquals(precision, readout.getPrecision());
+
+            update(mainHandler, readout, 38.9 + 1e-6, -77.0, ZOOM);
+            assertNull(coordinates.poll(500, TimeUnit.MILLISECONDS));
+
+            update(mainHandler, readout, 40.0, -75.0, ZOOM);
+            assertEquals(libraryCoordinate(40.0, -75.0, precision), coordinates.poll(10, TimeUnit.SECONDS));
+
+            GridType coarser = grids.getPrecision(3);
+            update(mainHandler, readout, 40.0, -75.0, 3.0f);
+            assertEquals(libraryCoordinate(40.0, -75.0, coarser), coordinates.poll(10, TimeUnit.SECONDS));
+            assertEquals(coarser, readout.getPrecision());
+
+        } finally {
+            mainHandler.post(readout::close);
+        }
+
+        update(mainHandler, readout, -33.9, 151.2, ZOOM);
+        assertNull(coordinates.poll(500, TimeUnit.MILLISECONDS));
+        assertFalse(offMainThread.get());
+    }
+
+    /**
+     * Update the readout from the main thread
+     *
+     * @param mainHandler main thread handler
+     * @param readout     coordinate readout
+     * @param latitude    latitude
+     * @param longitude   longitude
+     * @param zoom        camera zoom
+     */
+    private static void update(Handler mainHandler, final CoordinateReadout readout, final double latitude,
+                               final double longitude, final float zoom) {
+        mainHandler.post(() -> readout.update(latitude, longitude, zoom));
+    }
+
+    /**
+     * Get the MGRS library coordinate
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param precision grid type precision
+     * @return coordinate
+     */
+    private static String libraryCoordinate(double latitude, double longitude, GridType precision) {
+        return MGRS.from(Point.point(longitude, latitude)).coordinate(precision);
+    }
+
+}
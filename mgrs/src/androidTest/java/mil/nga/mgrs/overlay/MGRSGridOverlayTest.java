@@ -0,0 +1,62 @@
+package mil.nga.mgrs.overlay;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grids;
+import mil.nga.mgrs.tile.TileUtils;
+
+/**
+ * MGRS grid overlay tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class MGRSGridOverlayTest {
+
+    /**
+     * Test the overlay enables only the few line grids by default
+     */
+    @Test
+    public void testDefaultGrids() {
+
+        MGRSGridOverlay overlay = MGRSGridOverlay.create(getApplicationContext(), null);
+        Grids grids = overlay.getGrids();
+        for (GridType type : GridType.values()) {
+            boolean enabled = type == GridType.GZD || type == GridType.HUNDRED_KILOMETER;
+            assertEquals(type.name(), enabled, grids.isEnabled(type));
+        }
+
+        grids = MGRSGridOverlay.create(getApplicationContext(), null, GridType.KILOMETER).getGrids();
+        assertTrue(grids.isEnabled(GridType.KILOMETER));
+        assertFalse(grids.isEnabled(GridType.GZD));
+    }
+
+    /**
+     * Test tile pixel styles are scaled to the screen as drawn by the tile
+     * provider
+     */
+    @Test
+    public void testScale() {
+
+        Grids grids = Grids.create();
+        assertEquals(1.0f, new MGRSGridOverlay(null, grids, 1.0f).getScale(), 0.0f);
+        assertEquals(1.25f, new MGRSGridOverlay(null, grids, 1.25f).getScale(), 0.0001f);
+        assertEquals(1.0f, new MGRSGridOverlay(null, grids, 2.0f).getScale(), 0.0f);
+        assertEquals(1.5f, new MGRSGridOverlay(null, grids, 3.0f).getScale(), 0.0001f);
+
+        Context context = getApplicationContext();
+        float density = context.getResources().getDisplayMetrics().density;
+        assertEquals(TileUtils.tileDensity(density, TileUtils.tileLength(context)),
+                MGRSGridOverlay.create(context, null).getScale(), 0.0001f);
+    }
+
+}
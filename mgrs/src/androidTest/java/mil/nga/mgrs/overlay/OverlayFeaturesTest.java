@@ -0,0 +1,458 @@
+package mil.nga.mgrs.overlay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import mil.nga.color.Color;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grids;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.overlay.OverlayFeatures.LabelFit;
+import mil.nga.mgrs.overlay.OverlayFeatures.LabelKey;
+import mil.nga.mgrs.overlay.OverlayFeatures.LineKey;
+
+/**
+ * Grid overlay features tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class OverlayFeaturesTest {
+
+    /**
+     * Label fit check keeping all labels
+     */
+    private static final LabelFit FIT = (label, metrics, buffer) -> true;
+
+    /**
+     * Label fit check dropping all labels
+     */
+    private static final LabelFit NO_FIT = (label, metrics, buffer) -> false;
+
+    /**
+     * Test panning adds the newly visible lines and labels and removes those
+     * no longer visible, matching a fresh update of the panned region
+     */
+    @Test
+    public void testPan() {
+
+        Grids grids = createGrids();
+        OverlayFeatures features = new OverlayFeatures();
+        Visible visible = new Visible();
+
+        LatLngBounds bounds = bounds(-10.0, -20.0, 10.0, 0.0);
+        OverlayChanges changes = features.update(grids, bounds, 6, FIT);
+        assertTrue(changes.isRedraw());
+        assertTrue(changes.getRemovedLines().isEmpty());
+        assertTrue(changes.getRemovedLabels().isEmpty());
+        visible.apply(changes);
+        assertFalse(visible.lines.isEmpty());
+        assertFalse(visible.labels.isEmpty());
+        visible.assertEquals(features);
+
+        changes = features.update(grids, bounds, 6, FIT);
+        assertFalse(changes.isRedraw());
+        assertTrue(changes.isEmpty());
+
+        bounds = bounds(-5.0, -12.0, 15.0, 8.0);
+        changes = features.update(grids, bounds, 6, FIT);
+        assertFalse(changes.isRedraw());
+        assertFalse(changes.getAddedLines().isEmpty());
+        assertFalse(changes.getRemovedLines().isEmpty());
+        assertFalse(changes.getAddedLabels().isEmpty());
+        assertFalse(changes.getRemovedLabels().isEmpty());
+        visible.apply(changes);
+        visible.assertEquals(features);
+        visible.assertEquals(fresh(grids, bounds, 6));
+
+        for (LineKey key : visible.lines) {
+            assertTrue(features.isVisible(key));
+        }
+        for (LabelKey key : visible.labels) {
+            assertTrue(features.isVisible(key));
+        }
+    }
+
+    /**
+     * Test zoom changes add and remove the lines and labels of the grids
+     * enabled at each zoom level
+     */
+    @Test
+    public void testZoom() {
+
+        Grids grids = createGrids();
+        OverlayFeatures features = new OverlayFeatures();
+        Visible visible = new Visible();
+        LatLngBounds bounds = bounds(30.0, -10.0, 50.0, 10.0);
+
+        visible.apply(features.update(grids, bounds, 4, FIT));
+        assertEquals(0, count(visible.lines, GridType.HUNDRED_KILOMETER));
+        assertTrue(count(visible.lines, GridType.GZD) > 0);
+
+        OverlayChanges changes = features.update(grids, bounds, 6, FIT);
+        assertFalse(changes.isRedraw());
+        assertTrue(changes.getRemovedLines().isEmpty());
+        assertEquals(changes.getAddedLines().size(), count(changes.getAddedLines(), GridType.HUNDRED_KILOMETER));
+        assertTrue(changes.getAddedLines().size() > 0);
+        visible.apply(changes);
+        visible.assertEquals(features);
+        visible.assertEquals(fresh(grids, bounds, 6));
+
+        changes = features.update(grids, bounds, 4, FIT);
+        assertTrue(changes.getAddedLines().isEmpty());
+        assertEquals(count(visible.lines, GridType.HUNDRED_KILOMETER), changes.getRemovedLines().size());
+        visible.apply(changes);
+        visible.assertEquals(fresh(grids, bounds, 4));
+
+        changes = features.update(grids, bounds, 2, FIT);
+        assertTrue(changes.getAddedLines().isEmpty());
+        assertTrue(changes.getRemovedLines().isEmpty());
+        assertEquals(visible.labels.size(), changes.getRemovedLabels().size());
+        visible.apply(changes);
+        assertTrue(visible.labels.isEmpty());
+        visible.assertEquals(features);
+    }
+
+    /**
+     * Test a visible region crossing the antimeridian matches the regions on
+     * each side, and panning across it
+     */
+    @Test
+    public void testAntimeridian() {
+
+        Grids grids = createGrids();
+        OverlayFeatures features = new OverlayFeatures();
+        Visible visible = new Visible();
+
+        LatLngBounds bounds = bounds(-10.0, 170.0, 10.0, -170.0);
+        visible.apply(features.update(grids, bounds, 6, FIT));
+        visible.assertEquals(features);
+
+        Visible sides = fresh(grids, bounds(-10.0, 170.0, 10.0, 180.0), 6);
+        Visible west = fresh(grids, bounds(-10.0, -180.0, 10.0, -170.0), 6);
+        sides.lines.addAll(west.lines);
+        sides.labels.addAll(west.labels);
+        visible.assertEquals(sides);
+
+        boolean east = false;
+        boolean western = false;
+        for (LineKey key : visible.lines) {
+            east |= key.getLongitude1() > 0.0;
+            western |= key.getLongitude1() < 0.0;
+        }
+        assertTrue(east);
+        assertTrue(western);
+
+        bounds = bounds(-10.0, -178.0, 10.0, -160.0);
+        OverlayChanges changes = features.update(grids, bounds, 6, FIT);
+        assertFalse(changes.getRemovedLines().isEmpty());
+        visible.apply(changes);
+        visible.assertEquals(fresh(grids, bounds, 6));
+        for (LineKey key : visible.lines) {
+            assertTrue(key.getLongitude1() < 0.0 && key.getLongitude2() < 0.0);
+        }
+
+        bounds = bounds(-10.0, 160.0, 10.0, -175.0);
+        visible.apply(features.update(grids, bounds, 6, FIT));
+        visible.assertEquals(fresh(grids, bounds, 6));
+    }
+
+    /**
+     * Test lines are clipped to their grid zone
+     */
+    @Test
+    public void testZoneClip() {
+
+        Grids grids = createGrids();
+        OverlayFeatures features = new OverlayFeatures();
+        Visible visible = new Visible();
+        Bounds bounds = Bounds.degrees(0.0, 50.0, 12.0, 60.0);
+        visible.apply(features.update(grids, bounds(50.0, 0.0, 60.0, 12.0), 7, FIT));
+        assertTrue(count(visible.lines, GridType.HUNDRED_KILOMETER) > 0);
+
+        for (LineKey key : visible.lines) {
+            boolean inZone = false;
+            for (GridZone zone : GridZones.getGridRange(bounds)) {
+                Bounds zoneBounds = zone.getBounds();
+                if (contains(zoneBounds, key.getLongitude1(), key.getLatitude1())
+                        && contains(zoneBounds, key.getLongitude2(), key.getLatitude2())) {
+                    inZone = true;
+                    break;
+                }
+            }
+            assertTrue(inZone);
+            assertTrue(key.getLongitude1() != key.getLongitude2() || key.getLatitude1() != key.getLatitude2());
+        }
+    }
+
+    /**
+     * Test line and label key equality
+     */
+    @Test
+    public void testKeys() {
+
+        LineKey line = new LineKey(GridType.GZD, GridType.GZD, new double[]{1.0, 2.0, 3.0, 4.0, 0.0, 1.0});
+        LineKey same = new LineKey(GridType.GZD, GridType.GZD, new double[]{1.0, 2.0, 3.0, 4.0, 0.5, 0.5});
+        assertEquals(line, same);
+        assertEquals(line.hashCode(), same.hashCode());
+        assertEquals(1.0, line.getLongitude1(), 0.0);
+        assertEquals(2.0, line.getLatitude1(), 0.0);
+        assertEquals(3.0, line.getLongitude2(), 0.0);
+        assertEquals(4.0, line.getLatitude2(), 0.0);
+        assertNotEquals(line, new LineKey(GridType.HUNDRED_KILOMETER, GridType.GZD, new double[]{1.0, 2.0, 3.0, 4.0}));
+        assertNotEquals(line, new LineKey(GridType.GZD, GridType.HUNDRED_KILOMETER, new double[]{1.0, 2.0, 3.0, 4.0}));
+        assertNotEquals(line, new LineKey(GridType.GZD, GridType.GZD, new double[]{1.0, 2.0, 3.0, 4.5}));
+
+        Bounds bounds = Bounds.degrees(0.0, 0.0, 6.0, 8.0);
+        LabelKey label = new LabelKey(GridType.GZD,
+                new GridLabel("31N", Point.degrees(3.0, 4.0), bounds, GridType.GZD, null));
+        GridLabel other = new GridLabel("31N", Point.degrees(3.0, 4.0), bounds.toDegrees(), GridType.GZD, null);
+        assertEquals(label, new LabelKey(GridType.GZD, other));
+        assertEquals(label.hashCode(), new LabelKey(GridType.GZD, other).hashCode());
+        assertNotEquals(label, new LabelKey(GridType.HUNDRED_KILOMETER, other));
+        assertNotEquals(label, new LabelKey(GridType.GZD,
+                new GridLabel("32N", Point.degrees(3.0, 4.0), bounds, GridType.GZD, null)));
+        assertNotEquals(label, new LabelKey(GridType.GZD,
+                new GridLabel("31N", Point.degrees(3.0, 4.5), bounds, GridType.GZD, null)));
+    }
+
+    /**
+     * Test labels are added and removed by the label fit check
+     */
+    @Test
+    public void testLabelFit() {
+
+        Grids grids = createGrids();
+        OverlayFeatures features = new OverlayFeatures();
+        Visible visible = new Visible();
+        LatLngBounds bounds = bounds(-10.0, -20.0, 10.0, 0.0);
+
+        visible.apply(features.update(grids, bounds, 6, NO_FIT));
+        assertFalse(visible.lines.isEmpty());
+        assertTrue(visible.labels.isEmpty());
+        assertEquals(0, features.getLabelCount());
+
+        final double labelBuffer = grids.getGrid(GridType.HUNDRED_KILOMETER).getLabelBuffer();
+        LabelFit fit = (label, metrics, buffer) -> {
+            assertNotNull(metrics);
+            if (label.getGridType() == GridType.HUNDRED_KILOMETER) {
+                assertEquals(labelBuffer, buffer, 0.0);
+            }
+            return label.getGridType() == GridType.HUNDRED_KILOMETER;
+        };
+        OverlayChanges changes = features.update(grids, bounds, 6, fit);
+        assertTrue(changes.getAddedLines().isEmpty());
+        assertTrue(changes.getRemovedLines().isEmpty());
+        assertFalse(changes.getAddedLabels().isEmpty());
+        visible.apply(changes);
+        for (LabelKey key : visible.labels) {
+            assertEquals(GridType.HUNDRED_KILOMETER, key.getGridType());
+        }
+
+        changes = features.update(grids, bounds, 6, FIT);
+        assertTrue(changes.getRemovedLabels().isEmpty());
+        assertFalse(changes.getAddedLabels().isEmpty());
+        visible.apply(changes);
+        visible.assertEquals(fresh(grids, bounds, 6));
+
+        changes = features.update(grids, bounds, 6, NO_FIT);
+        assertEquals(visible.labels.size(), changes.getRemovedLabels().size());
+        assertTrue(changes.getAddedLabels().isEmpty());
+        visible.apply(changes);
+        assertTrue(visible.labels.isEmpty());
+    }
+
+    /**
+     * Test all lines and labels are redrawn after a grids change, a direct
+     * grid change, and a reset, and all are added after a clear
+     */
+    @Test
+    public void testRedraw() {
+
+        Grids grids = createGrids();
+        OverlayFeatures features = new OverlayFeatures();
+        Visible visible = new Visible();
+        LatLngBounds bounds = bounds(-10.0, -20.0, 10.0, 0.0);
+        visible.apply(features.update(grids, bounds, 6, FIT));
+
+        grids.setColor(GridType.GZD, Color.red());
+        assertRedraw(grids, features, visible, bounds);
+
+        grids.getGrid(GridType.HUNDRED_KILOMETER).setWidth(3.0);
+        assertRedraw(grids, features, visible, bounds);
+
+        features.reset();
+        assertRedraw(grids, features, visible, bounds);
+
+        features.clear();
+        assertEquals(0, features.getLineCount());
+        assertEquals(0, features.getLabelCount());
+        OverlayChanges changes = features.update(grids, bounds, 6, FIT);
+        assertFalse(changes.isRedraw());
+        assertTrue(changes.getRemovedLines().isEmpty());
+        assertTrue(changes.getRemovedLabels().isEmpty());
+        assertEquals(visible.lines, new HashSet<>(changes.getAddedLines()));
+        assertEquals(visible.labels, new HashSet<>(changes.getAddedLabels()));
+    }
+
+    /**
+     * Assert the next update redraws, removing all visible and adding all
+     *
+     * @param grids    grids
+     * @param features overlay features
+     * @param visible  visible lines and labels
+     * @param bounds   visible region bounds
+     */
+    private static void assertRedraw(Grids grids, OverlayFeatures features, Visible visible,
+                                     LatLngBounds bounds) {
+        OverlayChanges changes = features.update(grids, bounds, 6, FIT);
+        assertTrue(changes.isRedraw());
+        assertEquals(visible.lines, new HashSet<>(changes.getRemovedLines()));
+        assertEquals(visible.labels, new HashSet<>(changes.getRemovedLabels()));
+        assertEquals(visible.lines, new HashSet<>(changes.getAddedLines()));
+        assertEquals(visible.labels, new HashSet<>(changes.getAddedLabels()));
+        assertFalse(features.update(grids, bounds, 6, FIT).isRedraw());
+    }
+
+    /**
+     * Create the default overlay grids
+     *
+     * @return grids
+     */
+    private static Grids createGrids() {
+        return Grids.create(GridType.GZD, GridType.HUNDRED_KILOMETER);
+    }
+
+    /**
+     * Get the visible lines and labels of a first update
+     *
+     * @param grids  grids
+     * @param bounds visible region bounds
+     * @param zoom   zoom level
+     * @return visible lines and labels
+     */
+    private static Visible fresh(Grids grids, LatLngBounds bounds, int zoom) {
+        Visible visible = new Visible();
+        visible.apply(new OverlayFeatures().update(grids, bounds, zoom, FIT));
+        return visible;
+    }
+
+    /**
+     * Create visible region bounds
+     *
+     * @param south south latitude
+     * @param west  west longitude
+     * @param north north latitude
+     * @param east  east longitude
+     * @return bounds
+     */
+    private static LatLngBounds bounds(double south, double west, double north, double east) {
+        return new LatLngBounds(new LatLng(south, west), new LatLng(north, east));
+    }
+
+    /**
+     * Count the lines of the line grid type
+     *
+     * @param lines    line keys
+     * @param lineType line grid type
+     * @return count
+     */
+    private static int count(Iterable<LineKey> lines, GridType lineType) {
+        int count = 0;
+        for (LineKey key : lines) {
+            if (key.getLineType() == lineType) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check if the point is within the bounds
+     *
+     * @param bounds    bounds in degrees
+     * @param longitude longitude
+     * @param latitude  latitude
+     * @return true if within
+     */
+    private static boolean contains(Bounds bounds, double longitude, double latitude) {
+        double epsilon = 1.0e-9;
+        return longitude >= bounds.getMinLongitude() - epsilon && longitude <= bounds.getMaxLongitude() + epsilon
+                && latitude >= bounds.getMinLatitude() - epsilon && latitude <= bounds.getMaxLatitude() + epsilon;
+    }
+
+    /**
+     * Visible lines and labels maintained from update changes, as by the
+     * overlay polylines and markers
+     */
+    private static class Visible {
+
+        /**
+         * Visible lines
+         */
+        private final Set<LineKey> lines = new HashSet<>();
+
+        /**
+         * Visible labels
+         */
+        private final Set<LabelKey> labels = new HashSet<>();
+
+        /**
+         * Apply the changes, removing before adding
+         *
+         * @param changes changes
+         */
+        private void apply(OverlayChanges changes) {
+            for (LineKey key : changes.getRemovedLines()) {
+                assertTrue(lines.remove(key));
+            }
+            for (LabelKey key : changes.getRemovedLabels()) {
+                assertTrue(labels.remove(key));
+            }
+            for (LineKey key : changes.getAddedLines()) {
+                assertTrue(lines.add(key));
+            }
+            for (LabelKey key : changes.getAddedLabels()) {
+                assertTrue(labels.add(key));
+            }
+        }
+
+        /**
+         * Assert the overlay features have the same visible counts
+         *
+         * @param features overlay features
+         */
+        private void assertEquals(OverlayFeatures features) {
+            org.junit.Assert.assertEquals(lines.size(), features.getLineCount());
+            org.junit.Assert.assertEquals(labels.size(), features.getLabelCount());
+        }
+
+        /**
+         * Assert the same visible lines and labels
+         *
+         * @param other visible lines and labels
+         */
+        private void assertEquals(Visible other) {
+            org.junit.Assert.assertEquals(other.lines, lines);
+            org.junit.Assert.assertEquals(other.labels, labels);
+        }
+
+    }
+
+}
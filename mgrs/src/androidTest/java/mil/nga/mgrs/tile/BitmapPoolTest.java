@@ -0,0 +1,105 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Bitmap pool tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class BitmapPoolTest {
+
+    /**
+     * Test released bitmaps are reused and erased to transparent
+     */
+    @Test
+    public void testReuse() {
+
+        BitmapPool pool = BitmapPool.create(2);
+
+        Bitmap bitmap = pool.acquire(256, 256);
+        assertEquals(256, bitmap.getWidth());
+        assertEquals(Bitmap.Config.ARGB_8888, bitmap.getConfig());
+        assertEquals(1, pool.getCreateCount());
+
+        bitmap.setPixel(10, 10, Color.RED);
+        pool.release(bitmap);
+        assertEquals(1, pool.size());
+
+        Bitmap reused = pool.acquire(256, 256);
+        assertSame(bitmap, reused);
+        assertEquals(Color.TRANSPARENT, reused.getPixel(10, 10));
+        assertEquals(0, pool.size());
+        assertEquals(1, pool.getReuseCount());
+
+        Bitmap other = pool.acquire(512, 512);
+        assertNotSame(bitmap, other);
+        assertEquals(2, pool.getCreateCount());
+
+        pool.release(reused);
+        pool.release(other);
+        assertEquals(2, pool.size());
+        assertSame(other, pool.acquire(512, 512));
+        assertSame(reused, pool.acquire(256, 256, Bitmap.Config.ARGB_8888));
+
+    }
+
+    /**
+     * Test bitmaps are recycled when the pool is full or they are immutable
+     */
+    @Test
+    public void testRecycle() {
+
+        BitmapPool pool = BitmapPool.create(1);
+
+        Bitmap bitmap1 = pool.acquire(256, 256);
+        Bitmap bitmap2 = pool.acquire(256, 256);
+        pool.release(bitmap1);
+        pool.release(bitmap2);
+        assertEquals(1, pool.size());
+        assertFalse(bitmap1.isRecycled());
+        assertTrue(bitmap2.isRecycled());
+
+        Bitmap immutable = bitmap1.copy(Bitmap.Config.ARGB_8888, false);
+        pool.release(immutable);
+        assertEquals(1, pool.size());
+        assertTrue(immutable.isRecycled());
+
+        pool.setMaxSize(0);
+        assertEquals(0, pool.size());
+        assertTrue(bitmap1.isRecycled());
+
+    }
+
+    /**
+     * Test clearing the pool
+     */
+    @Test
+    public void testClear() {
+
+        BitmapPool pool = BitmapPool.create();
+
+        Bitmap bitmap = pool.acquire(256, 256);
+        pool.release(bitmap);
+        pool.clear();
+        assertEquals(0, pool.size());
+        assertTrue(bitmap.isRecycled());
+
+        pool.resetCounts();
+        assertEquals(0, pool.getCreateCount());
+        assertEquals(0, pool.getReuseCount());
+
+    }
+
+}
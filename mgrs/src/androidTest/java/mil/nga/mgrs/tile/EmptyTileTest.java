@@ -0,0 +1,127 @@
+package mil.nga.mgrs.tile;
+
+import static androidx.test.core.app.ApplicationProvider.getApplicationContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+
+import mil.nga.mgrs.grid.style.Grids;
+
+/**
+ * Empty tile detection tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class EmptyTileTest {
+
+    /**
+     * Zoom level of the test tiles
+     */
+    private static final int ZOOM = 5;
+
+    /**
+     * Tile north of the grid, above 84 degrees latitude
+     */
+    private static final int EMPTY_X = 0;
+
+    /**
+     * Tile north of the grid, above 84 degrees latitude
+     */
+    private static final int EMPTY_Y = 0;
+
+    /**
+     * Tile within the grid
+     */
+    private static final int X = 16;
+
+    /**
+     * Tile within the grid
+     */
+    private static final int Y = 12;
+
+    /**
+     * Test tile features are empty only outside the grid
+     */
+    @Test
+    public void testFeatures() {
+
+        Grids grids = Grids.create();
+        assertTrue(grids.getFeatures(256, 256, EMPTY_X, EMPTY_Y, ZOOM).isEmpty());
+        assertFalse(grids.getFeatures(256, 256, X, Y, ZOOM).isEmpty());
+
+    }
+
+    /**
+     * Test empty tiles return the empty tile and are remembered
+     */
+    @Test
+    public void testEmptyTile() {
+
+        MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+
+        assertSame(TileProvider.NO_TILE, tileProvider.getTile(EMPTY_X, EMPTY_Y, ZOOM));
+        assertEquals(1, tileProvider.getLoadCount());
+        assertSame(TileProvider.NO_TILE, tileProvider.getTile(EMPTY_X, EMPTY_Y, ZOOM));
+        assertEquals(1, tileProvider.getLoadCount());
+
+        Tile tile = tileProvider.getTile(X, Y, ZOOM);
+        assertNotNull(tile);
+        assertNotSame(TileProvider.NO_TILE, tile);
+        assertNotNull(tile.data);
+
+        Tile transparent = TileUtils.transparentTile(256, 256);
+        tileProvider.setEmptyTile(transparent);
+        assertSame(transparent, tileProvider.getTile(EMPTY_X, EMPTY_Y, ZOOM));
+        assertSame(transparent, tileProvider.createTile(EMPTY_X, EMPTY_Y, ZOOM));
+
+        tileProvider.clearEmptyTiles();
+        assertSame(transparent, tileProvider.getTile(EMPTY_X, EMPTY_Y, ZOOM));
+        assertEquals(3, tileProvider.getLoadCount());
+
+    }
+
+    /**
+     * Test empty tiles are cached as empty markers in the disk cache
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testDiskCache() throws IOException {
+
+        Context context = getApplicationContext();
+        File file = new File(context.getCacheDir(), "empty_tile_test.slab");
+        file.delete();
+
+        try (TileDiskCache diskCache = TileDiskCache.open(file, 1024 * 1024)) {
+
+            MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+            tileProvider.setDiskCache(diskCache);
+            assertSame(TileProvider.NO_TILE, tileProvider.getTile(EMPTY_X, EMPTY_Y, ZOOM));
+
+            TileKey key = tileProvider.getTileKey(EMPTY_X, EMPTY_Y, ZOOM);
+            assertTrue(diskCache.contains(key));
+            assertSame(TileProvider.NO_TILE, diskCache.get(key));
+            assertEquals(0, diskCache.getBytes());
+
+        } finally {
+            file.delete();
+        }
+
+    }
+
+}
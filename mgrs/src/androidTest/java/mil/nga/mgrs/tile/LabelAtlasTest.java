@@ -0,0 +1,126 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Label sprite atlas tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class LabelAtlasTest {
+
+    /**
+     * Test sprites are rasterized once, reused, and drawn
+     */
+    @Test
+    public void testSprites() {
+
+        Paint paint = createPaint(32);
+        LabelAtlas atlas = new LabelAtlas();
+
+        LabelSprite sprite = atlas.getSprite("31U", paint);
+        assertNotNull(sprite);
+        assertSame(sprite, atlas.getSprite("31U", paint));
+        assertNotSame(sprite, atlas.getSprite("DQ", paint));
+        assertEquals(2, atlas.size());
+        assertEquals(1, atlas.getPageCount());
+        assertSame(sprite.getPage(), atlas.getSprite("DQ", paint).getPage());
+        assertEquals(TextMetrics.measure("31U", paint).getWidth(), sprite.getMetrics().getWidth(), 0.0f);
+
+        Bitmap bitmap = Bitmap.createBitmap(256, 256, Bitmap.Config.ARGB_8888);
+        sprite.draw(new Canvas(bitmap), 128, 128);
+        assertTrue(hasPixels(bitmap));
+        bitmap.recycle();
+
+        atlas.clear();
+        assertEquals(0, atlas.size());
+        assertEquals(0, atlas.getPageCount());
+
+    }
+
+    /**
+     * Test the atlas is rebuilt when the paint changes
+     */
+    @Test
+    public void testPaintChange() {
+
+        Paint paint = createPaint(32);
+        LabelAtlas atlas = new LabelAtlas();
+
+        LabelSprite sprite = atlas.getSprite("31U", paint);
+        paint.setTextSize(48);
+        LabelSprite larger = atlas.getSprite("31U", paint);
+        assertNotSame(sprite, larger);
+        assertTrue(larger.getHeight() > sprite.getHeight());
+        assertEquals(1, atlas.size());
+
+    }
+
+    /**
+     * Test labels not fitting in the atlas are not sprites
+     */
+    @Test
+    public void testFull() {
+
+        Paint paint = createPaint(64);
+        LabelAtlas atlas = new LabelAtlas();
+        atlas.setMaxPages(1);
+        assertEquals(1, atlas.getMaxPages());
+
+        int count = 0;
+        while (atlas.getSprite("LABEL " + count, paint) != null) {
+            count++;
+        }
+        assertTrue(count > 1);
+        assertEquals(count, atlas.size());
+        assertEquals(1, atlas.getPageCount());
+        assertNull(atlas.getSprite("LABEL " + (count + 1), paint));
+        assertNotNull(atlas.getSprite("LABEL 0", paint));
+
+        assertNull(new LabelAtlas().getSprite("TOO LARGE FOR A PAGE", createPaint(400)));
+
+    }
+
+    /**
+     * Create a label paint
+     *
+     * @param textSize text size
+     * @return paint
+     */
+    private static Paint createPaint(float textSize) {
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(textSize);
+        return paint;
+    }
+
+    /**
+     * Check if the bitmap has any non transparent pixels
+     *
+     * @param bitmap bitmap
+     * @return true if drawn pixels
+     */
+    private static boolean hasPixels(Bitmap bitmap) {
+        for (int y = 0; y < bitmap.getHeight(); y++) {
+            for (int x = 0; x < bitmap.getWidth(); x++) {
+                if (bitmap.getPixel(x, y) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,114 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import com.google.android.gms.maps.model.Tile;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Metatile rendering tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class MetatileTest {
+
+    /**
+     * Zoom level of the test metatile, the top two tile rows are north of
+     * the grid
+     */
+    private static final int ZOOM = 5;
+
+    /**
+     * Metatile origin x coordinate
+     */
+    private static final int X = 16;
+
+    /**
+     * Metatile size
+     */
+    private static final int SIZE = 4;
+
+    /**
+     * Test empty slices return and remember the empty tile, drawn slices are
+     * cached, and the metatile bitmap is not kept in the bitmap pool
+     */
+    @Test
+    public void testEmptySlices() {
+
+        MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+        tileProvider.setMetatileSize(SIZE);
+        tileProvider.enableCache();
+        BitmapPool bitmapPool = BitmapPool.create();
+        tileProvider.setBitmapPool(bitmapPool);
+        Tile emptyTile = new Tile(256, 256, new byte[0]);
+        tileProvider.setEmptyTile(emptyTile);
+
+        Tile tile = tileProvider.getTile(X, SIZE - 1, ZOOM);
+        assertNotSame(emptyTile, tile);
+        assertEquals(1, tileProvider.getLoadCount());
+
+        for (int column = 0; column < SIZE; column++) {
+            assertSame(emptyTile, tileProvider.getTile(X + column, 0, ZOOM));
+            assertSame(emptyTile, tileProvider.getTile(X + column, 1, ZOOM));
+            assertNotSame(emptyTile, tileProvider.getTile(X + column, SIZE - 1, ZOOM));
+        }
+        assertEquals(1, tileProvider.getLoadCount());
+
+        long reuseCount = bitmapPool.getReuseCount();
+        bitmapPool.acquire(256 * SIZE, 256 * SIZE);
+        assertEquals(reuseCount, bitmapPool.getReuseCount());
+    }
+
+    /**
+     * Test large tiles render smaller metatiles within the maximum metatile
+     * pixels
+     */
+    @Test
+    public void testMaxPixels() {
+
+        int tileLength = 512;
+        int size = MGRSTileProvider.MAX_METATILE_PIXELS / tileLength;
+        MGRSTileProvider tileProvider = MGRSTileProvider.create(tileLength);
+        tileProvider.setMetatileSize(MGRSTileProvider.MAX_METATILE_SIZE);
+        tileProvider.enableCache();
+
+        int y = SIZE - 1;
+        tileProvider.getTile(X, y, ZOOM);
+        assertEquals(1, tileProvider.getLoadCount());
+        tileProvider.getTile(X + size - 1, y, ZOOM);
+        assertEquals(1, tileProvider.getLoadCount());
+        tileProvider.getTile(X + size, y, ZOOM);
+        assertEquals(2, tileProvider.getLoadCount());
+    }
+
+    /**
+     * Test the metatile size must be a power of 2 within the maximum
+     */
+    @Test
+    public void testMetatileSize() {
+
+        MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+        for (int size = 1; size <= MGRSTileProvider.MAX_METATILE_SIZE; size *= 2) {
+            tileProvider.setMetatileSize(size);
+            assertEquals(size, tileProvider.getMetatileSize());
+        }
+
+        int[] invalid = {0, -2, 3, 6, MGRSTileProvider.MAX_METATILE_SIZE * 2};
+        for (int size : invalid) {
+            try {
+                tileProvider.setMetatileSize(size);
+                fail("Expected an invalid metatile size: " + size);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        assertEquals(MGRSTileProvider.MAX_METATILE_SIZE, tileProvider.getMetatileSize());
+    }
+
+}
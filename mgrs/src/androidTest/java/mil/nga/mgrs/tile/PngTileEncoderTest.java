@@ -0,0 +1,88 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Color;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import com.google.android.gms.maps.model.Tile;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * PNG tile encoder tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class PngTileEncoderTest {
+
+    /**
+     * Test encoded tiles decode to the same pixels, including transparency
+     */
+    @Test
+    public void testRoundTrip() {
+
+        Bitmap bitmap = Bitmap.createBitmap(256, 256, Bitmap.Config.ARGB_8888);
+        for (int y = 0; y < bitmap.getHeight(); y++) {
+            for (int x = 0; x < bitmap.getWidth(); x++) {
+                if ((x + y) % 7 == 0) {
+                    bitmap.setPixel(x, y, Color.RED);
+                } else if (x == y) {
+                    bitmap.setPixel(x, y, Color.BLACK);
+                }
+            }
+        }
+
+        for (int level = 0; level <= 9; level += 3) {
+            TileEncoder encoder = new PngTileEncoder("PNG_" + level, level);
+            byte[] bytes = encoder.encode(bitmap);
+            assertNotNull(bytes);
+            assertEquals(1, encoder.getEncodeCount());
+            assertEquals(bytes.length, encoder.getEncodedBytes());
+
+            Bitmap decoded = BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+            assertNotNull(decoded);
+            assertEquals(bitmap.getWidth(), decoded.getWidth());
+            assertEquals(bitmap.getHeight(), decoded.getHeight());
+            for (int y = 0; y < bitmap.getHeight(); y++) {
+                for (int x = 0; x < bitmap.getWidth(); x++) {
+                    assertEquals(bitmap.getPixel(x, y), decoded.getPixel(x, y));
+                }
+            }
+            decoded.recycle();
+        }
+
+        bitmap.recycle();
+    }
+
+    /**
+     * Test the tile provider keys tiles by encoder
+     */
+    @Test
+    public void testProviderEncoder() {
+
+        MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+        tileProvider.enableCache();
+
+        TileKey pngKey = tileProvider.getTileKey(16, 12, 5);
+        Tile png = tileProvider.getTile(16, 12, 5);
+
+        tileProvider.setEncoder(TileEncoder.fastPng());
+        TileKey fastKey = tileProvider.getTileKey(16, 12, 5);
+        assertNotEquals(pngKey, fastKey);
+        Tile fast = tileProvider.getTile(16, 12, 5);
+        assertEquals(2, tileProvider.getLoadCount());
+
+        Bitmap pngBitmap = BitmapFactory.decodeByteArray(png.data, 0, png.data.length);
+        Bitmap fastBitmap = BitmapFactory.decodeByteArray(fast.data, 0, fast.data.length);
+        assertNotNull(fastBitmap);
+        assertEquals(pngBitmap.getWidth(), fastBitmap.getWidth());
+
+    }
+
+}
@@ -0,0 +1,78 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import android.graphics.Paint;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Text metrics cache tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class TextMetricsCacheTest {
+
+    /**
+     * Test cached metrics match measured metrics and are reused
+     */
+    @Test
+    public void testMetrics() {
+
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(32);
+
+        TextMetricsCache cache = new TextMetricsCache();
+        TextMetrics metrics = cache.getMetrics("31U", paint);
+        assertMetrics(TextMetrics.measure("31U", paint), metrics);
+        assertSame(metrics, cache.getMetrics("31U", paint));
+        cache.getMetrics("DQ", paint);
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertNotSame(metrics, cache.getMetrics("31U", paint));
+
+    }
+
+    /**
+     * Test the cache is invalidated when the paint changes
+     */
+    @Test
+    public void testPaintChange() {
+
+        Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(32);
+
+        TextMetricsCache cache = new TextMetricsCache();
+        TextMetrics metrics = cache.getMetrics("31U", paint);
+
+        paint.setTextSize(64);
+        TextMetrics larger = cache.getMetrics("31U", paint);
+        assertNotSame(metrics, larger);
+        assertMetrics(TextMetrics.measure("31U", paint), larger);
+        assertEquals(1, cache.size());
+
+        Paint other = new Paint(paint);
+        assertNotSame(larger, cache.getMetrics("31U", other));
+
+    }
+
+    /**
+     * Assert the metrics are equal
+     *
+     * @param expected expected metrics
+     * @param actual   actual metrics
+     */
+    private static void assertMetrics(TextMetrics expected, TextMetrics actual) {
+        assertEquals(expected.getWidth(), actual.getWidth(), 0.0f);
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getCenterX(), actual.getCenterX(), 0.0f);
+        assertEquals(expected.getCenterY(), actual.getCenterY(), 0.0f);
+    }
+
+}
@@ -0,0 +1,139 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tile request coalescing tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class TileCoalescingTest {
+
+    /**
+     * Zoom level of the test tile
+     */
+    private static final int ZOOM = 5;
+
+    /**
+     * Tile within the grid
+     */
+    private static final int X = 16;
+
+    /**
+     * Tile within the grid
+     */
+    private static final int Y = 12;
+
+    /**
+     * Concurrent requests
+     */
+    private static final int REQUESTS = 4;
+
+    /**
+     * Test concurrent requests for the same tile share a single load
+     *
+     * @throws InterruptedException upon interruption
+     */
+    @Test
+    public void testCoalesce() throws InterruptedException {
+
+        final CountDownLatch release = new CountDownLatch(1);
+        TileEncoder encoder = new TileEncoder("BLOCKING_PNG") {
+            @Override
+            protected boolean write(Bitmap bitmap, OutputStream out) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return bitmap.compress(Bitmap.CompressFormat.PNG, 100, out);
+            }
+        };
+
+        final MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+        tileProvider.setEncoder(encoder);
+
+        final Tile[] tiles = new Tile[REQUESTS];
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            final int request = i;
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        tiles[request] = tileProvider.getTile(X, Y, ZOOM);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (tileProvider.getCoalescedCount() < REQUESTS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(1, tileProvider.getLoadCount());
+        assertEquals(REQUESTS - 1, tileProvider.getCoalescedCount());
+        assertEquals(1, encoder.getEncodeCount());
+        assertNotNull(tiles[0]);
+        assertNotSame(TileProvider.NO_TILE, tiles[0]);
+        for (Tile tile : tiles) {
+            assertSame(tiles[0], tile);
+        }
+
+        tileProvider.getTile(X, Y, ZOOM);
+        assertEquals(2, tileProvider.getLoadCount());
+        assertEquals(2, encoder.getEncodeCount());
+
+        tileProvider.resetCounts();
+        assertEquals(0, tileProvider.getLoadCount());
+        assertEquals(0, tileProvider.getCoalescedCount());
+    }
+
+    /**
+     * Test the memory cache serves completed loads without another load
+     */
+    @Test
+    public void testCached() {
+
+        MGRSTileProvider tileProvider = MGRSTileProvider.create(256);
+        tileProvider.enableCache();
+
+        Tile tile = tileProvider.getTile(X, Y, ZOOM);
+        assertNotNull(tile);
+        assertSame(tile, tileProvider.getTile(X, Y, ZOOM));
+        assertEquals(1, tileProvider.getLoadCount());
+        assertEquals(0, tileProvider.getCoalescedCount());
+        assertTrue(tileProvider.hasCache());
+    }
+
+}
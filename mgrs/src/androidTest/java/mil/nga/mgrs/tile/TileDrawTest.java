@@ -0,0 +1,131 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import androidx.test.internal.runner.junit4.AndroidJUnit4ClassRunner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import mil.nga.grid.features.Point;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grid;
+import mil.nga.mgrs.grid.style.GridPaints;
+import mil.nga.mgrs.grid.style.Grids;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Tile draw tests
+ */
+@RunWith(AndroidJUnit4ClassRunner.class)
+public class TileDrawTest {
+
+    /**
+     * Tile containing grid zone 31U
+     */
+    private static final GridTile TILE = GridTile.tile(256, 256, 16, 10, 5);
+
+    /**
+     * Grid zone 31U
+     */
+    private static final GridZone ZONE = GridZones.getGridZone(31, 'U');
+
+    /**
+     * Test lines without a grid type draw with the grid line paint
+     */
+    @Test
+    public void testNullGridType() {
+
+        Grid grid = Grids.create().getGrid(GridType.GZD);
+        Paint paint = grid.getLinePaint();
+        GridPaints paints = grid.getPaints();
+        assertSame(GridType.GZD, paints.getType());
+        assertSame(paint, paints.getLinePaint(null));
+        assertSame(paint, grid.getLinePaint(null));
+
+        GridLine line = GridLine.line(Point.degrees(1.0, 50.0), Point.degrees(1.0, 54.0));
+        CountingCanvas canvas = new CountingCanvas();
+        TileDraw.drawLines(Collections.singletonList(line), TILE, paints, ZONE, canvas);
+        assertEquals(4, canvas.points);
+        assertSame(paint, canvas.paint);
+
+        Bitmap bitmap = Bitmap.createBitmap(256, 256, Bitmap.Config.ARGB_8888);
+        TileDraw.drawLines(Collections.singletonList(line), TILE, grid, ZONE, new Canvas(bitmap));
+        boolean drawn = false;
+        for (int y = 0; !drawn && y < bitmap.getHeight(); y++) {
+            for (int x = 0; !drawn && x < bitmap.getWidth(); x++) {
+                drawn = bitmap.getPixel(x, y) != 0;
+            }
+        }
+        assertTrue(drawn);
+        bitmap.recycle();
+
+    }
+
+    /**
+     * Test the reusable line batch is cleared when drawing fails
+     */
+    @Test
+    public void testBatchReset() {
+
+        Grid grid = Grids.create().getGrid(GridType.GZD);
+        GridLine line = GridLine.line(Point.degrees(1.0, 50.0), Point.degrees(1.0, 54.0), GridType.GZD);
+
+        List<GridLine> failing = Arrays.asList(line, null);
+        assertThrows(NullPointerException.class,
+                () -> TileDraw.drawLines(failing, TILE, grid, ZONE, new CountingCanvas()));
+
+        CountingCanvas canvas = new CountingCanvas();
+        TileDraw.drawLines(Collections.singletonList(line), TILE, grid, ZONE, canvas);
+        assertEquals(4, canvas.points);
+
+    }
+
+    /**
+     * Canvas counting the drawn line points
+     */
+    private static class CountingCanvas extends Canvas {
+
+        /**
+         * Drawn line point values
+         */
+        private int points = 0;
+
+        /**
+         * Last line paint
+         */
+        private Paint paint;
+
+        /**
+         * Constructor
+         */
+        CountingCanvas() {
+            super(Bitmap.createBitmap(256, 256, Bitmap.Config.ARGB_8888));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void drawLines(float[] pts, int offset, int count, Paint paint) {
+            points += count;
+            this.paint = paint;
+        }
+
+    }
+
+}
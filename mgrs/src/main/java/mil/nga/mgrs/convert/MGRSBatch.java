@@ -0,0 +1,432 @@
+package mil.nga.mgrs.convert;
+
+import java.util.Arrays;
+
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Batch conversion between latitudes and longitudes in primitive arrays and
+ * MGRS coordinates. Batches larger than the minimum split size are divided
+ * across threads, each converting a contiguous range with its own
+ * {@link MGRSConverter} or {@link MGRSParser}, so consecutive points in the
+ * same grid zone reuse the zone lookup.
+ */
+public class MGRSBatch {
+
+    /**
+     * Default minimum number of points converted per thread
+     */
+    public static final int DEFAULT_MIN_SPLIT_SIZE = 4096;
+
+    /**
+     * Packed coordinate padding character
+     */
+    public static final char PADDING = ' ';
+
+    /**
+     * Maximum number of threads
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Minimum number of points converted per thread
+     */
+    private int minSplitSize = DEFAULT_MIN_SPLIT_SIZE;
+
+    /**
+     * Create a batch converter with one thread per available processor
+     *
+     * @return batch converter
+     */
+    public static MGRSBatch create() {
+        return new MGRSBatch();
+    }
+
+    /**
+     * Create a batch converter
+     *
+     * @param threads maximum number of threads
+     * @return batch converter
+     */
+    public static MGRSBatch create(int threads) {
+        MGRSBatch batch = new MGRSBatch();
+        batch.setThreads(threads);
+        return batch;
+    }
+
+    /**
+     * Constructor
+     */
+    public MGRSBatch() {
+
+    }
+
+    /**
+     * Get the maximum number of threads
+     *
+     * @return threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the maximum number of threads, including the calling thread
+     *
+     * @param threads threads
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be >= 1, threads: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Get the minimum number of points converted per thread
+     *
+     * @return min split size
+     */
+    public int getMinSplitSize() {
+        return minSplitSize;
+    }
+
+    /**
+     * Set the minimum number of points converted per thread
+     *
+     * @param minSplitSize min split size
+     */
+    public void setMinSplitSize(int minSplitSize) {
+        if (minSplitSize < 1) {
+            throw new IllegalArgumentException("Min split size must be >= 1, min split size: " + minSplitSize);
+        }
+        this.minSplitSize = minSplitSize;
+    }
+
+    /**
+     * Get the packed coordinate length, the character stride per point of
+     * packed coordinates
+     *
+     * @param precision grid type precision
+     * @return packed coordinate length
+     */
+    public static int getPackedLength(GridType precision) {
+        return MGRSConverter.getMaxLength(precision);
+    }
+
+    /**
+     * Convert the latitudes and longitudes to MGRS coordinates
+     *
+     * @param latitudes  latitudes
+     * @param longitudes longitudes
+     * @param precision  grid type precision
+     * @return MGRS coordinates
+     */
+    public String[] toCoordinates(double[] latitudes, double[] longitudes, GridType precision) {
+        String[] coordinates = new String[latitudes.length];
+        toCoordinates(latitudes, longitudes, precision, coordinates);
+        return coordinates;
+    }
+
+    /**
+     * Convert the latitudes and longitudes to MGRS coordinates
+     *
+     * @param latitudes   latitudes
+     * @param longitudes  longitudes
+     * @param precision   grid type precision
+     * @param coordinates MGRS coordinates output, at least the point count long
+     */
+    public void toCoordinates(final double[] latitudes, final double[] longitudes, final GridType precision,
+                              final String[] coordinates) {
+        int count = validate(latitudes, longitudes);
+        if (coordinates.length < count) {
+            throw new IllegalArgumentException("Coordinates length " + coordinates.length
+                    + " is less than the point count " + count);
+        }
+        run(count, new Range() {
+            @Override
+            public void convert(int start, int end) {
+                MGRSConverter converter = MGRSConverter.create();
+                char[] coordinate = new char[MGRSConverter.getMaxLength(precision)];
+                for (int i = start; i < end; i++) {
+                    int length = converter.toCoordinate(latitudes[i], longitudes[i], precision, coordinate, 0);
+                    coordinates[i] = new String(coordinate, 0, length);
+                }
+            }
+        });
+    }
+
+    /**
+     * Convert the latitudes and longitudes to packed MGRS coordinates, each
+     * point taking {@link #getPackedLength(GridType)} characters with shorter
+     * coordinates padded by {@link #PADDING}
+     *
+     * @param latitudes  latitudes
+     * @param longitudes longitudes
+     * @param precision  grid type precision
+     * @return packed MGRS coordinates
+     */
+    public char[] toPackedCoordinates(double[] latitudes, double[] longitudes, GridType precision) {
+        char[] coordinates = new char[latitudes.length * getPackedLength(precision)];
+        toPackedCoordinates(latitudes, longitudes, precision, coordinates);
+        return coordinates;
+    }
+
+    /**
+     * Convert the latitudes and longitudes to packed MGRS coordinates, each
+     * point taking {@link #getPackedLength(GridType)} characters with shorter
+     * coordinates padded by {@link #PADDING}
+     *
+     * @param latitudes   latitudes
+     * @param longitudes  longitudes
+     * @param precision   grid type precision
+     * @param coordinates packed MGRS coordinates output, at least the point
+     *                    count times the packed length long
+     */
+    public void toPackedCoordinates(final double[] latitudes, final double[] longitudes, final GridType precision,
+                                    final char[] coordinates) {
+        int count = validate(latitudes, longitudes);
+        final int stride = getPackedLength(precision);
+        if (coordinates.length / stride < count) {
+            throw new IllegalArgumentException("Coordinates length " + coordinates.length
+                    + " is less than the point count " + count + " times the packed length " + stride);
+        }
+        run(count, new Range() {
+            @Override
+            public void convert(int start, int end) {
+                MGRSConverter converter = MGRSConverter.create();
+                for (int i = start; i < end; i++) {
+                    int offset = i * stride;
+                    int length = converter.toCoordinate(latitudes[i], longitudes[i], precision, coordinates, offset);
+                    Arrays.fill(coordinates, offset + length, offset + stride, PADDING);
+                }
+            }
+        });
+    }
+
+    /**
+     * Parse the MGRS coordinates to latitudes and longitudes
+     *
+     * @param coordinates MGRS coordinates, null entries are invalid
+     * @param latitudes   latitudes output, NaN for invalid coordinates
+     * @param longitudes  longitudes output, NaN for invalid coordinates
+     * @return statuses, {@link MGRSParser#VALID} or the invalid status per
+     * coordinate
+     */
+    public byte[] parse(CharSequence[] coordinates, double[] latitudes, double[] longitudes) {
+        byte[] statuses = new byte[coordinates.length];
+        parse(coordinates, latitudes, longitudes, statuses);
+        return statuses;
+    }
+
+    /**
+     * Parse the MGRS coordinates to latitudes and longitudes
+     *
+     * @param coordinates MGRS coordinates, null entries are invalid
+     * @param latitudes   latitudes output, NaN for invalid coordinates
+     * @param longitudes  longitudes output, NaN for invalid coordinates
+     * @param statuses    statuses output, {@link MGRSParser#VALID} or the
+     *                    invalid status per coordinate
+     */
+    public void parse(final CharSequence[] coordinates, final double[] latitudes, final double[] longitudes,
+                      final byte[] statuses) {
+        int count = coordinates.length;
+        validate(count, latitudes, longitudes, statuses);
+        run(count, new Range() {
+            @Override
+            public void convert(int start, int end) {
+                MGRSParser parser = MGRSParser.create();
+                for (int i = start; i < end; i++) {
+                    CharSequence coordinate = coordinates[i];
+                    if (coordinate != null) {
+                        statuses[i] = parser.parse(coordinate);
+                        latitudes[i] = parser.getLatitude();
+                        longitudes[i] = parser.getLongitude();
+                    } else {
+                        statuses[i] = MGRSParser.INVALID_FORMAT;
+                        latitudes[i] = Double.NaN;
+                        longitudes[i] = Double.NaN;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the number of delimited entries in the text. A trailing delimiter
+     * ends the last entry rather than starting an empty one.
+     *
+     * @param text      delimited text, such as a {@link java.nio.CharBuffer}
+     * @param delimiter entry delimiter
+     * @return entry count
+     */
+    public static int getEntryCount(CharSequence text, char delimiter) {
+        int length = text.length();
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) == delimiter) {
+                count++;
+            }
+        }
+        if (length > 0 && text.charAt(length - 1) != delimiter) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Parse the delimited MGRS coordinates to latitudes and longitudes. A
+     * trailing delimiter ends the last entry rather than starting an empty
+     * one, and whitespace around entries is ignored.
+     *
+     * @param text       delimited text, such as a {@link java.nio.CharBuffer}
+     * @param delimiter  entry delimiter
+     * @param latitudes  latitudes output, at least
+     *                   {@link #getEntryCount(CharSequence, char)} long, NaN
+     *                   for invalid coordinates
+     * @param longitudes longitudes output, NaN for invalid coordinates
+     * @param statuses   statuses output, {@link MGRSParser#VALID} or the
+     *                   invalid status per coordinate
+     * @return entry count
+     */
+    public int parse(final CharSequence text, char delimiter, final double[] latitudes, final double[] longitudes,
+                     final byte[] statuses) {
+
+        int length = text.length();
+        final int[] ends = new int[getEntryCount(text, delimiter)];
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) == delimiter) {
+                ends[count++] = i;
+            }
+        }
+        if (count < ends.length) {
+            ends[count++] = length;
+        }
+        validate(count, latitudes, longitudes, statuses);
+
+        run(count, new Range() {
+            @Override
+            public void convert(int start, int end) {
+                MGRSParser parser = MGRSParser.create();
+                for (int i = start; i < end; i++) {
+                    int entryStart = i > 0 ? ends[i - 1] + 1 : 0;
+                    statuses[i] = parser.parse(text, entryStart, ends[i]);
+                    latitudes[i] = parser.getLatitude();
+                    longitudes[i] = parser.getLongitude();
+                }
+            }
+        });
+
+        return count;
+    }
+
+    /**
+     * Validate the parse output arrays
+     *
+     * @param count      coordinate count
+     * @param latitudes  latitudes
+     * @param longitudes longitudes
+     * @param statuses   statuses
+     */
+    private static void validate(int count, double[] latitudes, double[] longitudes, byte[] statuses) {
+        if (latitudes.length < count || longitudes.length < count || statuses.length < count) {
+            throw new IllegalArgumentException("Output lengths (latitudes " + latitudes.length + ", longitudes "
+                    + longitudes.length + ", statuses " + statuses.length + ") are less than the coordinate count "
+                    + count);
+        }
+    }
+
+    /**
+     * Validate the point arrays
+     *
+     * @param latitudes  latitudes
+     * @param longitudes longitudes
+     * @return point count
+     */
+    private static int validate(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitudes length " + latitudes.length
+                    + " does not match longitudes length " + longitudes.length);
+        }
+        return latitudes.length;
+    }
+
+    /**
+     * Convert the points, splitting into contiguous ranges across threads
+     * when large enough. The calling thread converts the last range.
+     *
+     * @param count point count
+     * @param range range conversion
+     */
+    private void run(int count, final Range range) {
+
+        int splits = (int) Math.min(threads, Math.max(1, (long) count / minSplitSize));
+        if (splits <= 1) {
+            range.convert(0, count);
+            return;
+        }
+
+        Thread[] workers = new Thread[splits - 1];
+        final Throwable[] errors = new Throwable[splits - 1];
+        int splitSize = count / splits;
+        int remainder = count % splits;
+        int start = 0;
+        for (int i = 0; i < workers.length; i++) {
+            final int workerStart = start;
+            final int workerEnd = start + splitSize + (i < remainder ? 1 : 0);
+            final int worker = i;
+            workers[i] = new Thread(() -> {
+                try {
+                    range.convert(workerStart, workerEnd);
+                } catch (Throwable e) {
+                    errors[worker] = e;
+                }
+            }, "MGRS Batch");
+            workers[i].start();
+            start = workerEnd;
+        }
+
+        range.convert(start, count);
+
+        boolean interrupted = false;
+        for (Thread worker : workers) {
+            while (worker.isAlive()) {
+                try {
+                    worker.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (Throwable error : errors) {
+            if (error instanceof RuntimeException) {
+                throw (RuntimeException) error;
+            } else if (error instanceof Error) {
+                throw (Error) error;
+            } else if (error != null) {
+                throw new IllegalStateException("Failed to convert batch", error);
+            }
+        }
+    }
+
+    /**
+     * Conversion of a contiguous range of points
+     */
+    private interface Range {
+
+        /**
+         * Convert the points in the range
+         *
+         * @param start start index, inclusive
+         * @param end   end index, exclusive
+         */
+        void convert(int start, int end);
+
+    }
+
+}
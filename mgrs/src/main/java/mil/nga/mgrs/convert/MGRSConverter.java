@@ -0,0 +1,278 @@
+package mil.nga.mgrs.convert;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Reusable latitude and longitude to MGRS coordinate converter writing into
+ * a {@link MutableMGRS}, character arrays or string builders, producing the
+ * same coordinates as {@link MGRS#from(Point)} and
+ * {@link MGRS#coordinate(GridType)} without allocating. The grid zone of the
+ * previous point is kept so that consecutive points within the same zone skip
+ * the zone lookup. Not thread safe, use one converter per thread.
+ */
+public class MGRSConverter {
+
+    /**
+     * Maximum MGRS coordinate length
+     */
+    public static final int MAX_LENGTH = getMaxLength(GridType.METER);
+
+    /**
+     * Minimum latitude converted, lower latitudes are clamped
+     */
+    private static final double MIN_LATITUDE = -80.0;
+
+    /**
+     * Maximum latitude converted, higher latitudes are clamped
+     */
+    private static final double MAX_LATITUDE = 84.0;
+
+    /**
+     * Squared eccentricity term of the UTM projection
+     */
+    private static final double ECCENTRICITY_2 = Math.pow(0.0820944379, 2);
+
+    /**
+     * Grid zone number of the previous point, 0 when none
+     */
+    private int zoneNumber = 0;
+
+    /**
+     * Band letter of the previous point
+     */
+    private char bandLetter;
+
+    /**
+     * Hemisphere of the previous point
+     */
+    private Hemisphere hemisphere;
+
+    /**
+     * Grid zone west longitude of the previous point
+     */
+    private double west;
+
+    /**
+     * Grid zone east longitude of the previous point
+     */
+    private double east;
+
+    /**
+     * Grid zone south latitude of the previous point
+     */
+    private double south;
+
+    /**
+     * Grid zone north latitude of the previous point
+     */
+    private double north;
+
+    /**
+     * UTM easting of the last projected point
+     */
+    private double easting;
+
+    /**
+     * UTM northing of the last projected point
+     */
+    private double northing;
+
+    /**
+     * Reusable MGRS coordinate
+     */
+    private final MutableMGRS mgrs = MutableMGRS.create();
+
+    /**
+     * Create a converter
+     *
+     * @return converter
+     */
+    public static MGRSConverter create() {
+        return new MGRSConverter();
+    }
+
+    /**
+     * Constructor
+     */
+    public MGRSConverter() {
+
+    }
+
+    /**
+     * Get the maximum MGRS coordinate length at the precision
+     *
+     * @param precision grid type precision
+     * @return maximum length
+     */
+    public static int getMaxLength(GridType precision) {
+        int length = 3;
+        if (precision != GridType.GZD) {
+            length += 2 + 2 * precision.getAccuracy();
+        }
+        return length;
+    }
+
+    /**
+     * Convert the latitude and longitude to an MGRS coordinate
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param mgrs      MGRS coordinate to set
+     * @return MGRS coordinate
+     */
+    public MutableMGRS toMGRS(double latitude, double longitude, MutableMGRS mgrs) {
+        convert(latitude, longitude, true, mgrs);
+        return mgrs;
+    }
+
+    /**
+     * Convert the latitude and longitude to an MGRS coordinate string
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param precision grid type precision
+     * @return MGRS coordinate
+     */
+    public String toCoordinate(double latitude, double longitude, GridType precision) {
+        convert(latitude, longitude, precision != GridType.GZD, mgrs);
+        return mgrs.coordinate(precision);
+    }
+
+    /**
+     * Convert the latitude and longitude to an MGRS coordinate written into
+     * the character array
+     *
+     * @param latitude   latitude
+     * @param longitude  longitude
+     * @param precision  grid type precision
+     * @param coordinate coordinate characters, with at least
+     *                   {@link #getMaxLength(GridType)} characters from the offset
+     * @param offset     coordinate offset
+     * @return coordinate length
+     */
+    public int toCoordinate(double latitude, double longitude, GridType precision, char[] coordinate, int offset) {
+        convert(latitude, longitude, precision != GridType.GZD, mgrs);
+        return mgrs.getCoordinate(precision, coordinate, offset);
+    }
+
+    /**
+     * Convert the latitude and longitude to an MGRS coordinate appended to
+     * the string builder
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param precision grid type precision
+     * @param builder   string builder
+     * @return string builder
+     */
+    public StringBuilder toCoordinate(double latitude, double longitude, GridType precision,
+                                      StringBuilder builder) {
+        convert(latitude, longitude, precision != GridType.GZD, mgrs);
+        return mgrs.getCoordinate(precision, builder);
+    }
+
+    /**
+     * Convert the latitude and longitude, as {@link MGRS#from(Point)}
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param square    true to convert the 100 kilometer square and position
+     *                  within it, false for the grid zone only
+     * @param mgrs      MGRS coordinate to set
+     */
+    private void convert(double latitude, double longitude, boolean square, MutableMGRS mgrs) {
+
+        if (latitude < MIN_LATITUDE) {
+            latitude = MIN_LATITUDE;
+        } else if (latitude > MAX_LATITUDE) {
+            latitude = MAX_LATITUDE;
+        }
+        if (longitude < -180.0) {
+            longitude += 360.0;
+        } else if (longitude > 180.0) {
+            longitude -= 360.0;
+        }
+
+        if (zoneNumber == 0 || longitude < west || longitude >= east || latitude < south || latitude >= north) {
+            setZone(latitude, longitude);
+        }
+
+        char column = 0;
+        char row = 0;
+        long squareEasting = 0;
+        long squareNorthing = 0;
+        if (square) {
+            project(latitude, longitude);
+            column = MGRS.getColumnLetter(zoneNumber, easting);
+            row = MGRS.getRowLetter(zoneNumber, northing);
+            squareEasting = (long) (easting % 100000);
+            squareNorthing = (long) (northing % 100000);
+        }
+
+        mgrs.set(zoneNumber, bandLetter, column, row, squareEasting, squareNorthing);
+    }
+
+    /**
+     * Project the latitude and longitude to the UTM easting and northing of
+     * the current zone. The same operations as {@link UTM#from(Point, int, Hemisphere)}
+     * in the same order, with repeated terms computed once, for identical
+     * results without allocation.
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     */
+    private void project(double latitude, double longitude) {
+
+        double latitudeRadians = latitude * Math.PI / 180;
+        double longitudeRadians = longitude * Math.PI / 180 - (6 * zoneNumber - 183) * Math.PI / 180;
+        double cosLatitude = Math.cos(latitudeRadians);
+        double cosLatitude2 = Math.pow(cosLatitude, 2);
+        double sinLongitude = Math.sin(longitudeRadians);
+        double h = 0.5 * Math.log((1 + cosLatitude * sinLongitude) / (1 - cosLatitude * sinLongitude));
+
+        double utmEasting = h * 0.9996 * 6399593.62
+                / Math.pow((1 + ECCENTRICITY_2 * cosLatitude2), 0.5)
+                * (1 + ECCENTRICITY_2 / 2 * Math.pow(h, 2) * cosLatitude2 / 3) + 500000;
+        easting = Math.round(utmEasting * 100) * 0.01;
+
+        double sin2Latitude = Math.sin(2 * latitude * Math.PI / 180);
+        double meridian = latitudeRadians + sin2Latitude / 2;
+        double utmNorthing = (Math.atan(Math.tan(latitudeRadians) / Math.cos(longitudeRadians)) - latitudeRadians)
+                * 0.9996 * 6399593.625 / Math.sqrt(1 + 0.006739496742 * cosLatitude2)
+                * (1 + 0.006739496742 / 2 * Math.pow(h, 2) * cosLatitude2)
+                + 0.9996 * 6399593.625 * (latitudeRadians - 0.005054622556 * meridian
+                + 4.258201531e-05 * (3 * meridian + sin2Latitude * cosLatitude2) / 4
+                - 1.674057895e-07 * (5 * (3 * meridian + sin2Latitude * cosLatitude2) / 4
+                + sin2Latitude * cosLatitude2 * cosLatitude2) / 3);
+        if (hemisphere == Hemisphere.SOUTH) {
+            utmNorthing = utmNorthing + 10000000;
+        }
+        northing = Math.round(utmNorthing * 100) * 0.01;
+    }
+
+    /**
+     * Look up and keep the grid zone of the point
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     */
+    private void setZone(double latitude, double longitude) {
+        zoneNumber = GridZones.getZoneNumber(longitude, latitude);
+        bandLetter = GridZones.getBandLetter(latitude);
+        GridZone zone = GridZones.getGridZone(zoneNumber, bandLetter);
+        Bounds bounds = zone.getBounds();
+        hemisphere = zone.getHemisphere();
+        west = bounds.getWest();
+        east = bounds.getEast();
+        south = bounds.getSouth();
+        north = bounds.getNorth();
+    }
+
+}
@@ -0,0 +1,285 @@
+package mil.nga.mgrs.convert;
+
+import java.text.ParseException;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Reusable MGRS coordinate parser reading from character sequences,
+ * validating and converting to a latitude and longitude in one pass with the
+ * same results as {@link MGRS#isMGRS(String)}, {@link MGRS#parse(String)} and
+ * {@link MGRS#toPoint()}, without the whitespace removal, regular expression
+ * matching and substrings. Not thread safe, use one parser per thread.
+ */
+public class MGRSParser {
+
+    /**
+     * Status of a valid coordinate
+     */
+    public static final byte VALID = 0;
+
+    /**
+     * Status of a coordinate not in the MGRS format
+     */
+    public static final byte INVALID_FORMAT = 1;
+
+    /**
+     * Status of a coordinate in the MGRS format with a grid zone that does not
+     * exist
+     */
+    public static final byte INVALID_ZONE = 2;
+
+    /**
+     * Latitude of the last valid coordinate
+     */
+    private double latitude = Double.NaN;
+
+    /**
+     * Longitude of the last valid coordinate
+     */
+    private double longitude = Double.NaN;
+
+    /**
+     * Create a parser
+     *
+     * @return parser
+     */
+    public static MGRSParser create() {
+        return new MGRSParser();
+    }
+
+    /**
+     * Constructor
+     */
+    public MGRSParser() {
+
+    }
+
+    /**
+     * Get the latitude of the last parse, NaN when not valid
+     *
+     * @return latitude
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Get the longitude of the last parse, NaN when not valid
+     *
+     * @return longitude
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Parse the MGRS coordinate
+     *
+     * @param coordinate MGRS coordinate
+     * @return status, {@link #VALID} when the latitude and longitude are set
+     */
+    public byte parse(CharSequence coordinate) {
+        return parse(coordinate, 0, coordinate.length());
+    }
+
+    /**
+     * Parse the MGRS coordinate within the character sequence range,
+     * ignoring whitespace
+     *
+     * @param text  text
+     * @param start coordinate start index, inclusive
+     * @param end   coordinate end index, exclusive
+     * @return status, {@link #VALID} when the latitude and longitude are set
+     */
+    public byte parse(CharSequence text, int start, int end) {
+
+        latitude = Double.NaN;
+        longitude = Double.NaN;
+
+        int index = skipWhitespace(text, start, end);
+
+        int zoneNumber = 0;
+        int zoneDigits = 0;
+        while (index < end && zoneDigits < 2 && isDigit(text.charAt(index))) {
+            zoneNumber = zoneNumber * 10 + (text.charAt(index) - '0');
+            zoneDigits++;
+            index = skipWhitespace(text, index + 1, end);
+        }
+        if (zoneDigits == 0 || index == end) {
+            return INVALID_FORMAT;
+        }
+
+        char bandLetter = toUpperCase(text.charAt(index));
+        if (bandLetter < 'C' || bandLetter > 'X' || bandLetter == 'I' || bandLetter == 'O') {
+            return INVALID_FORMAT;
+        }
+        index = skipWhitespace(text, index + 1, end);
+
+        if (index == end) {
+            return toPoint(text, start, end, zoneNumber, bandLetter);
+        }
+
+        char column = toUpperCase(text.charAt(index));
+        if (column < 'A' || column > 'Z' || column == 'I' || column == 'O') {
+            return INVALID_FORMAT;
+        }
+        index = skipWhitespace(text, index + 1, end);
+        if (index == end) {
+            return INVALID_FORMAT;
+        }
+        char row = toUpperCase(text.charAt(index));
+        if (row < 'A' || row > 'V' || row == 'I' || row == 'O') {
+            return INVALID_FORMAT;
+        }
+        index = skipWhitespace(text, index + 1, end);
+
+        int digitsStart = index;
+        int digits = 0;
+        for (; index < end; index++) {
+            char character = text.charAt(index);
+            if (isDigit(character)) {
+                digits++;
+            } else if (!isWhitespace(character)) {
+                return INVALID_FORMAT;
+            }
+        }
+        if (digits % 2 != 0 || digits > 10) {
+            return INVALID_FORMAT;
+        }
+        if (digits == 0) {
+            return toPoint(text, start, end, zoneNumber, bandLetter);
+        }
+
+        int accuracy = digits / 2;
+        long easting = 0;
+        long northing = 0;
+        int read = 0;
+        for (index = digitsStart; index < end; index++) {
+            char character = text.charAt(index);
+            if (isDigit(character)) {
+                if (read < accuracy) {
+                    easting = easting * 10 + (character - '0');
+                } else {
+                    northing = northing * 10 + (character - '0');
+                }
+                read++;
+            }
+        }
+        long multiplier = 1;
+        for (int i = accuracy; i < 5; i++) {
+            multiplier *= 10;
+        }
+
+        if (!isZone(zoneNumber, bandLetter)) {
+            return INVALID_ZONE;
+        }
+
+        MGRS mgrs = MGRS.create(zoneNumber, bandLetter, column, row, easting * multiplier, northing * multiplier);
+        setPoint(mgrs.toPoint());
+        return VALID;
+    }
+
+    /**
+     * Convert a grid zone or 100 kilometer coordinate, whose placement within
+     * the grid zone is resolved by the full {@link MGRS#parse(String)}
+     *
+     * @param text       text
+     * @param start      coordinate start index, inclusive
+     * @param end        coordinate end index, exclusive
+     * @param zoneNumber zone number
+     * @param bandLetter band letter
+     * @return status
+     */
+    private byte toPoint(CharSequence text, int start, int end, int zoneNumber, char bandLetter) {
+        if (!isZone(zoneNumber, bandLetter)) {
+            return INVALID_ZONE;
+        }
+        try {
+            setPoint(MGRS.parse(text.subSequence(start, end).toString()).toPoint());
+        } catch (ParseException e) {
+            return INVALID_FORMAT;
+        }
+        return VALID;
+    }
+
+    /**
+     * Set the parsed latitude and longitude
+     *
+     * @param point point
+     */
+    private void setPoint(Point point) {
+        point = point.toDegrees();
+        latitude = point.getLatitude();
+        longitude = point.getLongitude();
+    }
+
+    /**
+     * Check if the grid zone exists
+     *
+     * @param zoneNumber zone number
+     * @param bandLetter band letter
+     * @return true if a grid zone
+     */
+    private static boolean isZone(int zoneNumber, char bandLetter) {
+        boolean zone;
+        try {
+            zone = GridZones.getGridZone(zoneNumber, bandLetter) != null;
+        } catch (IllegalArgumentException e) {
+            zone = false;
+        }
+        return zone;
+    }
+
+    /**
+     * Skip whitespace characters
+     *
+     * @param text  text
+     * @param index start index
+     * @param end   end index, exclusive
+     * @return index of the next non whitespace character or the end
+     */
+    private static int skipWhitespace(CharSequence text, int index, int end) {
+        while (index < end && isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Check if the character is whitespace, as matched by the regular
+     * expression whitespace class
+     *
+     * @param character character
+     * @return true if whitespace
+     */
+    private static boolean isWhitespace(char character) {
+        return character == ' ' || (character >= '\t' && character <= '\r');
+    }
+
+    /**
+     * Convert an ASCII letter to upper case
+     *
+     * @param character character
+     * @return upper case character
+     */
+    private static char toUpperCase(char character) {
+        if (character >= 'a' && character <= 'z') {
+            character -= 'a' - 'A';
+        }
+        return character;
+    }
+
+    /**
+     * Check if the character is an ASCII digit
+     *
+     * @param character character
+     * @return true if a digit
+     */
+    private static boolean isDigit(char character) {
+        return character >= '0' && character <= '9';
+    }
+
+}
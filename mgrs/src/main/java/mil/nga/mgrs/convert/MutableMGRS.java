@@ -0,0 +1,327 @@
+package mil.nga.mgrs.convert;
+
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Reusable mutable MGRS coordinate, filled by
+ * {@link MGRSConverter#toMGRS(double, double, MutableMGRS)} and formatted into
+ * caller supplied buffers so that repeated conversions allocate nothing. Use
+ * {@link #toMGRS()} for an immutable {@link MGRS}.
+ */
+public class MutableMGRS {
+
+    /**
+     * Zone number, 0 when not set
+     */
+    private int zone = 0;
+
+    /**
+     * Band letter
+     */
+    private char band;
+
+    /**
+     * Column letter
+     */
+    private char column;
+
+    /**
+     * Row letter
+     */
+    private char row;
+
+    /**
+     * Easting within the 100 kilometer square
+     */
+    private long easting;
+
+    /**
+     * Northing within the 100 kilometer square
+     */
+    private long northing;
+
+    /**
+     * Create an unset MGRS coordinate
+     *
+     * @return MGRS coordinate
+     */
+    public static MutableMGRS create() {
+        return new MutableMGRS();
+    }
+
+    /**
+     * Constructor
+     */
+    public MutableMGRS() {
+
+    }
+
+    /**
+     * Check if the coordinate is set
+     *
+     * @return true if set
+     */
+    public boolean isSet() {
+        return zone != 0;
+    }
+
+    /**
+     * Get the zone number
+     *
+     * @return zone number, 0 when not set
+     */
+    public int getZone() {
+        return zone;
+    }
+
+    /**
+     * Get the band letter
+     *
+     * @return band letter
+     */
+    public char getBand() {
+        return band;
+    }
+
+    /**
+     * Get the column letter
+     *
+     * @return column letter
+     */
+    public char getColumn() {
+        return column;
+    }
+
+    /**
+     * Get the row letter
+     *
+     * @return row letter
+     */
+    public char getRow() {
+        return row;
+    }
+
+    /**
+     * Get the easting within the 100 kilometer square
+     *
+     * @return easting
+     */
+    public long getEasting() {
+        return easting;
+    }
+
+    /**
+     * Get the northing within the 100 kilometer square
+     *
+     * @return northing
+     */
+    public long getNorthing() {
+        return northing;
+    }
+
+    /**
+     * Set the coordinate
+     *
+     * @param zone     zone number
+     * @param band     band letter
+     * @param column   column letter
+     * @param row      row letter
+     * @param easting  easting within the 100 kilometer square
+     * @param northing northing within the 100 kilometer square
+     */
+    public void set(int zone, char band, char column, char row, long easting, long northing) {
+        this.zone = zone;
+        this.band = band;
+        this.column = column;
+        this.row = row;
+        this.easting = easting;
+        this.northing = northing;
+    }
+
+    /**
+     * Set the coordinate from an MGRS coordinate
+     *
+     * @param mgrs MGRS coordinate
+     */
+    public void set(MGRS mgrs) {
+        set(mgrs.getZone(), mgrs.getBand(), mgrs.getColumn(), mgrs.getRow(), mgrs.getEasting(),
+                mgrs.getNorthing());
+    }
+
+    /**
+     * Unset the coordinate
+     */
+    public void clear() {
+        zone = 0;
+    }
+
+    /**
+     * Check if this coordinate is within the same grid cell as the other
+     * coordinate at the precision
+     *
+     * @param other     other coordinate
+     * @param precision grid type precision
+     * @return true if the same cell
+     */
+    public boolean isSameCell(MutableMGRS other, GridType precision) {
+        boolean same = zone == other.zone && band == other.band;
+        if (same && precision != GridType.GZD) {
+            int divisor = precision.getPrecision();
+            same = column == other.column && row == other.row
+                    && easting / divisor == other.easting / divisor
+                    && northing / divisor == other.northing / divisor;
+        }
+        return same;
+    }
+
+    /**
+     * Get the coordinate length at the precision
+     *
+     * @param precision grid type precision
+     * @return coordinate length
+     */
+    public int getLength(GridType precision) {
+        int length = zone >= 10 ? 3 : 2;
+        if (precision != GridType.GZD) {
+            length += 2 + 2 * precision.getAccuracy();
+        }
+        return length;
+    }
+
+    /**
+     * Write the coordinate at the precision into the character array
+     *
+     * @param precision  grid type precision
+     * @param coordinate coordinate characters, with at least
+     *                   {@link #getLength(GridType)} characters from the offset
+     * @param offset     coordinate offset
+     * @return coordinate length
+     */
+    public int getCoordinate(GridType precision, char[] coordinate, int offset) {
+
+        int index = offset;
+        if (zone >= 10) {
+            coordinate[index++] = (char) ('0' + zone / 10);
+        }
+        coordinate[index++] = (char) ('0' + zone % 10);
+        coordinate[index++] = band;
+
+        if (precision != GridType.GZD) {
+
+            coordinate[index++] = column;
+            coordinate[index++] = row;
+
+            int accuracy = precision.getAccuracy();
+            if (accuracy > 0) {
+                int divisor = precision.getPrecision();
+                index = writeDigits(easting / divisor, accuracy, coordinate, index);
+                index = writeDigits(northing / divisor, accuracy, coordinate, index);
+            }
+        }
+
+        return index - offset;
+    }
+
+    /**
+     * Append the coordinate at the precision to the string builder
+     *
+     * @param precision grid type precision
+     * @param builder   string builder
+     * @return string builder
+     */
+    public StringBuilder getCoordinate(GridType precision, StringBuilder builder) {
+
+        builder.append(zone);
+        builder.append(band);
+
+        if (precision != GridType.GZD) {
+
+            builder.append(column);
+            builder.append(row);
+
+            int accuracy = precision.getAccuracy();
+            if (accuracy > 0) {
+                int divisor = precision.getPrecision();
+                appendDigits(easting / divisor, accuracy, builder);
+                appendDigits(northing / divisor, accuracy, builder);
+            }
+        }
+
+        return builder;
+    }
+
+    /**
+     * Get the coordinate at the precision
+     *
+     * @param precision grid type precision
+     * @return MGRS coordinate
+     */
+    public String coordinate(GridType precision) {
+        char[] coordinate = new char[getLength(precision)];
+        getCoordinate(precision, coordinate, 0);
+        return new String(coordinate);
+    }
+
+    /**
+     * Create an immutable MGRS coordinate
+     *
+     * @return MGRS coordinate
+     */
+    public MGRS toMGRS() {
+        return MGRS.create(zone, band, column, row, easting, northing);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return coordinate(GridType.METER);
+    }
+
+    /**
+     * Write the value as zero padded digits
+     *
+     * @param value      value
+     * @param digits     number of digits
+     * @param coordinate coordinate characters
+     * @param index      write index
+     * @return index after the digits
+     */
+    static int writeDigits(long value, int digits, char[] coordinate, int index) {
+        for (int i = index + digits - 1; i >= index; i--) {
+            coordinate[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return index + digits;
+    }
+
+    /**
+     * Append the value as zero padded digits
+     *
+     * @param value   value
+     * @param digits  number of digits
+     * @param builder string builder
+     */
+    private static void appendDigits(long value, int digits, StringBuilder builder) {
+        for (long place = pow10(digits - 1); place > 0; place /= 10) {
+            builder.append((char) ('0' + (value / place) % 10));
+        }
+    }
+
+    /**
+     * Get the power of ten
+     *
+     * @param exponent exponent
+     * @return 10 to the exponent
+     */
+    private static long pow10(int exponent) {
+        long value = 1;
+        for (int i = 0; i < exponent; i++) {
+            value *= 10;
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,601 @@
+package mil.nga.mgrs.geojson;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GZDLabeler;
+import mil.nga.mgrs.gzd.GridRange;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.tile.GridCells;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Streaming GeoJSON feature collection writer of grid lines, labels, and
+ * cells within bounds. Features are computed one grid cell at a time and
+ * written as they are produced, so exports over large bounds run in constant
+ * memory. Features carry a {@link #TYPE_PROPERTY} property, and labels and
+ * cells a {@link #NAME_PROPERTY} and {@link #MGRS_PROPERTY} property.
+ * Coordinates are written in degrees with {@link #DECIMALS} decimal places.
+ */
+public class GridGeoJSONWriter implements Closeable, Flushable {
+
+    /**
+     * Grid type property, values are {@link GridType} names
+     */
+    public static final String TYPE_PROPERTY = "type";
+
+    /**
+     * Label name property
+     */
+    public static final String NAME_PROPERTY = "name";
+
+    /**
+     * MGRS coordinate property
+     */
+    public static final String MGRS_PROPERTY = "mgrs";
+
+    /**
+     * Coordinate decimal places, about one centimeter
+     */
+    public static final int DECIMALS = 7;
+
+    /**
+     * Coordinate decimal scale
+     */
+    private static final double SCALE = 1e7;
+
+    /**
+     * Grid Zone Designator labeler
+     */
+    private static final GZDLabeler GZD_LABELER = new GZDLabeler();
+
+    /**
+     * Output writer
+     */
+    private final Writer writer;
+
+    /**
+     * Reusable feature text buffer
+     */
+    private final StringBuilder feature = new StringBuilder(256);
+
+    /**
+     * Reusable cell polygon coordinates as longitude, latitude pairs
+     */
+    private double[] polygon = new double[16];
+
+    /**
+     * Reusable cell polygon clipping coordinates
+     */
+    private double[] clipped = new double[16];
+
+    /**
+     * Number of written features
+     */
+    private long featureCount = 0;
+
+    /**
+     * True when the feature collection header has been written
+     */
+    private boolean started = false;
+
+    /**
+     * True when the feature collection footer has been written
+     */
+    private boolean finished = false;
+
+    /**
+     * Create a writer
+     *
+     * @param writer output writer
+     * @return GeoJSON writer
+     */
+    public static GridGeoJSONWriter create(Writer writer) {
+        return new GridGeoJSONWriter(writer);
+    }
+
+    /**
+     * Create a UTF-8 writer
+     *
+     * @param outputStream output stream
+     * @return GeoJSON writer
+     */
+    public static GridGeoJSONWriter create(OutputStream outputStream) {
+        return new GridGeoJSONWriter(outputStream);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param writer output writer
+     */
+    public GridGeoJSONWriter(Writer writer) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+    }
+
+    /**
+     * Constructor, UTF-8
+     *
+     * @param outputStream output stream
+     */
+    public GridGeoJSONWriter(OutputStream outputStream) {
+        this(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the number of written features
+     *
+     * @return feature count
+     */
+    public long getFeatureCount() {
+        return featureCount;
+    }
+
+    /**
+     * Write the grid type lines within the bounds as line string features
+     *
+     * @param bounds   bounds
+     * @param gridType grid type
+     * @return number of written features
+     * @throws IOException upon write failure
+     */
+    public long writeLines(Bounds bounds, GridType gridType) throws IOException {
+        long count = featureCount;
+        for (GridZone zone : GridZones.getGridRange(bounds)) {
+            if (gridType == GridType.GZD) {
+                writeLines(zone.getLines(bounds, gridType));
+            } else {
+                Bounds drawBounds = zone.getDrawBounds(bounds, gridType);
+                if (drawBounds != null) {
+                    int precision = gridType.getPrecision();
+                    for (double easting = drawBounds.getMinLongitude(); easting < drawBounds.getMaxLongitude(); easting += precision) {
+                        for (double northing = drawBounds.getMinLatitude(); northing < drawBounds.getMaxLatitude(); northing += precision) {
+                            GridLine[] lines = GridCells.getLines(gridType, zone, easting, northing);
+                            writeLine(lines[0]);
+                            writeLine(lines[1]);
+                        }
+                    }
+                }
+            }
+        }
+        return featureCount - count;
+    }
+
+    /**
+     * Write the grid type labels within the bounds as point features at the
+     * label centers
+     *
+     * @param bounds   bounds
+     * @param gridType grid type
+     * @return number of written features
+     * @throws IOException upon write failure
+     */
+    public long writeLabels(Bounds bounds, GridType gridType) throws IOException {
+        return writeLabels(bounds, gridType, false);
+    }
+
+    /**
+     * Write the grid type cells within the bounds as polygon features, clipped
+     * to the grid zones
+     *
+     * @param bounds   bounds
+     * @param gridType grid type
+     * @return number of written features
+     * @throws IOException upon write failure
+     */
+    public long writeCells(Bounds bounds, GridType gridType) throws IOException {
+        return writeLabels(bounds, gridType, true);
+    }
+
+    /**
+     * Write the grid type labels or cells within the bounds
+     *
+     * @param bounds   bounds
+     * @param gridType grid type
+     * @param cells    true for cell polygons, false for label points
+     * @return number of written features
+     * @throws IOException upon write failure
+     */
+    private long writeLabels(Bounds bounds, GridType gridType, boolean cells) throws IOException {
+        long count = featureCount;
+        for (GridZone zone : GridZones.getGridRange(bounds)) {
+            if (gridType == GridType.GZD) {
+                List<GridLabel> labels = GZD_LABELER.getLabels(bounds, gridType, zone);
+                if (labels != null) {
+                    for (GridLabel label : labels) {
+                        if (cells) {
+                            writeZoneCell(zone, label);
+                        } else {
+                            writeLabel(label);
+                        }
+                    }
+                }
+            } else {
+                Bounds drawBounds = zone.getDrawBounds(bounds, gridType);
+                if (drawBounds != null) {
+                    int precision = gridType.getPrecision();
+                    for (double easting = drawBounds.getMinLongitude(); easting <= drawBounds.getMaxLongitude(); easting += precision) {
+                        for (double northing = drawBounds.getMinLatitude(); northing <= drawBounds.getMaxLatitude(); northing += precision) {
+                            GridLabel label = GridCells.getLabel(gridType, zone, easting, northing);
+                            if (label != null) {
+                                if (cells) {
+                                    writeCell(zone, label, easting, northing);
+                                } else {
+                                    writeLabel(label);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return featureCount - count;
+    }
+
+    /**
+     * Write the lines as line string features
+     *
+     * @param lines lines or null
+     * @throws IOException upon write failure
+     */
+    public void writeLines(List<GridLine> lines) throws IOException {
+        if (lines != null) {
+            for (GridLine line : lines) {
+                writeLine(line);
+            }
+        }
+    }
+
+    /**
+     * Write the line as a line string feature
+     *
+     * @param line line
+     * @throws IOException upon write failure
+     */
+    public void writeLine(GridLine line) throws IOException {
+        startFeature("LineString");
+        feature.append('[');
+        appendPosition(line.getPoint1().getLongitude(), line.getPoint1().getLatitude());
+        feature.append(',');
+        appendPosition(line.getPoint2().getLongitude(), line.getPoint2().getLatitude());
+        feature.append(']');
+        startProperties();
+        appendProperty(TYPE_PROPERTY, line.getGridType().name());
+        endFeature();
+    }
+
+    /**
+     * Write the label as a point feature at the label center
+     *
+     * @param label label
+     * @throws IOException upon write failure
+     */
+    public void writeLabel(GridLabel label) throws IOException {
+        startFeature("Point");
+        appendPosition(label.getCenter().getLongitude(), label.getCenter().getLatitude());
+        appendLabelProperties(label);
+        endFeature();
+    }
+
+    /**
+     * Write the grid cell polygon, clipped to the grid zone bounds
+     *
+     * @param zone     grid zone
+     * @param label    cell label
+     * @param easting  cell west easting
+     * @param northing cell south northing
+     * @throws IOException upon write failure
+     */
+    private void writeCell(GridZone zone, GridLabel label, double easting, double northing) throws IOException {
+
+        int precision = label.getGridType().getPrecision();
+        int zoneNumber = zone.getNumber();
+        Hemisphere hemisphere = zone.getHemisphere();
+
+        setPolygonPoint(0, UTM.point(zoneNumber, hemisphere, easting, northing));
+        setPolygonPoint(1, UTM.point(zoneNumber, hemisphere, easting + precision, northing));
+        setPolygonPoint(2, UTM.point(zoneNumber, hemisphere, easting + precision, northing + precision));
+        setPolygonPoint(3, UTM.point(zoneNumber, hemisphere, easting, northing + precision));
+
+        int count = clip(4, zone.getBounds());
+        if (count >= 3) {
+            writePolygon(label, count);
+        }
+    }
+
+    /**
+     * Write the grid zone cell polygon
+     *
+     * @param zone  grid zone
+     * @param label grid zone label
+     * @throws IOException upon write failure
+     */
+    private void writeZoneCell(GridZone zone, GridLabel label) throws IOException {
+        Bounds bounds = label.getBounds();
+        setPolygonPoint(0, bounds.getSouthwest());
+        setPolygonPoint(1, bounds.getSoutheast());
+        setPolygonPoint(2, bounds.getNortheast());
+        setPolygonPoint(3, bounds.getNorthwest());
+        writePolygon(label, 4);
+    }
+
+    /**
+     * Write the polygon coordinates as a polygon feature
+     *
+     * @param label polygon label
+     * @param count polygon point count
+     * @throws IOException upon write failure
+     */
+    private void writePolygon(GridLabel label, int count) throws IOException {
+        startFeature("Polygon");
+        feature.append("[[");
+        for (int i = 0; i <= count; i++) {
+            if (i > 0) {
+                feature.append(',');
+            }
+            int index = (i % count) * 2;
+            appendPosition(polygon[index], polygon[index + 1]);
+        }
+        feature.append("]]");
+        appendLabelProperties(label);
+        endFeature();
+    }
+
+    /**
+     * Set a polygon point
+     *
+     * @param index point index
+     * @param point point in degrees
+     */
+    private void setPolygonPoint(int index, Point point) {
+        polygon[index * 2] = point.getLongitude();
+        polygon[index * 2 + 1] = point.getLatitude();
+    }
+
+    /**
+     * Clip the polygon to the bounds (Sutherland-Hodgman)
+     *
+     * @param count  polygon point count
+     * @param bounds bounds in degrees
+     * @return clipped polygon point count
+     */
+    private int clip(int count, Bounds bounds) {
+        count = clip(count, 0, bounds.getMinLongitude(), false);
+        count = clip(count, 0, bounds.getMaxLongitude(), true);
+        count = clip(count, 1, bounds.getMinLatitude(), false);
+        count = clip(count, 1, bounds.getMaxLatitude(), true);
+        return count;
+    }
+
+    /**
+     * Clip the polygon to one bounds edge
+     *
+     * @param count polygon point count
+     * @param axis  0 for longitude, 1 for latitude
+     * @param value edge value
+     * @param max   true to keep values below the edge, false above
+     * @return clipped polygon point count
+     */
+    private int clip(int count, int axis, double value, boolean max) {
+        int clippedCount = 0;
+        if (clipped.length < (count + 1) * 4) {
+            clipped = new double[(count + 1) * 4];
+        }
+        for (int i = 0; i < count; i++) {
+            int current = i * 2;
+            int previous = ((i + count - 1) % count) * 2;
+            double currentValue = polygon[current + axis];
+            double previousValue = polygon[previous + axis];
+            boolean currentInside = max ? currentValue <= value : currentValue >= value;
+            boolean previousInside = max ? previousValue <= value : previousValue >= value;
+            if (currentInside != previousInside) {
+                double t = (value - previousValue) / (currentValue - previousValue);
+                clipped[clippedCount * 2] = polygon[previous] + t * (polygon[current] - polygon[previous]);
+                clipped[clippedCount * 2 + 1] = polygon[previous + 1] + t * (polygon[current + 1] - polygon[previous + 1]);
+                clipped[clippedCount * 2 + axis] = value;
+                clippedCount++;
+            }
+            if (currentInside) {
+                clipped[clippedCount * 2] = polygon[current];
+                clipped[clippedCount * 2 + 1] = polygon[current + 1];
+                clippedCount++;
+            }
+        }
+        double[] swap = polygon;
+        polygon = clipped;
+        clipped = swap;
+        return clippedCount;
+    }
+
+    /**
+     * Flush the written features to the output
+     *
+     * @throws IOException upon flush failure
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Finish the feature collection and flush, leaving the output open
+     *
+     * @throws IOException upon write failure
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            start();
+            writer.write("]}");
+            finished = true;
+        }
+        writer.flush();
+    }
+
+    /**
+     * Finish the feature collection and close the output
+     *
+     * @throws IOException upon write failure
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Write the feature collection header if needed
+     *
+     * @throws IOException upon write failure
+     */
+    private void start() throws IOException {
+        if (!started) {
+            writer.write("{\"type\":\"FeatureCollection\",\"features\":[");
+            started = true;
+        }
+    }
+
+    /**
+     * Start a feature in the feature buffer, through the geometry coordinates key
+     *
+     * @param geometryType geometry type
+     */
+    private void startFeature(String geometryType) {
+        if (finished) {
+            throw new IllegalStateException("GeoJSON feature collection is finished");
+        }
+        feature.setLength(0);
+        if (featureCount > 0) {
+            feature.append(',');
+        }
+        feature.append("{\"type\":\"Feature\",\"geometry\":{\"type\":\"").append(geometryType)
+                .append("\",\"coordinates\":");
+    }
+
+    /**
+     * Start the feature properties in the feature buffer
+     */
+    private void startProperties() {
+        feature.append("},\"properties\":{");
+    }
+
+    /**
+     * Append the label properties to the feature buffer
+     *
+     * @param label label
+     */
+    private void appendLabelProperties(GridLabel label) {
+        startProperties();
+        appendProperty(TYPE_PROPERTY, label.getGridType().name());
+        feature.append(',');
+        appendProperty(NAME_PROPERTY, label.getName());
+        if (label.getCoordinate() != null) {
+            feature.append(',');
+            appendProperty(MGRS_PROPERTY, label.getCoordinate().coordinate(label.getGridType()));
+        }
+    }
+
+    /**
+     * End the feature and write the feature buffer
+     *
+     * @throws IOException upon write failure
+     */
+    private void endFeature() throws IOException {
+        feature.append("}}");
+        start();
+        writer.append(feature);
+        featureCount++;
+    }
+
+    /**
+     * Append a string property to the feature buffer
+     *
+     * @param name  property name
+     * @param value property value
+     */
+    private void appendProperty(String name, String value) {
+        appendString(name);
+        feature.append(':');
+        appendString(value);
+    }
+
+    /**
+     * Append a quoted and escaped JSON string to the feature buffer
+     *
+     * @param value string value
+     */
+    private void appendString(String value) {
+        feature.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                feature.append('\\').append(c);
+            } else if (c < 0x20) {
+                feature.append(String.format("\\u%04x", (int) c));
+            } else {
+                feature.append(c);
+            }
+        }
+        feature.append('"');
+    }
+
+    /**
+     * Append a longitude and latitude position to the feature buffer
+     *
+     * @param longitude longitude in degrees
+     * @param latitude  latitude in degrees
+     */
+    private void appendPosition(double longitude, double latitude) {
+        feature.append('[');
+        appendDecimal(longitude);
+        feature.append(',');
+        appendDecimal(latitude);
+        feature.append(']');
+    }
+
+    /**
+     * Append a coordinate rounded to {@link #DECIMALS} decimal places, without
+     * trailing zeros or exponent notation
+     *
+     * @param value coordinate value
+     */
+    private void appendDecimal(double value) {
+        long scaled = Math.round(value * SCALE);
+        if (scaled < 0) {
+            feature.append('-');
+            scaled = -scaled;
+        }
+        long whole = scaled / (long) SCALE;
+        long fraction = scaled % (long) SCALE;
+        feature.append(whole);
+        if (fraction != 0) {
+            feature.append('.');
+            int digits = DECIMALS;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                digits--;
+            }
+            for (long divisor = (long) Math.pow(10, digits - 1); divisor > fraction && divisor > 1; divisor /= 10) {
+                feature.append('0');
+            }
+            feature.append(fraction);
+        }
+    }
+
+}
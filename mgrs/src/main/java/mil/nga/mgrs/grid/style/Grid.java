@@ -3,27 +3,50 @@ package mil.nga.mgrs.grid.style;
 import android.graphics.Paint;
 import android.graphics.Typeface;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
 
 import mil.nga.color.Color;
+import mil.nga.grid.GridStyle;
+import mil.nga.grid.Labeler;
 import mil.nga.mgrs.grid.GridLabeler;
 import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.tile.LabelAtlas;
+import mil.nga.mgrs.tile.TextMetricsCache;
 
 /**
- * Grid with Android specific styling
+ * Grid with Android specific styling. Changes made through the grid setters
+ * increment the generation of the owning grids.
  */
 public class Grid extends mil.nga.mgrs.grid.Grid {
 
     /**
-     * Grid line paint by grid type
+     * Built in typefaces, hashed by index so style hashes remain stable across app restarts
      */
-    private final Map<GridType, Paint> linePaint = new HashMap<>();
+    private static final Typeface[] TYPEFACES = new Typeface[]{Typeface.DEFAULT,
+            Typeface.DEFAULT_BOLD, Typeface.MONOSPACE, Typeface.SANS_SERIF, Typeface.SERIF};
 
     /**
-     * Grid label paint
+     * Grid line and label paints, replaced on each change
      */
-    private Paint labelPaint;
+    private volatile GridPaints paints;
+
+    /**
+     * Grid label text metrics cache
+     */
+    private final TextMetricsCache labelMetrics = new TextMetricsCache();
+
+    /**
+     * Grid label sprite atlas
+     */
+    private final LabelAtlas labelAtlas = new LabelAtlas();
+
+    /**
+     * Owning grids notified of changes, null until owned
+     */
+    private volatile Grids grids;
 
     /**
      * Constructor
@@ -32,6 +55,73 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      */
     protected Grid(GridType type) {
         super(type);
+        paints = GridPaints.create(type);
+    }
+
+    /**
+     * Set the owning grids notified of changes
+     *
+     * @param grids owning grids
+     */
+    void setGrids(Grids grids) {
+        this.grids = grids;
+    }
+
+    /**
+     * Record a change with the owning grids, incrementing the grids
+     * generation. Changes made within another change of this grid are
+     * recorded once by the outer change.
+     */
+    protected void changed() {
+        Grids grids = this.grids;
+        if (grids != null && !Thread.holdsLock(this)) {
+            grids.gridChanged();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        super.setEnabled(enabled);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMinZoom(int minZoom) {
+        super.setMinZoom(minZoom);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setMaxZoom(Integer maxZoom) {
+        super.setMaxZoom(maxZoom);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLinesMinZoom(Integer linesMinZoom) {
+        super.setLinesMinZoom(linesMinZoom);
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLinesMaxZoom(Integer linesMaxZoom) {
+        super.setLinesMaxZoom(linesMaxZoom);
+        changed();
     }
 
     /**
@@ -53,10 +143,15 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
         if (gridType == null) {
             gridType = getType();
         }
-        Paint paint = linePaint.get(gridType);
+        Paint paint = paints.getLinePaint(gridType);
         if (paint == null) {
-            paint = createLinePaint(gridType);
-            linePaint.put(gridType, paint);
+            synchronized (this) {
+                paint = paints.getLinePaint(gridType);
+                if (paint == null) {
+                    paint = createLinePaint(gridType);
+                    paints = paints.withLinePaint(gridType, paint);
+                }
+            }
         }
         return paint;
     }
@@ -85,13 +180,52 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
         return paint;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setStyle(GridStyle style) {
+        synchronized (this) {
+            super.setStyle(style);
+            resetLinePaint(getType());
+        }
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setStyle(GridType gridType, GridStyle style) {
+        synchronized (this) {
+            super.setStyle(gridType, style);
+            resetLinePaint(gridType);
+        }
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clearPrecisionStyles() {
+        synchronized (this) {
+            super.clearPrecisionStyles();
+            resetLinePaint();
+        }
+        changed();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void setWidth(double width) {
-        super.setWidth(width);
-        resetLinePaint(getType());
+        synchronized (this) {
+            super.setWidth(width);
+            resetLinePaint(getType());
+        }
+        changed();
     }
 
     /**
@@ -99,8 +233,11 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      */
     @Override
     public void setColor(Color color) {
-        super.setColor(color);
-        resetLinePaint(getType());
+        synchronized (this) {
+            super.setColor(color);
+            resetLinePaint(getType());
+        }
+        changed();
     }
 
     /**
@@ -108,8 +245,11 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      */
     @Override
     public void setColor(GridType gridType, Color color) {
-        super.setColor(gridType, color);
-        resetLinePaint(gridType);
+        synchronized (this) {
+            super.setColor(gridType, color);
+            resetLinePaint(gridType);
+        }
+        changed();
     }
 
     /**
@@ -117,15 +257,21 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      */
     @Override
     public void setWidth(GridType gridType, double width) {
-        super.setWidth(gridType, width);
-        resetLinePaint(gridType);
+        synchronized (this) {
+            super.setWidth(gridType, width);
+            resetLinePaint(gridType);
+        }
+        changed();
     }
 
     /**
      * Reset the grid line paint
      */
     public void resetLinePaint() {
-        linePaint.clear();
+        synchronized (this) {
+            paints = paints.withoutLinePaints();
+        }
+        changed();
     }
 
     /**
@@ -134,7 +280,10 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      * @param gridType grid type
      */
     public void resetLinePaint(GridType gridType) {
-        linePaint.remove(gridType);
+        synchronized (this) {
+            paints = paints.withLinePaint(gridType, null);
+        }
+        changed();
     }
 
     /**
@@ -153,7 +302,10 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      * @param paint    grid line paint
      */
     public void setLinePaint(GridType gridType, Paint paint) {
-        linePaint.put(gridType, paint);
+        synchronized (this) {
+            paints = paints.withLinePaint(gridType, paint);
+        }
+        changed();
     }
 
     /**
@@ -162,10 +314,18 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      * @return grid label paint, null if no labeler
      */
     public Paint getLabelPaint() {
-        if (labelPaint == null) {
-            createLabelPaint();
+        GridPaints paints = this.paints;
+        Paint paint = paints.getLabelPaint();
+        if (paint == null && !paints.isLabelPaintSet()) {
+            synchronized (this) {
+                paints = this.paints;
+                paint = paints.getLabelPaint();
+                if (paint == null && !paints.isLabelPaintSet()) {
+                    paint = createLabelPaint();
+                }
+            }
         }
-        return labelPaint;
+        return paint;
     }
 
     /**
@@ -173,16 +333,16 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      *
      * @return grid label paint, null if no labeler
      */
-    public Paint createLabelPaint() {
+    public synchronized Paint createLabelPaint() {
+        Paint labelPaint = null;
         GridLabeler labeler = getLabeler();
         if (labeler != null) {
             labelPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
             labelPaint.setColor(labeler.getColor().getColorWithAlpha());
             labelPaint.setTextSize((float) labeler.getTextSize());
             labelPaint.setTypeface(Typeface.MONOSPACE);
-        } else {
-            labelPaint = null;
         }
+        paints = paints.withLabelPaint(labelPaint);
         return labelPaint;
     }
 
@@ -190,7 +350,12 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      * Reset the grid label paint
      */
     public void resetLabelPaint() {
-        setLabelPaint(null);
+        synchronized (this) {
+            paints = paints.withoutLabelPaint();
+            labelMetrics.clear();
+            labelAtlas.clear();
+        }
+        changed();
     }
 
     /**
@@ -199,15 +364,200 @@ public class Grid extends mil.nga.mgrs.grid.Grid {
      * @param labelPaint grid label paint
      */
     public void setLabelPaint(Paint labelPaint) {
-        this.labelPaint = labelPaint;
+        synchronized (this) {
+            if (labelPaint != null) {
+                paints = paints.withLabelPaint(labelPaint);
+            } else {
+                paints = paints.withoutLabelPaint();
+            }
+            labelMetrics.clear();
+            labelAtlas.clear();
+        }
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabeler(Labeler labeler) {
+        synchronized (this) {
+            super.setLabeler(labeler);
+            resetLabelPaint();
+        }
+        changed();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void setLabeler(GridLabeler labeler) {
+        synchronized (this) {
+            super.setLabeler(labeler);
+            resetLabelPaint();
+        }
+        changed();
+    }
+
+    /**
+     * Get the grid label text metrics cache
+     *
+     * @return label text metrics cache
+     */
+    public TextMetricsCache getLabelMetrics() {
+        return labelMetrics;
+    }
+
+    /**
+     * Get the grid label sprite atlas, set the max pages to 0 to draw labels as text
+     *
+     * @return label sprite atlas
+     */
+    public LabelAtlas getLabelAtlas() {
+        return labelAtlas;
     }
 
     /**
      * Reset the grid line and label paint
      */
     public void resetPaint() {
-        resetLinePaint();
-        resetLabelPaint();
+        synchronized (this) {
+            resetLinePaint();
+            resetLabelPaint();
+        }
+        changed();
+    }
+
+    /**
+     * Get an immutable snapshot of the line and label paints drawn by this
+     * grid, creating any missing paints. Tile renders draw with one snapshot
+     * while paint changes publish new snapshots.
+     *
+     * @return grid paints
+     */
+    public GridPaints getPaints() {
+        GridPaints paints = this.paints;
+        if (!paints.isComplete()) {
+            synchronized (this) {
+                for (GridType lineType : getLineTypes()) {
+                    getLinePaint(lineType);
+                }
+                getLabelPaint();
+                paints = this.paints.asComplete();
+                this.paints = paints;
+            }
+        }
+        return paints;
+    }
+
+    /**
+     * Get the grid types of the lines drawn by this grid, the grid type and
+     * all less precise grid types below the Grid Zone Designator
+     *
+     * @return line grid types
+     */
+    public List<GridType> getLineTypes() {
+        List<GridType> types;
+        GridType type = getType();
+        if (type == GridType.GZD) {
+            types = Collections.singletonList(type);
+        } else {
+            types = new ArrayList<>();
+            for (GridType lineType : GridType.lessPrecise(type)) {
+                if (lineType != GridType.GZD) {
+                    types.add(lineType);
+                }
+            }
+            types.add(type);
+        }
+        return types;
+    }
+
+    /**
+     * Get a hash of the grid style: zoom ranges, line paints, labeler, and
+     * label paint. The hash changes when the drawn grid changes and is stable
+     * across app restarts for colors, widths, text sizes, and built in typefaces.
+     *
+     * @return style hash
+     */
+    public int getStyleHash() {
+        final int prime = 31;
+        int hash = getType().ordinal();
+        hash = prime * hash + (isEnabled() ? 1 : 0);
+        hash = prime * hash + getMinZoom();
+        hash = prime * hash + Objects.hashCode(getMaxZoom());
+        hash = prime * hash + getLinesMinZoom();
+        hash = prime * hash + Objects.hashCode(getLinesMaxZoom());
+        for (GridType lineType : getLineTypes()) {
+            hash = prime * hash + getPaintHash(getLinePaint(lineType));
+        }
+        GridLabeler labeler = getLabeler();
+        if (labeler != null) {
+            hash = prime * hash + (labeler.isEnabled() ? 1 : 0);
+            hash = prime * hash + labeler.getMinZoom();
+            hash = prime * hash + Objects.hashCode(labeler.getMaxZoom());
+            hash = prime * hash + Double.valueOf(labeler.getBuffer()).hashCode();
+            hash = prime * hash + getPaintHash(getLabelPaint());
+        }
+        return hash;
+    }
+
+    /**
+     * Get a hash of the paint attributes used to draw lines and labels
+     *
+     * @param paint paint
+     * @return paint hash
+     */
+    private static int getPaintHash(Paint paint) {
+        int hash = 0;
+        if (paint != null) {
+            final int prime = 31;
+            hash = paint.getColor();
+            hash = prime * hash + paint.getFlags();
+            hash = prime * hash + paint.getStyle().ordinal();
+            hash = prime * hash + Float.floatToIntBits(paint.getStrokeWidth());
+            hash = prime * hash + paint.getStrokeCap().ordinal();
+            hash = prime * hash + paint.getStrokeJoin().ordinal();
+            hash = prime * hash + Float.floatToIntBits(paint.getTextSize());
+            hash = prime * hash + Float.floatToIntBits(paint.getTextScaleX());
+            hash = prime * hash + Float.floatToIntBits(paint.getTextSkewX());
+            hash = prime * hash + paint.getTextAlign().ordinal();
+            hash = prime * hash + getTypefaceHash(paint.getTypeface());
+            hash = prime * hash + identityHash(paint.getPathEffect());
+            hash = prime * hash + identityHash(paint.getShader());
+        }
+        return hash;
+    }
+
+    /**
+     * Get a typeface hash, stable for the built in typefaces
+     *
+     * @param typeface typeface
+     * @return typeface hash
+     */
+    private static int getTypefaceHash(Typeface typeface) {
+        int hash = 0;
+        if (typeface != null) {
+            hash = System.identityHashCode(typeface);
+            for (int i = 0; i < TYPEFACES.length; i++) {
+                if (typeface == TYPEFACES[i]) {
+                    hash = i + 1;
+                    break;
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Get the identity hash of an optional paint attribute
+     *
+     * @param object paint attribute
+     * @return identity hash, 0 if null
+     */
+    private static int identityHash(Object object) {
+        return object != null ? System.identityHashCode(object) : 0;
     }
 
 }
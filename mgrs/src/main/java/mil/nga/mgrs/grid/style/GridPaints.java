@@ -0,0 +1,169 @@
+package mil.nga.mgrs.grid.style;
+
+import android.graphics.Paint;
+
+import java.util.Arrays;
+
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Immutable snapshot of grid line and label paints. Grids publish a new
+ * snapshot on each paint change so tile renders can read a consistent set of
+ * paints without locking. The paints themselves must not be modified once
+ * published.
+ */
+public class GridPaints {
+
+    /**
+     * Grid type, the line paint type of lines without a grid type
+     */
+    private final GridType type;
+
+    /**
+     * Line paints by grid type ordinal
+     */
+    private final Paint[] linePaints;
+
+    /**
+     * Label paint
+     */
+    private final Paint labelPaint;
+
+    /**
+     * True when the label paint has been set, possibly to null for no labeler
+     */
+    private final boolean labelPaintSet;
+
+    /**
+     * True when all paints drawn by the grid are set
+     */
+    private final boolean complete;
+
+    /**
+     * Create a snapshot without paints
+     *
+     * @param type grid type
+     * @return grid paints
+     */
+    static GridPaints create(GridType type) {
+        return new GridPaints(type, new Paint[GridType.values().length], null, false, false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param type          grid type
+     * @param linePaints    line paints by grid type ordinal
+     * @param labelPaint    label paint
+     * @param labelPaintSet true when the label paint has been set
+     * @param complete      true when all paints drawn by the grid are set
+     */
+    private GridPaints(GridType type, Paint[] linePaints, Paint labelPaint, boolean labelPaintSet,
+                       boolean complete) {
+        this.type = type;
+        this.linePaints = linePaints;
+        this.labelPaint = labelPaint;
+        this.labelPaintSet = labelPaintSet;
+        this.complete = complete;
+    }
+
+    /**
+     * Get the grid type
+     *
+     * @return grid type
+     */
+    public GridType getType() {
+        return type;
+    }
+
+    /**
+     * Get the line paint for the grid type
+     *
+     * @param gridType grid type, null for the grid type
+     * @return line paint or null if not set
+     */
+    public Paint getLinePaint(GridType gridType) {
+        if (gridType == null) {
+            gridType = type;
+        }
+        return linePaints[gridType.ordinal()];
+    }
+
+    /**
+     * Get the label paint
+     *
+     * @return label paint or null
+     */
+    public Paint getLabelPaint() {
+        return labelPaint;
+    }
+
+    /**
+     * Check if the label paint has been set, possibly to null for no labeler
+     *
+     * @return true if label paint set
+     */
+    public boolean isLabelPaintSet() {
+        return labelPaintSet;
+    }
+
+    /**
+     * Check if all paints drawn by the grid are set
+     *
+     * @return true if complete
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Copy with the line paint for the grid type
+     *
+     * @param gridType grid type
+     * @param paint    line paint or null to unset
+     * @return grid paints
+     */
+    GridPaints withLinePaint(GridType gridType, Paint paint) {
+        Paint[] paints = Arrays.copyOf(linePaints, linePaints.length);
+        paints[gridType.ordinal()] = paint;
+        return new GridPaints(type, paints, labelPaint, labelPaintSet, complete && paint != null);
+    }
+
+    /**
+     * Copy without line paints
+     *
+     * @return grid paints
+     */
+    GridPaints withoutLinePaints() {
+        return new GridPaints(type, new Paint[linePaints.length], labelPaint, labelPaintSet, false);
+    }
+
+    /**
+     * Copy with the label paint
+     *
+     * @param paint label paint, null for no labeler
+     * @return grid paints
+     */
+    GridPaints withLabelPaint(Paint paint) {
+        return new GridPaints(type, linePaints, paint, true, complete);
+    }
+
+    /**
+     * Copy without the label paint
+     *
+     * @return grid paints
+     */
+    GridPaints withoutLabelPaint() {
+        return new GridPaints(type, linePaints, null, false, false);
+    }
+
+    /**
+     * Copy marked as complete
+     *
+     * @return grid paints
+     */
+    GridPaints asComplete() {
+        return new GridPaints(type, linePaints, labelPaint, labelPaintSet, true);
+    }
+
+}
@@ -1,28 +1,60 @@
 package mil.nga.mgrs.grid.style;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
 import android.graphics.Paint;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import mil.nga.color.Color;
 import mil.nga.grid.features.Bounds;
 import mil.nga.grid.tile.GridTile;
 import mil.nga.mgrs.features.GridLine;
 import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridLabeler;
 import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.MGRSLabeler;
 import mil.nga.mgrs.gzd.GridRange;
 import mil.nga.mgrs.gzd.GridZone;
 import mil.nga.mgrs.gzd.GridZones;
-import mil.nga.mgrs.tile.TileDraw;
+import mil.nga.mgrs.tile.BitmapPool;
+import mil.nga.mgrs.tile.GeometryCache;
+import mil.nga.mgrs.tile.GridZoneIndex;
+import mil.nga.mgrs.tile.TileFeatures;
 
 /**
  * Grids with Android specific styling
  */
 public class Grids extends mil.nga.mgrs.grid.Grids {
 
+    /**
+     * Grid line and label geometry cache, null to compute per tile
+     */
+    private GeometryCache geometryCache = GeometryCache.getShared();
+
+    /**
+     * Generation, incremented on each change
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Change listeners
+     */
+    private final List<GridsListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Lock held while a grids setter changes its grids, deferring the grid
+     * change notifications to a single notification
+     */
+    private final Object changeLock = new Object();
+
+    /**
+     * Style hash of the generation it was computed at
+     */
+    private volatile StyleHash styleHash;
+
     /**
      * Create with all grid types enabled
      *
@@ -65,7 +97,7 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * Constructor, all grid types enabled
      */
     public Grids() {
-
+        ownGrids();
     }
 
     /**
@@ -75,6 +107,7 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      */
     public Grids(GridType... types) {
         super(types);
+        ownGrids();
     }
 
     /**
@@ -84,6 +117,16 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      */
     public Grids(Collection<GridType> types) {
         super(types);
+        ownGrids();
+    }
+
+    /**
+     * Set this as the owning grids of each grid, notified of grid changes
+     */
+    private void ownGrids() {
+        for (mil.nga.mgrs.grid.Grid grid : grids()) {
+            ((Grid) grid).setGrids(this);
+        }
     }
 
     /**
@@ -118,6 +161,113 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
         return (ZoomGrids) super.getGrids(zoom);
     }
 
+    /**
+     * Get the grid line and label geometry cache
+     *
+     * @return geometry cache or null
+     */
+    public GeometryCache getGeometryCache() {
+        return geometryCache;
+    }
+
+    /**
+     * Set the grid line and label geometry cache. Grids share
+     * {@link GeometryCache#getShared()} by default.
+     *
+     * @param geometryCache geometry cache or null to compute geometry per tile
+     */
+    public void setGeometryCache(GeometryCache geometryCache) {
+        this.geometryCache = geometryCache;
+    }
+
+    /**
+     * Get a hash of the grids style, combining the style hash of each grid.
+     * Tiles drawn with equal style hashes are equal. The hash is computed
+     * once per {@link #getGeneration()}, call {@link #notifyChanged()} after
+     * modifying a {@link GridLabeler} directly.
+     *
+     * @return style hash
+     */
+    public int getStyleHash() {
+        long generation = getGeneration();
+        StyleHash styleHash = this.styleHash;
+        if (styleHash == null || styleHash.generation != generation) {
+            final int prime = 31;
+            int hash = 1;
+            for (GridType type : GridType.values()) {
+                Grid grid = getGrid(type);
+                hash = prime * hash + (grid != null ? grid.getStyleHash() : 0);
+            }
+            styleHash = new StyleHash(generation, hash);
+            this.styleHash = styleHash;
+        }
+        return styleHash.hash;
+    }
+
+    /**
+     * Get the generation, incremented on each change made through the grids
+     * or grid setters, or {@link #notifyChanged()}
+     *
+     * @return generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Add a change listener
+     *
+     * @param listener grids listener
+     */
+    public void addListener(GridsListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a change listener
+     *
+     * @param listener grids listener
+     * @return true if removed
+     */
+    public boolean removeListener(GridsListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Record a change, incrementing the generation and notifying listeners.
+     * Call after modifying a {@link GridLabeler} directly instead of through
+     * the grids setters.
+     */
+    public void notifyChanged() {
+        long generation = this.generation.incrementAndGet();
+        for (GridsListener listener : listeners) {
+            listener.onGridsChanged(this, generation);
+        }
+    }
+
+    /**
+     * Record a change made through a grid setter, notified now unless made
+     * within a grids setter
+     */
+    void gridChanged() {
+        if (!Thread.holdsLock(changeLock)) {
+            notifyChanged();
+        }
+    }
+
+    /**
+     * Make a change through the grids, recording the grid changes within as
+     * a single change
+     *
+     * @param change change
+     */
+    private void change(Runnable change) {
+        synchronized (changeLock) {
+            change.run();
+        }
+        notifyChanged();
+    }
+
     /**
      * Draw a tile with the dimensions and XYZ coordinate
      *
@@ -126,15 +276,26 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * @param x          x coordinate
      * @param y          y coordinate
      * @param zoom       zoom level
-     * @return bitmap tile
+     * @return bitmap tile or null if empty
      */
     public Bitmap drawTile(int tileWidth, int tileHeight, int x, int y, int zoom) {
-        Bitmap bitmap = null;
-        ZoomGrids zoomGrids = getGrids(zoom);
-        if (zoomGrids.hasGrids()) {
-            bitmap = drawTile(GridTile.tile(tileWidth, tileHeight, x, y, zoom), zoomGrids);
-        }
-        return bitmap;
+        return drawTile(getFeatures(tileWidth, tileHeight, x, y, zoom));
+    }
+
+    /**
+     * Draw a tile with the dimensions and XYZ coordinate into a bitmap borrowed
+     * from the pool
+     *
+     * @param bitmapPool bitmap pool
+     * @param tileWidth  tile width
+     * @param tileHeight tile height
+     * @param x          x coordinate
+     * @param y          y coordinate
+     * @param zoom       zoom level
+     * @return pooled bitmap tile, to be released back to the pool, or null if empty
+     */
+    public Bitmap drawTile(BitmapPool bitmapPool, int tileWidth, int tileHeight, int x, int y, int zoom) {
+        return drawTile(getFeatures(tileWidth, tileHeight, x, y, zoom), bitmapPool);
     }
 
     /**
@@ -143,7 +304,7 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * @param tileWidth  tile width
      * @param tileHeight tile height
      * @param bounds     bounds
-     * @return bitmap tile
+     * @return bitmap tile or null if empty
      */
     public Bitmap drawTile(int tileWidth, int tileHeight, Bounds bounds) {
         return drawTile(GridTile.tile(tileWidth, tileHeight, bounds));
@@ -153,52 +314,172 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * Draw the tile
      *
      * @param gridTile tile
-     * @return bitmap tile
+     * @return bitmap tile or null if empty
      */
     public Bitmap drawTile(GridTile gridTile) {
+        return drawTile(getFeatures(gridTile));
+    }
+
+    /**
+     * Draw the tile features
+     *
+     * @param features tile features
+     * @return bitmap tile or null if empty
+     */
+    public Bitmap drawTile(TileFeatures features) {
         Bitmap bitmap = null;
-        ZoomGrids zoomGrids = getGrids(gridTile.getZoom());
-        if (zoomGrids.hasGrids()) {
-            bitmap = drawTile(gridTile, zoomGrids);
+        if (!features.isEmpty()) {
+            GridTile gridTile = features.getTile();
+            bitmap = Bitmap.createBitmap(gridTile.getWidth(), gridTile.getHeight(), Bitmap.Config.ARGB_8888);
+            features.draw(bitmap);
         }
         return bitmap;
     }
 
     /**
-     * Draw the tile
+     * Draw the tile features into a bitmap borrowed from the pool
      *
-     * @param gridTile  tile
-     * @param zoomGrids zoom grids
-     * @return bitmap tile
+     * @param features   tile features
+     * @param bitmapPool bitmap pool
+     * @return pooled bitmap tile, to be released back to the pool, or null if empty
      */
-    private Bitmap drawTile(GridTile gridTile, ZoomGrids zoomGrids) {
+    public Bitmap drawTile(TileFeatures features, BitmapPool bitmapPool) {
+        Bitmap bitmap = null;
+        if (!features.isEmpty()) {
+            GridTile gridTile = features.getTile();
+            bitmap = bitmapPool.acquire(gridTile.getWidth(), gridTile.getHeight());
+            features.draw(bitmap);
+        }
+        return bitmap;
+    }
 
-        Bitmap bitmap = Bitmap.createBitmap(gridTile.getWidth(), gridTile.getHeight(), Bitmap.Config.ARGB_8888);
-        Canvas canvas = new Canvas(bitmap);
+    /**
+     * Get the lines and labels to draw on a tile with the dimensions and XYZ
+     * coordinate
+     *
+     * @param tileWidth  tile width
+     * @param tileHeight tile height
+     * @param x          x coordinate
+     * @param y          y coordinate
+     * @param zoom       zoom level
+     * @return tile features
+     */
+    public TileFeatures getFeatures(int tileWidth, int tileHeight, int x, int y, int zoom) {
+        return getFeatures(GridTile.tile(tileWidth, tileHeight, x, y, zoom));
+    }
 
-        GridRange gridRange = GridZones.getGridRange(gridTile.getBounds());
+    /**
+     * Get the lines and labels to draw on the tile
+     *
+     * @param gridTile tile
+     * @return tile features
+     */
+    public TileFeatures getFeatures(GridTile gridTile) {
+        return getFeatures(gridTile, gridTile.getZoom());
+    }
 
-        for (Grid grid : zoomGrids.grids()) {
+    /**
+     * Get the lines and labels to draw on the tile with the grids of a zoom
+     * level, for tiles spanning multiple map tiles such as metatiles
+     *
+     * @param gridTile tile
+     * @param zoom     zoom level of the grids
+     * @return tile features
+     */
+    public TileFeatures getFeatures(GridTile gridTile, int zoom) {
 
-            Paint labelPaint = grid.getLabelPaint();
+        TileFeatures features = new TileFeatures(gridTile);
 
-            // draw this grid for each zone
-            for (GridZone zone : gridRange) {
+        ZoomGrids zoomGrids = getGrids(zoom);
+        if (zoomGrids.hasGrids()) {
 
-                List<GridLine> lines = grid.getLines(gridTile, zone);
-                if (lines != null) {
-                    TileDraw.drawLines(lines, gridTile, grid, zone, canvas);
+            Bounds bounds = gridTile.getBounds();
+
+            // zones from the precomputed index when the bounds are an indexed XYZ tile
+            int tileZoom = gridTile.getZoom();
+            GridZoneIndex zoneIndex = GridZoneIndex.get(tileZoom);
+            int tile = zoneIndex != null ? zoneIndex.getTile(bounds, tileZoom) : -1;
+            GridRange gridRange = tile == -1 ? GridZones.getGridRange(bounds) : null;
+
+            for (Grid grid : zoomGrids.grids()) {
+
+                // collect this grid for each zone
+                if (gridRange == null) {
+                    for (int entry = zoneIndex.getStart(tile); entry < zoneIndex.getEnd(tile); entry++) {
+                        addFeatures(features, grid, zoom, bounds, zoneIndex.getZone(entry));
+                    }
+                } else {
+                    for (GridZone zone : gridRange) {
+                        addFeatures(features, grid, zoom, bounds, zone);
+                    }
                 }
+            }
+        }
 
-                List<GridLabel> labels = grid.getLabels(gridTile, zone);
-                if (labels != null) {
-                    TileDraw.drawLabels(labels, grid.getLabelBuffer(), gridTile, canvas, labelPaint);
-                }
+        return features;
+    }
+
+    /**
+     * Add the grid lines and labels within the bounds and zone at the zoom
+     * level to the tile features
+     *
+     * @param features tile features
+     * @param grid     grid
+     * @param zoom     zoom level
+     * @param bounds   bounds
+     * @param zone     grid zone
+     */
+    private void addFeatures(TileFeatures features, Grid grid, int zoom, Bounds bounds, GridZone zone) {
+        features.add(grid, zone, getLines(grid, zoom, bounds, zone), getLabels(grid, zoom, bounds, zone));
+    }
 
+    /**
+     * Get the grid lines within the bounds and zone at the zoom level, from
+     * the geometry cache when set
+     *
+     * @param grid   grid
+     * @param zoom   zoom level
+     * @param bounds bounds
+     * @param zone   grid zone
+     * @return lines or null
+     */
+    public List<GridLine> getLines(Grid grid, int zoom, Bounds bounds, GridZone zone) {
+        List<GridLine> lines;
+        GeometryCache geometryCache = this.geometryCache;
+        if (geometryCache != null) {
+            lines = null;
+            if (grid.isLinesWithin(zoom)) {
+                lines = geometryCache.getLines(bounds, grid.getType(), zone);
             }
+        } else {
+            lines = grid.getLines(zoom, bounds, zone);
         }
+        return lines;
+    }
 
-        return bitmap;
+    /**
+     * Get the grid labels within the bounds and zone at the zoom level, from
+     * the geometry cache when set and the grid uses the MGRS labeler
+     *
+     * @param grid   grid
+     * @param zoom   zoom level
+     * @param bounds bounds
+     * @param zone   grid zone
+     * @return labels or null
+     */
+    public List<GridLabel> getLabels(Grid grid, int zoom, Bounds bounds, GridZone zone) {
+        List<GridLabel> labels;
+        GeometryCache geometryCache = this.geometryCache;
+        if (geometryCache != null && grid.getLabeler() != null
+                && grid.getLabeler().getClass() == MGRSLabeler.class) {
+            labels = null;
+            if (grid.isLabelerWithin(zoom)) {
+                labels = geometryCache.getLabels(bounds, grid.getType(), zone);
+            }
+        } else {
+            labels = grid.getLabels(zoom, bounds, zone);
+        }
+        return labels;
     }
 
     /**
@@ -218,7 +499,7 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * @param linePaint grid line paint
      */
     public void setLinePaint(GridType type, Paint linePaint) {
-        getGrid(type).setLinePaint(linePaint);
+        change(() -> getGrid(type).setLinePaint(linePaint));
     }
 
     /**
@@ -240,7 +521,7 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * @param linePaint     grid line paint
      */
     public void setLinePaint(GridType type, GridType precisionType, Paint linePaint) {
-        getGrid(type).setLinePaint(precisionType, linePaint);
+        change(() -> getGrid(type).setLinePaint(precisionType, linePaint));
     }
 
     /**
@@ -260,7 +541,7 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      * @param labelPaint grid label paint
      */
     public void setLabelPaint(GridType type, Paint labelPaint) {
-        getGrid(type).setLabelPaint(labelPaint);
+        change(() -> getGrid(type).setLabelPaint(labelPaint));
     }
 
     /**
@@ -268,8 +549,10 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      */
     @Override
     public void setLabelColor(GridType type, Color color) {
-        super.setLabelColor(type, color);
-        getGrid(type).resetLabelPaint();
+        change(() -> {
+            super.setLabelColor(type, color);
+            getGrid(type).resetLabelPaint();
+        });
     }
 
     /**
@@ -277,8 +560,194 @@ public class Grids extends mil.nga.mgrs.grid.Grids {
      */
     @Override
     public void setLabelTextSize(GridType type, double textSize) {
-        super.setLabelTextSize(type, textSize);
-        getGrid(type).resetLabelPaint();
+        change(() -> {
+            super.setLabelTextSize(type, textSize);
+            getGrid(type).resetLabelPaint();
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enable(mil.nga.mgrs.grid.Grid grid) {
+        if (!grid.isEnabled()) {
+            change(() -> super.enable(grid));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disable(mil.nga.mgrs.grid.Grid grid) {
+        if (grid.isEnabled()) {
+            change(() -> super.disable(grid));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setZoomRange(mil.nga.mgrs.grid.Grid grid, int minZoom, Integer maxZoom) {
+        change(() -> super.setZoomRange(grid, minZoom, maxZoom));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLinesMinZoom(GridType type, Integer minZoom) {
+        change(() -> super.setLinesMinZoom(type, minZoom));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLinesMaxZoom(GridType type, Integer maxZoom) {
+        change(() -> super.setLinesMaxZoom(type, maxZoom));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setColor(GridType type, Color color) {
+        change(() -> super.setColor(type, color));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setWidth(GridType type, double width) {
+        change(() -> super.setWidth(type, width));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setColor(GridType type, GridType precisionType, Color color) {
+        change(() -> super.setColor(type, precisionType, color));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setWidth(GridType type, GridType precisionType, double width) {
+        change(() -> super.setWidth(type, precisionType, width));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deletePropagatedStyles(GridType type) {
+        change(() -> super.deletePropagatedStyles(type));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabeler(GridType type, GridLabeler labeler) {
+        change(() -> super.setLabeler(type, labeler));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enableLabeler(GridType type) {
+        change(() -> super.enableLabeler(type));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void disableLabeler(GridType type) {
+        change(() -> super.disableLabeler(type));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void enableAllLabelers() {
+        change(() -> super.enableAllLabelers());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabelMinZoom(GridType type, int minZoom) {
+        change(() -> super.setLabelMinZoom(type, minZoom));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabelMaxZoom(GridType type, Integer maxZoom) {
+        change(() -> super.setLabelMaxZoom(type, maxZoom));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabelZoomRange(GridType type, int minZoom, Integer maxZoom) {
+        change(() -> super.setLabelZoomRange(type, minZoom, maxZoom));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLabelBuffer(GridType type, double buffer) {
+        change(() -> super.setLabelBuffer(type, buffer));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setAllLabelBuffers(double buffer) {
+        change(() -> super.setAllLabelBuffers(buffer));
+    }
+
+    /**
+     * Style hash of a generation
+     */
+    private static class StyleHash {
+
+        /**
+         * Generation
+         */
+        private final long generation;
+
+        /**
+         * Style hash
+         */
+        private final int hash;
+
+        /**
+         * Constructor
+         *
+         * @param generation generation
+         * @param hash       style hash
+         */
+        StyleHash(long generation, int hash) {
+            this.generation = generation;
+            this.hash = hash;
+        }
+
     }
 
 }
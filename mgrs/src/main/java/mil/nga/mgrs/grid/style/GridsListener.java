@@ -0,0 +1,17 @@
+package mil.nga.mgrs.grid.style;
+
+/**
+ * Grids change listener. Called on the thread making the change, after the
+ * generation has been incremented.
+ */
+public interface GridsListener {
+
+    /**
+     * Grids configuration or style changed
+     *
+     * @param grids      grids
+     * @param generation new grids generation
+     */
+    void onGridsChanged(Grids grids, long generation);
+
+}
@@ -0,0 +1,255 @@
+package mil.nga.mgrs.location;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.view.Choreographer;
+
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grids;
+
+/**
+ * Live MGRS coordinate readout of the camera center while the camera moves.
+ * Camera updates from the main thread are coalesced to one per display frame
+ * and converted on a background thread at the zoom level precision of the
+ * grids. Recomputation is skipped while the center stays within the same grid
+ * cell, see {@link GridCellTracker}. Call {@link #update(CameraPosition)}
+ * from the map camera move and idle listeners and {@link #close()} when done.
+ */
+public class CoordinateReadout implements Choreographer.FrameCallback {
+
+    /**
+     * Grids providing the zoom level precision
+     */
+    private final Grids grids;
+
+    /**
+     * Listener
+     */
+    private final CoordinateReadoutListener listener;
+
+    /**
+     * Background conversion thread
+     */
+    private final HandlerThread thread;
+
+    /**
+     * Background conversion handler
+     */
+    private final Handler handler;
+
+    /**
+     * Main thread handler
+     */
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * Grid cell tracker, used on the background thread
+     */
+    private final GridCellTracker tracker = GridCellTracker.create(GridType.GZD);
+
+    /**
+     * Coordinate builder, used on the background thread
+     */
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Background conversion
+     */
+    private final Runnable conversion = this::convert;
+
+    /**
+     * Latest center latitude
+     */
+    private double latitude;
+
+    /**
+     * Latest center longitude
+     */
+    private double longitude;
+
+    /**
+     * Latest camera zoom
+     */
+    private float zoom;
+
+    /**
+     * Latest center not yet converted
+     */
+    private boolean pending = false;
+
+    /**
+     * Conversion posted to the background thread
+     */
+    private boolean converting = false;
+
+    /**
+     * Frame callback posted, main thread only
+     */
+    private boolean frameScheduled = false;
+
+    /**
+     * Latest coordinate
+     */
+    private volatile String coordinate;
+
+    /**
+     * Latest coordinate precision
+     */
+    private volatile GridType precision;
+
+    /**
+     * Closed readout
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Create a coordinate readout
+     *
+     * @param grids    grids providing the zoom level precision
+     * @param listener listener called on the main thread
+     * @return coordinate readout
+     */
+    public static CoordinateReadout create(Grids grids, CoordinateReadoutListener listener) {
+        return new CoordinateReadout(grids, listener);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param grids    grids providing the zoom level precision
+     * @param listener listener called on the main thread
+     */
+    public CoordinateReadout(Grids grids, CoordinateReadoutListener listener) {
+        this.grids = grids;
+        this.listener = listener;
+        thread = new HandlerThread("MGRS Readout", Process.THREAD_PRIORITY_BACKGROUND);
+        thread.start();
+        handler = new Handler(thread.getLooper());
+    }
+
+    /**
+     * Get the latest coordinate
+     *
+     * @return MGRS coordinate or null
+     */
+    public String getCoordinate() {
+        return coordinate;
+    }
+
+    /**
+     * Get the latest coordinate precision
+     *
+     * @return grid type precision or null
+     */
+    public GridType getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Update the camera, from the main thread
+     *
+     * @param camera camera position
+     */
+    public void update(CameraPosition camera) {
+        update(camera.target, camera.zoom);
+    }
+
+    /**
+     * Update the camera center and zoom, from the main thread
+     *
+     * @param center center
+     * @param zoom   camera zoom
+     */
+    public void update(LatLng center, float zoom) {
+        update(center.latitude, center.longitude, zoom);
+    }
+
+    /**
+     * Update the camera center and zoom, from the main thread
+     *
+     * @param latitude  center latitude
+     * @param longitude center longitude
+     * @param zoom      camera zoom
+     */
+    public void update(double latitude, double longitude, float zoom) {
+        if (closed) {
+            return;
+        }
+        synchronized (this) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.zoom = zoom;
+            pending = true;
+        }
+        if (!frameScheduled) {
+            frameScheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        boolean post = false;
+        synchronized (this) {
+            if (pending && !converting && !closed) {
+                converting = true;
+                post = true;
+            }
+        }
+        if (post) {
+            handler.post(conversion);
+        }
+    }
+
+    /**
+     * Stop the background thread, no further coordinates are delivered
+     */
+    public void close() {
+        closed = true;
+        Choreographer.getInstance().removeFrameCallback(this);
+        frameScheduled = false;
+        thread.quitSafely();
+    }
+
+    /**
+     * Convert the latest center on the background thread, delivering the
+     * coordinate when the grid cell or precision changes
+     */
+    private void convert() {
+
+        double latitude;
+        double longitude;
+        float zoom;
+        synchronized (this) {
+            latitude = this.latitude;
+            longitude = this.longitude;
+            zoom = this.zoom;
+            pending = false;
+            converting = false;
+        }
+
+        final GridType precision = grids.getPrecision((int) zoom);
+        tracker.setPrecision(precision);
+        if (tracker.update(latitude, longitude)) {
+            builder.setLength(0);
+            final String coordinate = tracker.getCoordinate(builder).toString();
+            this.coordinate = coordinate;
+            this.precision = precision;
+            mainHandler.post(() -> {
+                if (!closed) {
+                    listener.onCoordinate(this, coordinate, precision);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package mil.nga.mgrs.location;
+
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Coordinate readout listener. Called on the main thread.
+ */
+public interface CoordinateReadoutListener {
+
+    /**
+     * The readout coordinate changed, entering a new grid cell or precision
+     *
+     * @param readout    coordinate readout
+     * @param coordinate MGRS coordinate
+     * @param precision  grid type precision
+     */
+    void onCoordinate(CoordinateReadout readout, String coordinate, GridType precision);
+
+}
@@ -0,0 +1,360 @@
+package mil.nga.mgrs.location;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.convert.MGRSConverter;
+import mil.nga.mgrs.convert.MutableMGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Tracks the MGRS grid cell of a moving position at a grid type precision.
+ * The latitude and longitude box inside the current cell is kept, so that
+ * positions within it are confirmed by a bounds test instead of a full
+ * conversion. Positions near the cell edges are converted. Not thread safe.
+ */
+public class GridCellTracker {
+
+    /**
+     * Default fraction of the cell size kept clear of each cell edge by the
+     * bounds test, covering the curvature of the grid lines in latitude and
+     * longitude and the UTM coordinate rounding
+     */
+    public static final double DEFAULT_MARGIN = 0.05;
+
+    /**
+     * Grid type precision
+     */
+    private GridType precision;
+
+    /**
+     * Fraction of the cell size kept clear of each cell edge
+     */
+    private double margin = DEFAULT_MARGIN;
+
+    /**
+     * Converter
+     */
+    private final MGRSConverter converter = MGRSConverter.create();
+
+    /**
+     * Current cell coordinate
+     */
+    private MutableMGRS cell = MutableMGRS.create();
+
+    /**
+     * Converted coordinate of the last position outside the cell bounds
+     */
+    private MutableMGRS converted = MutableMGRS.create();
+
+    /**
+     * Cell bounds west longitude, NaN when none
+     */
+    private double west = Double.NaN;
+
+    /**
+     * Cell bounds east longitude, NaN when none
+     */
+    private double east = Double.NaN;
+
+    /**
+     * Cell bounds south latitude, NaN when none
+     */
+    private double south = Double.NaN;
+
+    /**
+     * Cell bounds north latitude, NaN when none
+     */
+    private double north = Double.NaN;
+
+    /**
+     * Position update count
+     */
+    private long updateCount = 0;
+
+    /**
+     * Full conversion count
+     */
+    private long conversionCount = 0;
+
+    /**
+     * Create a grid cell tracker
+     *
+     * @param precision grid type precision
+     * @return grid cell tracker
+     */
+    public static GridCellTracker create(GridType precision) {
+        return new GridCellTracker(precision);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param precision grid type precision
+     */
+    public GridCellTracker(GridType precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Get the grid type precision
+     *
+     * @return precision
+     */
+    public GridType getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Set the grid type precision, clearing the current cell when changed
+     *
+     * @param precision precision
+     */
+    public void setPrecision(GridType precision) {
+        if (this.precision != precision) {
+            this.precision = precision;
+            clear();
+        }
+    }
+
+    /**
+     * Get the fraction of the cell size kept clear of each cell edge by the
+     * bounds test
+     *
+     * @return margin
+     */
+    public double getMargin() {
+        return margin;
+    }
+
+    /**
+     * Set the fraction of the cell size kept clear of each cell edge by the
+     * bounds test
+     *
+     * @param margin margin, from 0.0 up to 0.5
+     */
+    public void setMargin(double margin) {
+        if (margin < 0.0 || margin >= 0.5) {
+            throw new IllegalArgumentException("Margin must be >= 0.0 and < 0.5, margin: " + margin);
+        }
+        this.margin = margin;
+        if (cell.isSet()) {
+            setBounds();
+        }
+    }
+
+    /**
+     * Update the position
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @return true if the position entered a new grid cell
+     */
+    public boolean update(double latitude, double longitude) {
+
+        updateCount++;
+
+        if (contains(latitude, longitude)) {
+            return false;
+        }
+
+        conversionCount++;
+        converter.toMGRS(latitude, longitude, converted);
+        if (cell.isSet() && converted.isSameCell(cell, precision)) {
+            return false;
+        }
+
+        MutableMGRS previous = cell;
+        cell = converted;
+        converted = previous;
+        setBounds();
+        return true;
+    }
+
+    /**
+     * Check if the position is within the bounds test of the current cell
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @return true if within the current cell bounds
+     */
+    public boolean contains(double latitude, double longitude) {
+        return longitude > west && longitude < east && latitude > south && latitude < north;
+    }
+
+    /**
+     * Check if there is a current cell
+     *
+     * @return true if a current cell
+     */
+    public boolean hasCell() {
+        return cell.isSet();
+    }
+
+    /**
+     * Get the current cell coordinate, valid until the next update
+     *
+     * @return MGRS coordinate
+     */
+    public MutableMGRS getMGRS() {
+        return cell;
+    }
+
+    /**
+     * Append the current cell coordinate at the precision to the string
+     * builder
+     *
+     * @param builder string builder
+     * @return string builder
+     */
+    public StringBuilder getCoordinate(StringBuilder builder) {
+        return cell.getCoordinate(precision, builder);
+    }
+
+    /**
+     * Write the current cell coordinate at the precision into the character
+     * array
+     *
+     * @param coordinate coordinate characters, with at least
+     *                   {@link MGRSConverter#getMaxLength(GridType)} characters
+     *                   from the offset
+     * @param offset     coordinate offset
+     * @return coordinate length
+     */
+    public int getCoordinate(char[] coordinate, int offset) {
+        return cell.getCoordinate(precision, coordinate, offset);
+    }
+
+    /**
+     * Get the current cell coordinate at the precision
+     *
+     * @return MGRS coordinate
+     */
+    public String getCoordinate() {
+        return cell.coordinate(precision);
+    }
+
+    /**
+     * Clear the current cell
+     */
+    public void clear() {
+        cell.clear();
+        west = Double.NaN;
+        east = Double.NaN;
+        south = Double.NaN;
+        north = Double.NaN;
+    }
+
+    /**
+     * Get the position update count
+     *
+     * @return update count
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * Get the full conversion count, the updates not resolved by the bounds
+     * test
+     *
+     * @return conversion count
+     */
+    public long getConversionCount() {
+        return conversionCount;
+    }
+
+    /**
+     * Reset the update and conversion counts
+     */
+    public void resetCounts() {
+        updateCount = 0;
+        conversionCount = 0;
+    }
+
+    /**
+     * Set the latitude and longitude box inside the current cell, within the
+     * grid zone and kept clear of the cell edges by the margin
+     */
+    private void setBounds() {
+
+        GridZone zone = GridZones.getGridZone(cell.getZone(), cell.getBand());
+        Bounds zoneBounds = zone.getBounds();
+        double cellWest = zoneBounds.getWest();
+        double cellEast = zoneBounds.getEast();
+        double cellSouth = zoneBounds.getSouth();
+        double cellNorth = zoneBounds.getNorth();
+        boolean convex = true;
+
+        if (precision != GridType.GZD) {
+
+            int size = precision.getPrecision();
+            UTM southwest = MGRS.create(cell.getZone(), cell.getBand(), cell.getColumn(), cell.getRow(),
+                    cell.getEasting() / size * size, cell.getNorthing() / size * size).toUTM();
+            Hemisphere hemisphere = southwest.getHemisphere();
+            double easting = southwest.getEasting();
+            double northing = southwest.getNorthing();
+            Point sw = UTM.point(cell.getZone(), hemisphere, easting, northing);
+            Point se = UTM.point(cell.getZone(), hemisphere, easting + size, northing);
+            Point ne = UTM.point(cell.getZone(), hemisphere, easting + size, northing + size);
+            Point nw = UTM.point(cell.getZone(), hemisphere, easting, northing + size);
+
+            double innerWest = Math.max(sw.getLongitude(), nw.getLongitude());
+            double innerEast = Math.min(se.getLongitude(), ne.getLongitude());
+            double innerSouth = Math.max(sw.getLatitude(), se.getLatitude());
+            double innerNorth = Math.min(nw.getLatitude(), ne.getLatitude());
+            double marginLongitude = (innerEast - innerWest) * margin;
+            double marginLatitude = (innerNorth - innerSouth) * margin;
+            innerWest += marginLongitude;
+            innerEast -= marginLongitude;
+            innerSouth += marginLatitude;
+            innerNorth -= marginLatitude;
+
+            Point[] corners = {sw, se, ne, nw};
+            convex = isInside(corners, innerWest, innerSouth) && isInside(corners, innerEast, innerSouth)
+                    && isInside(corners, innerEast, innerNorth) && isInside(corners, innerWest, innerNorth);
+
+            cellWest = Math.max(cellWest, innerWest);
+            cellEast = Math.min(cellEast, innerEast);
+            cellSouth = Math.max(cellSouth, innerSouth);
+            cellNorth = Math.min(cellNorth, innerNorth);
+        }
+
+        if (convex && cellWest < cellEast && cellSouth < cellNorth) {
+            west = cellWest;
+            east = cellEast;
+            south = cellSouth;
+            north = cellNorth;
+        } else {
+            west = Double.NaN;
+            east = Double.NaN;
+            south = Double.NaN;
+            north = Double.NaN;
+        }
+    }
+
+    /**
+     * Check if the point is inside the counter clockwise quadrilateral
+     *
+     * @param corners   quadrilateral corners
+     * @param longitude point longitude
+     * @param latitude  point latitude
+     * @return true if inside
+     */
+    private static boolean isInside(Point[] corners, double longitude, double latitude) {
+        boolean inside = true;
+        for (int i = 0; inside && i < corners.length; i++) {
+            Point from = corners[i];
+            Point to = corners[(i + 1) % corners.length];
+            double cross = (to.getLongitude() - from.getLongitude()) * (latitude - from.getLatitude())
+                    - (to.getLatitude() - from.getLatitude()) * (longitude - from.getLongitude());
+            inside = cross > 0.0;
+        }
+        return inside;
+    }
+
+}
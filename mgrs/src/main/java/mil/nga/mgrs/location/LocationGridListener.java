@@ -0,0 +1,20 @@
+package mil.nga.mgrs.location;
+
+import mil.nga.mgrs.convert.MutableMGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Location grid listener. Called on the location update thread.
+ */
+public interface LocationGridListener {
+
+    /**
+     * The location entered a new grid cell
+     *
+     * @param tracker   location grid tracker
+     * @param mgrs      grid cell coordinate, valid until the next location
+     * @param precision grid type precision
+     */
+    void onGridCell(LocationGridTracker tracker, MutableMGRS mgrs, GridType precision);
+
+}
@@ -0,0 +1,253 @@
+package mil.nga.mgrs.location;
+
+import android.location.Location;
+import android.location.LocationListener;
+import android.os.Bundle;
+
+import mil.nga.mgrs.convert.MGRSConverter;
+import mil.nga.mgrs.convert.MutableMGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Streaming location to MGRS grid cell tracker. Consumes device locations and
+ * notifies the listener only when the location enters a new grid cell at the
+ * grid type precision. Most locations within the current cell are confirmed by
+ * a bounds test without a full conversion and nothing is allocated per
+ * location, see {@link GridCellTracker}. Register directly as a
+ * {@link LocationListener} or pass locations to {@link #update(Location)}.
+ * Not thread safe, deliver locations from a single thread.
+ */
+public class LocationGridTracker implements LocationListener {
+
+    /**
+     * Grid cell tracker
+     */
+    private final GridCellTracker tracker;
+
+    /**
+     * Listener
+     */
+    private final LocationGridListener listener;
+
+    /**
+     * Grid cell change count
+     */
+    private long cellChangeCount = 0;
+
+    /**
+     * Create a location grid tracker
+     *
+     * @param precision grid type precision
+     * @param listener  listener
+     * @return location grid tracker
+     */
+    public static LocationGridTracker create(GridType precision, LocationGridListener listener) {
+        return new LocationGridTracker(precision, listener);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param precision grid type precision
+     * @param listener  listener
+     */
+    public LocationGridTracker(GridType precision, LocationGridListener listener) {
+        this.tracker = GridCellTracker.create(precision);
+        this.listener = listener;
+    }
+
+    /**
+     * Get the grid type precision
+     *
+     * @return precision
+     */
+    public GridType getPrecision() {
+        return tracker.getPrecision();
+    }
+
+    /**
+     * Set the grid type precision, clearing the current cell when changed so
+     * that the next location notifies the listener
+     *
+     * @param precision precision
+     */
+    public void setPrecision(GridType precision) {
+        tracker.setPrecision(precision);
+    }
+
+    /**
+     * Get the fraction of the cell size kept clear of each cell edge by the
+     * bounds test
+     *
+     * @return margin
+     */
+    public double getMargin() {
+        return tracker.getMargin();
+    }
+
+    /**
+     * Set the fraction of the cell size kept clear of each cell edge by the
+     * bounds test
+     *
+     * @param margin margin, from 0.0 up to 0.5
+     */
+    public void setMargin(double margin) {
+        tracker.setMargin(margin);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onLocationChanged(Location location) {
+        update(location);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onStatusChanged(String provider, int status, Bundle extras) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onProviderEnabled(String provider) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onProviderDisabled(String provider) {
+
+    }
+
+    /**
+     * Update the location
+     *
+     * @param location location
+     * @return true if the location entered a new grid cell
+     */
+    public boolean update(Location location) {
+        return update(location.getLatitude(), location.getLongitude());
+    }
+
+    /**
+     * Update the location
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @return true if the location entered a new grid cell
+     */
+    public boolean update(double latitude, double longitude) {
+        boolean changed = tracker.update(latitude, longitude);
+        if (changed) {
+            cellChangeCount++;
+            if (listener != null) {
+                listener.onGridCell(this, tracker.getMGRS(), tracker.getPrecision());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Check if there is a current grid cell
+     *
+     * @return true if a current cell
+     */
+    public boolean hasCell() {
+        return tracker.hasCell();
+    }
+
+    /**
+     * Get the current grid cell coordinate, valid until the next location
+     *
+     * @return MGRS coordinate
+     */
+    public MutableMGRS getMGRS() {
+        return tracker.getMGRS();
+    }
+
+    /**
+     * Append the current grid cell coordinate at the precision to the string
+     * builder
+     *
+     * @param builder string builder
+     * @return string builder
+     */
+    public StringBuilder getCoordinate(StringBuilder builder) {
+        return tracker.getCoordinate(builder);
+    }
+
+    /**
+     * Write the current grid cell coordinate at the precision into the
+     * character array
+     *
+     * @param coordinate coordinate characters, with at least
+     *                   {@link MGRSConverter#getMaxLength(GridType)} characters
+     *                   from the offset
+     * @param offset     coordinate offset
+     * @return coordinate length
+     */
+    public int getCoordinate(char[] coordinate, int offset) {
+        return tracker.getCoordinate(coordinate, offset);
+    }
+
+    /**
+     * Get the current grid cell coordinate at the precision
+     *
+     * @return MGRS coordinate
+     */
+    public String getCoordinate() {
+        return tracker.getCoordinate();
+    }
+
+    /**
+     * Clear the current grid cell, the next location notifies the listener
+     */
+    public void clear() {
+        tracker.clear();
+    }
+
+    /**
+     * Get the location update count
+     *
+     * @return update count
+     */
+    public long getUpdateCount() {
+        return tracker.getUpdateCount();
+    }
+
+    /**
+     * Get the full conversion count, the locations not resolved by the bounds
+     * test
+     *
+     * @return conversion count
+     */
+    public long getConversionCount() {
+        return tracker.getConversionCount();
+    }
+
+    /**
+     * Get the grid cell change count
+     *
+     * @return cell change count
+     */
+    public long getCellChangeCount() {
+        return cellChangeCount;
+    }
+
+    /**
+     * Reset the update, conversion, and cell change counts
+     */
+    public void resetCounts() {
+        tracker.resetCounts();
+        cellChangeCount = 0;
+    }
+
+}
@@ -0,0 +1,512 @@
+package mil.nga.mgrs.overlay;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.Projection;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import com.google.android.gms.maps.model.BitmapDescriptorFactory;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.maps.model.Marker;
+import com.google.android.gms.maps.model.MarkerOptions;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grid;
+import mil.nga.mgrs.grid.style.Grids;
+import mil.nga.mgrs.overlay.OverlayFeatures.LabelKey;
+import mil.nga.mgrs.overlay.OverlayFeatures.LineKey;
+import mil.nga.mgrs.tile.TextMetrics;
+import mil.nga.mgrs.tile.TileUtils;
+
+/**
+ * MGRS grid overlay drawing the grid lines of the visible region as map
+ * polylines and the labels as markers, as an alternative to
+ * {@link mil.nga.mgrs.tile.MGRSTileProvider} raster tiles. Each update adds
+ * the newly visible lines and labels, removes those no longer visible, and
+ * reuses removed polylines and markers. Suited to grids with few visible
+ * lines, such as the default Grid Zone Designator and 100 kilometer grids.
+ * Line widths and label text sizes are styled in tile pixels, as for the tile
+ * provider, and scaled to the screen density. Use from the main thread,
+ * updating on camera idle.
+ */
+public class MGRSGridOverlay implements GoogleMap.OnCameraIdleListener {
+
+    /**
+     * Maximum number of hidden polylines and markers kept for reuse
+     */
+    private static final int MAX_SPARE = 256;
+
+    /**
+     * Maximum number of cached label icons
+     */
+    private static final int MAX_ICONS = 512;
+
+    /**
+     * Label icon padding in pixels
+     */
+    private static final int ICON_PADDING = 2;
+
+    /**
+     * Default grid types, those with few visible lines
+     */
+    private static final GridType[] DEFAULT_TYPES = {GridType.GZD, GridType.HUNDRED_KILOMETER};
+
+    /**
+     * Map
+     */
+    private final GoogleMap map;
+
+    /**
+     * Screen pixels per tile pixel, scaling line widths and label text sizes
+     */
+    private final float scale;
+
+    /**
+     * Grids
+     */
+    private Grids grids;
+
+    /**
+     * Polyline and marker z index
+     */
+    private float zIndex = 0.0f;
+
+    /**
+     * Visible lines and labels
+     */
+    private final OverlayFeatures features = new OverlayFeatures();
+
+    /**
+     * Visible line polylines
+     */
+    private final Map<LineKey, Polyline> polylines = new HashMap<>();
+
+    /**
+     * Visible label markers
+     */
+    private final Map<LabelKey, Marker> markers = new HashMap<>();
+
+    /**
+     * Hidden polylines for reuse
+     */
+    private final OverlaySpares<Polyline> sparePolylines = new OverlaySpares<Polyline>(MAX_SPARE) {
+
+        @Override
+        protected void hide(Polyline polyline) {
+            polyline.setVisible(false);
+        }
+
+        @Override
+        protected void remove(Polyline polyline) {
+            polyline.remove();
+        }
+
+    };
+
+    /**
+     * Hidden markers for reuse
+     */
+    private final OverlaySpares<Marker> spareMarkers = new OverlaySpares<Marker>(MAX_SPARE) {
+
+        @Override
+        protected void hide(Marker marker) {
+            marker.setVisible(false);
+        }
+
+        @Override
+        protected void remove(Marker marker) {
+            marker.remove();
+        }
+
+    };
+
+    /**
+     * Label icons by grid type and label name
+     */
+    private final Map<String, Icon> icons = new LinkedHashMap<String, Icon>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Icon> eldest) {
+            return size() > MAX_ICONS;
+        }
+    };
+
+    /**
+     * Reusable polyline points
+     */
+    private final List<LatLng> points = new ArrayList<>(2);
+
+    /**
+     * Create a grid overlay with the Grid Zone Designator and 100 kilometer
+     * grids
+     *
+     * @param context app context
+     * @param map     map
+     * @return grid overlay
+     */
+    public static MGRSGridOverlay create(Context context, GoogleMap map) {
+        return new MGRSGridOverlay(context, map, Grids.create(DEFAULT_TYPES));
+    }
+
+    /**
+     * Create a grid overlay with grid types
+     *
+     * @param context app context
+     * @param map     map
+     * @param types   grids types to enable
+     * @return grid overlay
+     */
+    public static MGRSGridOverlay create(Context context, GoogleMap map, GridType... types) {
+        return new MGRSGridOverlay(context, map, Grids.create(types));
+    }
+
+    /**
+     * Create a grid overlay with grid types
+     *
+     * @param context app context
+     * @param map     map
+     * @param types   grids types to enable
+     * @return grid overlay
+     */
+    public static MGRSGridOverlay create(Context context, GoogleMap map, Collection<GridType> types) {
+        return new MGRSGridOverlay(context, map, Grids.create(types));
+    }
+
+    /**
+     * Create a grid overlay with grids
+     *
+     * @param context app context
+     * @param map     map
+     * @param grids   grids
+     * @return grid overlay
+     */
+    public static MGRSGridOverlay create(Context context, GoogleMap map, Grids grids) {
+        return new MGRSGridOverlay(context, map, grids);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param context app context
+     * @param map     map
+     * @param grids   grids
+     */
+    public MGRSGridOverlay(Context context, GoogleMap map, Grids grids) {
+        this(map, grids, context.getResources().getDisplayMetrics().density);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param map     map
+     * @param grids   grids
+     * @param density display density: {@link android.util.DisplayMetrics#density}
+     */
+    public MGRSGridOverlay(GoogleMap map, Grids grids, float density) {
+        this.map = map;
+        this.grids = grids;
+        this.scale = TileUtils.tileDensity(density, TileUtils.tileLength(density));
+    }
+
+    /**
+     * Get the map
+     *
+     * @return map
+     */
+    public GoogleMap getMap() {
+        return map;
+    }
+
+    /**
+     * Get the screen pixels per tile pixel, scaling line widths and label
+     * text sizes
+     *
+     * @return scale
+     */
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * Get the grids
+     *
+     * @return grids
+     */
+    public Grids getGrids() {
+        return grids;
+    }
+
+    /**
+     * Set the grids, redrawn on the next update
+     *
+     * @param grids grids
+     */
+    public void setGrids(Grids grids) {
+        this.grids = grids;
+        features.reset();
+    }
+
+    /**
+     * Get the polyline and marker z index
+     *
+     * @return z index
+     */
+    public float getZIndex() {
+        return zIndex;
+    }
+
+    /**
+     * Set the polyline and marker z index, applied on the next update
+     *
+     * @param zIndex z index
+     */
+    public void setZIndex(float zIndex) {
+        this.zIndex = zIndex;
+        features.reset();
+    }
+
+    /**
+     * Get the number of visible line polylines
+     *
+     * @return polyline count
+     */
+    public int getPolylineCount() {
+        return polylines.size();
+    }
+
+    /**
+     * Get the number of visible label markers
+     *
+     * @return marker count
+     */
+    public int getMarkerCount() {
+        return markers.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onCameraIdle() {
+        update();
+    }
+
+    /**
+     * Update the overlay for the current camera
+     */
+    public void update() {
+        CameraPosition cameraPosition = map.getCameraPosition();
+        Projection projection = map.getProjection();
+        update(projection.getVisibleRegion().latLngBounds, (int) cameraPosition.zoom, projection);
+    }
+
+    /**
+     * Update the overlay for the visible region, adding newly visible lines
+     * and labels and removing those no longer visible. Removed polylines and
+     * markers are reused for the added. All lines and labels are redrawn
+     * after a grids change.
+     *
+     * @param bounds     visible region bounds
+     * @param zoom       zoom level
+     * @param projection map projection, used to drop labels larger than their grid cell
+     */
+    public void update(LatLngBounds bounds, int zoom, final Projection projection) {
+
+        OverlayChanges changes = features.update(grids, bounds, zoom,
+                (label, metrics, buffer) -> isFit(label, metrics, buffer, projection));
+        if (changes.isRedraw()) {
+            icons.clear();
+        }
+
+        for (LineKey key : changes.getRemovedLines()) {
+            sparePolylines.recycle(polylines.remove(key));
+        }
+        for (LabelKey key : changes.getRemovedLabels()) {
+            spareMarkers.recycle(markers.remove(key));
+        }
+        for (LineKey key : changes.getAddedLines()) {
+            polylines.put(key, addPolyline(key));
+        }
+        for (LabelKey key : changes.getAddedLabels()) {
+            markers.put(key, addMarker(key));
+        }
+    }
+
+    /**
+     * Hide all polylines and markers, keeping them for reuse
+     */
+    public void clear() {
+        for (Polyline polyline : polylines.values()) {
+            sparePolylines.recycle(polyline);
+        }
+        polylines.clear();
+        for (Marker marker : markers.values()) {
+            spareMarkers.recycle(marker);
+        }
+        markers.clear();
+        features.clear();
+    }
+
+    /**
+     * Remove all polylines and markers from the map
+     */
+    public void remove() {
+        clear();
+        sparePolylines.removeAll();
+        spareMarkers.removeAll();
+        icons.clear();
+        features.reset();
+    }
+
+    /**
+     * Check if the label text fits within the label grid cell on screen, as
+     * drawn on tiles
+     *
+     * @param label      label
+     * @param metrics    label text metrics in tile pixels
+     * @param buffer     grid cell edge buffer
+     * @param projection map projection
+     * @return true if fits
+     */
+    private boolean isFit(GridLabel label, TextMetrics metrics, double buffer, Projection projection) {
+        Bounds bounds = label.getBounds();
+        android.graphics.Point southwest = projection.toScreenLocation(
+                new LatLng(bounds.getMinLatitude(), bounds.getMinLongitude()));
+        android.graphics.Point northeast = projection.toScreenLocation(
+                new LatLng(bounds.getMaxLatitude(), bounds.getMaxLongitude()));
+        double gridPercentage = 1.0 - (2 * buffer);
+        double maxWidth = gridPercentage * Math.abs(northeast.x - southwest.x);
+        double maxHeight = gridPercentage * Math.abs(southwest.y - northeast.y);
+        return metrics.getWidth() * scale <= maxWidth && metrics.getHeight() * scale <= maxHeight;
+    }
+
+    /**
+     * Add or reuse a polyline for the clipped line
+     *
+     * @param key line key
+     * @return polyline
+     */
+    private Polyline addPolyline(LineKey key) {
+        Paint paint = grids.getGrid(key.getGridType()).getPaints().getLinePaint(key.getLineType());
+        LatLng point1 = new LatLng(key.getLatitude1(), key.getLongitude1());
+        LatLng point2 = new LatLng(key.getLatitude2(), key.getLongitude2());
+        Polyline polyline = sparePolylines.poll();
+        if (polyline != null) {
+            points.clear();
+            points.add(point1);
+            points.add(point2);
+            polyline.setPoints(points);
+            polyline.setColor(paint.getColor());
+            polyline.setWidth(paint.getStrokeWidth() * scale);
+            polyline.setZIndex(zIndex);
+            polyline.setVisible(true);
+        } else {
+            polyline = map.addPolyline(new PolylineOptions()
+                    .add(point1, point2)
+                    .color(paint.getColor())
+                    .width(paint.getStrokeWidth() * scale)
+                    .zIndex(zIndex));
+        }
+        return polyline;
+    }
+
+    /**
+     * Add or reuse a marker for the label
+     *
+     * @param key label key
+     * @return marker
+     */
+    private Marker addMarker(LabelKey key) {
+        Grid grid = grids.getGrid(key.getGridType());
+        GridLabel label = key.getLabel();
+        Paint paint = grid.getPaints().getLabelPaint();
+        TextMetrics metrics = grid.getLabelMetrics().getMetrics(label.getName(), paint);
+        LatLng position = new LatLng(label.getCenter().getLatitude(), label.getCenter().getLongitude());
+        BitmapDescriptor icon = getIcon(key.getGridType(), label.getName(), paint, metrics);
+        Marker marker = spareMarkers.poll();
+        if (marker != null) {
+            marker.setPosition(position);
+            marker.setIcon(icon);
+            marker.setZIndex(zIndex);
+            marker.setVisible(true);
+        } else {
+            marker = map.addMarker(new MarkerOptions()
+                    .position(position)
+                    .icon(icon)
+                    .anchor(0.5f, 0.5f)
+                    .zIndex(zIndex));
+        }
+        return marker;
+    }
+
+    /**
+     * Get the label icon, rendering at the screen scale if needed
+     *
+     * @param gridType grid type
+     * @param name     label name
+     * @param paint    label paint
+     * @param metrics  label text metrics in tile pixels
+     * @return label icon
+     */
+    private BitmapDescriptor getIcon(GridType gridType, String name, Paint paint, TextMetrics metrics) {
+        String key = gridType.name() + ' ' + name;
+        Icon icon = icons.get(key);
+        if (icon == null) {
+            int width = (int) Math.ceil(metrics.getWidth() * scale) + 2 * ICON_PADDING;
+            int height = (int) Math.ceil(metrics.getHeight() * scale) + 2 * ICON_PADDING;
+            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(bitmap);
+            canvas.translate(width / 2.0f, height / 2.0f);
+            canvas.scale(scale, scale);
+            canvas.drawText(name, -metrics.getCenterX(), -metrics.getCenterY(), paint);
+            icon = new Icon(BitmapDescriptorFactory.fromBitmap(bitmap), bitmap);
+            icons.put(key, icon);
+        }
+        return icon.descriptor;
+    }
+
+    /**
+     * Label icon descriptor and the bitmap it was created from, kept alive
+     * while the descriptor is cached
+     */
+    private static class Icon {
+
+        /**
+         * Bitmap descriptor
+         */
+        private final BitmapDescriptor descriptor;
+
+        /**
+         * Icon bitmap
+         */
+        private final Bitmap bitmap;
+
+        /**
+         * Constructor
+         *
+         * @param descriptor bitmap descriptor
+         * @param bitmap     icon bitmap
+         */
+        private Icon(BitmapDescriptor descriptor, Bitmap bitmap) {
+            this.descriptor = descriptor;
+            this.bitmap = bitmap;
+        }
+
+    }
+
+}
@@ -0,0 +1,101 @@
+package mil.nga.mgrs.overlay;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grid overlay lines and labels added and removed by a visible region update
+ */
+public class OverlayChanges {
+
+    /**
+     * True if all lines and labels are redrawn after a grids change
+     */
+    private final boolean redraw;
+
+    /**
+     * Newly visible lines
+     */
+    private final List<OverlayFeatures.LineKey> addedLines = new ArrayList<>();
+
+    /**
+     * Lines no longer visible
+     */
+    private final List<OverlayFeatures.LineKey> removedLines = new ArrayList<>();
+
+    /**
+     * Newly visible labels
+     */
+    private final List<OverlayFeatures.LabelKey> addedLabels = new ArrayList<>();
+
+    /**
+     * Labels no longer visible
+     */
+    private final List<OverlayFeatures.LabelKey> removedLabels = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param redraw true if all lines and labels are redrawn
+     */
+    OverlayChanges(boolean redraw) {
+        this.redraw = redraw;
+    }
+
+    /**
+     * Check if all lines and labels are redrawn after a grids change, all
+     * previously visible lines and labels are removed
+     *
+     * @return true if redrawn
+     */
+    public boolean isRedraw() {
+        return redraw;
+    }
+
+    /**
+     * Get the newly visible lines
+     *
+     * @return line keys
+     */
+    public List<OverlayFeatures.LineKey> getAddedLines() {
+        return addedLines;
+    }
+
+    /**
+     * Get the lines no longer visible
+     *
+     * @return line keys
+     */
+    public List<OverlayFeatures.LineKey> getRemovedLines() {
+        return removedLines;
+    }
+
+    /**
+     * Get the newly visible labels
+     *
+     * @return label keys
+     */
+    public List<OverlayFeatures.LabelKey> getAddedLabels() {
+        return addedLabels;
+    }
+
+    /**
+     * Get the labels no longer visible
+     *
+     * @return label keys
+     */
+    public List<OverlayFeatures.LabelKey> getRemovedLabels() {
+        return removedLabels;
+    }
+
+    /**
+     * Check if nothing was added or removed
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return addedLines.isEmpty() && removedLines.isEmpty() && addedLabels.isEmpty()
+                && removedLabels.isEmpty();
+    }
+
+}
@@ -0,0 +1,519 @@
+package mil.nga.mgrs.overlay;
+
+import android.graphics.Paint;
+
+import com.google.android.gms.maps.model.LatLngBounds;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grid;
+import mil.nga.mgrs.grid.style.Grids;
+import mil.nga.mgrs.grid.style.ZoomGrids;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+import mil.nga.mgrs.tile.TextMetrics;
+
+/**
+ * Grid lines and labels visible in a grid overlay, computing the lines and
+ * labels added and removed by each visible region update without a map.
+ * Lines are clipped to their grid zone and identified by their clipped
+ * coordinates, labels by their name and center.
+ */
+public class OverlayFeatures {
+
+    /**
+     * Grids generation of the visible lines and labels
+     */
+    private long generation = -1;
+
+    /**
+     * Visible lines
+     */
+    private Set<LineKey> lines = new HashSet<>();
+
+    /**
+     * Visible labels
+     */
+    private Set<LabelKey> labels = new HashSet<>();
+
+    /**
+     * Reusable line clip values
+     */
+    private final double[] clip = new double[6];
+
+    /**
+     * Get the number of visible lines
+     *
+     * @return line count
+     */
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    /**
+     * Get the number of visible labels
+     *
+     * @return label count
+     */
+    public int getLabelCount() {
+        return labels.size();
+    }
+
+    /**
+     * Check if the line is visible
+     *
+     * @param key line key
+     * @return true if visible
+     */
+    public boolean isVisible(LineKey key) {
+        return lines.contains(key);
+    }
+
+    /**
+     * Check if the label is visible
+     *
+     * @param key label key
+     * @return true if visible
+     */
+    public boolean isVisible(LabelKey key) {
+        return labels.contains(key);
+    }
+
+    /**
+     * Clear the visible lines and labels, all are added on the next update
+     */
+    public void clear() {
+        lines.clear();
+        labels.clear();
+    }
+
+    /**
+     * Redraw all lines and labels on the next update, as after a grids change
+     */
+    public void reset() {
+        generation = -1;
+    }
+
+    /**
+     * Update the visible lines and labels for the visible region, returning
+     * the newly visible lines and labels and those no longer visible. All
+     * lines and labels are redrawn after a grids change.
+     *
+     * @param grids    grids
+     * @param bounds   visible region bounds
+     * @param zoom     zoom level
+     * @param labelFit label fit check, dropping labels larger than their grid cell
+     * @return changes
+     */
+    public OverlayChanges update(Grids grids, LatLngBounds bounds, int zoom, LabelFit labelFit) {
+
+        boolean redraw = grids.getGeneration() != generation;
+        OverlayChanges changes = new OverlayChanges(redraw);
+        if (redraw) {
+            changes.getRemovedLines().addAll(lines);
+            changes.getRemovedLabels().addAll(labels);
+            clear();
+            generation = grids.getGeneration();
+        }
+
+        Set<LineKey> visibleLines = new HashSet<>();
+        Set<LabelKey> visibleLabels = new HashSet<>();
+
+        ZoomGrids zoomGrids = grids.getGrids(zoom);
+        if (zoomGrids.hasGrids()) {
+            for (Bounds regionBounds : getBounds(bounds)) {
+                for (Grid grid : zoomGrids.grids()) {
+                    for (GridZone zone : GridZones.getGridRange(regionBounds)) {
+                        addLines(grid, zone, grids.getLines(grid, zoom, regionBounds, zone), visibleLines,
+                                changes);
+                        addLabels(grid, grids.getLabels(grid, zoom, regionBounds, zone), labelFit,
+                                visibleLabels, changes);
+                    }
+                }
+            }
+        }
+
+        for (LineKey key : lines) {
+            if (!visibleLines.contains(key)) {
+                changes.getRemovedLines().add(key);
+            }
+        }
+        for (LabelKey key : labels) {
+            if (!visibleLabels.contains(key)) {
+                changes.getRemovedLabels().add(key);
+            }
+        }
+        lines = visibleLines;
+        labels = visibleLabels;
+
+        return changes;
+    }
+
+    /**
+     * Add the zone lines clipped to the zone, recording the newly visible
+     *
+     * @param grid         grid
+     * @param zone         grid zone
+     * @param zoneLines    lines or null
+     * @param visibleLines visible line keys
+     * @param changes      changes
+     */
+    private void addLines(Grid grid, GridZone zone, List<GridLine> zoneLines, Set<LineKey> visibleLines,
+                          OverlayChanges changes) {
+        if (zoneLines != null) {
+            Bounds zoneBounds = zone.getBounds();
+            for (GridLine line : zoneLines) {
+                if (clip(line, zoneBounds)) {
+                    LineKey key = new LineKey(grid.getType(), line.getGridType(), clip);
+                    if (visibleLines.add(key) && !lines.contains(key)) {
+                        changes.getAddedLines().add(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the labels that fit within their grid cell, recording the newly
+     * visible
+     *
+     * @param grid          grid
+     * @param zoneLabels    labels or null
+     * @param labelFit      label fit check
+     * @param visibleLabels visible label keys
+     * @param changes       changes
+     */
+    private void addLabels(Grid grid, List<GridLabel> zoneLabels, LabelFit labelFit, Set<LabelKey> visibleLabels,
+                           OverlayChanges changes) {
+        Paint paint = grid.getPaints().getLabelPaint();
+        if (zoneLabels != null && paint != null) {
+            double buffer = grid.getLabelBuffer();
+            for (GridLabel label : zoneLabels) {
+                TextMetrics metrics = grid.getLabelMetrics().getMetrics(label.getName(), paint);
+                if (labelFit.isFit(label, metrics, buffer)) {
+                    LabelKey key = new LabelKey(grid.getType(), label);
+                    if (visibleLabels.add(key) && !labels.contains(key)) {
+                        changes.getAddedLabels().add(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the grid bounds of the visible region, split at the antimeridian
+     *
+     * @param bounds visible region bounds
+     * @return bounds
+     */
+    private static List<Bounds> getBounds(LatLngBounds bounds) {
+        List<Bounds> regionBounds = new ArrayList<>(2);
+        double west = bounds.southwest.longitude;
+        double south = bounds.southwest.latitude;
+        double east = bounds.northeast.longitude;
+        double north = bounds.northeast.latitude;
+        if (west <= east) {
+            regionBounds.add(Bounds.degrees(west, south, east, north));
+        } else {
+            regionBounds.add(Bounds.degrees(west, south, 180.0, north));
+            regionBounds.add(Bounds.degrees(-180.0, south, east, north));
+        }
+        return regionBounds;
+    }
+
+    /**
+     * Clip the line to the bounds (Liang-Barsky) into the clip values as
+     * longitude, latitude pairs
+     *
+     * @param line   line
+     * @param bounds bounds in degrees
+     * @return true if any of the line is within the bounds
+     */
+    private boolean clip(GridLine line, Bounds bounds) {
+        double x0 = line.getPoint1().getLongitude();
+        double y0 = line.getPoint1().getLatitude();
+        double dx = line.getPoint2().getLongitude() - x0;
+        double dy = line.getPoint2().getLatitude() - y0;
+        clip[4] = 0.0;
+        clip[5] = 1.0;
+        boolean visible = clip(-dx, x0 - bounds.getMinLongitude())
+                && clip(dx, bounds.getMaxLongitude() - x0)
+                && clip(-dy, y0 - bounds.getMinLatitude())
+                && clip(dy, bounds.getMaxLatitude() - y0)
+                && clip[4] < clip[5];
+        if (visible) {
+            clip[0] = x0 + clip[4] * dx;
+            clip[1] = y0 + clip[4] * dy;
+            clip[2] = x0 + clip[5] * dx;
+            clip[3] = y0 + clip[5] * dy;
+        }
+        return visible;
+    }
+
+    /**
+     * Clip the line parameter range against one bounds edge
+     *
+     * @param p edge direction term
+     * @param q edge distance term
+     * @return true if any of the range remains
+     */
+    private boolean clip(double p, double q) {
+        boolean visible;
+        if (p == 0.0) {
+            visible = q >= 0.0;
+        } else {
+            double t = q / p;
+            if (p < 0.0) {
+                visible = t <= clip[5];
+                if (visible && t > clip[4]) {
+                    clip[4] = t;
+                }
+            } else {
+                visible = t >= clip[4];
+                if (visible && t < clip[5]) {
+                    clip[5] = t;
+                }
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Label fit check, dropping labels larger than their grid cell
+     */
+    public interface LabelFit {
+
+        /**
+         * Check if the label text fits within the label grid cell
+         *
+         * @param label   label
+         * @param metrics label text metrics in tile pixels
+         * @param buffer  grid cell edge buffer
+         * @return true if fits
+         */
+        boolean isFit(GridLabel label, TextMetrics metrics, double buffer);
+
+    }
+
+    /**
+     * Visible line key, a line of a grid clipped to its grid zone
+     */
+    public static class LineKey {
+
+        /**
+         * Grid type of the drawing grid
+         */
+        private final GridType gridType;
+
+        /**
+         * Line grid type
+         */
+        private final GridType lineType;
+
+        /**
+         * Clipped line coordinates as longitude, latitude pairs
+         */
+        private final double[] coordinates;
+
+        /**
+         * Constructor
+         *
+         * @param gridType grid type of the drawing grid
+         * @param lineType line grid type
+         * @param clip     clipped line coordinates
+         */
+        LineKey(GridType gridType, GridType lineType, double[] clip) {
+            this.gridType = gridType;
+            this.lineType = lineType;
+            this.coordinates = new double[]{clip[0], clip[1], clip[2], clip[3]};
+        }
+
+        /**
+         * Get the grid type of the drawing grid
+         *
+         * @return grid type
+         */
+        public GridType getGridType() {
+            return gridType;
+        }
+
+        /**
+         * Get the line grid type
+         *
+         * @return line grid type
+         */
+        public GridType getLineType() {
+            return lineType;
+        }
+
+        /**
+         * Get the first point longitude
+         *
+         * @return longitude
+         */
+        public double getLongitude1() {
+            return coordinates[0];
+        }
+
+        /**
+         * Get the first point latitude
+         *
+         * @return latitude
+         */
+        public double getLatitude1() {
+            return coordinates[1];
+        }
+
+        /**
+         * Get the second point longitude
+         *
+         * @return longitude
+         */
+        public double getLongitude2() {
+            return coordinates[2];
+        }
+
+        /**
+         * Get the second point latitude
+         *
+         * @return latitude
+         */
+        public double getLatitude2() {
+            return coordinates[3];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = gridType.hashCode();
+            result = prime * result + lineType.hashCode();
+            for (double coordinate : coordinates) {
+                result = prime * result + Double.hashCode(coordinate);
+            }
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LineKey)) {
+                return false;
+            }
+            LineKey other = (LineKey) obj;
+            return gridType == other.gridType && lineType == other.lineType
+                    && Arrays.equals(coordinates, other.coordinates);
+        }
+
+    }
+
+    /**
+     * Visible label key, a label of a grid identified by its name and center
+     */
+    public static class LabelKey {
+
+        /**
+         * Grid type of the drawing grid
+         */
+        private final GridType gridType;
+
+        /**
+         * Label
+         */
+        private final GridLabel label;
+
+        /**
+         * Label name
+         */
+        private final String name;
+
+        /**
+         * Label center longitude
+         */
+        private final double longitude;
+
+        /**
+         * Label center latitude
+         */
+        private final double latitude;
+
+        /**
+         * Constructor
+         *
+         * @param gridType grid type of the drawing grid
+         * @param label    label
+         */
+        LabelKey(GridType gridType, GridLabel label) {
+            this.gridType = gridType;
+            this.label = label;
+            this.name = label.getName();
+            this.longitude = label.getCenter().getLongitude();
+            this.latitude = label.getCenter().getLatitude();
+        }
+
+        /**
+         * Get the grid type of the drawing grid
+         *
+         * @return grid type
+         */
+        public GridType getGridType() {
+            return gridType;
+        }
+
+        /**
+         * Get the label
+         *
+         * @return label
+         */
+        public GridLabel getLabel() {
+            return label;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = gridType.hashCode();
+            result = prime * result + name.hashCode();
+            result = prime * result + Double.hashCode(longitude);
+            result = prime * result + Double.hashCode(latitude);
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof LabelKey)) {
+                return false;
+            }
+            LabelKey other = (LabelKey) obj;
+            return gridType == other.gridType && name.equals(other.name)
+                    && Double.compare(longitude, other.longitude) == 0
+                    && Double.compare(latitude, other.latitude) == 0;
+        }
+
+    }
+
+}
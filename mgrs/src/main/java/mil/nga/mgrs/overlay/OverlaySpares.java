@@ -0,0 +1,101 @@
+package mil.nga.mgrs.overlay;
+
+import java.util.ArrayDeque;
+
+/**
+ * Hidden grid overlay map objects kept for reuse, up to a maximum count.
+ * Objects recycled beyond the maximum are removed.
+ *
+ * @param <T> map object type
+ */
+public abstract class OverlaySpares<T> {
+
+    /**
+     * Maximum number of hidden objects kept
+     */
+    private final int maxSpares;
+
+    /**
+     * Hidden objects in recycle order
+     */
+    private final ArrayDeque<T> spares = new ArrayDeque<>();
+
+    /**
+     * Constructor
+     *
+     * @param maxSpares maximum number of hidden objects kept
+     */
+    protected OverlaySpares(int maxSpares) {
+        if (maxSpares < 0) {
+            throw new IllegalArgumentException("Max spares must be >= 0, max spares: " + maxSpares);
+        }
+        this.maxSpares = maxSpares;
+    }
+
+    /**
+     * Get the maximum number of hidden objects kept
+     *
+     * @return max spares
+     */
+    public int getMaxSpares() {
+        return maxSpares;
+    }
+
+    /**
+     * Get the number of hidden objects kept
+     *
+     * @return spare count
+     */
+    public int size() {
+        return spares.size();
+    }
+
+    /**
+     * Take the least recently hidden object for reuse
+     *
+     * @return hidden object or null if none
+     */
+    public T poll() {
+        return spares.poll();
+    }
+
+    /**
+     * Hide the object and keep it for reuse, or remove it when the maximum
+     * number of hidden objects are kept
+     *
+     * @param object map object
+     */
+    public void recycle(T object) {
+        if (spares.size() < maxSpares) {
+            hide(object);
+            spares.add(object);
+        } else {
+            remove(object);
+        }
+    }
+
+    /**
+     * Remove all hidden objects
+     */
+    public void removeAll() {
+        for (T object : spares) {
+            remove(object);
+        }
+        spares.clear();
+    }
+
+    /**
+     * Hide the object from the map
+     *
+     * @param object map object
+     */
+    protected abstract void hide(T object);
+
+    /**
+     * Remove the object from the map
+     *
+     * @param object map object
+     */
+    protected abstract void remove(T object);
+
+}
@@ -0,0 +1,313 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Size bounded pool of mutable tile bitmaps keyed by width, height, and
+ * config. Borrowed bitmaps are erased to transparent before reuse.
+ */
+public class BitmapPool {
+
+    /**
+     * Default maximum number of pooled bitmaps
+     */
+    public static final int DEFAULT_MAX_SIZE = 4;
+
+    /**
+     * Pooled bitmaps by dimensions and config
+     */
+    private final Map<Key, ArrayDeque<Bitmap>> bitmaps = new HashMap<>();
+
+    /**
+     * Maximum number of pooled bitmaps
+     */
+    private int maxSize;
+
+    /**
+     * Number of pooled bitmaps
+     */
+    private int size = 0;
+
+    /**
+     * Number of bitmaps reused from the pool
+     */
+    private long reuseCount = 0;
+
+    /**
+     * Number of bitmaps created on a pool miss
+     */
+    private long createCount = 0;
+
+    /**
+     * Create a bitmap pool with the default max size
+     *
+     * @return bitmap pool
+     */
+    public static BitmapPool create() {
+        return new BitmapPool();
+    }
+
+    /**
+     * Create a bitmap pool
+     *
+     * @param maxSize maximum number of pooled bitmaps
+     * @return bitmap pool
+     */
+    public static BitmapPool create(int maxSize) {
+        return new BitmapPool(maxSize);
+    }
+
+    /**
+     * Constructor, default max size
+     */
+    public BitmapPool() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxSize maximum number of pooled bitmaps
+     */
+    public BitmapPool(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /**
+     * Get the maximum number of pooled bitmaps
+     *
+     * @return max size
+     */
+    public synchronized int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Set the maximum number of pooled bitmaps, recycling pooled bitmaps as needed
+     *
+     * @param maxSize max size
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size must be >= 0, max size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        trim();
+    }
+
+    /**
+     * Get the number of pooled bitmaps
+     *
+     * @return size
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Borrow an ARGB_8888 bitmap, erased to transparent
+     *
+     * @param width  width
+     * @param height height
+     * @return bitmap
+     */
+    public Bitmap acquire(int width, int height) {
+        return acquire(width, height, Bitmap.Config.ARGB_8888);
+    }
+
+    /**
+     * Borrow a bitmap, erased to transparent
+     *
+     * @param width  width
+     * @param height height
+     * @param config bitmap config
+     * @return bitmap
+     */
+    public Bitmap acquire(int width, int height, Bitmap.Config config) {
+        Bitmap bitmap = null;
+        synchronized (this) {
+            ArrayDeque<Bitmap> pooled = bitmaps.get(new Key(width, height, config));
+            if (pooled != null) {
+                bitmap = pooled.poll();
+            }
+            if (bitmap != null) {
+                size--;
+                reuseCount++;
+            } else {
+                createCount++;
+            }
+        }
+        if (bitmap != null) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+        } else {
+            bitmap = Bitmap.createBitmap(width, height, config);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Return a bitmap to the pool, recycling it when the pool is full. The
+     * bitmap must not be used by the caller after release.
+     *
+     * @param bitmap bitmap
+     */
+    public void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        boolean pooled = false;
+        if (bitmap.isMutable()) {
+            synchronized (this) {
+                if (size < maxSize) {
+                    Key key = new Key(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+                    ArrayDeque<Bitmap> deque = bitmaps.get(key);
+                    if (deque == null) {
+                        deque = new ArrayDeque<>();
+                        bitmaps.put(key, deque);
+                    }
+                    deque.push(bitmap);
+                    size++;
+                    pooled = true;
+                }
+            }
+        }
+        if (!pooled) {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Recycle and clear all pooled bitmaps
+     */
+    public synchronized void clear() {
+        for (ArrayDeque<Bitmap> deque : bitmaps.values()) {
+            for (Bitmap bitmap : deque) {
+                bitmap.recycle();
+            }
+        }
+        bitmaps.clear();
+        size = 0;
+    }
+
+    /**
+     * Get the number of bitmaps reused from the pool
+     *
+     * @return reuse count
+     */
+    public synchronized long getReuseCount() {
+        return reuseCount;
+    }
+
+    /**
+     * Get the number of bitmaps created on a pool miss
+     *
+     * @return create count
+     */
+    public synchronized long getCreateCount() {
+        return createCount;
+    }
+
+    /**
+     * Reset the reuse and create counts
+     */
+    public synchronized void resetCounts() {
+        reuseCount = 0;
+        createCount = 0;
+    }
+
+    /**
+     * Recycle pooled bitmaps until within the maximum size
+     */
+    private void trim() {
+        Iterator<ArrayDeque<Bitmap>> iterator = bitmaps.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            ArrayDeque<Bitmap> deque = iterator.next();
+            while (size > maxSize && !deque.isEmpty()) {
+                deque.pollLast().recycle();
+                size--;
+            }
+            if (deque.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "BitmapPool [size=" + size + ", maxSize=" + maxSize
+                + ", reused=" + reuseCount + ", created=" + createCount + "]";
+    }
+
+    /**
+     * Pool key of bitmap dimensions and config
+     */
+    private static class Key {
+
+        /**
+         * Width
+         */
+        private final int width;
+
+        /**
+         * Height
+         */
+        private final int height;
+
+        /**
+         * Bitmap config
+         */
+        private final Bitmap.Config config;
+
+        /**
+         * Constructor
+         *
+         * @param width  width
+         * @param height height
+         * @param config bitmap config
+         */
+        Key(int width, int height, Bitmap.Config config) {
+            this.width = width;
+            this.height = height;
+            this.config = config;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + width;
+            result = prime * result + height;
+            result = prime * result + (config != null ? config.hashCode() : 0);
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return width == other.width && height == other.height && config == other.config;
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+
+import java.io.OutputStream;
+
+/**
+ * Tile encoder using the platform bitmap compressor
+ */
+public class BitmapTileEncoder extends TileEncoder {
+
+    /**
+     * Compress format
+     */
+    private final Bitmap.CompressFormat format;
+
+    /**
+     * Compress quality
+     */
+    private final int quality;
+
+    /**
+     * Constructor
+     *
+     * @param name    encoder name
+     * @param format  compress format
+     * @param quality compress quality between 0 and 100
+     */
+    public BitmapTileEncoder(String name, Bitmap.CompressFormat format, int quality) {
+        super(name);
+        this.format = format;
+        this.quality = quality;
+    }
+
+    /**
+     * Get the compress format
+     *
+     * @return compress format
+     */
+    public Bitmap.CompressFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Get the compress quality
+     *
+     * @return compress quality
+     */
+    public int getQuality() {
+        return quality;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFormatHash() {
+        final int prime = 31;
+        int hash = super.getFormatHash();
+        hash = prime * hash + format.name().hashCode();
+        hash = prime * hash + quality;
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean write(Bitmap bitmap, OutputStream out) {
+        return bitmap.compress(format, quality, out);
+    }
+
+}
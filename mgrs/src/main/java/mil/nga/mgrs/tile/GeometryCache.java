@@ -0,0 +1,520 @@
+package mil.nga.mgrs.tile;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+
+/**
+ * Size bounded, least recently used cache of grid zone line and label
+ * geometry. Geometry is computed once per block of grid cells for a grid zone
+ * and grid type and sliced per tile, producing the same lines and labels as
+ * {@link GridZone#getLines(Bounds, GridType)} and the MGRS labeler. Geometry
+ * is independent of style and may be shared across grids. Returned lines and
+ * labels are shared and must not be modified.
+ */
+public class GeometryCache {
+
+    /**
+     * Default maximum cache size in bytes
+     */
+    public static final int DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Grid cells per block side
+     */
+    public static final int BLOCK_CELLS = 8;
+
+    /**
+     * Estimated memory size of a line in bytes
+     */
+    private static final int LINE_BYTES = 160;
+
+    /**
+     * Estimated memory size of a label in bytes
+     */
+    private static final int LABEL_BYTES = 320;
+
+    /**
+     * Estimated per block memory overhead in bytes
+     */
+    private static final int BLOCK_OVERHEAD = 128;
+
+    /**
+     * Shared geometry cache
+     */
+    private static final GeometryCache SHARED = new GeometryCache();
+
+    /**
+     * Cached blocks in least to most recently used order
+     */
+    private final LinkedHashMap<BlockKey, Block> blocks = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Maximum cache size in bytes
+     */
+    private int maxBytes;
+
+    /**
+     * Current cache size in bytes
+     */
+    private int bytes = 0;
+
+    /**
+     * Block hit count
+     */
+    private long hitCount = 0;
+
+    /**
+     * Block miss count
+     */
+    private long missCount = 0;
+
+    /**
+     * Get the geometry cache shared by default across grids
+     *
+     * @return shared geometry cache
+     */
+    public static GeometryCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Create a geometry cache with the default byte budget
+     *
+     * @return geometry cache
+     */
+    public static GeometryCache create() {
+        return new GeometryCache();
+    }
+
+    /**
+     * Create a geometry cache
+     *
+     * @param maxBytes maximum cache size in bytes
+     * @return geometry cache
+     */
+    public static GeometryCache create(int maxBytes) {
+        return new GeometryCache(maxBytes);
+    }
+
+    /**
+     * Constructor, default byte budget
+     */
+    public GeometryCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxBytes maximum cache size in bytes
+     */
+    public GeometryCache(int maxBytes) {
+        setMaxBytes(maxBytes);
+    }
+
+    /**
+     * Get the maximum cache size in bytes
+     *
+     * @return maximum bytes
+     */
+    public synchronized int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Set the maximum cache size in bytes, evicting blocks as needed
+     *
+     * @param maxBytes maximum bytes
+     */
+    public synchronized void setMaxBytes(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Max bytes must be >= 0, max bytes: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        trim();
+    }
+
+    /**
+     * Get the estimated cache size in bytes
+     *
+     * @return bytes
+     */
+    public synchronized int getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the number of cached blocks
+     *
+     * @return block count
+     */
+    public synchronized int size() {
+        return blocks.size();
+    }
+
+    /**
+     * Get the block hit count
+     *
+     * @return hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the block miss count
+     *
+     * @return miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Clear all cached blocks
+     */
+    public synchronized void clear() {
+        blocks.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Get the grid zone lines within the tile bounds
+     *
+     * @param tileBounds tile bounds
+     * @param gridType   grid type
+     * @param zone       grid zone
+     * @return lines or null
+     */
+    public List<GridLine> getLines(Bounds tileBounds, GridType gridType, GridZone zone) {
+
+        if (gridType == GridType.GZD) {
+            return zone.getLines(tileBounds, gridType);
+        }
+
+        List<GridLine> lines = null;
+
+        Bounds drawBounds = zone.getDrawBounds(tileBounds, gridType);
+        if (drawBounds != null) {
+            lines = new ArrayList<>();
+            int precision = gridType.getPrecision();
+            Block block = null;
+            for (double easting = drawBounds.getMinLongitude(); easting < drawBounds.getMaxLongitude(); easting += precision) {
+                int cellEasting = (int) (easting / precision);
+                for (double northing = drawBounds.getMinLatitude(); northing < drawBounds.getMaxLatitude(); northing += precision) {
+                    int cellNorthing = (int) (northing / precision);
+                    if (block == null || !block.contains(cellEasting, cellNorthing)) {
+                        block = getBlock(zone, gridType, false, cellEasting, cellNorthing);
+                    }
+                    int index = block.index(cellEasting, cellNorthing) * 2;
+                    lines.add((GridLine) block.features[index]);
+                    lines.add((GridLine) block.features[index + 1]);
+                }
+            }
+        }
+
+        return lines;
+    }
+
+    /**
+     * Get the MGRS labeler grid zone labels within the tile bounds
+     *
+     * @param tileBounds tile bounds
+     * @param gridType   grid type, more precise than a Grid Zone Designator
+     * @param zone       grid zone
+     * @return labels or null
+     */
+    public List<GridLabel> getLabels(Bounds tileBounds, GridType gridType, GridZone zone) {
+
+        List<GridLabel> labels = null;
+
+        Bounds drawBounds = zone.getDrawBounds(tileBounds, gridType);
+        if (drawBounds != null) {
+            labels = new ArrayList<>();
+            int precision = gridType.getPrecision();
+            Block block = null;
+            for (double easting = drawBounds.getMinLongitude(); easting <= drawBounds.getMaxLongitude(); easting += precision) {
+                int cellEasting = (int) (easting / precision);
+                for (double northing = drawBounds.getMinLatitude(); northing <= drawBounds.getMaxLatitude(); northing += precision) {
+                    int cellNorthing = (int) (northing / precision);
+                    if (block == null || !block.contains(cellEasting, cellNorthing)) {
+                        block = getBlock(zone, gridType, true, cellEasting, cellNorthing);
+                    }
+                    GridLabel label = (GridLabel) block.features[block.index(cellEasting, cellNorthing)];
+                    if (label != null) {
+                        labels.add(label);
+                    }
+                }
+            }
+        }
+
+        return labels;
+    }
+
+    /**
+     * Get the block containing the cell, computing it on a miss
+     *
+     * @param zone         grid zone
+     * @param gridType     grid type
+     * @param labels       true for labels, false for lines
+     * @param cellEasting  cell easting index
+     * @param cellNorthing cell northing index
+     * @return block
+     */
+    private Block getBlock(GridZone zone, GridType gridType, boolean labels, int cellEasting, int cellNorthing) {
+
+        BlockKey key = new BlockKey(zone.getNumber(), zone.getLetter(), gridType, labels,
+                Math.floorDiv(cellEasting, BLOCK_CELLS), Math.floorDiv(cellNorthing, BLOCK_CELLS));
+
+        Block block;
+        synchronized (this) {
+            block = blocks.get(key);
+            if (block != null) {
+                hitCount++;
+                return block;
+            }
+            missCount++;
+        }
+
+        block = createBlock(key, zone, gridType, labels);
+
+        synchronized (this) {
+            if (block.bytes <= maxBytes) {
+                Block previous = blocks.put(key, block);
+                if (previous != null) {
+                    bytes -= previous.bytes;
+                }
+                bytes += block.bytes;
+                trim();
+            }
+        }
+
+        return block;
+    }
+
+    /**
+     * Compute the block geometry
+     *
+     * @param key      block key
+     * @param zone     grid zone
+     * @param gridType grid type
+     * @param labels   true for labels, false for lines
+     * @return block
+     */
+    private static Block createBlock(BlockKey key, GridZone zone, GridType gridType, boolean labels) {
+
+        int precision = gridType.getPrecision();
+        int firstEasting = key.blockEasting * BLOCK_CELLS;
+        int firstNorthing = key.blockNorthing * BLOCK_CELLS;
+
+        Object[] features = new Object[BLOCK_CELLS * BLOCK_CELLS * (labels ? 1 : 2)];
+        int size = BLOCK_OVERHEAD;
+        for (int e = 0; e < BLOCK_CELLS; e++) {
+            double easting = (double) (firstEasting + e) * precision;
+            for (int n = 0; n < BLOCK_CELLS; n++) {
+                double northing = (double) (firstNorthing + n) * precision;
+                int index = e * BLOCK_CELLS + n;
+                if (labels) {
+                    GridLabel label = GridCells.getLabel(gridType, zone, easting, northing);
+                    features[index] = label;
+                    if (label != null) {
+                        size += LABEL_BYTES;
+                    }
+                } else {
+                    GridLine[] cellLines = GridCells.getLines(gridType, zone, easting, northing);
+                    features[index * 2] = cellLines[0];
+                    features[index * 2 + 1] = cellLines[1];
+                    size += 2 * LINE_BYTES;
+                }
+            }
+        }
+
+        return new Block(firstEasting, firstNorthing, features, size);
+    }
+
+    /**
+     * Evict least recently used blocks until within the maximum size
+     */
+    private void trim() {
+        Iterator<Map.Entry<BlockKey, Block>> iterator = blocks.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().getValue().bytes;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "GeometryCache [blocks=" + blocks.size() + ", bytes=" + bytes + ", maxBytes=" + maxBytes
+                + ", hits=" + hitCount + ", misses=" + missCount + "]";
+    }
+
+    /**
+     * Grid zone, grid type, and block of cells key
+     */
+    private static class BlockKey {
+
+        /**
+         * Zone number
+         */
+        private final int zoneNumber;
+
+        /**
+         * Band letter
+         */
+        private final char bandLetter;
+
+        /**
+         * Grid type
+         */
+        private final GridType gridType;
+
+        /**
+         * True for labels, false for lines
+         */
+        private final boolean labels;
+
+        /**
+         * Block easting index
+         */
+        private final int blockEasting;
+
+        /**
+         * Block northing index
+         */
+        private final int blockNorthing;
+
+        /**
+         * Constructor
+         *
+         * @param zoneNumber    zone number
+         * @param bandLetter    band letter
+         * @param gridType      grid type
+         * @param labels        true for labels, false for lines
+         * @param blockEasting  block easting index
+         * @param blockNorthing block northing index
+         */
+        BlockKey(int zoneNumber, char bandLetter, GridType gridType, boolean labels,
+                 int blockEasting, int blockNorthing) {
+            this.zoneNumber = zoneNumber;
+            this.bandLetter = bandLetter;
+            this.gridType = gridType;
+            this.labels = labels;
+            this.blockEasting = blockEasting;
+            this.blockNorthing = blockNorthing;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            final int prime = 31;
+            int result = 1;
+            result = prime * result + zoneNumber;
+            result = prime * result + bandLetter;
+            result = prime * result + gridType.ordinal();
+            result = prime * result + (labels ? 1231 : 1237);
+            result = prime * result + blockEasting;
+            result = prime * result + blockNorthing;
+            return result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            BlockKey other = (BlockKey) obj;
+            return zoneNumber == other.zoneNumber && bandLetter == other.bandLetter
+                    && gridType == other.gridType && labels == other.labels
+                    && blockEasting == other.blockEasting && blockNorthing == other.blockNorthing;
+        }
+
+    }
+
+    /**
+     * Block of cell lines or labels
+     */
+    private static class Block {
+
+        /**
+         * First cell easting index
+         */
+        private final int firstEasting;
+
+        /**
+         * First cell northing index
+         */
+        private final int firstNorthing;
+
+        /**
+         * Cell features, two lines or one label per cell, in easting then
+         * northing order
+         */
+        private final Object[] features;
+
+        /**
+         * Estimated memory size in bytes
+         */
+        private final int bytes;
+
+        /**
+         * Constructor
+         *
+         * @param firstEasting  first cell easting index
+         * @param firstNorthing first cell northing index
+         * @param features      cell features
+         * @param bytes         estimated memory size in bytes
+         */
+        Block(int firstEasting, int firstNorthing, Object[] features, int bytes) {
+            this.firstEasting = firstEasting;
+            this.firstNorthing = firstNorthing;
+            this.features = features;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Check if the block contains the cell
+         *
+         * @param cellEasting  cell easting index
+         * @param cellNorthing cell northing index
+         * @return true if contains
+         */
+        boolean contains(int cellEasting, int cellNorthing) {
+            return cellEasting >= firstEasting && cellEasting < firstEasting + BLOCK_CELLS
+                    && cellNorthing >= firstNorthing && cellNorthing < firstNorthing + BLOCK_CELLS;
+        }
+
+        /**
+         * Get the cell index within the block
+         *
+         * @param cellEasting  cell easting index
+         * @param cellNorthing cell northing index
+         * @return cell index
+         */
+        int index(int cellEasting, int cellNorthing) {
+            return (cellEasting - firstEasting) * BLOCK_CELLS + (cellNorthing - firstNorthing);
+        }
+
+    }
+
+}
@@ -0,0 +1,135 @@
+package mil.nga.mgrs.tile;
+
+import mil.nga.grid.Hemisphere;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Line;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.utm.UTM;
+
+/**
+ * Grid zone cell geometry, computed one cell at a time with the same results
+ * as {@link GridZone#getLines(Bounds, GridType)} and the MGRS labeler. Cells
+ * are identified by the UTM easting and northing of their southwest corner.
+ */
+public class GridCells {
+
+    /**
+     * Get the west and south lines of the grid cell, as
+     * {@link GridZone#getLines(Bounds, GridType)}
+     *
+     * @param gridType grid type
+     * @param zone     grid zone
+     * @param easting  cell west easting
+     * @param northing cell south northing
+     * @return west and south lines
+     */
+    public static GridLine[] getLines(GridType gridType, GridZone zone, double easting, double northing) {
+
+        int precision = gridType.getPrecision();
+        int zoneNumber = zone.getNumber();
+        Hemisphere hemisphere = zone.getHemisphere();
+        Bounds bounds = zone.getBounds();
+
+        GridType eastingPrecision = GridType.getPrecision(easting);
+        GridType northingPrecision = GridType.getPrecision(northing);
+
+        Point southwest = UTM.point(zoneNumber, hemisphere, easting, northing);
+        Point northwest = UTM.point(zoneNumber, hemisphere, easting, northing + precision);
+        Point southeast = UTM.point(zoneNumber, hemisphere, easting + precision, northing);
+
+        // For large scale grids, trim the lines to the zone bounds
+        if (precision > 1) {
+            if (southwest.getLongitude() < bounds.getMinLongitude()) {
+                southwest = getBoundsPoint(zone, easting, northing, southwest, southeast, false);
+            } else if (southeast.getLongitude() > bounds.getMaxLongitude()) {
+                southeast = getBoundsPoint(zone, easting, northing, southwest, southeast, true);
+            }
+        }
+
+        return new GridLine[]{GridLine.line(southwest, northwest, eastingPrecision),
+                GridLine.line(southwest, southeast, northingPrecision)};
+    }
+
+    /**
+     * Get the zone bounds point along the cell south line
+     *
+     * @param zone     grid zone
+     * @param easting  cell west easting
+     * @param northing cell south northing
+     * @param west     west point
+     * @param east     east point
+     * @param eastern  true for the east bounds, false for the west bounds
+     * @return bounds point
+     */
+    private static Point getBoundsPoint(GridZone zone, double easting, double northing, Point west, Point east,
+                                        boolean eastern) {
+
+        Line line = Line.line(west, east);
+        Line boundsLine = eastern ? zone.getBounds().getEastLine() : zone.getBounds().getWestLine();
+
+        int zoneNumber = zone.getNumber();
+        Hemisphere hemisphere = zone.getHemisphere();
+
+        Point intersection = line.intersection(boundsLine);
+        UTM intersectionUTM = UTM.from(intersection, zoneNumber, hemisphere);
+        double boundsEasting = intersectionUTM.getEasting() - easting;
+        boundsEasting = eastern ? Math.ceil(boundsEasting) : Math.floor(boundsEasting);
+
+        return UTM.point(zoneNumber, hemisphere, easting + boundsEasting, northing);
+    }
+
+    /**
+     * Get the grid cell label, as the MGRS labeler
+     *
+     * @param gridType grid type
+     * @param zone     grid zone
+     * @param easting  cell west easting
+     * @param northing cell south northing
+     * @return label or null
+     */
+    public static GridLabel getLabel(GridType gridType, GridZone zone, double easting, double northing) {
+
+        GridLabel label = null;
+
+        int precision = gridType.getPrecision();
+        Bounds bounds = zone.getBounds();
+        int zoneNumber = zone.getNumber();
+        Hemisphere hemisphere = zone.getHemisphere();
+
+        Point northwest = UTM.point(zoneNumber, hemisphere, easting, northing + precision);
+        Point southwest = UTM.point(zoneNumber, hemisphere, easting, northing);
+        Point southeast = UTM.point(zoneNumber, hemisphere, easting + precision, northing);
+        Point northeast = UTM.point(zoneNumber, hemisphere, easting + precision, northing + precision);
+
+        double minLatitude = Math.max(southwest.getLatitude(), southeast.getLatitude());
+        minLatitude = Math.max(minLatitude, bounds.getMinLatitude());
+        double maxLatitude = Math.min(northwest.getLatitude(), northeast.getLatitude());
+        maxLatitude = Math.min(maxLatitude, bounds.getMaxLatitude());
+
+        double minLongitude = Math.max(southwest.getLongitude(), northwest.getLongitude());
+        minLongitude = Math.max(minLongitude, bounds.getMinLongitude());
+        double maxLongitude = Math.min(southeast.getLongitude(), northeast.getLongitude());
+        maxLongitude = Math.min(maxLongitude, bounds.getMaxLongitude());
+
+        if (minLongitude <= maxLongitude && minLatitude <= maxLatitude) {
+            Bounds labelBounds = Bounds.degrees(minLongitude, minLatitude, maxLongitude, maxLatitude);
+            Point center = labelBounds.getCentroid();
+            MGRS mgrs = MGRS.from(center);
+            String id;
+            if (gridType == GridType.HUNDRED_KILOMETER) {
+                id = mgrs.getColumnRowId();
+            } else {
+                id = mgrs.getEastingAndNorthing(gridType);
+            }
+            label = new GridLabel(id, center, labelBounds, gridType, mgrs);
+        }
+
+        return label;
+    }
+
+}
@@ -0,0 +1,209 @@
+package mil.nga.mgrs.tile;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Unit;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Precomputed index of the grid zones of each XYZ tile up to
+ * {@link #MAX_ZOOM}, replacing the per tile {@link GridZones#getGridRange(Bounds)}
+ * iteration where tiles span the most grid zones. Each index zoom level is a
+ * compact table of zone identifiers per tile, built once on first use with
+ * the same zones and order as the grid range including the Norway and
+ * Svalbard zones. Tiles beyond the maximum zoom are not indexed, their grid
+ * range spans only a few zones. Lookups take constant time and allocate
+ * nothing.
+ */
+public class GridZoneIndex {
+
+    /**
+     * Maximum indexed zoom level
+     */
+    public static final int MAX_ZOOM = 6;
+
+    /**
+     * Half the world width in meters
+     */
+    private static final double HALF_WORLD_WIDTH = 20037508.342789244;
+
+    /**
+     * Number of latitude bands
+     */
+    private static final int BANDS = 20;
+
+    /**
+     * Grid zones by identifier, null for zones that do not exist
+     */
+    private static final GridZone[] zones = new GridZone[60 * BANDS];
+
+    /**
+     * Indexes by zoom level, built on first use
+     */
+    private static final AtomicReferenceArray<GridZoneIndex> indexes = new AtomicReferenceArray<>(MAX_ZOOM + 1);
+
+    static {
+        for (Map<Character, GridZone> bandZones : GridZones.gridZones.values()) {
+            for (GridZone zone : bandZones.values()) {
+                zones[getId(zone)] = zone;
+            }
+        }
+    }
+
+    /**
+     * Index zoom level
+     */
+    private final int zoom;
+
+    /**
+     * Tiles per side at the index zoom level
+     */
+    private final int tilesPerSide;
+
+    /**
+     * First entry of each tile, in tile row order, followed by the entry count
+     */
+    private final int[] offsets;
+
+    /**
+     * Grid zone identifier entries
+     */
+    private final short[] entries;
+
+    /**
+     * Get the index for tiles at the zoom level
+     *
+     * @param zoom tile zoom level
+     * @return index or null if the zoom level is not indexed
+     */
+    public static GridZoneIndex get(int zoom) {
+        GridZoneIndex index = null;
+        if (zoom >= 0 && zoom <= MAX_ZOOM) {
+            index = indexes.get(zoom);
+            if (index == null) {
+                indexes.compareAndSet(zoom, null, new GridZoneIndex(zoom));
+                index = indexes.get(zoom);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Constructor, builds the index from the grid range of each tile
+     *
+     * @param zoom index zoom level
+     */
+    private GridZoneIndex(int zoom) {
+        this.zoom = zoom;
+        tilesPerSide = GridUtils.tilesPerSide(zoom);
+        offsets = new int[tilesPerSide * tilesPerSide + 1];
+        short[] entries = new short[offsets.length * 4];
+        int count = 0;
+        for (int y = 0; y < tilesPerSide; y++) {
+            for (int x = 0; x < tilesPerSide; x++) {
+                offsets[y * tilesPerSide + x] = count;
+                for (GridZone zone : GridZones.getGridRange(GridUtils.getBounds(x, y, zoom))) {
+                    if (count == entries.length) {
+                        entries = Arrays.copyOf(entries, count * 2);
+                    }
+                    entries[count++] = (short) getId(zone);
+                }
+            }
+        }
+        offsets[offsets.length - 1] = count;
+        this.entries = Arrays.copyOf(entries, count);
+    }
+
+    /**
+     * Get the index zoom level
+     *
+     * @return zoom level
+     */
+    public int getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Get the index tile of the tile bounds, when the bounds are exactly an
+     * XYZ tile at the index zoom level in meters
+     *
+     * @param bounds tile bounds
+     * @param zoom   tile zoom level
+     * @return index tile or -1 if the bounds are not an index tile
+     */
+    public int getTile(Bounds bounds, int zoom) {
+
+        int tile = -1;
+
+        if (bounds.getUnit() == Unit.METER && zoom == this.zoom) {
+
+            double tileSize = GridUtils.tileSize(tilesPerSide);
+            long x = Math.round((bounds.getMinLongitude() + HALF_WORLD_WIDTH) / tileSize);
+            long y = Math.round((HALF_WORLD_WIDTH - bounds.getMaxLatitude()) / tileSize);
+
+            if (x >= 0 && x < tilesPerSide && y >= 0 && y < tilesPerSide
+                    && bounds.getMinLongitude() == -HALF_WORLD_WIDTH + (double) x * tileSize
+                    && bounds.getMinLatitude() == HALF_WORLD_WIDTH - (double) (y + 1) * tileSize
+                    && bounds.getMaxLongitude() == -HALF_WORLD_WIDTH + (double) (x + 1) * tileSize
+                    && bounds.getMaxLatitude() == HALF_WORLD_WIDTH - (double) y * tileSize) {
+                tile = (int) y * tilesPerSide + (int) x;
+            }
+        }
+
+        return tile;
+    }
+
+    /**
+     * Get the first entry of the index tile
+     *
+     * @param tile index tile
+     * @return first entry
+     */
+    public int getStart(int tile) {
+        return offsets[tile];
+    }
+
+    /**
+     * Get the entry after the last entry of the index tile
+     *
+     * @param tile index tile
+     * @return end entry
+     */
+    public int getEnd(int tile) {
+        return offsets[tile + 1];
+    }
+
+    /**
+     * Get the grid zone of the entry
+     *
+     * @param entry entry
+     * @return grid zone
+     */
+    public GridZone getZone(int entry) {
+        return zones[entries[entry]];
+    }
+
+    /**
+     * Get the grid zone identifier
+     *
+     * @param zone grid zone
+     * @return identifier
+     */
+    private static int getId(GridZone zone) {
+        char letter = zone.getLetter();
+        int band = letter - 'C';
+        if (letter > 'H') {
+            band--;
+        }
+        if (letter > 'N') {
+            band--;
+        }
+        return (zone.getNumber() - 1) * BANDS + band;
+    }
+
+}
@@ -0,0 +1,284 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sprite atlas of label texts rasterized once per label paint. Sprites are
+ * added on first use into shelf packed atlas pages and are safe to draw from
+ * multiple tile threads. The atlas is rebuilt when the label paint instance,
+ * text size, typeface, color, or flags change.
+ */
+public class LabelAtlas {
+
+    /**
+     * Atlas page width and height
+     */
+    public static final int PAGE_SIZE = 512;
+
+    /**
+     * Default maximum number of atlas pages
+     */
+    public static final int DEFAULT_MAX_PAGES = 2;
+
+    /**
+     * Sprite padding around the text bounds for anti-aliasing
+     */
+    private static final int PADDING = 2;
+
+    /**
+     * Maximum number of atlas pages
+     */
+    private volatile int maxPages = DEFAULT_MAX_PAGES;
+
+    /**
+     * Current atlas
+     */
+    private volatile Atlas atlas = new Atlas(null);
+
+    /**
+     * Get the maximum number of atlas pages
+     *
+     * @return max pages
+     */
+    public int getMaxPages() {
+        return maxPages;
+    }
+
+    /**
+     * Set the maximum number of atlas pages, labels not fitting in the atlas
+     * are drawn as text
+     *
+     * @param maxPages max pages
+     */
+    public void setMaxPages(int maxPages) {
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Get the label sprite, rasterizing it into the atlas on first use
+     *
+     * @param text  label text
+     * @param paint label paint
+     * @return sprite or null if the atlas is full or the text is too large
+     */
+    public LabelSprite getSprite(String text, Paint paint) {
+        Atlas atlas = this.atlas;
+        if (!atlas.matches(paint)) {
+            synchronized (this) {
+                atlas = this.atlas;
+                if (!atlas.matches(paint)) {
+                    atlas = new Atlas(paint);
+                    this.atlas = atlas;
+                }
+            }
+        }
+        LabelSprite sprite = atlas.sprites.get(text);
+        if (sprite == null) {
+            sprite = atlas.add(text, paint, maxPages);
+        }
+        return sprite;
+    }
+
+    /**
+     * Get the number of atlas pages
+     *
+     * @return page count
+     */
+    public int getPageCount() {
+        return atlas.getPageCount();
+    }
+
+    /**
+     * Get the number of label sprites
+     *
+     * @return sprite count
+     */
+    public int size() {
+        return atlas.sprites.size();
+    }
+
+    /**
+     * Clear the atlas, pages are released to garbage collection as tile
+     * threads may still be drawing from them
+     */
+    public void clear() {
+        atlas = new Atlas(null);
+    }
+
+    /**
+     * Atlas pages and sprites for a paint state
+     */
+    private static class Atlas {
+
+        /**
+         * Paint
+         */
+        private final Paint paint;
+
+        /**
+         * Paint text size
+         */
+        private final float textSize;
+
+        /**
+         * Paint typeface
+         */
+        private final Typeface typeface;
+
+        /**
+         * Paint color
+         */
+        private final int color;
+
+        /**
+         * Paint flags
+         */
+        private final int flags;
+
+        /**
+         * Published sprites by text
+         */
+        private final Map<String, LabelSprite> sprites = new ConcurrentHashMap<>();
+
+        /**
+         * Atlas pages
+         */
+        private final List<Bitmap> pages = new ArrayList<>();
+
+        /**
+         * Current page canvas
+         */
+        private Canvas canvas;
+
+        /**
+         * Current shelf left pixel
+         */
+        private int shelfX;
+
+        /**
+         * Current shelf top pixel
+         */
+        private int shelfY;
+
+        /**
+         * Current shelf height
+         */
+        private int shelfHeight;
+
+        /**
+         * Full flag, set when no more sprites fit
+         */
+        private boolean full = false;
+
+        /**
+         * Constructor
+         *
+         * @param paint paint
+         */
+        Atlas(Paint paint) {
+            this.paint = paint;
+            if (paint != null) {
+                textSize = paint.getTextSize();
+                typeface = paint.getTypeface();
+                color = paint.getColor();
+                flags = paint.getFlags();
+            } else {
+                textSize = 0;
+                typeface = null;
+                color = 0;
+                flags = 0;
+            }
+        }
+
+        /**
+         * Check if the atlas was rasterized with the paint in its current state
+         *
+         * @param paint paint
+         * @return true if matches
+         */
+        boolean matches(Paint paint) {
+            return paint == this.paint && paint.getTextSize() == textSize
+                    && paint.getTypeface() == typeface && paint.getColor() == color
+                    && paint.getFlags() == flags;
+        }
+
+        /**
+         * Get the number of atlas pages
+         *
+         * @return page count
+         */
+        synchronized int getPageCount() {
+            return pages.size();
+        }
+
+        /**
+         * Rasterize and publish the label sprite
+         *
+         * @param text     label text
+         * @param paint    label paint
+         * @param maxPages maximum number of pages
+         * @return sprite or null if it does not fit
+         */
+        synchronized LabelSprite add(String text, Paint paint, int maxPages) {
+
+            LabelSprite sprite = sprites.get(text);
+            if (sprite != null || full) {
+                return sprite;
+            }
+
+            Rect textBounds = new Rect();
+            paint.getTextBounds(text, 0, text.length(), textBounds);
+            TextMetrics metrics = new TextMetrics(paint.measureText(text), textBounds.height(),
+                    textBounds.exactCenterX(), textBounds.exactCenterY());
+
+            int width = textBounds.width() + 2 * PADDING;
+            int height = textBounds.height() + 2 * PADDING;
+            if (width > PAGE_SIZE || height > PAGE_SIZE) {
+                return null;
+            }
+
+            // Shelf pack into the current page or a new page
+            if (canvas != null && shelfX + width > PAGE_SIZE) {
+                shelfX = 0;
+                shelfY += shelfHeight;
+                shelfHeight = 0;
+            }
+            if (canvas == null || shelfY + height > PAGE_SIZE) {
+                if (pages.size() >= maxPages) {
+                    full = true;
+                    return null;
+                }
+                Bitmap page = Bitmap.createBitmap(PAGE_SIZE, PAGE_SIZE, Bitmap.Config.ARGB_8888);
+                pages.add(page);
+                canvas = new Canvas(page);
+                shelfX = 0;
+                shelfY = 0;
+                shelfHeight = 0;
+            }
+
+            int offsetX = textBounds.left - PADDING;
+            int offsetY = textBounds.top - PADDING;
+            canvas.drawText(text, shelfX - offsetX, shelfY - offsetY, paint);
+
+            sprite = new LabelSprite(pages.get(pages.size() - 1), shelfX, shelfY,
+                    width, height, offsetX, offsetY, metrics);
+            sprites.put(text, sprite);
+
+            shelfX += width;
+            shelfHeight = Math.max(shelfHeight, height);
+
+            return sprite;
+        }
+
+    }
+
+}
@@ -0,0 +1,127 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+/**
+ * Pre-rendered label text within a label atlas page
+ */
+public class LabelSprite {
+
+    /**
+     * Atlas page bitmap
+     */
+    private final Bitmap page;
+
+    /**
+     * Sprite left pixel within the page
+     */
+    private final int left;
+
+    /**
+     * Sprite top pixel within the page
+     */
+    private final int top;
+
+    /**
+     * Sprite width
+     */
+    private final int width;
+
+    /**
+     * Sprite height
+     */
+    private final int height;
+
+    /**
+     * Sprite left offset from the text origin
+     */
+    private final int offsetX;
+
+    /**
+     * Sprite top offset from the text origin
+     */
+    private final int offsetY;
+
+    /**
+     * Text metrics
+     */
+    private final TextMetrics metrics;
+
+    /**
+     * Constructor
+     *
+     * @param page    atlas page bitmap
+     * @param left    sprite left pixel within the page
+     * @param top     sprite top pixel within the page
+     * @param width   sprite width
+     * @param height  sprite height
+     * @param offsetX sprite left offset from the text origin
+     * @param offsetY sprite top offset from the text origin
+     * @param metrics text metrics
+     */
+    public LabelSprite(Bitmap page, int left, int top, int width, int height,
+                       int offsetX, int offsetY, TextMetrics metrics) {
+        this.page = page;
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get the atlas page bitmap
+     *
+     * @return page bitmap
+     */
+    public Bitmap getPage() {
+        return page;
+    }
+
+    /**
+     * Get the sprite width
+     *
+     * @return width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the sprite height
+     *
+     * @return height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the text metrics
+     *
+     * @return text metrics
+     */
+    public TextMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Draw the sprite as text drawn at the origin, snapped to whole pixels
+     *
+     * @param canvas draw canvas
+     * @param x      text origin x
+     * @param y      text origin y
+     */
+    public void draw(Canvas canvas, float x, float y) {
+        int destinationLeft = Math.round(x) + offsetX;
+        int destinationTop = Math.round(y) + offsetY;
+        canvas.save();
+        canvas.clipRect(destinationLeft, destinationTop, destinationLeft + width, destinationTop + height);
+        canvas.drawBitmap(page, destinationLeft - left, destinationTop - top, null);
+        canvas.restore();
+    }
+
+}
@@ -2,14 +2,29 @@ package mil.nga.mgrs.tile;
 
 import android.content.Context;
 import android.graphics.Bitmap;
+import android.graphics.Canvas;
 
 import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileProvider;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.tile.GridTile;
 import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.convert.MGRSConverter;
+import mil.nga.mgrs.convert.MutableMGRS;
 import mil.nga.mgrs.grid.GridType;
 import mil.nga.mgrs.grid.style.Grid;
 import mil.nga.mgrs.grid.style.Grids;
@@ -22,6 +37,17 @@ import mil.nga.mgrs.grid.style.Grids;
  */
 public class MGRSTileProvider implements TileProvider {
 
+    /**
+     * Maximum metatile size in tiles per side
+     */
+    public static final int MAX_METATILE_SIZE = 8;
+
+    /**
+     * Maximum metatile width and height in pixels, larger tiles render
+     * smaller metatiles
+     */
+    public static final int MAX_METATILE_PIXELS = 2048;
+
     /**
      * Tile width
      */
@@ -37,6 +63,82 @@ public class MGRSTileProvider implements TileProvider {
      */
     private Grids grids;
 
+    /**
+     * Optional in-memory cache of encoded tiles
+     */
+    private TileCache cache;
+
+    /**
+     * Optional persistent cache of encoded tiles
+     */
+    private TileDiskCache diskCache;
+
+    /**
+     * Optional render scheduler, null to render all requests immediately
+     */
+    private TileScheduler scheduler;
+
+    /**
+     * Metatile size in tiles per side, 1 to render tiles individually
+     */
+    private int metatileSize = 1;
+
+    /**
+     * Pool of reusable tile bitmaps, null to allocate a bitmap per tile
+     */
+    private BitmapPool bitmapPool = BitmapPool.create();
+
+    /**
+     * Tile encoder
+     */
+    private TileEncoder encoder = TileEncoder.png();
+
+    /**
+     * Maximum number of remembered empty tile keys
+     */
+    private static final int MAX_EMPTY_TILES = 4096;
+
+    /**
+     * Tile returned when there is nothing to draw
+     */
+    private Tile emptyTile = TileProvider.NO_TILE;
+
+    /**
+     * Recently requested tile keys with nothing to draw
+     */
+    private final Map<TileKey, Boolean> emptyTiles = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TileKey, Boolean> eldest) {
+                    return size() > MAX_EMPTY_TILES;
+                }
+            });
+
+    /**
+     * In-flight tile loads, shared by concurrent requests for the same tile
+     */
+    private final Map<TileKey, FutureTask<Tile>> loadingTiles = new ConcurrentHashMap<>();
+
+    /**
+     * Per-thread reusable coordinate converters
+     */
+    private final ThreadLocal<MGRSConverter> converters = new ThreadLocal<>();
+
+    /**
+     * In-flight metatile renders by metatile key
+     */
+    private final Map<TileKey, FutureTask<Tile[]>> loadingMetatiles = new ConcurrentHashMap<>();
+
+    /**
+     * Tile load count, disk cache reads and renders
+     */
+    private final AtomicLong loadCount = new AtomicLong();
+
+    /**
+     * Count of requests that waited on an in-flight load instead of loading
+     */
+    private final AtomicLong coalescedCount = new AtomicLong();
+
     /**
      * Create a tile provider with all grids
      *
@@ -378,6 +480,313 @@ public class MGRSTileProvider implements TileProvider {
         this.grids = grids;
     }
 
+    /**
+     * Get the in-memory tile cache
+     *
+     * @return tile cache or null
+     */
+    public TileCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Check if an in-memory tile cache is set
+     *
+     * @return true if has a tile cache
+     */
+    public boolean hasCache() {
+        return cache != null;
+    }
+
+    /**
+     * Set the in-memory tile cache
+     *
+     * @param cache tile cache or null to disable caching
+     */
+    public void setCache(TileCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Enable an in-memory tile cache with the default byte budget
+     *
+     * @return tile cache
+     */
+    public TileCache enableCache() {
+        return enableCache(TileCache.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Enable an in-memory tile cache
+     *
+     * @param maxBytes maximum cache size in bytes
+     * @return tile cache
+     */
+    public TileCache enableCache(int maxBytes) {
+        cache = TileCache.create(maxBytes);
+        return cache;
+    }
+
+    /**
+     * Get the tile render scheduler
+     *
+     * @return tile scheduler or null
+     */
+    public TileScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Check if a tile render scheduler is set
+     *
+     * @return true if has a tile scheduler
+     */
+    public boolean hasScheduler() {
+        return scheduler != null;
+    }
+
+    /**
+     * Set the tile render scheduler. Update the scheduler viewport from a
+     * camera idle listener with
+     * {@link #setViewport(LatLngBounds, float, TileOverlay)}.
+     * {@link #getTile(int, int, int)} returns null for renders dropped while
+     * their tile is outside the viewport, and the viewport update clears the
+     * tile overlay cache after drops so the map requests the visible tiles
+     * again instead of waiting on its retry backoff.
+     *
+     * @param scheduler tile scheduler or null to render all requests immediately
+     */
+    public void setScheduler(TileScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Enable a tile render scheduler with one render per available processor
+     *
+     * @return tile scheduler
+     */
+    public TileScheduler enableScheduler() {
+        scheduler = TileScheduler.create();
+        return scheduler;
+    }
+
+    /**
+     * Set the tile render scheduler viewport from the visible map region
+     * bounds and the camera zoom, when a scheduler is set
+     *
+     * @param bounds visible map region bounds
+     * @param zoom   camera zoom
+     */
+    public void setViewport(LatLngBounds bounds, float zoom) {
+        setViewport(bounds, zoom, null);
+    }
+
+    /**
+     * Set the tile render scheduler viewport from the visible map region
+     * bounds and the camera zoom, when a scheduler is set, and clear the tile
+     * overlay cache when renders were dropped since the previous update. Call
+     * when the camera is idle.
+     *
+     * @param bounds      visible map region bounds
+     * @param zoom        camera zoom
+     * @param tileOverlay tile overlay of this provider or null
+     * @return true if renders were dropped and the tile overlay cache cleared
+     */
+    public boolean setViewport(LatLngBounds bounds, float zoom, TileOverlay tileOverlay) {
+        boolean cleared = false;
+        TileScheduler scheduler = this.scheduler;
+        if (scheduler != null) {
+            scheduler.setViewport(bounds, zoom);
+            if (scheduler.clearDropped() && tileOverlay != null) {
+                tileOverlay.clearTileCache();
+                cleared = true;
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * Get the metatile size in tiles per side
+     *
+     * @return metatile size, 1 when tiles render individually
+     */
+    public int getMetatileSize() {
+        return metatileSize;
+    }
+
+    /**
+     * Set the metatile size in tiles per side. When greater than 1, a tile
+     * request renders the aligned block of tiles containing it in one pass,
+     * slicing and caching the sibling tiles, and labels are not cut at the
+     * tile seams within the block. Use with a memory or disk cache to keep the
+     * siblings. The size must be a power of 2 so blocks align with the zoom
+     * level tiles, and is reduced to the zoom level tile count at low zooms
+     * and to fit within {@link #MAX_METATILE_PIXELS} for large tiles.
+     *
+     * @param metatileSize metatile size, 1 to render tiles individually
+     */
+    public void setMetatileSize(int metatileSize) {
+        if (metatileSize < 1) {
+            throw new IllegalArgumentException("Metatile size must be >= 1, metatile size: " + metatileSize);
+        }
+        if (Integer.bitCount(metatileSize) != 1) {
+            throw new IllegalArgumentException("Metatile size must be a power of 2, metatile size: " + metatileSize);
+        }
+        if (metatileSize > MAX_METATILE_SIZE) {
+            throw new IllegalArgumentException("Metatile size must be <= " + MAX_METATILE_SIZE
+                    + ", metatile size: " + metatileSize);
+        }
+        this.metatileSize = metatileSize;
+    }
+
+    /**
+     * Get the persistent tile disk cache
+     *
+     * @return tile disk cache or null
+     */
+    public TileDiskCache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Check if a persistent tile disk cache is set
+     *
+     * @return true if has a tile disk cache
+     */
+    public boolean hasDiskCache() {
+        return diskCache != null;
+    }
+
+    /**
+     * Set the persistent tile disk cache, checked after the in-memory cache
+     *
+     * @param diskCache tile disk cache or null to disable
+     */
+    public void setDiskCache(TileDiskCache diskCache) {
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * Get the pool of reusable tile bitmaps
+     *
+     * @return bitmap pool or null
+     */
+    public BitmapPool getBitmapPool() {
+        return bitmapPool;
+    }
+
+    /**
+     * Check if tile bitmaps are pooled
+     *
+     * @return true if has a bitmap pool
+     */
+    public boolean hasBitmapPool() {
+        return bitmapPool != null;
+    }
+
+    /**
+     * Set the pool of reusable tile bitmaps
+     *
+     * @param bitmapPool bitmap pool or null to allocate a bitmap per tile
+     */
+    public void setBitmapPool(BitmapPool bitmapPool) {
+        this.bitmapPool = bitmapPool;
+    }
+
+    /**
+     * Get the tile encoder
+     *
+     * @return tile encoder
+     */
+    public TileEncoder getEncoder() {
+        return encoder;
+    }
+
+    /**
+     * Set the tile encoder, such as {@link TileEncoder#png()} (default),
+     * {@link TileEncoder#webpLossless()}, or {@link TileEncoder#fastPng()}.
+     * Compare encoders on a device with their encode time and size statistics.
+     * Tile cache keys include the encoder format, so cached tiles of another
+     * encoder are not returned.
+     *
+     * @param encoder tile encoder
+     */
+    public void setEncoder(TileEncoder encoder) {
+        if (encoder == null) {
+            throw new IllegalArgumentException("Tile encoder is required");
+        }
+        this.encoder = encoder;
+    }
+
+    /**
+     * Get the tile returned when there is nothing to draw
+     *
+     * @return empty tile
+     */
+    public Tile getEmptyTile() {
+        return emptyTile;
+    }
+
+    /**
+     * Set the tile returned when there is nothing to draw, such as
+     * {@link TileProvider#NO_TILE} (default) or a shared transparent tile from
+     * {@link TileUtils#transparentTile(int, int)}
+     *
+     * @param emptyTile empty tile
+     */
+    public void setEmptyTile(Tile emptyTile) {
+        this.emptyTile = emptyTile;
+    }
+
+    /**
+     * Forget the remembered empty tile keys
+     */
+    public void clearEmptyTiles() {
+        emptyTiles.clear();
+    }
+
+    /**
+     * Get the number of tile loads, from the disk cache or rendered, made by
+     * {@link #getTile(int, int, int)}
+     *
+     * @return load count
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * Get the number of tile requests that shared the load of a concurrent
+     * request for the same tile, the number of avoided loads
+     *
+     * @return coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    /**
+     * Reset the load and coalesced counts
+     */
+    public void resetCounts() {
+        loadCount.set(0);
+        coalescedCount.set(0);
+    }
+
+    /**
+     * Get the tile cache key for the XYZ coordinate using the current tile
+     * dimensions, grids style, and encoder format
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return tile key
+     */
+    public TileKey getTileKey(int x, int y, int zoom) {
+        return TileKey.create(x, y, zoom, tileWidth, tileHeight, grids.getStyleHash(),
+                encoder.getFormatHash());
+    }
+
     /**
      * Get the grid
      *
@@ -433,6 +842,89 @@ public class MGRSTileProvider implements TileProvider {
         return MGRS.from(TileUtils.toPoint(latLng));
     }
 
+    /**
+     * Append the Military Grid Reference System coordinate for the location in
+     * the zoom level precision to the string builder, without allocating
+     *
+     * @param latLng  location
+     * @param zoom    zoom level precision
+     * @param builder string builder
+     * @return string builder
+     */
+    public StringBuilder getCoordinate(LatLng latLng, int zoom, StringBuilder builder) {
+        return getCoordinate(latLng, getPrecision(zoom), builder);
+    }
+
+    /**
+     * Append the Military Grid Reference System coordinate for the location in
+     * the grid type precision to the string builder, without allocating
+     *
+     * @param latLng  location
+     * @param type    grid type precision
+     * @param builder string builder
+     * @return string builder
+     */
+    public StringBuilder getCoordinate(LatLng latLng, GridType type, StringBuilder builder) {
+        return getConverter().toCoordinate(latLng.latitude, latLng.longitude, type, builder);
+    }
+
+    /**
+     * Write the Military Grid Reference System coordinate for the location in
+     * the zoom level precision into the character array, without allocating
+     *
+     * @param latLng     location
+     * @param zoom       zoom level precision
+     * @param coordinate coordinate characters, with at least
+     *                   {@link MGRSConverter#MAX_LENGTH} characters from the offset
+     * @param offset     coordinate offset
+     * @return coordinate length
+     */
+    public int getCoordinate(LatLng latLng, int zoom, char[] coordinate, int offset) {
+        return getCoordinate(latLng, getPrecision(zoom), coordinate, offset);
+    }
+
+    /**
+     * Write the Military Grid Reference System coordinate for the location in
+     * the grid type precision into the character array, without allocating
+     *
+     * @param latLng     location
+     * @param type       grid type precision
+     * @param coordinate coordinate characters, with at least
+     *                   {@link MGRSConverter#getMaxLength(GridType)} characters
+     *                   from the offset
+     * @param offset     coordinate offset
+     * @return coordinate length
+     */
+    public int getCoordinate(LatLng latLng, GridType type, char[] coordinate, int offset) {
+        return getConverter().toCoordinate(latLng.latitude, latLng.longitude, type, coordinate, offset);
+    }
+
+    /**
+     * Set the reusable Military Grid Reference System coordinate for the
+     * location, without allocating
+     *
+     * @param latLng location
+     * @param mgrs   MGRS coordinate to set
+     * @return MGRS coordinate
+     */
+    public MutableMGRS getMGRS(LatLng latLng, MutableMGRS mgrs) {
+        return getConverter().toMGRS(latLng.latitude, latLng.longitude, mgrs);
+    }
+
+    /**
+     * Get the coordinate converter of the current thread
+     *
+     * @return converter
+     */
+    private MGRSConverter getConverter() {
+        MGRSConverter converter = converters.get();
+        if (converter == null) {
+            converter = MGRSConverter.create();
+            converters.set(converter);
+        }
+        return converter;
+    }
+
     /**
      * Get the grid precision for the zoom level
      *
@@ -448,7 +940,353 @@ public class MGRSTileProvider implements TileProvider {
      */
     @Override
     public Tile getTile(int x, int y, int zoom) {
-        return TileUtils.toTile(drawTile(x, y, zoom));
+        TileKey key = getTileKey(x, y, zoom);
+        if (emptyTiles.containsKey(key)) {
+            return emptyTile;
+        }
+        Tile tile = null;
+        TileCache cache = this.cache;
+        if (cache != null) {
+            tile = cache.get(key);
+        }
+        if (tile == null) {
+            tile = loadTile(key, x, y, zoom, cache);
+        }
+        return tile;
+    }
+
+    /**
+     * Load the tile, waiting on and sharing the result of an in-flight load
+     * of the same tile by another request
+     *
+     * @param key   tile key
+     * @param x     x coordinate
+     * @param y     y coordinate
+     * @param zoom  zoom level
+     * @param cache memory tile cache or null
+     * @return tile, the empty tile when there is nothing to draw, or null if
+     * the render was dropped by the scheduler or interrupted while waiting
+     */
+    private Tile loadTile(final TileKey key, final int x, final int y, final int zoom, final TileCache cache) {
+
+        FutureTask<Tile> load = new FutureTask<>(() -> fetchTile(key, x, y, zoom, cache));
+        FutureTask<Tile> loading = loadingTiles.putIfAbsent(key, load);
+        if (loading == null) {
+            loadCount.incrementAndGet();
+            try {
+                load.run();
+            } finally {
+                loadingTiles.remove(key, load);
+            }
+            loading = load;
+        } else {
+            coalescedCount.incrementAndGet();
+        }
+
+        return await(loading, key);
+    }
+
+    /**
+     * Wait for the load result
+     *
+     * @param load load
+     * @param key  tile key of the load
+     * @param <T>  result type
+     * @return result or null if interrupted while waiting
+     */
+    private static <T> T await(FutureTask<T> load, TileKey key) {
+        T result = null;
+        try {
+            result = load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to load tile: " + key, cause);
+        }
+        return result;
+    }
+
+    /**
+     * Load the tile from the disk cache or render, caching the result
+     *
+     * @param key   tile key
+     * @param x     x coordinate
+     * @param y     y coordinate
+     * @param zoom  zoom level
+     * @param cache memory tile cache or null
+     * @return tile, the empty tile when there is nothing to draw, or null if
+     * the render was dropped by the scheduler
+     */
+    private Tile fetchTile(TileKey key, int x, int y, int zoom, TileCache cache) {
+        Tile tile = null;
+        TileDiskCache diskCache = this.diskCache;
+        if (diskCache != null) {
+            tile = diskCache.get(key);
+            if (tile == TileProvider.NO_TILE) {
+                emptyTiles.put(key, Boolean.TRUE);
+                return emptyTile;
+            }
+        }
+        if (tile == null) {
+            int metatileSize = getMetatileSize(zoom);
+            if (metatileSize > 1) {
+                return fetchMetatile(x, y, zoom, metatileSize, cache);
+            }
+            TileScheduler scheduler = this.scheduler;
+            if (scheduler != null) {
+                if (!scheduler.acquire(x, y, zoom)) {
+                    return null;
+                }
+                try {
+                    tile = renderTile(x, y, zoom);
+                } finally {
+                    scheduler.release();
+                }
+            } else {
+                tile = renderTile(x, y, zoom);
+            }
+            if (tile == null) {
+                emptyTiles.put(key, Boolean.TRUE);
+                if (diskCache != null) {
+                    diskCache.putEmpty(key);
+                }
+                return emptyTile;
+            }
+            if (diskCache != null) {
+                diskCache.put(key, tile);
+            }
+        }
+        if (cache != null) {
+            cache.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Get the metatile size at the zoom level, limited by the zoom level tile
+     * count and the maximum metatile pixels
+     *
+     * @param zoom zoom level
+     * @return metatile size
+     */
+    private int getMetatileSize(int zoom) {
+        int size = metatileSize;
+        if (zoom < 30) {
+            size = Math.min(size, 1 << zoom);
+        }
+        while (size > 1 && Math.max(tileWidth, tileHeight) * size > MAX_METATILE_PIXELS) {
+            size /= 2;
+        }
+        return size;
+    }
+
+    /**
+     * Load the tile from its metatile, waiting on and sharing an in-flight
+     * render of the same metatile
+     *
+     * @param x            x coordinate
+     * @param y            y coordinate
+     * @param zoom         zoom level
+     * @param metatileSize metatile size
+     * @param cache        memory tile cache or null
+     * @return tile, the empty tile when there is nothing to draw, or null if
+     * the render was dropped by the scheduler or interrupted while waiting
+     */
+    private Tile fetchMetatile(final int x, final int y, final int zoom, final int metatileSize,
+                               final TileCache cache) {
+
+        final int metaX = x - x % metatileSize;
+        final int metaY = y - y % metatileSize;
+        TileKey metaKey = TileKey.create(metaX, metaY, zoom, tileWidth * metatileSize,
+                tileHeight * metatileSize, grids.getStyleHash(), encoder.getFormatHash());
+
+        FutureTask<Tile[]> render = new FutureTask<>(
+                () -> renderMetatile(x, y, metaX, metaY, zoom, metatileSize, cache));
+        FutureTask<Tile[]> rendering = loadingMetatiles.putIfAbsent(metaKey, render);
+        if (rendering == null) {
+            try {
+                render.run();
+            } finally {
+                loadingMetatiles.remove(metaKey, render);
+            }
+            rendering = render;
+        }
+
+        Tile tile = null;
+        Tile[] tiles = await(rendering, metaKey);
+        if (tiles != null) {
+            tile = tiles[(y - metaY) * metatileSize + (x - metaX)];
+        }
+        return tile;
+    }
+
+    /**
+     * Render the metatile and cache its tiles
+     *
+     * @param x            requested x coordinate
+     * @param y            requested y coordinate
+     * @param metaX        metatile origin x coordinate
+     * @param metaY        metatile origin y coordinate
+     * @param zoom         zoom level
+     * @param metatileSize metatile size
+     * @param cache        memory tile cache or null
+     * @return tiles in row order, the empty tile for those with nothing to
+     * draw, or null if the render was dropped by the scheduler
+     */
+    private Tile[] renderMetatile(int x, int y, int metaX, int metaY, int zoom, int metatileSize,
+                                  TileCache cache) {
+        Tile[] tiles;
+        TileScheduler scheduler = this.scheduler;
+        if (scheduler != null) {
+            if (!scheduler.acquire(x, y, zoom)) {
+                return null;
+            }
+            try {
+                tiles = renderMetatile(metaX, metaY, zoom, metatileSize);
+            } finally {
+                scheduler.release();
+            }
+        } else {
+            tiles = renderMetatile(metaX, metaY, zoom, metatileSize);
+        }
+        TileDiskCache diskCache = this.diskCache;
+        for (int row = 0; row < metatileSize; row++) {
+            for (int column = 0; column < metatileSize; column++) {
+                int index = row * metatileSize + column;
+                TileKey key = getTileKey(metaX + column, metaY + row, zoom);
+                if (tiles[index] == null) {
+                    emptyTiles.put(key, Boolean.TRUE);
+                    if (diskCache != null) {
+                        diskCache.putEmpty(key);
+                    }
+                    tiles[index] = emptyTile;
+                } else {
+                    if (diskCache != null) {
+                        diskCache.put(key, tiles[index]);
+                    }
+                    if (cache != null) {
+                        cache.put(key, tiles[index]);
+                    }
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Render the metatile in one pass and slice it into tiles, skipping
+     * slicing and encoding of tiles with nothing to draw. The metatile
+     * features are collected once and tested against each slice pixel
+     * rectangle. The metatile bitmap is recycled after slicing, only the tile
+     * sized slices use the bitmap pool.
+     *
+     * @param metaX        metatile origin x coordinate
+     * @param metaY        metatile origin y coordinate
+     * @param zoom         zoom level
+     * @param metatileSize metatile size
+     * @return tiles in row order, null for those with nothing to draw
+     */
+    private Tile[] renderMetatile(int metaX, int metaY, int zoom, int metatileSize) {
+
+        Tile[] tiles = new Tile[metatileSize * metatileSize];
+
+        int last = metatileSize - 1;
+        Bounds bounds = GridUtils.getBounds(metaX, metaY, zoom)
+                .union(GridUtils.getBounds(metaX + last, metaY + last, zoom));
+        GridTile gridTile = GridTile.tile(tileWidth * metatileSize, tileHeight * metatileSize, bounds);
+        TileFeatures features = grids.getFeatures(gridTile, zoom);
+
+        boolean[] visible = new boolean[tiles.length];
+        boolean anyVisible = false;
+        if (!features.isEmpty()) {
+            for (int row = 0; row < metatileSize; row++) {
+                for (int column = 0; column < metatileSize; column++) {
+                    int left = column * tileWidth;
+                    int top = row * tileHeight;
+                    boolean tileVisible = features.isVisible(left, top, left + tileWidth, top + tileHeight);
+                    visible[row * metatileSize + column] = tileVisible;
+                    anyVisible |= tileVisible;
+                }
+            }
+        }
+
+        if (anyVisible) {
+            Bitmap metatile = grids.drawTile(features);
+            if (metatile != null) {
+                try {
+                    BitmapPool bitmapPool = this.bitmapPool;
+                    for (int row = 0; row < metatileSize; row++) {
+                        for (int column = 0; column < metatileSize; column++) {
+                            int index = row * metatileSize + column;
+                            if (!visible[index]) {
+                                continue;
+                            }
+                            int left = column * tileWidth;
+                            int top = row * tileHeight;
+                            Tile tile;
+                            if (bitmapPool != null) {
+                                Bitmap bitmap = bitmapPool.acquire(tileWidth, tileHeight);
+                                new Canvas(bitmap).drawBitmap(metatile, -left, -top, null);
+                                tile = TileUtils.toTile(bitmap, bitmapPool, encoder);
+                            } else {
+                                tile = TileUtils.toTile(
+                                        Bitmap.createBitmap(metatile, left, top, tileWidth, tileHeight), encoder);
+                            }
+                            tiles[index] = tile;
+                        }
+                    }
+                } finally {
+                    metatile.recycle();
+                }
+            }
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Create the tile by drawing and encoding, bypassing any cache
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return tile, or the empty tile when there is nothing to draw
+     */
+    public Tile createTile(int x, int y, int zoom) {
+        Tile tile = renderTile(x, y, zoom);
+        if (tile == null) {
+            tile = emptyTile;
+        }
+        return tile;
+    }
+
+    /**
+     * Render the tile, skipping bitmap allocation and encoding when there is
+     * nothing to draw
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return tile or null if empty
+     */
+    private Tile renderTile(int x, int y, int zoom) {
+        Tile tile = null;
+        TileFeatures features = grids.getFeatures(tileWidth, tileHeight, x, y, zoom);
+        if (!features.isEmpty()) {
+            BitmapPool bitmapPool = this.bitmapPool;
+            if (bitmapPool != null) {
+                tile = TileUtils.toTile(grids.drawTile(features, bitmapPool), bitmapPool, encoder);
+            } else {
+                tile = TileUtils.toTile(grids.drawTile(features), encoder);
+            }
+        }
+        return tile;
     }
 
     /**
@@ -0,0 +1,305 @@
+package mil.nga.mgrs.tile;
+
+import java.util.Collection;
+
+import mil.nga.grid.tile.GridTile;
+import mil.nga.grid.tile.PixelRange;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.style.Grids;
+
+/**
+ * MGRS Vector Tile Provider, encoding the grid lines and labels drawn by
+ * {@link MGRSTileProvider} as Mapbox Vector Tiles for renderers that style
+ * features themselves. See {@link VectorTileEncoder} for the tile layers and
+ * feature properties.
+ */
+public class MGRSVectorTileProvider {
+
+    /**
+     * Default buffer around the tile extent in coordinate units, lines are
+     * clipped to the buffered extent and labels outside are dropped
+     */
+    public static final int DEFAULT_BUFFER = 64;
+
+    /**
+     * Grids
+     */
+    private Grids grids;
+
+    /**
+     * Tile extent in coordinate units
+     */
+    private int extent = VectorTileEncoder.DEFAULT_EXTENT;
+
+    /**
+     * Buffer around the tile extent in coordinate units
+     */
+    private int buffer = DEFAULT_BUFFER;
+
+    /**
+     * Per-thread reusable encoders
+     */
+    private final ThreadLocal<VectorTileEncoder> encoders = new ThreadLocal<>();
+
+    /**
+     * Create a vector tile provider with all grids
+     *
+     * @return vector tile provider
+     */
+    public static MGRSVectorTileProvider create() {
+        return new MGRSVectorTileProvider(Grids.create());
+    }
+
+    /**
+     * Create a vector tile provider with grid types
+     *
+     * @param types grids types to enable
+     * @return vector tile provider
+     */
+    public static MGRSVectorTileProvider create(GridType... types) {
+        return new MGRSVectorTileProvider(Grids.create(types));
+    }
+
+    /**
+     * Create a vector tile provider with grid types
+     *
+     * @param types grids types to enable
+     * @return vector tile provider
+     */
+    public static MGRSVectorTileProvider create(Collection<GridType> types) {
+        return new MGRSVectorTileProvider(Grids.create(types));
+    }
+
+    /**
+     * Create a vector tile provider with grids
+     *
+     * @param grids grids
+     * @return vector tile provider
+     */
+    public static MGRSVectorTileProvider create(Grids grids) {
+        return new MGRSVectorTileProvider(grids);
+    }
+
+    /**
+     * Create a vector tile provider with Grid Zone Designator grids
+     *
+     * @return vector tile provider
+     */
+    public static MGRSVectorTileProvider createGZD() {
+        return new MGRSVectorTileProvider(Grids.createGZD());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param grids grids
+     */
+    public MGRSVectorTileProvider(Grids grids) {
+        this.grids = grids;
+    }
+
+    /**
+     * Get the grids
+     *
+     * @return grids
+     */
+    public Grids getGrids() {
+        return grids;
+    }
+
+    /**
+     * Set the grids
+     *
+     * @param grids grids
+     */
+    public void setGrids(Grids grids) {
+        this.grids = grids;
+    }
+
+    /**
+     * Get the tile extent in coordinate units
+     *
+     * @return extent
+     */
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * Set the tile extent in coordinate units
+     *
+     * @param extent extent
+     */
+    public void setExtent(int extent) {
+        if (extent <= 0) {
+            throw new IllegalArgumentException("Extent must be > 0, extent: " + extent);
+        }
+        this.extent = extent;
+    }
+
+    /**
+     * Get the buffer around the tile extent in coordinate units
+     *
+     * @return buffer
+     */
+    public int getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Set the buffer around the tile extent in coordinate units
+     *
+     * @param buffer buffer
+     */
+    public void setBuffer(int buffer) {
+        if (buffer < 0) {
+            throw new IllegalArgumentException("Buffer must be >= 0, buffer: " + buffer);
+        }
+        this.buffer = buffer;
+    }
+
+    /**
+     * Get the vector tile for the XYZ coordinate
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return vector tile bytes, null if there is nothing to draw
+     */
+    public byte[] getTile(int x, int y, int zoom) {
+
+        int extent = this.extent;
+        float min = -buffer;
+        float max = extent + buffer;
+
+        GridTile gridTile = GridTile.tile(extent, extent, x, y, zoom);
+        TileFeatures features = grids.getFeatures(gridTile);
+        if (features.isEmpty()) {
+            return null;
+        }
+
+        VectorTileEncoder encoder = getEncoder(extent);
+        TileProjection projection = new TileProjection(gridTile);
+        float[] segment = new float[6];
+
+        for (ZoneFeatures zoneFeatures : features.getFeatures()) {
+
+            if (zoneFeatures.hasLines()) {
+                PixelRange pixelRange = zoneFeatures.getZone().getBounds().getPixelRange(gridTile);
+                float left = Math.max(min, pixelRange.getLeft());
+                float top = Math.max(min, pixelRange.getTop());
+                float right = Math.min(max, pixelRange.getRight());
+                float bottom = Math.min(max, pixelRange.getBottom());
+                for (GridLine line : zoneFeatures.getLines()) {
+                    projection.project(line, segment, 0);
+                    if (clip(segment, left, top, right, bottom)) {
+                        int x0 = Math.round(segment[0]);
+                        int y0 = Math.round(segment[1]);
+                        int x1 = Math.round(segment[2]);
+                        int y1 = Math.round(segment[3]);
+                        if (x0 != x1 || y0 != y1) {
+                            encoder.addLine(line.getGridType(), x0, y0, x1, y1);
+                        }
+                    }
+                }
+            }
+
+            if (zoneFeatures.hasLabels()) {
+                GridType type = zoneFeatures.getGrid().getType();
+                for (GridLabel label : zoneFeatures.getLabels()) {
+                    float labelX = projection.getXPixel(label.getCenter());
+                    float labelY = projection.getYPixel(label.getCenter());
+                    if (labelX >= min && labelX <= max && labelY >= min && labelY <= max) {
+                        encoder.addLabel(type, label.getName(), Math.round(labelX), Math.round(labelY));
+                    }
+                }
+            }
+        }
+
+        byte[] tile = null;
+        if (!encoder.isEmpty()) {
+            tile = encoder.encode();
+        }
+        return tile;
+    }
+
+    /**
+     * Get the reset encoder of the current thread
+     *
+     * @param extent tile extent
+     * @return vector tile encoder
+     */
+    private VectorTileEncoder getEncoder(int extent) {
+        VectorTileEncoder encoder = encoders.get();
+        if (encoder == null || encoder.getExtent() != extent) {
+            encoder = new VectorTileEncoder(extent);
+            encoders.set(encoder);
+        } else {
+            encoder.reset();
+        }
+        return encoder;
+    }
+
+    /**
+     * Clip the line segment to the rectangle (Liang-Barsky)
+     *
+     * @param segment line segment as x0, y0, x1, y1 clipped in place, followed
+     *                by two working values
+     * @param left    left
+     * @param top     top
+     * @param right   right
+     * @param bottom  bottom
+     * @return true if any of the segment is within the rectangle
+     */
+    private static boolean clip(float[] segment, float left, float top, float right, float bottom) {
+        float x0 = segment[0];
+        float y0 = segment[1];
+        float dx = segment[2] - x0;
+        float dy = segment[3] - y0;
+        segment[4] = 0.0f;
+        segment[5] = 1.0f;
+        boolean visible = clip(segment, -dx, x0 - left)
+                && clip(segment, dx, right - x0)
+                && clip(segment, -dy, y0 - top)
+                && clip(segment, dy, bottom - y0);
+        if (visible) {
+            segment[0] = x0 + segment[4] * dx;
+            segment[1] = y0 + segment[4] * dy;
+            segment[2] = x0 + segment[5] * dx;
+            segment[3] = y0 + segment[5] * dy;
+        }
+        return visible;
+    }
+
+    /**
+     * Clip the segment parameter range against one rectangle edge
+     *
+     * @param segment line segment with the min and max parameters at 4 and 5
+     * @param p       edge direction term
+     * @param q       edge distance term
+     * @return true if any of the range remains
+     */
+    private static boolean clip(float[] segment, float p, float q) {
+        boolean visible;
+        if (p == 0.0f) {
+            visible = q >= 0.0f;
+        } else {
+            float t = q / p;
+            if (p < 0.0f) {
+                visible = t <= segment[5];
+                if (visible && t > segment[4]) {
+                    segment[4] = t;
+                }
+            } else {
+                visible = t >= segment[4];
+                if (visible && t < segment[5]) {
+                    segment[5] = t;
+                }
+            }
+        }
+        return visible;
+    }
+
+}
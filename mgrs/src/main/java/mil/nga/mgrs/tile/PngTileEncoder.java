@@ -0,0 +1,255 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * PNG tile encoder writing 8-bit RGBA images with unfiltered rows and a
+ * configurable deflate level, reusing per-thread pixel and compression buffers
+ */
+public class PngTileEncoder extends TileEncoder {
+
+    /**
+     * PNG file signature
+     */
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /**
+     * Deflate compression level
+     */
+    private final int level;
+
+    /**
+     * Per-thread reusable encode state
+     */
+    private final ThreadLocal<State> states = new ThreadLocal<>();
+
+    /**
+     * Constructor, fastest deflate level
+     *
+     * @param name encoder name
+     */
+    public PngTileEncoder(String name) {
+        this(name, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param name  encoder name
+     * @param level deflate compression level
+     */
+    public PngTileEncoder(String name, int level) {
+        super(name);
+        this.level = level;
+    }
+
+    /**
+     * Get the deflate compression level
+     *
+     * @return level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFormatHash() {
+        return 31 * super.getFormatHash() + level;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean write(Bitmap bitmap, OutputStream out) throws IOException {
+
+        int width = bitmap.getWidth();
+        int height = bitmap.getHeight();
+
+        State state = states.get();
+        if (state == null) {
+            state = new State();
+            states.set(state);
+        }
+        state.prepare(width, height, level);
+
+        // Unpremultiplied ARGB pixels
+        bitmap.getPixels(state.pixels, 0, width, 0, 0, width, height);
+
+        out.write(SIGNATURE);
+
+        byte[] header = state.chunk;
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 8; // bit depth
+        header[9] = 6; // color type RGBA
+        header[10] = 0; // compression
+        header[11] = 0; // filter
+        header[12] = 0; // interlace
+        writeChunk(out, state, "IHDR", header, 13);
+
+        byte[] row = state.row;
+        int[] pixels = state.pixels;
+        int chunkLength = 0;
+        for (int y = 0; y < height; y++) {
+            row[0] = 0; // filter none
+            int index = y * width;
+            for (int x = 0, offset = 1; x < width; x++) {
+                int pixel = pixels[index + x];
+                row[offset++] = (byte) (pixel >> 16);
+                row[offset++] = (byte) (pixel >> 8);
+                row[offset++] = (byte) pixel;
+                row[offset++] = (byte) (pixel >>> 24);
+            }
+            state.deflater.setInput(row, 0, row.length);
+            boolean finish = y == height - 1;
+            if (finish) {
+                state.deflater.finish();
+            }
+            chunkLength = deflate(out, state, chunkLength, finish);
+        }
+        if (chunkLength > 0) {
+            writeChunk(out, state, "IDAT", state.chunk, chunkLength);
+        }
+
+        writeChunk(out, state, "IEND", state.chunk, 0);
+
+        return true;
+    }
+
+    /**
+     * Deflate the pending input, writing full IDAT chunks
+     *
+     * @param out         output stream
+     * @param state       encode state
+     * @param chunkLength current chunk data length
+     * @param finish      true to deflate until finished
+     * @return chunk data length
+     * @throws IOException upon write failure
+     */
+    private static int deflate(OutputStream out, State state, int chunkLength, boolean finish)
+            throws IOException {
+        Deflater deflater = state.deflater;
+        byte[] chunk = state.chunk;
+        do {
+            chunkLength += deflater.deflate(chunk, chunkLength, chunk.length - chunkLength);
+            if (chunkLength == chunk.length) {
+                writeChunk(out, state, "IDAT", chunk, chunkLength);
+                chunkLength = 0;
+            }
+        } while (finish ? !deflater.finished() : !deflater.needsInput());
+        return chunkLength;
+    }
+
+    /**
+     * Write a PNG chunk
+     *
+     * @param out    output stream
+     * @param state  encode state
+     * @param type   chunk type
+     * @param data   chunk data
+     * @param length chunk data length
+     * @throws IOException upon write failure
+     */
+    private static void writeChunk(OutputStream out, State state, String type, byte[] data, int length)
+            throws IOException {
+        byte[] bytes = state.bytes;
+        putInt(bytes, 0, length);
+        for (int i = 0; i < 4; i++) {
+            bytes[4 + i] = (byte) type.charAt(i);
+        }
+        out.write(bytes, 0, 8);
+        out.write(data, 0, length);
+        CRC32 crc = state.crc;
+        crc.reset();
+        crc.update(bytes, 4, 4);
+        crc.update(data, 0, length);
+        putInt(bytes, 0, (int) crc.getValue());
+        out.write(bytes, 0, 4);
+    }
+
+    /**
+     * Put a big endian int into the bytes
+     *
+     * @param bytes  bytes
+     * @param offset offset
+     * @param value  value
+     */
+    private static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Reusable per-thread encode state
+     */
+    private static class State {
+
+        /**
+         * Chunk data size in bytes
+         */
+        private static final int CHUNK_BYTES = 32 * 1024;
+
+        /**
+         * Pixels
+         */
+        private int[] pixels = new int[0];
+
+        /**
+         * Filtered row bytes
+         */
+        private byte[] row = new byte[0];
+
+        /**
+         * Chunk data buffer
+         */
+        private final byte[] chunk = new byte[CHUNK_BYTES];
+
+        /**
+         * Chunk length, type, and CRC buffer
+         */
+        private final byte[] bytes = new byte[8];
+
+        /**
+         * Deflater
+         */
+        private final Deflater deflater = new Deflater();
+
+        /**
+         * Chunk CRC
+         */
+        private final CRC32 crc = new CRC32();
+
+        /**
+         * Prepare the state for an image
+         *
+         * @param width  width
+         * @param height height
+         * @param level  deflate level
+         */
+        void prepare(int width, int height, int level) {
+            int count = width * height;
+            if (pixels.length != count) {
+                pixels = new int[count];
+            }
+            int rowLength = 1 + width * 4;
+            if (row.length != rowLength) {
+                row = new byte[rowLength];
+            }
+            deflater.reset();
+            deflater.setLevel(level);
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * Measured text width and bounds of a label for a paint
+ */
+public class TextMetrics {
+
+    /**
+     * Advance width
+     */
+    private final float width;
+
+    /**
+     * Bounds height
+     */
+    private final int height;
+
+    /**
+     * Bounds exact center x
+     */
+    private final float centerX;
+
+    /**
+     * Bounds exact center y
+     */
+    private final float centerY;
+
+    /**
+     * Measure the text with the paint
+     *
+     * @param text  text
+     * @param paint paint
+     * @return text metrics
+     */
+    public static TextMetrics measure(String text, Paint paint) {
+        Rect textBounds = new Rect();
+        paint.getTextBounds(text, 0, text.length(), textBounds);
+        float textWidth = paint.measureText(text);
+        return new TextMetrics(textWidth, textBounds.height(), textBounds.exactCenterX(), textBounds.exactCenterY());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param width   advance width
+     * @param height  bounds height
+     * @param centerX bounds exact center x
+     * @param centerY bounds exact center y
+     */
+    public TextMetrics(float width, int height, float centerX, float centerY) {
+        this.width = width;
+        this.height = height;
+        this.centerX = centerX;
+        this.centerY = centerY;
+    }
+
+    /**
+     * Get the advance width
+     *
+     * @return width
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the bounds height
+     *
+     * @return height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the bounds exact center x
+     *
+     * @return center x
+     */
+    public float getCenterX() {
+        return centerX;
+    }
+
+    /**
+     * Get the bounds exact center y
+     *
+     * @return center y
+     */
+    public float getCenterY() {
+        return centerY;
+    }
+
+}
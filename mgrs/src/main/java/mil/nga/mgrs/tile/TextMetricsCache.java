@@ -0,0 +1,119 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread safe cache of label text metrics for a label paint. Cached metrics
+ * are dropped when the paint instance, text size, or typeface changes.
+ */
+public class TextMetricsCache {
+
+    /**
+     * Maximum number of cached texts before the cache is cleared
+     */
+    public static final int MAX_ENTRIES = 2048;
+
+    /**
+     * Current paint and metrics
+     */
+    private volatile State state = new State(null);
+
+    /**
+     * Get the text metrics, measuring and caching on a miss
+     *
+     * @param text  text
+     * @param paint paint
+     * @return text metrics
+     */
+    public TextMetrics getMetrics(String text, Paint paint) {
+        State state = this.state;
+        if (!state.matches(paint)) {
+            state = new State(paint);
+            this.state = state;
+        }
+        TextMetrics metrics = state.metrics.get(text);
+        if (metrics == null) {
+            metrics = TextMetrics.measure(text, paint);
+            if (state.metrics.size() >= MAX_ENTRIES) {
+                state.metrics.clear();
+            }
+            state.metrics.put(text, metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Get the number of cached texts
+     *
+     * @return size
+     */
+    public int size() {
+        return state.metrics.size();
+    }
+
+    /**
+     * Clear the cached metrics
+     */
+    public void clear() {
+        state = new State(null);
+    }
+
+    /**
+     * Paint and metrics measured with it
+     */
+    private static class State {
+
+        /**
+         * Paint
+         */
+        private final Paint paint;
+
+        /**
+         * Paint text size
+         */
+        private final float textSize;
+
+        /**
+         * Paint typeface
+         */
+        private final Typeface typeface;
+
+        /**
+         * Metrics by text
+         */
+        private final Map<String, TextMetrics> metrics = new ConcurrentHashMap<>();
+
+        /**
+         * Constructor
+         *
+         * @param paint paint
+         */
+        State(Paint paint) {
+            this.paint = paint;
+            if (paint != null) {
+                textSize = paint.getTextSize();
+                typeface = paint.getTypeface();
+            } else {
+                textSize = 0;
+                typeface = null;
+            }
+        }
+
+        /**
+         * Check if the metrics were measured with the paint in its current state
+         *
+         * @param paint paint
+         * @return true if matches
+         */
+        boolean matches(Paint paint) {
+            return paint == this.paint && paint.getTextSize() == textSize
+                    && paint.getTypeface() == typeface;
+        }
+
+    }
+
+}
@@ -0,0 +1,280 @@
+package mil.nga.mgrs.tile;
+
+import com.google.android.gms.maps.model.Tile;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded, least recently used in-memory cache of encoded tiles
+ */
+public class TileCache {
+
+    /**
+     * Default maximum cache size in bytes
+     */
+    public static final int DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+
+    /**
+     * Estimated per tile memory overhead in bytes beyond the encoded data
+     */
+    private static final int TILE_OVERHEAD = 64;
+
+    /**
+     * Cached tiles in least to most recently used order
+     */
+    private final LinkedHashMap<TileKey, Tile> tiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Maximum cache size in bytes
+     */
+    private int maxBytes;
+
+    /**
+     * Current cache size in bytes
+     */
+    private int bytes = 0;
+
+    /**
+     * Cache hit count
+     */
+    private long hitCount = 0;
+
+    /**
+     * Cache miss count
+     */
+    private long missCount = 0;
+
+    /**
+     * Cache eviction count
+     */
+    private long evictionCount = 0;
+
+    /**
+     * Create a tile cache with the default byte budget
+     *
+     * @return tile cache
+     */
+    public static TileCache create() {
+        return new TileCache();
+    }
+
+    /**
+     * Create a tile cache
+     *
+     * @param maxBytes maximum cache size in bytes
+     * @return tile cache
+     */
+    public static TileCache create(int maxBytes) {
+        return new TileCache(maxBytes);
+    }
+
+    /**
+     * Constructor, default byte budget
+     */
+    public TileCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxBytes maximum cache size in bytes
+     */
+    public TileCache(int maxBytes) {
+        setMaxBytes(maxBytes);
+    }
+
+    /**
+     * Get the maximum cache size in bytes
+     *
+     * @return maximum bytes
+     */
+    public synchronized int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Set the maximum cache size in bytes, evicting tiles as needed
+     *
+     * @param maxBytes maximum bytes
+     */
+    public synchronized void setMaxBytes(int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Max bytes must be >= 0, max bytes: " + maxBytes);
+        }
+        this.maxBytes = maxBytes;
+        trim();
+    }
+
+    /**
+     * Get the current cache size in bytes
+     *
+     * @return bytes
+     */
+    public synchronized int getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Get the number of cached tiles
+     *
+     * @return tile count
+     */
+    public synchronized int size() {
+        return tiles.size();
+    }
+
+    /**
+     * Get a cached tile
+     *
+     * @param key tile key
+     * @return tile or null if not cached
+     */
+    public synchronized Tile get(TileKey key) {
+        Tile tile = tiles.get(key);
+        if (tile != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return tile;
+    }
+
+    /**
+     * Check if a tile is cached without updating the recently used order
+     * or the hit and miss counts
+     *
+     * @param key tile key
+     * @return true if cached
+     */
+    public synchronized boolean contains(TileKey key) {
+        return tiles.containsKey(key);
+    }
+
+    /**
+     * Cache a tile
+     *
+     * @param key  tile key
+     * @param tile tile
+     */
+    public synchronized void put(TileKey key, Tile tile) {
+        int tileBytes = sizeOf(tile);
+        if (tileBytes > maxBytes) {
+            remove(key);
+        } else {
+            Tile previous = tiles.put(key, tile);
+            if (previous != null) {
+                bytes -= sizeOf(previous);
+            }
+            bytes += tileBytes;
+            trim();
+        }
+    }
+
+    /**
+     * Remove a cached tile
+     *
+     * @param key tile key
+     * @return removed tile or null
+     */
+    public synchronized Tile remove(TileKey key) {
+        Tile tile = tiles.remove(key);
+        if (tile != null) {
+            bytes -= sizeOf(tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Clear all cached tiles
+     */
+    public synchronized void clear() {
+        tiles.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Get the cache hit count
+     *
+     * @return hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the cache miss count
+     *
+     * @return miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the cache eviction count
+     *
+     * @return eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the cache hit rate
+     *
+     * @return hit rate between 0.0 and 1.0
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests > 0 ? (double) hitCount / requests : 0.0;
+    }
+
+    /**
+     * Reset the hit, miss, and eviction counts
+     */
+    public synchronized void resetCounts() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Evict least recently used tiles until within the maximum size
+     */
+    private void trim() {
+        Iterator<Map.Entry<TileKey, Tile>> iterator = tiles.entrySet().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<TileKey, Tile> eldest = iterator.next();
+            bytes -= sizeOf(eldest.getValue());
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Get the estimated memory size of a tile
+     *
+     * @param tile tile
+     * @return bytes
+     */
+    private static int sizeOf(Tile tile) {
+        int size = TILE_OVERHEAD;
+        if (tile.data != null) {
+            size += tile.data.length;
+        }
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "TileCache [tiles=" + tiles.size() + ", bytes=" + bytes + ", maxBytes=" + maxBytes
+                + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+    }
+
+}
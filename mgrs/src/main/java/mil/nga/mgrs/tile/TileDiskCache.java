@@ -0,0 +1,852 @@
+package mil.nga.mgrs.tile;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persistent, size bounded, least recently used cache of encoded tiles stored
+ * in a single pre-allocated and memory-mapped slab file.
+ * <p>
+ * The slab file consists of a header, a block chain table, an entry index, and
+ * a data region of fixed size blocks. Each tile occupies a chain of blocks,
+ * avoiding a file per tile. Each index record keeps the grids style and
+ * encoder format hashes of its tile key, so tiles of different styles or
+ * formats are separate entries and tiles of a previous style are evicted as
+ * least recently used. Tiles with nothing to
+ * draw are stored as empty marker records without data blocks. The slab file
+ * is locked while open. A closed cache misses on every lookup and stores
+ * nothing.
+ */
+public class TileDiskCache implements Closeable {
+
+    /**
+     * Default slab file name
+     */
+    public static final String DEFAULT_FILE_NAME = "mgrs_tiles.slab";
+
+    /**
+     * Default maximum data size in bytes
+     */
+    public static final int DEFAULT_MAX_BYTES = 64 * 1024 * 1024;
+
+    /**
+     * Default data block size in bytes
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4 * 1024;
+
+    /**
+     * Slab file magic number
+     */
+    private static final int MAGIC = 0x4D475253;
+
+    /**
+     * Slab file format version
+     */
+    private static final int VERSION = 3;
+
+    /**
+     * Header size in bytes
+     */
+    private static final int HEADER_SIZE = 64;
+
+    /**
+     * Entry index record size in bytes
+     */
+    private static final int RECORD_SIZE = 44;
+
+    /**
+     * Record first data block offset
+     */
+    private static final int RECORD_FIRST_BLOCK = 28;
+
+    /**
+     * Record length offset, written last when storing and first when removing
+     */
+    private static final int RECORD_LENGTH = 32;
+
+    /**
+     * Record access sequence offset
+     */
+    private static final int RECORD_SEQUENCE = 36;
+
+    /**
+     * Record length of an empty tile marker, 0 marks a free record
+     */
+    private static final int EMPTY_LENGTH = -1;
+
+    /**
+     * End of block chain marker
+     */
+    private static final int END_OF_CHAIN = -1;
+
+    /**
+     * Slab file
+     */
+    private final File file;
+
+    /**
+     * Data block size
+     */
+    private final int blockSize;
+
+    /**
+     * Number of data blocks, also the maximum number of entries
+     */
+    private final int blockCount;
+
+    /**
+     * Block chain table offset
+     */
+    private final int chainOffset;
+
+    /**
+     * Entry index offset
+     */
+    private final int indexOffset;
+
+    /**
+     * Data region offset
+     */
+    private final int dataOffset;
+
+    /**
+     * Random access file
+     */
+    private RandomAccessFile randomAccessFile;
+
+    /**
+     * Memory-mapped slab
+     */
+    private MappedByteBuffer buffer;
+
+    /**
+     * Exclusive lock on the slab file while open
+     */
+    private FileLock lock;
+
+    /**
+     * Entries in least to most recently used order
+     */
+    private final LinkedHashMap<TileKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Free data blocks stack
+     */
+    private final int[] freeBlocks;
+
+    /**
+     * Free data blocks count
+     */
+    private int freeBlockCount = 0;
+
+    /**
+     * Free index records stack
+     */
+    private final int[] freeRecords;
+
+    /**
+     * Free index records count
+     */
+    private int freeRecordCount = 0;
+
+    /**
+     * Next access sequence number
+     */
+    private long sequence = 0;
+
+    /**
+     * Cache hit count
+     */
+    private long hitCount = 0;
+
+    /**
+     * Cache miss count
+     */
+    private long missCount = 0;
+
+    /**
+     * Cache eviction count
+     */
+    private long evictionCount = 0;
+
+    /**
+     * Open a tile disk cache in the app cache directory with the default size
+     *
+     * @param context app context
+     * @return tile disk cache
+     * @throws IOException upon failure to create or map the slab file
+     */
+    public static TileDiskCache open(Context context) throws IOException {
+        return open(new File(context.getCacheDir(), DEFAULT_FILE_NAME));
+    }
+
+    /**
+     * Open a tile disk cache with the default size
+     *
+     * @param file slab file
+     * @return tile disk cache
+     * @throws IOException upon failure to create or map the slab file
+     */
+    public static TileDiskCache open(File file) throws IOException {
+        return open(file, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Open a tile disk cache
+     *
+     * @param file     slab file
+     * @param maxBytes maximum data size in bytes
+     * @return tile disk cache
+     * @throws IOException upon failure to create or map the slab file
+     */
+    public static TileDiskCache open(File file, int maxBytes) throws IOException {
+        return open(file, maxBytes, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Open a tile disk cache
+     *
+     * @param file      slab file
+     * @param maxBytes  maximum data size in bytes
+     * @param blockSize data block size in bytes
+     * @return tile disk cache
+     * @throws IOException upon failure to create or map the slab file
+     */
+    public static TileDiskCache open(File file, int maxBytes, int blockSize) throws IOException {
+        TileDiskCache cache = new TileDiskCache(file, maxBytes, blockSize);
+        cache.open();
+        return cache;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param file      slab file
+     * @param maxBytes  maximum data size in bytes
+     * @param blockSize data block size in bytes
+     */
+    private TileDiskCache(File file, int maxBytes, int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be > 0, block size: " + blockSize);
+        }
+        if (maxBytes < blockSize) {
+            throw new IllegalArgumentException("Max bytes must be >= block size, max bytes: "
+                    + maxBytes + ", block size: " + blockSize);
+        }
+        this.file = file;
+        this.blockSize = blockSize;
+        this.blockCount = maxBytes / blockSize;
+        long dataOffset = HEADER_SIZE + (long) blockCount * (4 + RECORD_SIZE);
+        if (dataOffset + (long) blockCount * blockSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Slab file too large, max bytes: " + maxBytes);
+        }
+        this.chainOffset = HEADER_SIZE;
+        this.indexOffset = chainOffset + blockCount * 4;
+        this.dataOffset = (int) dataOffset;
+        this.freeBlocks = new int[blockCount];
+        this.freeRecords = new int[blockCount];
+    }
+
+    /**
+     * Create or open, map, and load the slab file
+     *
+     * @throws IOException upon failure, including when the slab file is
+     *                     locked by another open cache
+     */
+    private void open() throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Failed to create tile cache directory: " + parent);
+        }
+        int size = dataOffset + blockCount * blockSize;
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            try {
+                lock = randomAccessFile.getChannel().tryLock();
+            } catch (OverlappingFileLockException e) {
+                lock = null;
+            }
+            if (lock == null) {
+                throw new IOException("Tile disk cache file is in use: " + file);
+            }
+            if (randomAccessFile.length() != size) {
+                randomAccessFile.setLength(size);
+            }
+            buffer = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (IOException e) {
+            randomAccessFile.close();
+            randomAccessFile = null;
+            lock = null;
+            throw e;
+        }
+        if (isFormatted()) {
+            load();
+        } else {
+            format();
+        }
+    }
+
+    /**
+     * Check if the mapped slab has a header matching this cache layout
+     *
+     * @return true if formatted
+     */
+    private boolean isFormatted() {
+        return buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION
+                && buffer.getInt(8) == blockSize && buffer.getInt(12) == blockCount;
+    }
+
+    /**
+     * Format the slab, discarding all entries
+     */
+    private void format() {
+        for (int record = 0; record < blockCount; record++) {
+            buffer.putInt(recordOffset(record) + RECORD_LENGTH, 0);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, blockSize);
+        buffer.putInt(12, blockCount);
+        entries.clear();
+        freeBlockCount = 0;
+        for (int block = blockCount - 1; block >= 0; block--) {
+            freeBlocks[freeBlockCount++] = block;
+        }
+        freeRecordCount = 0;
+        for (int record = blockCount - 1; record >= 0; record--) {
+            freeRecords[freeRecordCount++] = record;
+        }
+        sequence = 0;
+    }
+
+    /**
+     * Load the entry index from the slab, discarding invalid records
+     */
+    private void load() {
+
+        boolean[] usedBlocks = new boolean[blockCount];
+        List<Entry> loaded = new ArrayList<>();
+
+        for (int record = 0; record < blockCount; record++) {
+            int offset = recordOffset(record);
+            int length = buffer.getInt(offset + RECORD_LENGTH);
+            if (length <= 0 && length != EMPTY_LENGTH) {
+                continue;
+            }
+            Entry entry = new Entry(record, buffer.getInt(offset + RECORD_FIRST_BLOCK), length,
+                    buffer.getLong(offset + RECORD_SEQUENCE));
+            TileKey key = TileKey.create(buffer.getInt(offset), buffer.getInt(offset + 4),
+                    buffer.getInt(offset + 8), buffer.getInt(offset + 12),
+                    buffer.getInt(offset + 16), buffer.getInt(offset + 20),
+                    buffer.getInt(offset + 24));
+            if (claimChain(entry, usedBlocks)) {
+                entry.key = key;
+                loaded.add(entry);
+            } else {
+                buffer.putInt(offset + RECORD_LENGTH, 0);
+            }
+        }
+
+        Collections.sort(loaded, (entry1, entry2) -> Long.compare(entry1.sequence, entry2.sequence));
+
+        entries.clear();
+        boolean[] usedRecords = new boolean[blockCount];
+        for (Entry entry : loaded) {
+            usedRecords[entry.record] = true;
+            Entry previous = entries.put(entry.key, entry);
+            if (previous != null) {
+                // Keep the most recently used duplicate
+                usedRecords[previous.record] = false;
+                buffer.putInt(recordOffset(previous.record) + RECORD_LENGTH, 0);
+                int block = previous.firstBlock;
+                for (int i = blocks(previous.length); i > 0; i--) {
+                    usedBlocks[block] = false;
+                    block = nextBlock(block);
+                }
+            }
+            sequence = Math.max(sequence, entry.sequence + 1);
+        }
+
+        freeBlockCount = 0;
+        for (int block = blockCount - 1; block >= 0; block--) {
+            if (!usedBlocks[block]) {
+                freeBlocks[freeBlockCount++] = block;
+            }
+        }
+        freeRecordCount = 0;
+        for (int record = blockCount - 1; record >= 0; record--) {
+            if (!usedRecords[record]) {
+                freeRecords[freeRecordCount++] = record;
+            }
+        }
+    }
+
+    /**
+     * Validate and claim the block chain of a loaded entry
+     *
+     * @param entry      entry
+     * @param usedBlocks used blocks, updated when the chain is valid
+     * @return true if the chain is valid
+     */
+    private boolean claimChain(Entry entry, boolean[] usedBlocks) {
+        int blocks = blocks(entry.length);
+        if (blocks > blockCount) {
+            return false;
+        }
+        int[] chain = new int[blocks];
+        int block = entry.firstBlock;
+        for (int i = 0; i < blocks; i++) {
+            if (block < 0 || block >= blockCount || usedBlocks[block]) {
+                return false;
+            }
+            for (int j = 0; j < i; j++) {
+                if (chain[j] == block) {
+                    return false;
+                }
+            }
+            chain[i] = block;
+            block = nextBlock(block);
+        }
+        if (block != END_OF_CHAIN) {
+            return false;
+        }
+        for (int chainBlock : chain) {
+            usedBlocks[chainBlock] = true;
+        }
+        return true;
+    }
+
+    /**
+     * Get the slab file
+     *
+     * @return file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the data block size
+     *
+     * @return block size in bytes
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Get the maximum data size
+     *
+     * @return maximum bytes
+     */
+    public int getMaxBytes() {
+        return blockCount * blockSize;
+    }
+
+    /**
+     * Get the maximum number of cached tiles, including empty tile markers
+     *
+     * @return maximum tiles
+     */
+    public int getMaxTiles() {
+        return blockCount;
+    }
+
+    /**
+     * Get the data size currently used by cached tiles, in whole blocks
+     *
+     * @return bytes, 0 when closed
+     */
+    public synchronized int getBytes() {
+        return buffer != null ? (blockCount - freeBlockCount) * blockSize : 0;
+    }
+
+    /**
+     * Get the number of cached tiles
+     *
+     * @return tile count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get a cached tile
+     *
+     * @param key tile key
+     * @return tile, {@link TileProvider#NO_TILE} if cached as empty, or null if
+     * not cached or closed
+     */
+    public synchronized Tile get(TileKey key) {
+        Tile tile = null;
+        Entry entry = buffer != null ? entries.get(key) : null;
+        if (entry != null && entry.length == EMPTY_LENGTH) {
+            touch(entry);
+            tile = TileProvider.NO_TILE;
+        } else if (entry != null) {
+            try {
+                byte[] data = read(entry);
+                touch(entry);
+                tile = new Tile(key.getWidth(), key.getHeight(), data);
+            } catch (RuntimeException e) {
+                Log.w(TileDiskCache.class.getSimpleName(),
+                        "Failed to read cached tile: " + key, e);
+                remove(key);
+            }
+        }
+        if (tile != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return tile;
+    }
+
+    /**
+     * Check if a tile is cached without updating the recently used order
+     * or the hit and miss counts
+     *
+     * @param key tile key
+     * @return true if cached
+     */
+    public synchronized boolean contains(TileKey key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Cache a tile, evicting least recently used tiles as needed. A tile
+     * without data, such as {@link TileProvider#NO_TILE}, is cached as empty.
+     *
+     * @param key  tile key
+     * @param tile tile
+     * @return true if stored, false if too large or closed
+     */
+    public synchronized boolean put(TileKey key, Tile tile) {
+        byte[] data = tile.data;
+        if (data != null && data.length == 0) {
+            data = null;
+        }
+        return store(key, data);
+    }
+
+    /**
+     * Cache an empty tile marker for a tile with nothing to draw, so it is not
+     * rendered again. Read back as {@link TileProvider#NO_TILE}.
+     *
+     * @param key tile key
+     * @return true if stored, false if closed
+     */
+    public synchronized boolean putEmpty(TileKey key) {
+        return store(key, null);
+    }
+
+    /**
+     * Store the tile data, evicting least recently used tiles as needed
+     *
+     * @param key  tile key
+     * @param data tile data or null for an empty tile marker
+     * @return true if stored, false if too large or closed
+     */
+    private boolean store(TileKey key, byte[] data) {
+        if (buffer == null) {
+            return false;
+        }
+        remove(key);
+
+        int length = data != null ? data.length : EMPTY_LENGTH;
+        int blocks = blocks(length);
+        if (blocks > blockCount) {
+            return false;
+        }
+
+        Iterator<Map.Entry<TileKey, Entry>> eldest = entries.entrySet().iterator();
+        while ((freeBlockCount < blocks || freeRecordCount == 0) && eldest.hasNext()) {
+            Entry evicted = eldest.next().getValue();
+            eldest.remove();
+            release(evicted);
+            evictionCount++;
+        }
+
+        // Write the data and block chain before the index record
+        int firstBlock = END_OF_CHAIN;
+        for (int i = blocks - 1; i >= 0; i--) {
+            int block = freeBlocks[--freeBlockCount];
+            int offset = i * blockSize;
+            buffer.position(blockOffset(block));
+            buffer.put(data, offset, Math.min(blockSize, length - offset));
+            buffer.putInt(chainOffset + block * 4, firstBlock);
+            firstBlock = block;
+        }
+
+        int record = freeRecords[--freeRecordCount];
+        Entry entry = new Entry(record, firstBlock, length, sequence++);
+        entry.key = key;
+        int offset = recordOffset(record);
+        buffer.putInt(offset, key.getX());
+        buffer.putInt(offset + 4, key.getY());
+        buffer.putInt(offset + 8, key.getZoom());
+        buffer.putInt(offset + 12, key.getWidth());
+        buffer.putInt(offset + 16, key.getHeight());
+        buffer.putInt(offset + 20, key.getStyleHash());
+        buffer.putInt(offset + 24, key.getFormatHash());
+        buffer.putInt(offset + RECORD_FIRST_BLOCK, firstBlock);
+        buffer.putLong(offset + RECORD_SEQUENCE, entry.sequence);
+        buffer.putInt(offset + RECORD_LENGTH, length);
+
+        entries.put(key, entry);
+
+        return true;
+    }
+
+    /**
+     * Remove a cached tile
+     *
+     * @param key tile key
+     * @return true if removed
+     */
+    public synchronized boolean remove(TileKey key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            release(entry);
+        }
+        return entry != null;
+    }
+
+    /**
+     * Clear all cached tiles
+     */
+    public synchronized void clear() {
+        if (buffer != null) {
+            format();
+        }
+    }
+
+    /**
+     * Get the cache hit count
+     *
+     * @return hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the cache miss count
+     *
+     * @return miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the cache eviction count
+     *
+     * @return eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Reset the hit, miss, and eviction counts
+     */
+    public synchronized void resetCounts() {
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * Force pending changes to the slab file
+     */
+    public synchronized void flush() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Check if the cache is open
+     *
+     * @return true if open
+     */
+    public synchronized boolean isOpen() {
+        return buffer != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+            entries.clear();
+            lock = null;
+            randomAccessFile.close();
+            randomAccessFile = null;
+        }
+    }
+
+    /**
+     * Read the entry data
+     *
+     * @param entry entry
+     * @return data
+     */
+    private byte[] read(Entry entry) {
+        byte[] data = new byte[entry.length];
+        int block = entry.firstBlock;
+        for (int offset = 0; offset < data.length; offset += blockSize) {
+            buffer.position(blockOffset(block));
+            buffer.get(data, offset, Math.min(blockSize, data.length - offset));
+            block = nextBlock(block);
+        }
+        return data;
+    }
+
+    /**
+     * Mark the entry as most recently used in the persisted index
+     *
+     * @param entry entry
+     */
+    private void touch(Entry entry) {
+        entry.sequence = sequence++;
+        buffer.putLong(recordOffset(entry.record) + RECORD_SEQUENCE, entry.sequence);
+    }
+
+    /**
+     * Release the index record and data blocks of a removed entry
+     *
+     * @param entry entry
+     */
+    private void release(Entry entry) {
+        buffer.putInt(recordOffset(entry.record) + RECORD_LENGTH, 0);
+        freeRecords[freeRecordCount++] = entry.record;
+        int block = entry.firstBlock;
+        for (int i = blocks(entry.length); i > 0; i--) {
+            int next = nextBlock(block);
+            freeBlocks[freeBlockCount++] = block;
+            block = next;
+        }
+    }
+
+    /**
+     * Get the next block in a chain
+     *
+     * @param block block
+     * @return next block or {@link #END_OF_CHAIN}
+     */
+    private int nextBlock(int block) {
+        return buffer.getInt(chainOffset + block * 4);
+    }
+
+    /**
+     * Get the number of blocks needed for the data length
+     *
+     * @param length data length or {@link #EMPTY_LENGTH}
+     * @return blocks
+     */
+    private int blocks(int length) {
+        return length > 0 ? (length + blockSize - 1) / blockSize : 0;
+    }
+
+    /**
+     * Get the slab offset of an index record
+     *
+     * @param record record
+     * @return offset
+     */
+    private int recordOffset(int record) {
+        return indexOffset + record * RECORD_SIZE;
+    }
+
+    /**
+     * Get the slab offset of a data block
+     *
+     * @param block block
+     * @return offset
+     */
+    private int blockOffset(int block) {
+        return dataOffset + block * blockSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "TileDiskCache [file=" + file + ", tiles=" + entries.size()
+                + ", bytes=" + ((blockCount - freeBlockCount) * blockSize)
+                + ", maxBytes=" + (blockCount * blockSize) + ", hits=" + hitCount
+                + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+    }
+
+    /**
+     * Cached tile entry
+     */
+    private static class Entry {
+
+        /**
+         * Index record
+         */
+        private final int record;
+
+        /**
+         * First data block
+         */
+        private final int firstBlock;
+
+        /**
+         * Data length or {@link #EMPTY_LENGTH}
+         */
+        private final int length;
+
+        /**
+         * Access sequence
+         */
+        private long sequence;
+
+        /**
+         * Tile key
+         */
+        private TileKey key;
+
+        /**
+         * Constructor
+         *
+         * @param record     index record
+         * @param firstBlock first data block
+         * @param length     data length or {@link #EMPTY_LENGTH}
+         * @param sequence   access sequence
+         */
+        private Entry(int record, int firstBlock, int length, long sequence) {
+            this.record = record;
+            this.firstBlock = firstBlock;
+            this.length = length;
+            this.sequence = sequence;
+        }
+
+    }
+
+}
@@ -2,19 +2,18 @@ package mil.nga.mgrs.tile;
 
 import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.Rect;
 
+import java.util.Arrays;
 import java.util.List;
 
-import mil.nga.grid.features.Line;
-import mil.nga.grid.features.Point;
 import mil.nga.grid.tile.GridTile;
 import mil.nga.grid.tile.Pixel;
 import mil.nga.grid.tile.PixelRange;
 import mil.nga.mgrs.features.GridLine;
 import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
 import mil.nga.mgrs.grid.style.Grid;
+import mil.nga.mgrs.grid.style.GridPaints;
 import mil.nga.mgrs.gzd.GridZone;
 
 /**
@@ -23,7 +22,12 @@ import mil.nga.mgrs.gzd.GridZone;
 public class TileDraw {
 
     /**
-     * Draw the lines on the tile
+     * Per-thread reusable line batches
+     */
+    private static final ThreadLocal<LineBatch> lineBatches = new ThreadLocal<>();
+
+    /**
+     * Draw the lines on the tile, batched into a single draw call per line paint
      *
      * @param lines  lines to draw
      * @param tile   tile
@@ -32,43 +36,133 @@ public class TileDraw {
      * @param canvas draw canvas
      */
     public static void drawLines(List<GridLine> lines, GridTile tile, Grid grid, GridZone zone, Canvas canvas) {
+        drawLines(lines, tile, grid.getPaints(), zone, canvas);
+    }
+
+    /**
+     * Draw the lines on the tile with a grid paint snapshot, batched into a
+     * single draw call per line paint
+     *
+     * @param lines  lines to draw
+     * @param tile   tile
+     * @param paints grid paints
+     * @param zone   grid zone
+     * @param canvas draw canvas
+     */
+    public static void drawLines(List<GridLine> lines, GridTile tile, GridPaints paints, GridZone zone, Canvas canvas) {
 
         PixelRange pixelRange = zone.getBounds().getPixelRange(tile);
 
-        canvas.save();
-        canvas.clipRect(pixelRange.getLeft(), pixelRange.getTop(), pixelRange.getRight(), pixelRange.getBottom());
+        LineBatch batch = getLineBatch();
+        try {
+            TileProjection projection = batch.projection;
+            projection.setTile(tile);
+
+            for (GridLine line : lines) {
+                Paint paint = paints.getLinePaint(line.getGridType());
+                batch.add(paint, projection, line);
+            }
 
-        for (GridLine line : lines) {
+            canvas.save();
+            canvas.clipRect(pixelRange.getLeft(), pixelRange.getTop(), pixelRange.getRight(), pixelRange.getBottom());
 
-            Path linePath = new Path();
-            addPolyline(tile, linePath, line);
-            Paint paint = grid.getLinePaint(line.getGridType());
-            canvas.drawPath(linePath, paint);
+            batch.draw(canvas);
 
+            canvas.restore();
+        } finally {
+            batch.clear();
         }
+    }
 
-        canvas.restore();
+    /**
+     * Check if any of the line is visible within the tile and the grid zone clip
+     *
+     * @param line       line
+     * @param projection tile projection
+     * @param grid       grid
+     * @param pixelRange grid zone pixel range clip
+     * @return true if visible
+     */
+    public static boolean isVisible(GridLine line, TileProjection projection, Grid grid, PixelRange pixelRange) {
+        return isVisible(line, projection, grid.getPaints(), pixelRange);
     }
 
     /**
-     * Add the polyline to the path
+     * Check if any of the line is visible within the tile and the grid zone clip
      *
-     * @param tile tile
-     * @param path line path
-     * @param line line to draw
+     * @param line       line
+     * @param projection tile projection
+     * @param paints     grid paints
+     * @param pixelRange grid zone pixel range clip
+     * @return true if visible
      */
-    private static void addPolyline(GridTile tile, Path path, GridLine line) {
+    public static boolean isVisible(GridLine line, TileProjection projection, GridPaints paints, PixelRange pixelRange) {
+        return isVisible(line, projection, paints, pixelRange, 0, 0, projection.getWidth(), projection.getHeight());
+    }
 
-        Line metersLine = line.toMeters();
-        Point point1 = metersLine.getPoint1();
-        Point point2 = metersLine.getPoint2();
+    /**
+     * Check if any of the line is visible within the pixel rectangle of the
+     * tile and the grid zone clip
+     *
+     * @param line       line
+     * @param projection tile projection
+     * @param paints     grid paints
+     * @param pixelRange grid zone pixel range clip
+     * @param minX       rectangle left pixel
+     * @param minY       rectangle top pixel
+     * @param maxX       rectangle right pixel
+     * @param maxY       rectangle bottom pixel
+     * @return true if visible
+     */
+    public static boolean isVisible(GridLine line, TileProjection projection, GridPaints paints, PixelRange pixelRange,
+                                    int minX, int minY, int maxX, int maxY) {
+
+        float margin = paints.getLinePaint(line.getGridType()).getStrokeWidth() / 2.0f + 1.0f;
+        float left = Math.max(minX, pixelRange.getLeft()) - margin;
+        float top = Math.max(minY, pixelRange.getTop()) - margin;
+        float right = Math.min(maxX, pixelRange.getRight()) + margin;
+        float bottom = Math.min(maxY, pixelRange.getBottom()) + margin;
 
-        Pixel pixel = point1.getPixel(tile);
-        path.moveTo(pixel.getX(), pixel.getY());
+        float[] pixels = getLineBatch().segment;
+        projection.project(line, pixels, 0);
 
-        Pixel pixel2 = point2.getPixel(tile);
-        path.lineTo(pixel2.getX(), pixel2.getY());
+        return Math.max(pixels[0], pixels[2]) >= left
+                && Math.min(pixels[0], pixels[2]) <= right
+                && Math.max(pixels[1], pixels[3]) >= top
+                && Math.min(pixels[1], pixels[3]) <= bottom;
+    }
 
+    /**
+     * Check if the label may be drawn within the pixel rectangle of the tile.
+     * A drawn label fits within its grid cell, so the label is not visible
+     * when its cell is outside the rectangle.
+     *
+     * @param label label
+     * @param tile  tile
+     * @param minX  rectangle left pixel
+     * @param minY  rectangle top pixel
+     * @param maxX  rectangle right pixel
+     * @param maxY  rectangle bottom pixel
+     * @return true if possibly visible
+     */
+    public static boolean isVisible(GridLabel label, GridTile tile, int minX, int minY, int maxX, int maxY) {
+        PixelRange pixelRange = label.getBounds().getPixelRange(tile);
+        return pixelRange.getRight() >= minX && pixelRange.getLeft() <= maxX
+                && pixelRange.getBottom() >= minY && pixelRange.getTop() <= maxY;
+    }
+
+    /**
+     * Get the line batch of the current thread
+     *
+     * @return line batch
+     */
+    private static LineBatch getLineBatch() {
+        LineBatch batch = lineBatches.get();
+        if (batch == null) {
+            batch = new LineBatch();
+            lineBatches.set(batch);
+        }
+        return batch;
     }
 
     /**
@@ -81,8 +175,39 @@ public class TileDraw {
      * @param paint  label paint
      */
     public static void drawLabels(List<GridLabel> labels, double buffer, GridTile tile, Canvas canvas, Paint paint) {
+        drawLabels(labels, buffer, tile, canvas, paint, null);
+    }
+
+    /**
+     * Draw the labels on the tile
+     *
+     * @param labels       labels to draw
+     * @param buffer       grid zone edge buffer
+     * @param tile         tile
+     * @param canvas       draw canvas
+     * @param paint        label paint
+     * @param metricsCache label text metrics cache, null to measure each label
+     */
+    public static void drawLabels(List<GridLabel> labels, double buffer, GridTile tile, Canvas canvas, Paint paint,
+                                  TextMetricsCache metricsCache) {
+        drawLabels(labels, buffer, tile, canvas, paint, metricsCache, null);
+    }
+
+    /**
+     * Draw the labels on the tile
+     *
+     * @param labels       labels to draw
+     * @param buffer       grid zone edge buffer
+     * @param tile         tile
+     * @param canvas       draw canvas
+     * @param paint        label paint
+     * @param metricsCache label text metrics cache, null to measure each label
+     * @param atlas        label sprite atlas, null to draw text
+     */
+    public static void drawLabels(List<GridLabel> labels, double buffer, GridTile tile, Canvas canvas, Paint paint,
+                                  TextMetricsCache metricsCache, LabelAtlas atlas) {
         for (GridLabel label : labels) {
-            drawLabel(label, buffer, tile, canvas, paint);
+            drawLabel(label, buffer, tile, canvas, paint, metricsCache, atlas);
         }
     }
 
@@ -96,14 +221,56 @@ public class TileDraw {
      * @param paint  label paint
      */
     public static void drawLabel(GridLabel label, double buffer, GridTile tile, Canvas canvas, Paint paint) {
+        drawLabel(label, buffer, tile, canvas, paint, null);
+    }
+
+    /**
+     * Draw the label
+     *
+     * @param label        label to draw
+     * @param buffer       grid zone edge buffer
+     * @param tile         tile
+     * @param canvas       draw canvas
+     * @param paint        label paint
+     * @param metricsCache label text metrics cache, null to measure the label
+     */
+    public static void drawLabel(GridLabel label, double buffer, GridTile tile, Canvas canvas, Paint paint,
+                                 TextMetricsCache metricsCache) {
+        drawLabel(label, buffer, tile, canvas, paint, metricsCache, null);
+    }
+
+    /**
+     * Draw the label, from the sprite atlas when available
+     *
+     * @param label        label to draw
+     * @param buffer       grid zone edge buffer
+     * @param tile         tile
+     * @param canvas       draw canvas
+     * @param paint        label paint
+     * @param metricsCache label text metrics cache, null to measure the label
+     * @param atlas        label sprite atlas, null to draw text
+     */
+    public static void drawLabel(GridLabel label, double buffer, GridTile tile, Canvas canvas, Paint paint,
+                                 TextMetricsCache metricsCache, LabelAtlas atlas) {
 
         String name = label.getName();
 
+        LabelSprite sprite = null;
+        if (atlas != null) {
+            sprite = atlas.getSprite(name, paint);
+        }
+
         // Determine the text bounds
-        Rect textBounds = new Rect();
-        paint.getTextBounds(name, 0, name.length(), textBounds);
-        float textWidth = paint.measureText(name);
-        int textHeight = textBounds.height();
+        TextMetrics metrics;
+        if (sprite != null) {
+            metrics = sprite.getMetrics();
+        } else if (metricsCache != null) {
+            metrics = metricsCache.getMetrics(name, paint);
+        } else {
+            metrics = TextMetrics.measure(name, paint);
+        }
+        float textWidth = metrics.getWidth();
+        int textHeight = metrics.getHeight();
 
         // Determine the pixel width and height of the label grid zone to the tile
         PixelRange pixelRange = label.getBounds().getPixelRange(tile);
@@ -116,7 +283,112 @@ public class TileDraw {
         // If it fits, draw the label in the center of the grid zone
         if (textWidth <= maxWidth && textHeight <= maxHeight) {
             Pixel centerPixel = label.getCenter().getPixel(tile);
-            canvas.drawText(name, centerPixel.getX() - textBounds.exactCenterX(), centerPixel.getY() - textBounds.exactCenterY(), paint);
+            float x = centerPixel.getX() - metrics.getCenterX();
+            float y = centerPixel.getY() - metrics.getCenterY();
+            if (sprite != null) {
+                sprite.draw(canvas, x, y);
+            } else {
+                canvas.drawText(name, x, y, paint);
+            }
+        }
+
+    }
+
+    /**
+     * Reusable line segment buffers grouped by paint
+     */
+    private static class LineBatch {
+
+        /**
+         * Initial segment buffer length in floats
+         */
+        private static final int INITIAL_POINTS = 256;
+
+        /**
+         * Group paints
+         */
+        private Paint[] paints = new Paint[GridType.values().length];
+
+        /**
+         * Group segment points as x0, y0, x1, y1
+         */
+        private float[][] points = new float[paints.length][];
+
+        /**
+         * Group point counts
+         */
+        private int[] counts = new int[paints.length];
+
+        /**
+         * Number of groups
+         */
+        private int groups = 0;
+
+        /**
+         * Reusable tile projection
+         */
+        private final TileProjection projection = new TileProjection();
+
+        /**
+         * Single segment scratch pixels
+         */
+        private final float[] segment = new float[4];
+
+        /**
+         * Add a projected line segment
+         *
+         * @param paint      paint
+         * @param projection tile projection
+         * @param line       grid line
+         */
+        void add(Paint paint, TileProjection projection, GridLine line) {
+            int group = 0;
+            while (group < groups && paints[group] != paint) {
+                group++;
+            }
+            if (group == groups) {
+                if (groups == paints.length) {
+                    paints = Arrays.copyOf(paints, groups * 2);
+                    points = Arrays.copyOf(points, groups * 2);
+                    counts = Arrays.copyOf(counts, groups * 2);
+                }
+                paints[group] = paint;
+                if (points[group] == null) {
+                    points[group] = new float[INITIAL_POINTS];
+                }
+                groups++;
+            }
+            float[] groupPoints = points[group];
+            int count = counts[group];
+            if (count + 4 > groupPoints.length) {
+                groupPoints = Arrays.copyOf(groupPoints, groupPoints.length * 2);
+                points[group] = groupPoints;
+            }
+            projection.project(line, groupPoints, count);
+            counts[group] = count + 4;
+        }
+
+        /**
+         * Draw and clear the batched segments
+         *
+         * @param canvas draw canvas
+         */
+        void draw(Canvas canvas) {
+            for (int group = 0; group < groups; group++) {
+                canvas.drawLines(points[group], 0, counts[group], paints[group]);
+            }
+            clear();
+        }
+
+        /**
+         * Clear the batched segments
+         */
+        void clear() {
+            for (int group = 0; group < groups; group++) {
+                paints[group] = null;
+                counts[group] = 0;
+            }
+            groups = 0;
         }
 
     }
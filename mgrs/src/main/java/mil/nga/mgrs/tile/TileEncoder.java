@@ -0,0 +1,258 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.util.Log;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tile bitmap encoder writing into reusable per-thread output buffers, with
+ * encode time and output size statistics for comparing formats on a device
+ */
+public abstract class TileEncoder {
+
+    /**
+     * Minimum initial output buffer size in bytes
+     */
+    private static final int MIN_BUFFER_BYTES = 1024;
+
+    /**
+     * Output buffers larger than this multiple of the average tile size are
+     * not retained for reuse
+     */
+    private static final int MAX_BUFFER_MULTIPLE = 4;
+
+    /**
+     * Encoder name
+     */
+    private final String name;
+
+    /**
+     * Per-thread reusable output buffers
+     */
+    private final ThreadLocal<TileOutputStream> buffers = new ThreadLocal<>();
+
+    /**
+     * Number of encoded tiles
+     */
+    private final AtomicLong encodeCount = new AtomicLong();
+
+    /**
+     * Total encode time in nanoseconds
+     */
+    private final AtomicLong encodeNanos = new AtomicLong();
+
+    /**
+     * Total encoded bytes
+     */
+    private final AtomicLong encodedBytes = new AtomicLong();
+
+    /**
+     * Create a PNG encoder using the platform compressor
+     *
+     * @return PNG encoder
+     */
+    public static TileEncoder png() {
+        return new BitmapTileEncoder("PNG", Bitmap.CompressFormat.PNG, 100);
+    }
+
+    /**
+     * Create a lossless WebP encoder using the platform compressor. Below API
+     * 30 the WebP format at quality 100 is used, which is lossless on API 29.
+     * Below API 29 the output is lossy, named "WEBP_Q100" instead of
+     * "WEBP_LOSSLESS".
+     *
+     * @return WebP encoder, lossless from API 29
+     */
+    @SuppressWarnings("deprecation")
+    public static TileEncoder webpLossless() {
+        TileEncoder encoder;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+            encoder = new BitmapTileEncoder("WEBP_LOSSLESS", Bitmap.CompressFormat.WEBP_LOSSLESS, 100);
+        } else if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            encoder = new BitmapTileEncoder("WEBP_LOSSLESS", Bitmap.CompressFormat.WEBP, 100);
+        } else {
+            encoder = new BitmapTileEncoder("WEBP_Q100", Bitmap.CompressFormat.WEBP, 100);
+        }
+        return encoder;
+    }
+
+    /**
+     * Create a fast PNG encoder, trading output size for speed with the
+     * fastest deflate compression level
+     *
+     * @return fast PNG encoder
+     */
+    public static TileEncoder fastPng() {
+        return new PngTileEncoder("FAST_PNG");
+    }
+
+    /**
+     * Constructor
+     *
+     * @param name encoder name
+     */
+    protected TileEncoder(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get the encoder name
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get a hash identifying the encoded format and settings, stable across
+     * app runs. Part of the tile cache keys so tiles encoded by a different
+     * encoder are not returned after changing encoders.
+     *
+     * @return format hash
+     */
+    public int getFormatHash() {
+        return name.hashCode();
+    }
+
+    /**
+     * Encode the bitmap
+     *
+     * @param bitmap bitmap
+     * @return encoded bytes or null if encoding failed
+     */
+    public byte[] encode(Bitmap bitmap) {
+
+        byte[] bytes = null;
+
+        TileOutputStream buffer = buffers.get();
+        long averageBytes = getAverageBytes();
+        if (buffer == null || (averageBytes > 0
+                && buffer.capacity() > averageBytes * MAX_BUFFER_MULTIPLE)) {
+            buffer = new TileOutputStream((int) Math.max(MIN_BUFFER_BYTES, averageBytes + averageBytes / 4));
+            buffers.set(buffer);
+        }
+        buffer.reset();
+
+        long start = System.nanoTime();
+        try {
+            if (write(bitmap, buffer)) {
+                bytes = buffer.toByteArray();
+                encodeNanos.addAndGet(System.nanoTime() - start);
+                encodedBytes.addAndGet(bytes.length);
+                encodeCount.incrementAndGet();
+            }
+        } catch (IOException e) {
+            Log.w(TileEncoder.class.getSimpleName(), "Failed to encode tile with encoder: " + name, e);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Write the encoded bitmap
+     *
+     * @param bitmap bitmap
+     * @param out    output stream
+     * @return true if written
+     * @throws IOException upon write failure
+     */
+    protected abstract boolean write(Bitmap bitmap, OutputStream out) throws IOException;
+
+    /**
+     * Get the number of encoded tiles
+     *
+     * @return encode count
+     */
+    public long getEncodeCount() {
+        return encodeCount.get();
+    }
+
+    /**
+     * Get the total encode time in nanoseconds
+     *
+     * @return encode nanoseconds
+     */
+    public long getEncodeNanos() {
+        return encodeNanos.get();
+    }
+
+    /**
+     * Get the total encoded bytes
+     *
+     * @return encoded bytes
+     */
+    public long getEncodedBytes() {
+        return encodedBytes.get();
+    }
+
+    /**
+     * Get the average encode time in milliseconds
+     *
+     * @return average encode milliseconds
+     */
+    public double getAverageEncodeMillis() {
+        long count = encodeCount.get();
+        return count > 0 ? encodeNanos.get() / 1000000.0 / count : 0.0;
+    }
+
+    /**
+     * Get the average encoded tile size in bytes
+     *
+     * @return average bytes
+     */
+    public long getAverageBytes() {
+        long count = encodeCount.get();
+        return count > 0 ? encodedBytes.get() / count : 0;
+    }
+
+    /**
+     * Reset the encode statistics
+     */
+    public void resetStats() {
+        encodeCount.set(0);
+        encodeNanos.set(0);
+        encodedBytes.set(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "TileEncoder [name=" + name + ", tiles=" + encodeCount.get()
+                + ", averageMillis=" + getAverageEncodeMillis()
+                + ", averageBytes=" + getAverageBytes() + "]";
+    }
+
+    /**
+     * Reusable byte array output stream
+     */
+    private static class TileOutputStream extends ByteArrayOutputStream {
+
+        /**
+         * Constructor
+         *
+         * @param size initial capacity
+         */
+        TileOutputStream(int size) {
+            super(size);
+        }
+
+        /**
+         * Get the current buffer capacity
+         *
+         * @return capacity
+         */
+        int capacity() {
+            return buf.length;
+        }
+
+    }
+
+}
@@ -0,0 +1,156 @@
+package mil.nga.mgrs.tile;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.tile.GridTile;
+import mil.nga.grid.tile.PixelRange;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.style.Grid;
+import mil.nga.mgrs.grid.style.GridPaints;
+import mil.nga.mgrs.gzd.GridZone;
+
+/**
+ * Lines and labels collected for a tile before drawing, used to detect empty
+ * tiles without allocating a bitmap
+ */
+public class TileFeatures {
+
+    /**
+     * Tile
+     */
+    private final GridTile tile;
+
+    /**
+     * Tile projection
+     */
+    private final TileProjection projection;
+
+    /**
+     * Grid zone features in draw order
+     */
+    private final List<ZoneFeatures> features = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param tile tile
+     */
+    public TileFeatures(GridTile tile) {
+        this.tile = tile;
+        this.projection = new TileProjection(tile);
+    }
+
+    /**
+     * Get the tile
+     *
+     * @return tile
+     */
+    public GridTile getTile() {
+        return tile;
+    }
+
+    /**
+     * Get the grid zone features in draw order
+     *
+     * @return zone features
+     */
+    public List<ZoneFeatures> getFeatures() {
+        return features;
+    }
+
+    /**
+     * Check if there is nothing to draw on the tile
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return features.isEmpty();
+    }
+
+    /**
+     * Add the grid zone lines and labels, dropping lines clipped out of the tile
+     *
+     * @param grid   grid
+     * @param zone   grid zone
+     * @param lines  lines or null
+     * @param labels labels or null
+     */
+    public void add(Grid grid, GridZone zone, List<GridLine> lines, List<GridLabel> labels) {
+
+        GridPaints paints = grid.getPaints();
+
+        List<GridLine> visibleLines = null;
+        if (lines != null && !lines.isEmpty()) {
+            PixelRange pixelRange = zone.getBounds().getPixelRange(tile);
+            visibleLines = new ArrayList<>(lines.size());
+            for (GridLine line : lines) {
+                if (TileDraw.isVisible(line, projection, paints, pixelRange)) {
+                    visibleLines.add(line);
+                }
+            }
+        }
+
+        ZoneFeatures zoneFeatures = new ZoneFeatures(grid, paints, zone, visibleLines, labels);
+        if (zoneFeatures.hasLines() || zoneFeatures.hasLabels()) {
+            features.add(zoneFeatures);
+        }
+    }
+
+    /**
+     * Check if any feature may be drawn within the pixel rectangle of the
+     * tile, used to find the empty slices of a larger tile without drawing
+     *
+     * @param minX rectangle left pixel
+     * @param minY rectangle top pixel
+     * @param maxX rectangle right pixel
+     * @param maxY rectangle bottom pixel
+     * @return true if visible
+     */
+    public boolean isVisible(int minX, int minY, int maxX, int maxY) {
+        for (ZoneFeatures zoneFeatures : features) {
+            if (zoneFeatures.hasLines()) {
+                GridPaints paints = zoneFeatures.getPaints();
+                PixelRange pixelRange = zoneFeatures.getZone().getBounds().getPixelRange(tile);
+                for (GridLine line : zoneFeatures.getLines()) {
+                    if (TileDraw.isVisible(line, projection, paints, pixelRange, minX, minY, maxX, maxY)) {
+                        return true;
+                    }
+                }
+            }
+            if (zoneFeatures.hasLabels() && zoneFeatures.getPaints().getLabelPaint() != null) {
+                for (GridLabel label : zoneFeatures.getLabels()) {
+                    if (TileDraw.isVisible(label, tile, minX, minY, maxX, maxY)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Draw the features into the transparent bitmap
+     *
+     * @param bitmap bitmap
+     */
+    public void draw(Bitmap bitmap) {
+        Canvas canvas = new Canvas(bitmap);
+        for (ZoneFeatures zoneFeatures : features) {
+            Grid grid = zoneFeatures.getGrid();
+            GridPaints paints = zoneFeatures.getPaints();
+            if (zoneFeatures.hasLines()) {
+                TileDraw.drawLines(zoneFeatures.getLines(), tile, paints, zoneFeatures.getZone(), canvas);
+            }
+            if (zoneFeatures.hasLabels() && paints.getLabelPaint() != null) {
+                TileDraw.drawLabels(zoneFeatures.getLabels(), grid.getLabelBuffer(), tile, canvas,
+                        paints.getLabelPaint(), grid.getLabelMetrics(), grid.getLabelAtlas());
+            }
+        }
+    }
+
+}
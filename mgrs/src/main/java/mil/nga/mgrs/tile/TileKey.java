@@ -0,0 +1,188 @@
+package mil.nga.mgrs.tile;
+
+/**
+ * Tile cache key of the XYZ coordinate, tile dimensions, grids style, and
+ * tile encoder format
+ */
+public class TileKey {
+
+    /**
+     * X coordinate
+     */
+    private final int x;
+
+    /**
+     * Y coordinate
+     */
+    private final int y;
+
+    /**
+     * Zoom level
+     */
+    private final int zoom;
+
+    /**
+     * Tile width
+     */
+    private final int width;
+
+    /**
+     * Tile height
+     */
+    private final int height;
+
+    /**
+     * Grids style hash
+     */
+    private final int styleHash;
+
+    /**
+     * Tile encoder format hash
+     */
+    private final int formatHash;
+
+    /**
+     * Create a tile key
+     *
+     * @param x          x coordinate
+     * @param y          y coordinate
+     * @param zoom       zoom level
+     * @param width      tile width
+     * @param height     tile height
+     * @param styleHash  grids style hash
+     * @param formatHash tile encoder format hash
+     * @return tile key
+     */
+    public static TileKey create(int x, int y, int zoom, int width, int height, int styleHash,
+                                 int formatHash) {
+        return new TileKey(x, y, zoom, width, height, styleHash, formatHash);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param x          x coordinate
+     * @param y          y coordinate
+     * @param zoom       zoom level
+     * @param width      tile width
+     * @param height     tile height
+     * @param styleHash  grids style hash
+     * @param formatHash tile encoder format hash
+     */
+    public TileKey(int x, int y, int zoom, int width, int height, int styleHash, int formatHash) {
+        this.x = x;
+        this.y = y;
+        this.zoom = zoom;
+        this.width = width;
+        this.height = height;
+        this.styleHash = styleHash;
+        this.formatHash = formatHash;
+    }
+
+    /**
+     * Get the x coordinate
+     *
+     * @return x coordinate
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Get the y coordinate
+     *
+     * @return y coordinate
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Get the zoom level
+     *
+     * @return zoom level
+     */
+    public int getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Get the tile width
+     *
+     * @return tile width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the tile height
+     *
+     * @return tile height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Get the grids style hash
+     *
+     * @return style hash
+     */
+    public int getStyleHash() {
+        return styleHash;
+    }
+
+    /**
+     * Get the tile encoder format hash
+     *
+     * @return format hash
+     */
+    public int getFormatHash() {
+        return formatHash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + x;
+        result = prime * result + y;
+        result = prime * result + zoom;
+        result = prime * result + width;
+        result = prime * result + height;
+        result = prime * result + styleHash;
+        result = prime * result + formatHash;
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        TileKey other = (TileKey) obj;
+        return x == other.x && y == other.y && zoom == other.zoom
+                && width == other.width && height == other.height
+                && styleHash == other.styleHash && formatHash == other.formatHash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return zoom + "/" + x + "/" + y + " " + width + "x" + height + " #" + Integer.toHexString(styleHash)
+                + " #" + Integer.toHexString(formatHash);
+    }
+
+}
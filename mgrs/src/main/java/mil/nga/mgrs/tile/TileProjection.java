@@ -0,0 +1,210 @@
+package mil.nga.mgrs.tile;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.mgrs.features.GridLine;
+
+/**
+ * Allocation free projection of grid points to tile pixels, producing the
+ * same pixels as {@link Point#getPixel(GridTile)}
+ */
+public class TileProjection {
+
+    /**
+     * Web Mercator half world width in meters
+     */
+    private static final double HALF_WORLD_WIDTH = 20037508.342789244;
+
+    /**
+     * WGS84 half world longitude width
+     */
+    private static final double HALF_WORLD_LON_WIDTH = 180.0;
+
+    /**
+     * WGS84 half world latitude height
+     */
+    private static final double HALF_WORLD_LAT_HEIGHT = 90.0;
+
+    /**
+     * Minimum latitude converted to meters
+     */
+    private static final double MIN_LAT = -89.99999999999999;
+
+    /**
+     * Tile width
+     */
+    private int width;
+
+    /**
+     * Tile height
+     */
+    private int height;
+
+    /**
+     * Tile min longitude in meters
+     */
+    private double minLongitude;
+
+    /**
+     * Tile max longitude in meters
+     */
+    private double maxLongitude;
+
+    /**
+     * Tile min latitude in meters
+     */
+    private double minLatitude;
+
+    /**
+     * Tile max latitude in meters
+     */
+    private double maxLatitude;
+
+    /**
+     * Constructor, set a tile before projecting
+     */
+    public TileProjection() {
+
+    }
+
+    /**
+     * Constructor
+     *
+     * @param tile tile
+     */
+    public TileProjection(GridTile tile) {
+        setTile(tile);
+    }
+
+    /**
+     * Set the tile to project to
+     *
+     * @param tile tile
+     */
+    public void setTile(GridTile tile) {
+        Bounds bounds = tile.getBoundsMeters();
+        width = tile.getWidth();
+        height = tile.getHeight();
+        minLongitude = bounds.getMinLongitude();
+        maxLongitude = bounds.getMaxLongitude();
+        minLatitude = bounds.getMinLatitude();
+        maxLatitude = bounds.getMaxLatitude();
+    }
+
+    /**
+     * Get the tile width
+     *
+     * @return width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the tile height
+     *
+     * @return height
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Project the line end points into the pixel array as x1, y1, x2, y2
+     *
+     * @param line   grid line
+     * @param pixels pixel array
+     * @param offset array offset
+     */
+    public void project(GridLine line, float[] pixels, int offset) {
+        Point point1 = line.getPoint1();
+        Point point2 = line.getPoint2();
+        pixels[offset] = getXPixel(point1);
+        pixels[offset + 1] = getYPixel(point1);
+        pixels[offset + 2] = getXPixel(point2);
+        pixels[offset + 3] = getYPixel(point2);
+    }
+
+    /**
+     * Get the x pixel of the point
+     *
+     * @param point point
+     * @return x pixel
+     */
+    public float getXPixel(Point point) {
+        double longitude = point.getLongitude();
+        if (!point.isMeters()) {
+            longitude = toMetersLongitude(longitude);
+        }
+        return getXPixel(longitude);
+    }
+
+    /**
+     * Get the y pixel of the point
+     *
+     * @param point point
+     * @return y pixel
+     */
+    public float getYPixel(Point point) {
+        double latitude = point.getLatitude();
+        if (!point.isMeters()) {
+            latitude = toMetersLatitude(latitude);
+        }
+        return getYPixel(latitude);
+    }
+
+    /**
+     * Get the x pixel of the longitude in meters
+     *
+     * @param longitude longitude in meters
+     * @return x pixel
+     */
+    public float getXPixel(double longitude) {
+        double offset = longitude - minLongitude;
+        double percentage = offset / (maxLongitude - minLongitude);
+        return (float) (percentage * width);
+    }
+
+    /**
+     * Get the y pixel of the latitude in meters
+     *
+     * @param latitude latitude in meters
+     * @return y pixel
+     */
+    public float getYPixel(double latitude) {
+        double offset = maxLatitude - latitude;
+        double percentage = offset / (maxLatitude - minLatitude);
+        return (float) (percentage * height);
+    }
+
+    /**
+     * Convert a longitude in degrees to meters
+     *
+     * @param longitude longitude in degrees
+     * @return longitude in meters
+     */
+    public static double toMetersLongitude(double longitude) {
+        if (longitude < -HALF_WORLD_LON_WIDTH) {
+            longitude = longitude + (HALF_WORLD_LON_WIDTH * 2.0);
+        } else if (longitude > HALF_WORLD_LON_WIDTH) {
+            longitude = longitude - (HALF_WORLD_LON_WIDTH * 2.0);
+        }
+        return longitude * HALF_WORLD_WIDTH / HALF_WORLD_LON_WIDTH;
+    }
+
+    /**
+     * Convert a latitude in degrees to meters
+     *
+     * @param latitude latitude in degrees
+     * @return latitude in meters
+     */
+    public static double toMetersLatitude(double latitude) {
+        latitude = Math.min(latitude, HALF_WORLD_LAT_HEIGHT);
+        latitude = Math.max(latitude, MIN_LAT);
+        double meters = Math.log(Math.tan((HALF_WORLD_LAT_HEIGHT + latitude) * Math.PI
+                / (2 * HALF_WORLD_LON_WIDTH))) / (Math.PI / HALF_WORLD_LON_WIDTH);
+        return meters * HALF_WORLD_WIDTH / HALF_WORLD_LON_WIDTH;
+    }
+
+}
@@ -0,0 +1,253 @@
+package mil.nga.mgrs.tile;
+
+import com.google.android.gms.maps.model.LatLngBounds;
+
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+
+/**
+ * Inclusive XYZ tile coordinate range at a single zoom level. A range crossing
+ * the antimeridian wraps from the max x coordinate back to 0.
+ */
+public class TileRange {
+
+    /**
+     * Maximum Web Mercator latitude
+     */
+    private static final double MAX_LATITUDE = 85.0511287798066;
+
+    /**
+     * Zoom level
+     */
+    private final int zoom;
+
+    /**
+     * Min x coordinate
+     */
+    private final int minX;
+
+    /**
+     * Max x coordinate, less than the min x when wrapping the antimeridian
+     */
+    private final int maxX;
+
+    /**
+     * Min y coordinate
+     */
+    private final int minY;
+
+    /**
+     * Max y coordinate
+     */
+    private final int maxY;
+
+    /**
+     * Create a tile range covering the bounds
+     *
+     * @param bounds bounds
+     * @param zoom   zoom level
+     * @return tile range
+     */
+    public static TileRange create(Bounds bounds, int zoom) {
+        bounds = bounds.toDegrees();
+        return create(bounds.getWest(), bounds.getSouth(), bounds.getEast(), bounds.getNorth(), zoom);
+    }
+
+    /**
+     * Create a tile range covering the map bounds
+     *
+     * @param bounds map bounds
+     * @param zoom   zoom level
+     * @return tile range
+     */
+    public static TileRange create(LatLngBounds bounds, int zoom) {
+        return create(bounds.southwest.longitude, bounds.southwest.latitude,
+                bounds.northeast.longitude, bounds.northeast.latitude, zoom);
+    }
+
+    /**
+     * Create a tile range covering the degree bounds, west may be greater than
+     * east when crossing the antimeridian
+     *
+     * @param west  west longitude
+     * @param south south latitude
+     * @param east  east longitude
+     * @param north north latitude
+     * @param zoom  zoom level
+     * @return tile range
+     */
+    public static TileRange create(double west, double south, double east, double north, int zoom) {
+        return new TileRange(zoom, getX(west, zoom), getX(east, zoom), getY(north, zoom), getY(south, zoom));
+    }
+
+    /**
+     * Get the tile x coordinate containing the longitude
+     *
+     * @param longitude longitude in degrees
+     * @param zoom      zoom level
+     * @return x coordinate
+     */
+    public static int getX(double longitude, int zoom) {
+        int tiles = GridUtils.tilesPerSide(zoom);
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * tiles);
+        return Math.max(0, Math.min(tiles - 1, x));
+    }
+
+    /**
+     * Get the tile y coordinate containing the latitude
+     *
+     * @param latitude latitude in degrees
+     * @param zoom     zoom level
+     * @return y coordinate
+     */
+    public static int getY(double latitude, int zoom) {
+        int tiles = GridUtils.tilesPerSide(zoom);
+        latitude = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double radians = Math.toRadians(latitude);
+        double mercator = Math.log(Math.tan(radians) + 1.0 / Math.cos(radians));
+        int y = (int) Math.floor((1.0 - mercator / Math.PI) / 2.0 * tiles);
+        return Math.max(0, Math.min(tiles - 1, y));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param zoom zoom level
+     * @param minX min x coordinate
+     * @param maxX max x coordinate, less than min x when wrapping
+     * @param minY min y coordinate
+     * @param maxY max y coordinate
+     */
+    public TileRange(int zoom, int minX, int maxX, int minY, int maxY) {
+        this.zoom = zoom;
+        this.minX = minX;
+        this.maxX = maxX;
+        this.minY = minY;
+        this.maxY = maxY;
+    }
+
+    /**
+     * Get the zoom level
+     *
+     * @return zoom level
+     */
+    public int getZoom() {
+        return zoom;
+    }
+
+    /**
+     * Get the min x coordinate
+     *
+     * @return min x
+     */
+    public int getMinX() {
+        return minX;
+    }
+
+    /**
+     * Get the max x coordinate, less than the min x when wrapping the antimeridian
+     *
+     * @return max x
+     */
+    public int getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Get the min y coordinate
+     *
+     * @return min y
+     */
+    public int getMinY() {
+        return minY;
+    }
+
+    /**
+     * Get the max y coordinate
+     *
+     * @return max y
+     */
+    public int getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Get the number of tile columns
+     *
+     * @return columns
+     */
+    public int getColumns() {
+        int columns = maxX - minX + 1;
+        if (columns <= 0) {
+            columns += GridUtils.tilesPerSide(zoom);
+        }
+        return columns;
+    }
+
+    /**
+     * Get the number of tile rows
+     *
+     * @return rows
+     */
+    public int getRows() {
+        return maxY - minY + 1;
+    }
+
+    /**
+     * Get the number of tiles
+     *
+     * @return tile count
+     */
+    public long getCount() {
+        return (long) getColumns() * getRows();
+    }
+
+    /**
+     * Get the x coordinate of a column
+     *
+     * @param column column index
+     * @return x coordinate
+     */
+    public int getX(int column) {
+        return (minX + column) % GridUtils.tilesPerSide(zoom);
+    }
+
+    /**
+     * Get the y coordinate of a row
+     *
+     * @param row row index
+     * @return y coordinate
+     */
+    public int getY(int row) {
+        return minY + row;
+    }
+
+    /**
+     * Check if the tile is within the range
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return true if within
+     */
+    public boolean contains(int x, int y, int zoom) {
+        boolean contains = false;
+        if (zoom == this.zoom && y >= minY && y <= maxY) {
+            if (minX <= maxX) {
+                contains = x >= minX && x <= maxX;
+            } else {
+                contains = x >= minX || x <= maxX;
+            }
+        }
+        return contains;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "TileRange [zoom=" + zoom + ", x=" + minX + "-" + maxX + ", y=" + minY + "-" + maxY + "]";
+    }
+
+}
@@ -0,0 +1,475 @@
+package mil.nga.mgrs.tile;
+
+import com.google.android.gms.maps.model.LatLngBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Tile render scheduler limiting the number of concurrent renders. Waiting
+ * renders run in order of distance from the camera viewport, visible zoom
+ * tiles within the viewport first. A waiting render is dropped only when a
+ * render slot frees up and its tile is still outside the viewport, either by
+ * location or by a zoom level too far from the viewport zoom. Update the
+ * viewport as the camera moves and request dropped tiles again, see
+ * {@link #clearDropped()}.
+ */
+public class TileScheduler {
+
+    /**
+     * Default maximum zoom level distance from the viewport zoom before
+     * waiting renders may be dropped
+     */
+    public static final int DEFAULT_MAX_ZOOM_DELTA = 1;
+
+    /**
+     * Maximum number of concurrent renders
+     */
+    private int maxRenders;
+
+    /**
+     * Maximum zoom level distance from the viewport zoom before waiting
+     * renders may be dropped
+     */
+    private int maxZoomDelta = DEFAULT_MAX_ZOOM_DELTA;
+
+    /**
+     * Camera viewport tile range, null when unknown
+     */
+    private TileRange viewport;
+
+    /**
+     * Number of running renders
+     */
+    private int renders = 0;
+
+    /**
+     * Waiting renders in priority order
+     */
+    private final PriorityQueue<Request> waiting = new PriorityQueue<>();
+
+    /**
+     * Request sequence, orders requests of equal priority
+     */
+    private long sequence = 0;
+
+    /**
+     * Scheduled render count
+     */
+    private long scheduledCount = 0;
+
+    /**
+     * Dropped render count
+     */
+    private long droppedCount = 0;
+
+    /**
+     * True when renders have been dropped since last cleared
+     */
+    private boolean dropped = false;
+
+    /**
+     * Create a tile scheduler allowing one render per available processor
+     *
+     * @return tile scheduler
+     */
+    public static TileScheduler create() {
+        return new TileScheduler();
+    }
+
+    /**
+     * Create a tile scheduler
+     *
+     * @param maxRenders maximum number of concurrent renders
+     * @return tile scheduler
+     */
+    public static TileScheduler create(int maxRenders) {
+        return new TileScheduler(maxRenders);
+    }
+
+    /**
+     * Constructor, one render per available processor
+     */
+    public TileScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxRenders maximum number of concurrent renders
+     */
+    public TileScheduler(int maxRenders) {
+        setMaxRenders(maxRenders);
+    }
+
+    /**
+     * Get the maximum number of concurrent renders
+     *
+     * @return max renders
+     */
+    public synchronized int getMaxRenders() {
+        return maxRenders;
+    }
+
+    /**
+     * Set the maximum number of concurrent renders
+     *
+     * @param maxRenders max renders
+     */
+    public synchronized void setMaxRenders(int maxRenders) {
+        if (maxRenders < 1) {
+            throw new IllegalArgumentException("Max renders must be >= 1, max renders: " + maxRenders);
+        }
+        this.maxRenders = maxRenders;
+        dispatch();
+    }
+
+    /**
+     * Get the maximum zoom level distance from the viewport zoom before
+     * waiting renders may be dropped
+     *
+     * @return max zoom delta
+     */
+    public synchronized int getMaxZoomDelta() {
+        return maxZoomDelta;
+    }
+
+    /**
+     * Set the maximum zoom level distance from the viewport zoom before
+     * waiting renders may be dropped
+     *
+     * @param maxZoomDelta max zoom delta
+     */
+    public synchronized void setMaxZoomDelta(int maxZoomDelta) {
+        if (maxZoomDelta < 0) {
+            throw new IllegalArgumentException("Max zoom delta must be >= 0, max zoom delta: " + maxZoomDelta);
+        }
+        this.maxZoomDelta = maxZoomDelta;
+        reprioritize();
+    }
+
+    /**
+     * Get the camera viewport tile range
+     *
+     * @return viewport or null when unknown
+     */
+    public synchronized TileRange getViewport() {
+        return viewport;
+    }
+
+    /**
+     * Set the camera viewport from the visible map region bounds and the
+     * camera zoom, tiles being requested at the whole zoom level below
+     *
+     * @param bounds visible map region bounds
+     * @param zoom   camera zoom
+     */
+    public void setViewport(LatLngBounds bounds, float zoom) {
+        setViewport(TileRange.create(bounds, (int) Math.floor(zoom)));
+    }
+
+    /**
+     * Set the camera viewport tile range, reprioritizing waiting renders
+     *
+     * @param viewport viewport or null when unknown
+     */
+    public synchronized void setViewport(TileRange viewport) {
+        this.viewport = viewport;
+        reprioritize();
+    }
+
+    /**
+     * Clear the camera viewport, scheduling renders in request order without
+     * dropping
+     */
+    public void clearViewport() {
+        setViewport((TileRange) null);
+    }
+
+    /**
+     * Wait for a render slot for the tile, in viewport priority order
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return true if the render may run, false if dropped while waiting or
+     * interrupted. Call {@link #release()} after running.
+     */
+    public synchronized boolean acquire(int x, int y, int zoom) {
+
+        if (renders < maxRenders && waiting.isEmpty()) {
+            renders++;
+            scheduledCount++;
+            return true;
+        }
+
+        Request request = new Request(x, y, zoom, sequence++);
+        request.priority = getPriority(x, y, zoom);
+        waiting.add(request);
+
+        try {
+            while (!request.granted && !request.dropped) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (request.granted) {
+                release();
+            } else if (!request.dropped) {
+                waiting.remove(request);
+            }
+            return false;
+        }
+
+        return request.granted;
+    }
+
+    /**
+     * Release a render slot acquired by {@link #acquire(int, int, int)}
+     */
+    public synchronized void release() {
+        renders--;
+        dispatch();
+    }
+
+    /**
+     * Get the number of running renders
+     *
+     * @return running renders
+     */
+    public synchronized int getRenders() {
+        return renders;
+    }
+
+    /**
+     * Get the number of waiting renders
+     *
+     * @return waiting renders
+     */
+    public synchronized int getWaiting() {
+        return waiting.size();
+    }
+
+    /**
+     * Get the scheduled render count
+     *
+     * @return scheduled count
+     */
+    public synchronized long getScheduledCount() {
+        return scheduledCount;
+    }
+
+    /**
+     * Get the count of waiting renders dropped for tiles outside the viewport
+     *
+     * @return dropped count
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Check if renders have been dropped since the last call, clearing the
+     * check. The map retries dropped tiles with a backoff, so when true clear
+     * the tile overlay cache once the camera is idle to request the visible
+     * tiles again.
+     *
+     * @return true if renders were dropped
+     */
+    public synchronized boolean clearDropped() {
+        boolean cleared = dropped;
+        dropped = false;
+        return cleared;
+    }
+
+    /**
+     * Reset the scheduled and dropped counts
+     */
+    public synchronized void resetCounts() {
+        scheduledCount = 0;
+        droppedCount = 0;
+    }
+
+    /**
+     * Grant waiting renders in priority order while render slots are free,
+     * dropping renders for tiles outside the viewport
+     */
+    private void dispatch() {
+        boolean changed = false;
+        while (renders < maxRenders && !waiting.isEmpty()) {
+            Request request = waiting.poll();
+            if (isOutsideViewport(request.x, request.y, request.zoom)) {
+                request.dropped = true;
+                droppedCount++;
+                dropped = true;
+            } else {
+                request.granted = true;
+                renders++;
+                scheduledCount++;
+            }
+            changed = true;
+        }
+        if (changed) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Recompute the waiting render priorities for the current viewport
+     */
+    private void reprioritize() {
+        List<Request> requests = new ArrayList<>(waiting);
+        waiting.clear();
+        for (Request request : requests) {
+            request.priority = getPriority(request.x, request.y, request.zoom);
+            waiting.add(request);
+        }
+        dispatch();
+    }
+
+    /**
+     * Check if the tile is outside the viewport, at a zoom level too far from
+     * the viewport zoom or not overlapping the viewport tiles
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return true if outside
+     */
+    private boolean isOutsideViewport(int x, int y, int zoom) {
+        boolean outside = false;
+        if (viewport != null) {
+            int delta = zoom - viewport.getZoom();
+            if (Math.abs(delta) > maxZoomDelta) {
+                outside = true;
+            } else if (delta >= 0) {
+                outside = !viewport.contains(x >> delta, y >> delta, viewport.getZoom());
+            } else {
+                int scale = 1 << -delta;
+                int minX = x * scale;
+                int maxX = minX + scale - 1;
+                int minY = y * scale;
+                int maxY = minY + scale - 1;
+                boolean overlapsX;
+                if (viewport.getMinX() <= viewport.getMaxX()) {
+                    overlapsX = maxX >= viewport.getMinX() && minX <= viewport.getMaxX();
+                } else {
+                    overlapsX = maxX >= viewport.getMinX() || minX <= viewport.getMaxX();
+                }
+                outside = !overlapsX || maxY < viewport.getMinY() || minY > viewport.getMaxY();
+            }
+        }
+        return outside;
+    }
+
+    /**
+     * Get the render priority of the tile, lower first. Ordered by zoom level
+     * distance from the viewport zoom, then within before outside the viewport.
+     *
+     * @param x    x coordinate
+     * @param y    y coordinate
+     * @param zoom zoom level
+     * @return priority
+     */
+    private int getPriority(int x, int y, int zoom) {
+        int priority = 0;
+        if (viewport != null) {
+            int viewportZoom = viewport.getZoom();
+            int delta = zoom - viewportZoom;
+            if (delta > 0) {
+                x >>= delta;
+                y >>= delta;
+            } else if (delta < 0) {
+                int scale = 1 << -delta;
+                x = x * scale + scale / 2;
+                y = y * scale + scale / 2;
+            }
+            priority = Math.abs(delta) * 2;
+            if (!viewport.contains(x, y, viewportZoom)) {
+                priority++;
+            }
+        }
+        return priority;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return "TileScheduler [renders=" + renders + ", maxRenders=" + maxRenders + ", waiting=" + waiting.size()
+                + ", scheduled=" + scheduledCount + ", dropped=" + droppedCount + ", viewport=" + viewport + "]";
+    }
+
+    /**
+     * Waiting render request
+     */
+    private static class Request implements Comparable<Request> {
+
+        /**
+         * X coordinate
+         */
+        private final int x;
+
+        /**
+         * Y coordinate
+         */
+        private final int y;
+
+        /**
+         * Zoom level
+         */
+        private final int zoom;
+
+        /**
+         * Request sequence
+         */
+        private final long sequence;
+
+        /**
+         * Priority, lower first
+         */
+        private int priority;
+
+        /**
+         * Render slot granted
+         */
+        private boolean granted = false;
+
+        /**
+         * Render dropped
+         */
+        private boolean dropped = false;
+
+        /**
+         * Constructor
+         *
+         * @param x        x coordinate
+         * @param y        y coordinate
+         * @param zoom     zoom level
+         * @param sequence request sequence
+         */
+        private Request(int x, int y, int zoom, long sequence) {
+            this.x = x;
+            this.y = y;
+            this.zoom = zoom;
+            this.sequence = sequence;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int compareTo(Request other) {
+            int compare = Integer.compare(priority, other.priority);
+            if (compare == 0) {
+                compare = Long.compare(sequence, other.sequence);
+            }
+            return compare;
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package mil.nga.mgrs.tile;
+
+/**
+ * Tile seeding estimate of the tile count and encoded size
+ */
+public class TileSeedEstimate {
+
+    /**
+     * Number of tiles
+     */
+    private final long tiles;
+
+    /**
+     * Sampled average encoded tile size in bytes
+     */
+    private final long averageTileBytes;
+
+    /**
+     * Disk cache data block size in bytes
+     */
+    private final int blockSize;
+
+    /**
+     * Constructor
+     *
+     * @param tiles            number of tiles
+     * @param averageTileBytes sampled average encoded tile size in bytes
+     * @param blockSize        disk cache data block size in bytes
+     */
+    public TileSeedEstimate(long tiles, long averageTileBytes, int blockSize) {
+        this.tiles = tiles;
+        this.averageTileBytes = averageTileBytes;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Get the number of tiles
+     *
+     * @return tile count
+     */
+    public long getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Get the sampled average encoded tile size
+     *
+     * @return bytes
+     */
+    public long getAverageTileBytes() {
+        return averageTileBytes;
+    }
+
+    /**
+     * Get the estimated encoded size of all tiles
+     *
+     * @return bytes
+     */
+    public long getBytes() {
+        return tiles * averageTileBytes;
+    }
+
+    /**
+     * Get the estimated disk cache size of all tiles, rounded to whole blocks
+     *
+     * @return bytes
+     */
+    public long getDiskBytes() {
+        long blocks = Math.max(1, (averageTileBytes + blockSize - 1) / blockSize);
+        return tiles * blocks * blockSize;
+    }
+
+    /**
+     * Check if the estimated tiles fit within the disk cache size and tile
+     * capacity
+     *
+     * @param diskCache tile disk cache
+     * @return true if the tiles fit
+     */
+    public boolean fits(TileDiskCache diskCache) {
+        return getDiskBytes() <= diskCache.getMaxBytes() && tiles <= diskCache.getMaxTiles();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "TileSeedEstimate [tiles=" + tiles + ", averageTileBytes=" + averageTileBytes
+                + ", bytes=" + getBytes() + ", diskBytes=" + getDiskBytes() + "]";
+    }
+
+}
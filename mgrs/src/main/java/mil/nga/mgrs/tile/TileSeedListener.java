@@ -0,0 +1,22 @@
+package mil.nga.mgrs.tile;
+
+/**
+ * Tile seed task progress listener. Called from background seeding threads.
+ */
+public interface TileSeedListener {
+
+    /**
+     * Progress update after each tile
+     *
+     * @param task tile seed task
+     */
+    void onProgress(TileSeedTask task);
+
+    /**
+     * Seeding finished, completed or cancelled
+     *
+     * @param task tile seed task
+     */
+    void onFinished(TileSeedTask task);
+
+}
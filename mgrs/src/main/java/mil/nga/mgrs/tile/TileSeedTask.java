@@ -0,0 +1,317 @@
+package mil.nga.mgrs.tile;
+
+import android.util.Log;
+
+import com.google.android.gms.maps.model.Tile;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background task rendering a tile pyramid into a tile disk cache. Tiles with
+ * nothing to draw are cached as empty tile markers. Tiles already in the disk
+ * cache are skipped, so seeding the same region again resumes a cancelled or
+ * interrupted task.
+ */
+public class TileSeedTask {
+
+    /**
+     * Tile provider
+     */
+    private final MGRSTileProvider tileProvider;
+
+    /**
+     * Tile disk cache
+     */
+    private final TileDiskCache diskCache;
+
+    /**
+     * Tile ranges by zoom level
+     */
+    private final List<TileRange> ranges;
+
+    /**
+     * Number of render threads
+     */
+    private final int threads;
+
+    /**
+     * Progress listener
+     */
+    private final TileSeedListener listener;
+
+    /**
+     * Total number of tiles
+     */
+    private final long total;
+
+    /**
+     * Number of rendered tiles
+     */
+    private final AtomicLong rendered = new AtomicLong();
+
+    /**
+     * Number of tiles skipped as already cached
+     */
+    private final AtomicLong skipped = new AtomicLong();
+
+    /**
+     * Number of failed tiles
+     */
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Cancelled flag
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Finished latch
+     */
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    /**
+     * Constructor
+     *
+     * @param tileProvider tile provider
+     * @param diskCache    tile disk cache
+     * @param ranges       tile ranges
+     * @param threads      number of render threads
+     * @param listener     progress listener, may be null
+     */
+    TileSeedTask(MGRSTileProvider tileProvider, TileDiskCache diskCache,
+                 List<TileRange> ranges, int threads, TileSeedListener listener) {
+        this.tileProvider = tileProvider;
+        this.diskCache = diskCache;
+        this.ranges = ranges;
+        this.threads = threads;
+        this.listener = listener;
+        long total = 0;
+        for (TileRange range : ranges) {
+            total += range.getCount();
+        }
+        this.total = total;
+    }
+
+    /**
+     * Start seeding on a background thread
+     */
+    void start() {
+        Thread thread = new Thread(this::run, "MGRS Tile Seed");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Get the tile ranges
+     *
+     * @return tile ranges
+     */
+    public List<TileRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Get the total number of tiles
+     *
+     * @return tile count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the number of rendered tiles
+     *
+     * @return rendered count
+     */
+    public long getRendered() {
+        return rendered.get();
+    }
+
+    /**
+     * Get the number of tiles skipped as already cached
+     *
+     * @return skipped count
+     */
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Get the number of failed tiles
+     *
+     * @return failed count
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Get the number of processed tiles: rendered, skipped, and failed
+     *
+     * @return processed count
+     */
+    public long getProcessed() {
+        return rendered.get() + skipped.get() + failed.get();
+    }
+
+    /**
+     * Get the progress
+     *
+     * @return progress between 0.0 and 1.0
+     */
+    public double getProgress() {
+        return total > 0 ? Math.min(1.0, (double) getProcessed() / total) : 1.0;
+    }
+
+    /**
+     * Cancel the task, running tile renders finish and the rest are skipped
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Check if the task was cancelled
+     *
+     * @return true if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Check if the task finished, completed or cancelled
+     *
+     * @return true if finished
+     */
+    public boolean isFinished() {
+        return finished.getCount() == 0;
+    }
+
+    /**
+     * Wait for the task to finish
+     *
+     * @throws InterruptedException upon interruption
+     */
+    public void await() throws InterruptedException {
+        finished.await();
+    }
+
+    /**
+     * Wait for the task to finish
+     *
+     * @param timeout timeout
+     * @param unit    timeout unit
+     * @return true if finished, false if timed out
+     * @throws InterruptedException upon interruption
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    /**
+     * Enumerate the tile pyramid and render uncached tiles on a bounded executor
+     */
+    private void run() {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore permits = new Semaphore(threads * 2);
+        int width = tileProvider.getTileWidth();
+        int height = tileProvider.getTileHeight();
+        int styleHash = tileProvider.getGrids().getStyleHash();
+        int formatHash = tileProvider.getEncoder().getFormatHash();
+
+        try {
+            seed:
+            for (TileRange range : ranges) {
+                int zoom = range.getZoom();
+                for (int column = 0; column < range.getColumns(); column++) {
+                    int x = range.getX(column);
+                    for (int row = 0; row < range.getRows(); row++) {
+                        if (cancelled) {
+                            break seed;
+                        }
+                        int y = range.getY(row);
+                        TileKey key = TileKey.create(x, y, zoom, width, height, styleHash, formatHash);
+                        if (diskCache.contains(key)) {
+                            skipped.incrementAndGet();
+                            progress();
+                        } else {
+                            permits.acquire();
+                            executor.execute(() -> {
+                                try {
+                                    seed(key);
+                                } finally {
+                                    permits.release();
+                                }
+                            });
+                        }
+                    }
+                }
+            }
+            if (cancelled) {
+                executor.shutdownNow();
+            } else {
+                executor.shutdown();
+            }
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            cancelled = true;
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            diskCache.flush();
+            finished.countDown();
+            if (listener != null) {
+                listener.onFinished(this);
+            }
+        }
+    }
+
+    /**
+     * Render and store a tile
+     *
+     * @param key tile key
+     */
+    private void seed(TileKey key) {
+        if (cancelled) {
+            return;
+        }
+        try {
+            if (tileProvider.getGrids().getStyleHash() != key.getStyleHash()
+                    || tileProvider.getEncoder().getFormatHash() != key.getFormatHash()) {
+                // Grids or encoder changed while seeding, stop writing stale tiles
+                cancelled = true;
+                return;
+            }
+            Tile tile = tileProvider.createTile(key.getX(), key.getY(), key.getZoom());
+            if (tile == null || tile.data == null || tile == tileProvider.getEmptyTile()) {
+                diskCache.putEmpty(key);
+            } else {
+                diskCache.put(key, tile);
+            }
+            rendered.incrementAndGet();
+        } catch (RuntimeException e) {
+            Log.w(TileSeedTask.class.getSimpleName(), "Failed to seed tile: " + key, e);
+            failed.incrementAndGet();
+        }
+        progress();
+    }
+
+    /**
+     * Notify the listener of progress
+     */
+    private void progress() {
+        if (listener != null) {
+            listener.onProgress(this);
+        }
+    }
+
+}
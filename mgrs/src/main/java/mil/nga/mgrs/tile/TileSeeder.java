@@ -0,0 +1,276 @@
+package mil.nga.mgrs.tile;
+
+import android.util.Log;
+
+import com.google.android.gms.maps.model.Tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import mil.nga.grid.features.Bounds;
+
+/**
+ * Offline region tile seeder, rendering every tile in a bounds and zoom range
+ * pyramid on a bounded background executor into a persistent tile disk cache
+ */
+public class TileSeeder {
+
+    /**
+     * Default number of sample tiles rendered when estimating sizes
+     */
+    public static final int DEFAULT_SAMPLE_TILES = 8;
+
+    /**
+     * Tile provider
+     */
+    private final MGRSTileProvider tileProvider;
+
+    /**
+     * Tile disk cache
+     */
+    private final TileDiskCache diskCache;
+
+    /**
+     * Number of render threads
+     */
+    private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    /**
+     * Number of sample tiles rendered when estimating sizes
+     */
+    private int sampleTiles = DEFAULT_SAMPLE_TILES;
+
+    /**
+     * Create a tile seeder into the tile provider disk cache
+     *
+     * @param tileProvider tile provider with a disk cache
+     * @return tile seeder
+     */
+    public static TileSeeder create(MGRSTileProvider tileProvider) {
+        TileDiskCache diskCache = tileProvider.getDiskCache();
+        if (diskCache == null) {
+            throw new IllegalStateException("Tile provider does not have a disk cache");
+        }
+        return create(tileProvider, diskCache);
+    }
+
+    /**
+     * Create a tile seeder
+     *
+     * @param tileProvider tile provider
+     * @param diskCache    tile disk cache
+     * @return tile seeder
+     */
+    public static TileSeeder create(MGRSTileProvider tileProvider, TileDiskCache diskCache) {
+        return new TileSeeder(tileProvider, diskCache);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param tileProvider tile provider
+     * @param diskCache    tile disk cache
+     */
+    public TileSeeder(MGRSTileProvider tileProvider, TileDiskCache diskCache) {
+        this.tileProvider = tileProvider;
+        this.diskCache = diskCache;
+    }
+
+    /**
+     * Get the tile provider
+     *
+     * @return tile provider
+     */
+    public MGRSTileProvider getTileProvider() {
+        return tileProvider;
+    }
+
+    /**
+     * Get the tile disk cache
+     *
+     * @return tile disk cache
+     */
+    public TileDiskCache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Get the number of render threads
+     *
+     * @return threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Set the number of render threads
+     *
+     * @param threads threads
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be >= 1, threads: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Get the number of sample tiles rendered when estimating sizes
+     *
+     * @return sample tiles
+     */
+    public int getSampleTiles() {
+        return sampleTiles;
+    }
+
+    /**
+     * Set the number of sample tiles rendered when estimating sizes
+     *
+     * @param sampleTiles sample tiles
+     */
+    public void setSampleTiles(int sampleTiles) {
+        this.sampleTiles = sampleTiles;
+    }
+
+    /**
+     * Get the tile ranges of the pyramid
+     *
+     * @param bounds  bounds
+     * @param minZoom min zoom level
+     * @param maxZoom max zoom level
+     * @return tile ranges
+     */
+    public static List<TileRange> getRanges(Bounds bounds, int minZoom, int maxZoom) {
+        if (minZoom > maxZoom) {
+            throw new IllegalArgumentException("Min zoom '" + minZoom
+                    + "' can not be larger than max zoom '" + maxZoom + "'");
+        }
+        List<TileRange> ranges = new ArrayList<>();
+        for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+            ranges.add(TileRange.create(bounds, zoom));
+        }
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * Count the tiles in the pyramid
+     *
+     * @param bounds  bounds
+     * @param minZoom min zoom level
+     * @param maxZoom max zoom level
+     * @return tile count
+     */
+    public static long count(Bounds bounds, int minZoom, int maxZoom) {
+        long count = 0;
+        for (TileRange range : getRanges(bounds, minZoom, maxZoom)) {
+            count += range.getCount();
+        }
+        return count;
+    }
+
+    /**
+     * Estimate the tile count and size of the pyramid by rendering sample tiles
+     * spread across the zoom levels. The sample tiles render on the calling
+     * thread, call from a background thread. Logs a warning when the estimate
+     * does not fit within the disk cache size or tile capacity, see
+     * {@link TileSeedEstimate#fits(TileDiskCache)}.
+     *
+     * @param bounds  bounds
+     * @param minZoom min zoom level
+     * @param maxZoom max zoom level
+     * @return estimate
+     */
+    public TileSeedEstimate estimate(Bounds bounds, int minZoom, int maxZoom) {
+
+        List<TileRange> ranges = getRanges(bounds, minZoom, maxZoom);
+        long count = 0;
+        for (TileRange range : ranges) {
+            count += range.getCount();
+        }
+
+        long sampleBytes = 0;
+        int samples = 0;
+        if (count > 0 && sampleTiles > 0) {
+            long step = Math.max(1, count / sampleTiles);
+            for (long index = step / 2; index < count && samples < sampleTiles; index += step) {
+                Tile tile = createTile(ranges, index);
+                if (tile != null && tile.data != null) {
+                    sampleBytes += tile.data.length;
+                }
+                samples++;
+            }
+        }
+        long averageTileBytes = samples > 0 ? sampleBytes / samples : 0;
+
+        TileSeedEstimate estimate = new TileSeedEstimate(count, averageTileBytes, diskCache.getBlockSize());
+        if (!estimate.fits(diskCache)) {
+            Log.w(TileSeeder.class.getSimpleName(), "Seed estimate exceeds the disk cache size or tile capacity, "
+                    + "seeded tiles will evict each other. Estimate: " + estimate
+                    + ", Max Bytes: " + diskCache.getMaxBytes() + ", Max Tiles: " + diskCache.getMaxTiles());
+        }
+        return estimate;
+    }
+
+    /**
+     * Start seeding the pyramid into the disk cache. Tiles already cached are
+     * skipped, seeding the same region again resumes a cancelled task.
+     *
+     * @param bounds  bounds
+     * @param minZoom min zoom level
+     * @param maxZoom max zoom level
+     * @return running seed task
+     */
+    public TileSeedTask seed(Bounds bounds, int minZoom, int maxZoom) {
+        return seed(bounds, minZoom, maxZoom, null);
+    }
+
+    /**
+     * Start seeding the pyramid into the disk cache. Tiles already cached are
+     * skipped, seeding the same region again resumes a cancelled task. Logs a
+     * warning when the tile count exceeds the disk cache tile capacity, check
+     * {@link #estimate(Bounds, int, int)} first to compare the estimated size.
+     *
+     * @param bounds   bounds
+     * @param minZoom  min zoom level
+     * @param maxZoom  max zoom level
+     * @param listener progress listener, called on background threads
+     * @return running seed task
+     */
+    public TileSeedTask seed(Bounds bounds, int minZoom, int maxZoom, TileSeedListener listener) {
+        TileSeedTask task = new TileSeedTask(tileProvider, diskCache,
+                getRanges(bounds, minZoom, maxZoom), threads, listener);
+        if (task.getTotal() > diskCache.getMaxTiles()) {
+            Log.w(TileSeeder.class.getSimpleName(), "Seed tile count exceeds the disk cache capacity, "
+                    + "seeded tiles will evict each other. Tiles: " + task.getTotal()
+                    + ", Max Tiles: " + diskCache.getMaxTiles());
+        }
+        task.start();
+        return task;
+    }
+
+    /**
+     * Create the tile at the pyramid index
+     *
+     * @param ranges tile ranges
+     * @param index  tile index across the ranges
+     * @return tile or null
+     */
+    private Tile createTile(List<TileRange> ranges, long index) {
+        Tile tile = null;
+        for (TileRange range : ranges) {
+            long count = range.getCount();
+            if (index < count) {
+                int rows = range.getRows();
+                int x = range.getX((int) (index / rows));
+                int y = range.getY((int) (index % rows));
+                tile = tileProvider.createTile(x, y, range.getZoom());
+                break;
+            }
+            index -= count;
+        }
+        return tile;
+    }
+
+}
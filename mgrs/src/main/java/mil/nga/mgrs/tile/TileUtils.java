@@ -139,6 +139,23 @@ public class TileUtils {
         return bytes;
     }
 
+    /**
+     * Encode the bitmap to a byte array
+     *
+     * @param bitmap  bitmap
+     * @param encoder tile encoder, null for default PNG compression
+     * @return bytes
+     */
+    public static byte[] toBytes(Bitmap bitmap, TileEncoder encoder) {
+        byte[] bytes;
+        if (encoder != null) {
+            bytes = bitmap != null ? encoder.encode(bitmap) : null;
+        } else {
+            bytes = toBytes(bitmap);
+        }
+        return bytes;
+    }
+
     /**
      * Compress the bitmap to a tile
      *
@@ -146,12 +163,23 @@ public class TileUtils {
      * @return tile
      */
     public static Tile toTile(Bitmap bitmap) {
+        return toTile(bitmap, (TileEncoder) null);
+    }
+
+    /**
+     * Encode the bitmap to a tile
+     *
+     * @param bitmap  bitmap
+     * @param encoder tile encoder, null for default PNG compression
+     * @return tile
+     */
+    public static Tile toTile(Bitmap bitmap, TileEncoder encoder) {
 
         Tile tile = null;
 
         if (bitmap != null) {
 
-            byte[] bytes = toBytes(bitmap);
+            byte[] bytes = toBytes(bitmap, encoder);
 
             if (bytes != null) {
                 tile = new Tile(bitmap.getWidth(), bitmap.getHeight(), bytes);
@@ -163,6 +191,56 @@ public class TileUtils {
         return tile;
     }
 
+    /**
+     * Compress the bitmap to a tile and release the bitmap to the pool
+     *
+     * @param bitmap     bitmap
+     * @param bitmapPool bitmap pool
+     * @return tile
+     */
+    public static Tile toTile(Bitmap bitmap, BitmapPool bitmapPool) {
+        return toTile(bitmap, bitmapPool, null);
+    }
+
+    /**
+     * Encode the bitmap to a tile and release the bitmap to the pool
+     *
+     * @param bitmap     bitmap
+     * @param bitmapPool bitmap pool
+     * @param encoder    tile encoder, null for default PNG compression
+     * @return tile
+     */
+    public static Tile toTile(Bitmap bitmap, BitmapPool bitmapPool, TileEncoder encoder) {
+
+        Tile tile = null;
+
+        if (bitmap != null) {
+
+            try {
+                byte[] bytes = toBytes(bitmap, encoder);
+
+                if (bytes != null) {
+                    tile = new Tile(bitmap.getWidth(), bitmap.getHeight(), bytes);
+                }
+            } finally {
+                bitmapPool.release(bitmap);
+            }
+        }
+
+        return tile;
+    }
+
+    /**
+     * Create a transparent tile
+     *
+     * @param width  tile width
+     * @param height tile height
+     * @return transparent tile
+     */
+    public static Tile transparentTile(int width, int height) {
+        return toTile(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+    }
+
     /**
      * Convert a map coordinate to a point
      *
@@ -0,0 +1,531 @@
+package mil.nga.mgrs.tile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Mapbox Vector Tile (version 2.1) encoder of grid lines and labels. Lines
+ * are written to the {@link #LINES_LAYER} layer as one multi line string
+ * feature per grid type, and labels to the {@link #LABELS_LAYER} layer as
+ * point features. Features carry a {@link #TYPE_KEY} property and labels a
+ * {@link #NAME_KEY} property. Reusable across tiles after {@link #reset()}.
+ */
+public class VectorTileEncoder {
+
+    /**
+     * Default tile extent in coordinate units
+     */
+    public static final int DEFAULT_EXTENT = 4096;
+
+    /**
+     * Lines layer name
+     */
+    public static final String LINES_LAYER = "lines";
+
+    /**
+     * Labels layer name
+     */
+    public static final String LABELS_LAYER = "labels";
+
+    /**
+     * Grid type property key, values are {@link GridType} names
+     */
+    public static final String TYPE_KEY = "type";
+
+    /**
+     * Label name property key
+     */
+    public static final String NAME_KEY = "name";
+
+    /**
+     * Vector tile specification version
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Point geometry type
+     */
+    private static final int POINT = 1;
+
+    /**
+     * Line string geometry type
+     */
+    private static final int LINESTRING = 2;
+
+    /**
+     * Move to geometry command
+     */
+    private static final int MOVE_TO = 1;
+
+    /**
+     * Line to geometry command
+     */
+    private static final int LINE_TO = 2;
+
+    /**
+     * Varint wire type
+     */
+    private static final int VARINT = 0;
+
+    /**
+     * Length delimited wire type
+     */
+    private static final int LENGTH_DELIMITED = 2;
+
+    /**
+     * Tile extent in coordinate units
+     */
+    private final int extent;
+
+    /**
+     * Line segments by grid type ordinal as x0, y0, x1, y1
+     */
+    private final int[][] lines = new int[GridType.values().length][];
+
+    /**
+     * Line segment coordinate counts by grid type ordinal
+     */
+    private final int[] lineCounts = new int[lines.length];
+
+    /**
+     * Label grid types
+     */
+    private GridType[] labelTypes = new GridType[16];
+
+    /**
+     * Label names
+     */
+    private String[] labelNames = new String[labelTypes.length];
+
+    /**
+     * Label coordinates as x, y
+     */
+    private int[] labelPoints = new int[labelTypes.length * 2];
+
+    /**
+     * Label count
+     */
+    private int labelCount = 0;
+
+    /**
+     * Layer value indices
+     */
+    private final Map<String, Integer> values = new HashMap<>();
+
+    /**
+     * Layer values in index order
+     */
+    private String[] valueList = new String[16];
+
+    /**
+     * Tile writer
+     */
+    private final ProtoWriter tile = new ProtoWriter();
+
+    /**
+     * Layer writer
+     */
+    private final ProtoWriter layer = new ProtoWriter();
+
+    /**
+     * Feature writer
+     */
+    private final ProtoWriter feature = new ProtoWriter();
+
+    /**
+     * Packed field writer
+     */
+    private final ProtoWriter packed = new ProtoWriter();
+
+    /**
+     * Constructor, default extent
+     */
+    public VectorTileEncoder() {
+        this(DEFAULT_EXTENT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param extent tile extent in coordinate units
+     */
+    public VectorTileEncoder(int extent) {
+        if (extent <= 0) {
+            throw new IllegalArgumentException("Extent must be > 0, extent: " + extent);
+        }
+        this.extent = extent;
+    }
+
+    /**
+     * Get the tile extent in coordinate units
+     *
+     * @return extent
+     */
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * Add a line segment in tile coordinates
+     *
+     * @param type grid type
+     * @param x0   start x
+     * @param y0   start y
+     * @param x1   end x
+     * @param y1   end y
+     */
+    public void addLine(GridType type, int x0, int y0, int x1, int y1) {
+        int index = type.ordinal();
+        int[] segments = lines[index];
+        int count = lineCounts[index];
+        if (segments == null) {
+            segments = new int[64];
+            lines[index] = segments;
+        } else if (count + 4 > segments.length) {
+            segments = Arrays.copyOf(segments, segments.length * 2);
+            lines[index] = segments;
+        }
+        segments[count] = x0;
+        segments[count + 1] = y0;
+        segments[count + 2] = x1;
+        segments[count + 3] = y1;
+        lineCounts[index] = count + 4;
+    }
+
+    /**
+     * Add a label point in tile coordinates
+     *
+     * @param type grid type
+     * @param name label name
+     * @param x    x
+     * @param y    y
+     */
+    public void addLabel(GridType type, String name, int x, int y) {
+        if (labelCount == labelTypes.length) {
+            labelTypes = Arrays.copyOf(labelTypes, labelCount * 2);
+            labelNames = Arrays.copyOf(labelNames, labelCount * 2);
+            labelPoints = Arrays.copyOf(labelPoints, labelCount * 4);
+        }
+        labelTypes[labelCount] = type;
+        labelNames[labelCount] = name;
+        labelPoints[labelCount * 2] = x;
+        labelPoints[labelCount * 2 + 1] = y;
+        labelCount++;
+    }
+
+    /**
+     * Check if no lines or labels have been added
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        boolean empty = labelCount == 0;
+        for (int i = 0; empty && i < lineCounts.length; i++) {
+            empty = lineCounts[i] == 0;
+        }
+        return empty;
+    }
+
+    /**
+     * Clear the added lines and labels
+     */
+    public void reset() {
+        Arrays.fill(lineCounts, 0);
+        Arrays.fill(labelNames, 0, labelCount, null);
+        Arrays.fill(labelTypes, 0, labelCount, null);
+        labelCount = 0;
+    }
+
+    /**
+     * Encode the added lines and labels as vector tile protobuf bytes
+     *
+     * @return vector tile bytes
+     */
+    public byte[] encode() {
+        tile.reset();
+        if (writeLinesLayer()) {
+            tile.writeMessage(3, layer);
+        }
+        if (writeLabelsLayer()) {
+            tile.writeMessage(3, layer);
+        }
+        return tile.toByteArray();
+    }
+
+    /**
+     * Write the lines layer
+     *
+     * @return true if written
+     */
+    private boolean writeLinesLayer() {
+        startLayer(LINES_LAYER);
+        boolean written = false;
+        for (GridType type : GridType.values()) {
+            int count = lineCounts[type.ordinal()];
+            if (count > 0) {
+                feature.reset();
+                packed.reset();
+                packed.writeVarint(0);
+                packed.writeVarint(getValueIndex(type.name()));
+                feature.writeMessage(2, packed);
+                feature.writeTag(3, VARINT);
+                feature.writeVarint(LINESTRING);
+                writeLines(lines[type.ordinal()], count);
+                feature.writeMessage(4, packed);
+                layer.writeMessage(2, feature);
+                written = true;
+            }
+        }
+        if (written) {
+            endLayer(TYPE_KEY);
+        }
+        return written;
+    }
+
+    /**
+     * Write the line segments as multi line string geometry commands to the
+     * packed writer, joining consecutive connected segments
+     *
+     * @param segments line segments
+     * @param count    segment coordinate count
+     */
+    private void writeLines(int[] segments, int count) {
+        packed.reset();
+        int cursorX = 0;
+        int cursorY = 0;
+        int start = 0;
+        while (start < count) {
+            int end = start + 4;
+            while (end < count && segments[end] == segments[end - 2]
+                    && segments[end + 1] == segments[end - 1]) {
+                end += 4;
+            }
+            packed.writeVarint(command(MOVE_TO, 1));
+            packed.writeVarint(zigZag(segments[start] - cursorX));
+            packed.writeVarint(zigZag(segments[start + 1] - cursorY));
+            cursorX = segments[start];
+            cursorY = segments[start + 1];
+            packed.writeVarint(command(LINE_TO, (end - start) / 4));
+            for (int i = start + 2; i < end; i += 4) {
+                packed.writeVarint(zigZag(segments[i] - cursorX));
+                packed.writeVarint(zigZag(segments[i + 1] - cursorY));
+                cursorX = segments[i];
+                cursorY = segments[i + 1];
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Write the labels layer
+     *
+     * @return true if written
+     */
+    private boolean writeLabelsLayer() {
+        boolean written = labelCount > 0;
+        if (written) {
+            startLayer(LABELS_LAYER);
+            for (int i = 0; i < labelCount; i++) {
+                feature.reset();
+                packed.reset();
+                packed.writeVarint(0);
+                packed.writeVarint(getValueIndex(labelTypes[i].name()));
+                packed.writeVarint(1);
+                packed.writeVarint(getValueIndex(labelNames[i]));
+                feature.writeMessage(2, packed);
+                feature.writeTag(3, VARINT);
+                feature.writeVarint(POINT);
+                packed.reset();
+                packed.writeVarint(command(MOVE_TO, 1));
+                packed.writeVarint(zigZag(labelPoints[i * 2]));
+                packed.writeVarint(zigZag(labelPoints[i * 2 + 1]));
+                feature.writeMessage(4, packed);
+                layer.writeMessage(2, feature);
+            }
+            endLayer(TYPE_KEY, NAME_KEY);
+        }
+        return written;
+    }
+
+    /**
+     * Start a layer with the name and version
+     *
+     * @param name layer name
+     */
+    private void startLayer(String name) {
+        layer.reset();
+        values.clear();
+        layer.writeTag(15, VARINT);
+        layer.writeVarint(VERSION);
+        layer.writeString(1, name);
+    }
+
+    /**
+     * End the layer with the keys, values, and extent
+     *
+     * @param keys layer keys
+     */
+    private void endLayer(String... keys) {
+        for (String key : keys) {
+            layer.writeString(3, key);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            feature.reset();
+            feature.writeString(1, valueList[i]);
+            layer.writeMessage(4, feature);
+        }
+        layer.writeTag(5, VARINT);
+        layer.writeVarint(extent);
+    }
+
+    /**
+     * Get the layer value index of the string value, adding if needed
+     *
+     * @param value string value
+     * @return value index
+     */
+    private int getValueIndex(String value) {
+        Integer index = values.get(value);
+        if (index == null) {
+            index = values.size();
+            values.put(value, index);
+            if (index == valueList.length) {
+                valueList = Arrays.copyOf(valueList, index * 2);
+            }
+            valueList[index] = value;
+        }
+        return index;
+    }
+
+    /**
+     * Create a geometry command integer
+     *
+     * @param id    command id
+     * @param count command count
+     * @return command integer
+     */
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    /**
+     * Zig zag encode a geometry parameter
+     *
+     * @param value parameter
+     * @return encoded parameter
+     */
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Growable protobuf writer
+     */
+    private static class ProtoWriter {
+
+        /**
+         * Buffer
+         */
+        private byte[] buffer = new byte[256];
+
+        /**
+         * Written length
+         */
+        private int length = 0;
+
+        /**
+         * Clear the written bytes
+         */
+        private void reset() {
+            length = 0;
+        }
+
+        /**
+         * Write a field tag
+         *
+         * @param field    field number
+         * @param wireType wire type
+         */
+        private void writeTag(int field, int wireType) {
+            writeVarint((field << 3) | wireType);
+        }
+
+        /**
+         * Write an unsigned varint
+         *
+         * @param value value
+         */
+        private void writeVarint(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        /**
+         * Write a string field
+         *
+         * @param field field number
+         * @param value string value
+         */
+        private void writeString(int field, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeTag(field, LENGTH_DELIMITED);
+            writeVarint(bytes.length);
+            writeBytes(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Write the contents of another writer as a length delimited field
+         *
+         * @param field   field number
+         * @param message message writer
+         */
+        private void writeMessage(int field, ProtoWriter message) {
+            writeTag(field, LENGTH_DELIMITED);
+            writeVarint(message.length);
+            writeBytes(message.buffer, 0, message.length);
+        }
+
+        /**
+         * Write bytes
+         *
+         * @param bytes  bytes
+         * @param offset offset
+         * @param count  byte count
+         */
+        private void writeBytes(byte[] bytes, int offset, int count) {
+            ensureCapacity(count);
+            System.arraycopy(bytes, offset, buffer, length, count);
+            length += count;
+        }
+
+        /**
+         * Ensure capacity for additional bytes
+         *
+         * @param count additional byte count
+         */
+        private void ensureCapacity(int count) {
+            if (length + count > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + count));
+            }
+        }
+
+        /**
+         * Copy the written bytes
+         *
+         * @return bytes
+         */
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+
+    }
+
+}
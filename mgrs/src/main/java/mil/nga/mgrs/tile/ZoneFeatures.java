@@ -0,0 +1,121 @@
+package mil.nga.mgrs.tile;
+
+import java.util.List;
+
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.style.Grid;
+import mil.nga.mgrs.grid.style.GridPaints;
+import mil.nga.mgrs.gzd.GridZone;
+
+/**
+ * Lines and labels of a grid within a grid zone to draw on a tile
+ */
+public class ZoneFeatures {
+
+    /**
+     * Grid
+     */
+    private final Grid grid;
+
+    /**
+     * Grid paints at the time the features were collected
+     */
+    private final GridPaints paints;
+
+    /**
+     * Grid zone
+     */
+    private final GridZone zone;
+
+    /**
+     * Visible lines
+     */
+    private final List<GridLine> lines;
+
+    /**
+     * Labels
+     */
+    private final List<GridLabel> labels;
+
+    /**
+     * Constructor
+     *
+     * @param grid   grid
+     * @param paints grid paints
+     * @param zone   grid zone
+     * @param lines  visible lines
+     * @param labels labels
+     */
+    public ZoneFeatures(Grid grid, GridPaints paints, GridZone zone, List<GridLine> lines, List<GridLabel> labels) {
+        this.grid = grid;
+        this.paints = paints;
+        this.zone = zone;
+        this.lines = lines;
+        this.labels = labels;
+    }
+
+    /**
+     * Get the grid
+     *
+     * @return grid
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the grid paints at the time the features were collected
+     *
+     * @return grid paints
+     */
+    public GridPaints getPaints() {
+        return paints;
+    }
+
+    /**
+     * Get the grid zone
+     *
+     * @return grid zone
+     */
+    public GridZone getZone() {
+        return zone;
+    }
+
+    /**
+     * Get the visible lines
+     *
+     * @return lines
+     */
+    public List<GridLine> getLines() {
+        return lines;
+    }
+
+    /**
+     * Check if there are visible lines
+     *
+     * @return true if has lines
+     */
+    public boolean hasLines() {
+        return lines != null && !lines.isEmpty();
+    }
+
+    /**
+     * Get the labels
+     *
+     * @return labels
+     */
+    public List<GridLabel> getLabels() {
+        return labels;
+    }
+
+    /**
+     * Check if there are labels
+     *
+     * @return true if has labels
+     */
+    public boolean hasLabels() {
+        return labels != null && !labels.isEmpty();
+    }
+
+}
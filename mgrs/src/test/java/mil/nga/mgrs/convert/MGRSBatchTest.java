@@ -0,0 +1,243 @@
+package mil.nga.mgrs.convert;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.nio.CharBuffer;
+import java.text.ParseException;
+import java.util.Random;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * MGRS batch conversion tests, compared against the MGRS library
+ */
+public class MGRSBatchTest {
+
+    /**
+     * Number of random points
+     */
+    private static final int COUNT = 2000;
+
+    /**
+     * Test converting to coordinates across threads at each precision
+     */
+    @Test
+    public void testToCoordinates() {
+
+        double[][] points = randomPoints(COUNT);
+        MGRSBatch batch = MGRSBatch.create(4);
+        batch.setMinSplitSize(100);
+
+        for (GridType precision : GridType.values()) {
+            String[] coordinates = batch.toCoordinates(points[0], points[1], precision);
+            assertEquals(COUNT, coordinates.length);
+            for (int i = 0; i < COUNT; i++) {
+                assertEquals(libraryCoordinate(points[0][i], points[1][i], precision), coordinates[i]);
+            }
+            assertArrayEquals(coordinates, MGRSBatch.create(1).toCoordinates(points[0], points[1], precision));
+        }
+    }
+
+    /**
+     * Test converting to packed coordinates padded to the packed length
+     */
+    @Test
+    public void testToPackedCoordinates() {
+
+        double[][] points = randomPoints(COUNT);
+        MGRSBatch batch = MGRSBatch.create(3);
+        batch.setMinSplitSize(64);
+
+        for (GridType precision : GridType.values()) {
+            int stride = MGRSBatch.getPackedLength(precision);
+            assertEquals(MGRSConverter.getMaxLength(precision), stride);
+            char[] packed = batch.toPackedCoordinates(points[0], points[1], precision);
+            assertEquals(COUNT * stride, packed.length);
+            for (int i = 0; i < COUNT; i++) {
+                String coordinate = libraryCoordinate(points[0][i], points[1][i], precision);
+                String entry = new String(packed, i * stride, stride);
+                assertTrue(entry.startsWith(coordinate));
+                for (int j = coordinate.length(); j < stride; j++) {
+                    assertEquals(MGRSBatch.PADDING, entry.charAt(j));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test parsing coordinate arrays, including null and invalid entries
+     *
+     * @throws ParseException upon failure to parse
+     */
+    @Test
+    public void testParse() throws ParseException {
+
+        double[][] points = randomPoints(COUNT);
+        MGRSBatch batch = MGRSBatch.create(4);
+        batch.setMinSplitSize(100);
+
+        GridType[] precisions = GridType.values();
+        CharSequence[] coordinates = new CharSequence[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            GridType precision = precisions[i % precisions.length];
+            coordinates[i] = libraryCoordinate(points[0][i], points[1][i], precision);
+        }
+        coordinates[7] = null;
+        coordinates[11] = "";
+        coordinates[13] = "32XVG";
+        coordinates[17] = "18SUJ2348";
+        coordinates[19] = "61CVF";
+
+        double[] latitudes = new double[COUNT];
+        double[] longitudes = new double[COUNT];
+        byte[] statuses = batch.parse(coordinates, latitudes, longitudes);
+
+        for (int i = 0; i < COUNT; i++) {
+            CharSequence coordinate = coordinates[i];
+            if (i == 7 || i == 11 || i == 13 || i == 19) {
+                assertTrue(statuses[i] != MGRSParser.VALID);
+                assertTrue(Double.isNaN(latitudes[i]));
+                assertTrue(Double.isNaN(longitudes[i]));
+            } else {
+                assertEquals(coordinate.toString(), MGRSParser.VALID, statuses[i]);
+                Point point = MGRS.parse(coordinate.toString()).toPoint().toDegrees();
+                assertEquals(point.getLatitude(), latitudes[i], 0.0);
+                assertEquals(point.getLongitude(), longitudes[i], 0.0);
+            }
+        }
+        assertEquals(MGRSParser.INVALID_FORMAT, statuses[7]);
+        assertEquals(MGRSParser.INVALID_FORMAT, statuses[11]);
+        assertEquals(MGRSParser.INVALID_ZONE, statuses[13]);
+        assertEquals(MGRSParser.VALID, statuses[17]);
+        assertEquals(MGRSParser.INVALID_ZONE, statuses[19]);
+    }
+
+    /**
+     * Test parsing delimited coordinates with whitespace, empty entries, and
+     * a trailing delimiter
+     *
+     * @throws ParseException upon failure to parse
+     */
+    @Test
+    public void testParseDelimited() throws ParseException {
+
+        String[] entries = {"33UXP0500444996", " 18S UJ 23487 06483 ", "", "31U", "4QFJ1234", "  ", "31UDQ", "bad"};
+        StringBuilder text = new StringBuilder();
+        for (String entry : entries) {
+            text.append(entry).append(';');
+        }
+
+        assertEquals(entries.length, MGRSBatch.getEntryCount(text, ';'));
+        text.setLength(text.length() - 1);
+        assertEquals(entries.length, MGRSBatch.getEntryCount(text, ';'));
+        assertEquals(0, MGRSBatch.getEntryCount("", ';'));
+        assertEquals(2, MGRSBatch.getEntryCount(";;", ';'));
+        assertEquals(3, MGRSBatch.getEntryCount(";;x", ';'));
+
+        double[] latitudes = new double[entries.length];
+        double[] longitudes = new double[entries.length];
+        byte[] statuses = new byte[entries.length];
+        MGRSBatch batch = MGRSBatch.create(2);
+        batch.setMinSplitSize(2);
+        int count = batch.parse(CharBuffer.wrap(text), ';', latitudes, longitudes, statuses);
+        assertEquals(entries.length, count);
+
+        for (int i = 0; i < entries.length; i++) {
+            String entry = entries[i].trim();
+            if (entry.isEmpty() || !MGRS.isMGRS(entry)) {
+                assertEquals(MGRSParser.INVALID_FORMAT, statuses[i]);
+                assertTrue(Double.isNaN(latitudes[i]));
+                assertTrue(Double.isNaN(longitudes[i]));
+            } else {
+                assertEquals(entry, MGRSParser.VALID, statuses[i]);
+                Point point = MGRS.parse(entry).toPoint().toDegrees();
+                assertEquals(point.getLatitude(), latitudes[i], 0.0);
+                assertEquals(point.getLongitude(), longitudes[i], 0.0);
+            }
+        }
+        assertEquals(MGRSParser.INVALID_FORMAT, statuses[2]);
+        assertEquals(MGRSParser.INVALID_FORMAT, statuses[5]);
+    }
+
+    /**
+     * Test the thread and split size settings and output length validation
+     */
+    @Test
+    public void testValidation() {
+
+        MGRSBatch batch = MGRSBatch.create(2);
+        assertEquals(2, batch.getThreads());
+        assertEquals(MGRSBatch.DEFAULT_MIN_SPLIT_SIZE, batch.getMinSplitSize());
+
+        try {
+            batch.setThreads(0);
+            fail("Expected invalid threads");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            batch.setMinSplitSize(0);
+            fail("Expected an invalid min split size");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            batch.toCoordinates(new double[2], new double[3], GridType.METER);
+            fail("Expected mismatched point arrays");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            batch.toPackedCoordinates(new double[2], new double[2], GridType.METER, new char[MGRSConverter.MAX_LENGTH]);
+            fail("Expected a short packed output");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            batch.parse("31U,32U", ',', new double[2], new double[1], new byte[2]);
+            fail("Expected a short parse output");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Create random points within the MGRS latitudes, including longitudes
+     * at the antimeridian
+     *
+     * @param count point count
+     * @return latitudes and longitudes
+     */
+    private static double[][] randomPoints(int count) {
+        Random random = new Random(7);
+        double[] latitudes = new double[count];
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = -80.0 + random.nextDouble() * 164.0;
+            longitudes[i] = -180.0 + random.nextDouble() * 360.0;
+        }
+        longitudes[0] = -180.0;
+        longitudes[1] = 180.0;
+        return new double[][]{latitudes, longitudes};
+    }
+
+    /**
+     * Get the MGRS library coordinate
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param precision grid type precision
+     * @return coordinate
+     */
+    private static String libraryCoordinate(double latitude, double longitude, GridType precision) {
+        return MGRS.from(Point.point(longitude, latitude)).coordinate(precision);
+    }
+
+}
@@ -0,0 +1,189 @@
+package mil.nga.mgrs.convert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * MGRS converter tests, compared against {@link MGRS#from(Point)} and
+ * {@link MGRS#coordinate(GridType)}
+ */
+public class MGRSConverterTest {
+
+    /**
+     * Test points across every grid zone and band, at the zone corners,
+     * edges, and center
+     */
+    @Test
+    public void testZonesAndBands() {
+
+        List<double[]> points = new ArrayList<>();
+        for (int zoneNumber = 1; zoneNumber <= 60; zoneNumber++) {
+            for (char band = 'C'; band <= 'X'; band++) {
+                if (band == 'I' || band == 'O') {
+                    continue;
+                }
+                GridZone zone = GridZones.getGridZone(zoneNumber, band);
+                if (zone == null) {
+                    continue;
+                }
+                Bounds bounds = zone.getBounds();
+                double[] longitudes = {bounds.getWest(), bounds.getWest() + 1e-9, bounds.getCentroid().getLongitude(),
+                        bounds.getEast() - 1e-9};
+                double[] latitudes = {bounds.getSouth(), bounds.getSouth() + 1e-9,
+                        bounds.getCentroid().getLatitude(), bounds.getNorth() - 1e-9};
+                for (double longitude : longitudes) {
+                    for (double latitude : latitudes) {
+                        points.add(new double[]{latitude, longitude});
+                    }
+                }
+            }
+        }
+
+        assertConvert(points);
+    }
+
+    /**
+     * Test points around the Norway and Svalbard grid zone exceptions
+     */
+    @Test
+    public void testNorwaySvalbard() {
+
+        List<double[]> points = new ArrayList<>();
+
+        // Norway, 32V widened west over 31V
+        double[] norwayLongitudes = {0.0, 2.999999, 3.0, 3.000001, 5.5, 6.0, 8.999999, 9.0, 11.999999, 12.0};
+        double[] norwayLatitudes = {55.999999, 56.0, 60.0, 63.999999, 64.0};
+        for (double longitude : norwayLongitudes) {
+            for (double latitude : norwayLatitudes) {
+                points.add(new double[]{latitude, longitude});
+            }
+        }
+
+        // Svalbard, zones 31X, 33X, 35X and 37X over the 32X, 34X and 36X gaps
+        double[] svalbardLongitudes = {0.0, 6.0, 8.999999, 9.0, 12.0, 18.0, 20.999999, 21.0, 24.0, 30.0, 32.999999,
+                33.0, 36.0, 41.999999, 42.0};
+        double[] svalbardLatitudes = {71.999999, 72.0, 78.0, 83.999999, 84.0};
+        for (double longitude : svalbardLongitudes) {
+            for (double latitude : svalbardLatitudes) {
+                points.add(new double[]{latitude, longitude});
+            }
+        }
+
+        assertConvert(points);
+
+        MGRSConverter converter = MGRSConverter.create();
+        assertEquals("32V", converter.toCoordinate(60.0, 3.0, GridType.GZD));
+        assertEquals("31V", converter.toCoordinate(60.0, 2.999999, GridType.GZD));
+        assertEquals("31X", converter.toCoordinate(78.0, 8.999999, GridType.GZD));
+        assertEquals("33X", converter.toCoordinate(78.0, 9.0, GridType.GZD));
+        assertEquals("37X", converter.toCoordinate(78.0, 33.0, GridType.GZD));
+    }
+
+    /**
+     * Test points on and across the antimeridian
+     */
+    @Test
+    public void testAntimeridian() {
+
+        List<double[]> points = new ArrayList<>();
+        double[] longitudes = {-180.0, -179.999999, 179.999999, 180.0, 180.5, -180.5, 186.0, -186.0};
+        double[] latitudes = {-80.0, -45.0, -0.000001, 0.0, 0.000001, 45.0, 72.0, 84.0};
+        for (double longitude : longitudes) {
+            for (double latitude : latitudes) {
+                points.add(new double[]{latitude, longitude});
+            }
+        }
+
+        assertConvert(points);
+
+        MGRSConverter converter = MGRSConverter.create();
+        assertEquals("1N", converter.toCoordinate(5.0, -180.0, GridType.GZD));
+        assertEquals("60N", converter.toCoordinate(5.0, 179.999999, GridType.GZD));
+        assertEquals("60N", converter.toCoordinate(5.0, 180.0, GridType.GZD));
+        assertEquals(converter.toCoordinate(10.0, -179.5, GridType.METER),
+                converter.toCoordinate(10.0, 180.5, GridType.METER));
+    }
+
+    /**
+     * Test latitudes beyond the grid zones are clamped as
+     * {@link MGRS#from(Point)}
+     */
+    @Test
+    public void testPolar() {
+
+        MGRSConverter converter = MGRSConverter.create();
+        double[] latitudes = {-90.0, -89.0, -85.5, -80.000001, 84.000001, 85.0, 88.5, 90.0};
+        double[] longitudes = {-180.0, -120.3, -1.0, 0.0, 10.0, 25.0, 40.0, 179.999999};
+        for (double latitude : latitudes) {
+            for (double longitude : longitudes) {
+                MGRS mgrs = MGRS.from(Point.degrees(longitude, latitude));
+                for (GridType precision : GridType.values()) {
+                    assertEquals(latitude + ", " + longitude, mgrs.coordinate(precision),
+                            converter.toCoordinate(latitude, longitude, precision));
+                }
+            }
+        }
+    }
+
+    /**
+     * Assert the points convert to the library coordinates at each precision
+     * with each output, using one converter in order, one in reverse order,
+     * and a new converter per point
+     *
+     * @param points latitude and longitude points
+     */
+    private static void assertConvert(List<double[]> points) {
+
+        MGRSConverter converter = MGRSConverter.create();
+        MGRSConverter reverseConverter = MGRSConverter.create();
+        MutableMGRS mutableMGRS = MutableMGRS.create();
+        char[] characters = new char[MGRSConverter.MAX_LENGTH + 2];
+        StringBuilder builder = new StringBuilder();
+
+        int count = points.size();
+        for (int i = 0; i < count; i++) {
+            double[] point = points.get(i);
+            double[] reversePoint = points.get(count - 1 - i);
+            double latitude = point[0];
+            double longitude = point[1];
+            String message = latitude + ", " + longitude;
+
+            MGRS mgrs = MGRS.from(Point.point(longitude, latitude));
+            assertEquals(message, mgrs.toString(), converter.toMGRS(latitude, longitude, mutableMGRS)
+                    .coordinate(GridType.METER));
+            assertEquals(message, mgrs.coordinate(GridType.METER), mutableMGRS.toMGRS().coordinate(GridType.METER));
+
+            for (GridType precision : GridType.values()) {
+                String expected = mgrs.coordinate(precision);
+                assertEquals(message, expected, converter.toCoordinate(latitude, longitude, precision));
+                assertEquals(message, expected,
+                        MGRSConverter.create().toCoordinate(latitude, longitude, precision));
+
+                int length = converter.toCoordinate(latitude, longitude, precision, characters, 2);
+                assertEquals(message, expected, new String(characters, 2, length));
+                assertTrue(length <= MGRSConverter.getMaxLength(precision));
+
+                builder.setLength(0);
+                builder.append('>');
+                converter.toCoordinate(latitude, longitude, precision, builder);
+                assertEquals(message, ">" + expected, builder.toString());
+
+                assertEquals(MGRS.from(Point.point(reversePoint[1], reversePoint[0])).coordinate(precision),
+                        reverseConverter.toCoordinate(reversePoint[0], reversePoint[1], precision));
+            }
+        }
+    }
+
+}
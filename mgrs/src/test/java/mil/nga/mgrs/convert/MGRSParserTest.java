@@ -0,0 +1,233 @@
+package mil.nga.mgrs.convert;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.text.ParseException;
+import java.util.Random;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * MGRS parser tests, compared against {@link MGRS#isMGRS(String)},
+ * {@link MGRS#parse(String)} and {@link MGRS#toPoint()}
+ */
+public class MGRSParserTest {
+
+    /**
+     * Test valid coordinates at each precision, lowercase and with embedded
+     * whitespace
+     */
+    @Test
+    public void testValid() {
+
+        String[] coordinates = {"33UXP0500444996", "33uxp0500444996", "33 U XP 05004 44996", "33U\tXP\n0500444996",
+                " 18SUJ2348306483 ", "18s uj 2348 0648", "4QFJ1234", "4q fj 1 2", "4QFJ", "31UDQ", "31udq", "31 U",
+                "31u", "1C", "60X", "9X", "33X", "01CAA", "1Cvf", "60XXS", "31UDQ0000000000", "31UDQ9999999999"};
+        for (String coordinate : coordinates) {
+            assertTrue(coordinate, MGRS.isMGRS(coordinate));
+            assertParse(coordinate);
+        }
+    }
+
+    /**
+     * Test invalid formats: odd digit counts, more than 10 digits, I and O
+     * letters, incomplete 100 kilometer squares, and other characters
+     */
+    @Test
+    public void testInvalidFormat() {
+
+        String[] coordinates = {"", " ", "U", "31", "123U", "31UD", "31UDQ1", "31UDQ123", "31UDQ12345",
+                "31UDQ123456789", "31UDQ12345678901", "31UDQ123456789012", "31UIQ", "31UDI", "31UOQ", "31UDO",
+                "31IDQ", "31ODQ", "31BDQ", "31YDQ", "31UDW", "31UDQ12-34", "31UDQ1234x", "3_1UDQ", "31UDQ 1234 567",
+                "31U DQ 12345 1234", "31UDQ12.34"};
+        for (String coordinate : coordinates) {
+            assertFalse(coordinate, MGRS.isMGRS(coordinate));
+            assertEquals(coordinate, MGRSParser.INVALID_FORMAT, parse(coordinate));
+        }
+    }
+
+    /**
+     * Test coordinates in the MGRS format with grid zones that do not exist:
+     * zone 0, zone 61, and the Svalbard gaps
+     */
+    @Test
+    public void testInvalidZone() {
+
+        String[] coordinates = {"0CVF", "00C", "0CVF1234", "61CVF", "61C", "61CVF12345678", "32X", "32XVG",
+                "34XDA1234", "36XVF"};
+        for (String coordinate : coordinates) {
+            assertEquals(coordinate, MGRSParser.INVALID_ZONE, parse(coordinate));
+            assertLibraryInvalid(coordinate);
+        }
+    }
+
+    /**
+     * Test grid zone only and 100 kilometer square only coordinates resolve
+     * to the library placement
+     */
+    @Test
+    public void testZoneAndSquare() {
+
+        for (int zone = 1; zone <= 60; zone++) {
+            for (char band = 'C'; band <= 'X'; band++) {
+                if (band == 'I' || band == 'O') {
+                    continue;
+                }
+                String gzd = zone + String.valueOf(band);
+                if (MGRS.isMGRS(gzd)) {
+                    assertParse(gzd);
+                } else {
+                    assertEquals(gzd, MGRSParser.INVALID_ZONE, parse(gzd));
+                }
+            }
+        }
+
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            double latitude = -80.0 + random.nextDouble() * 164.0;
+            double longitude = -180.0 + random.nextDouble() * 360.0;
+            String square = MGRS.from(Point.point(longitude, latitude)).coordinate(GridType.HUNDRED_KILOMETER);
+            assertParse(square);
+            assertParse(square.toLowerCase());
+        }
+    }
+
+    /**
+     * Test random coordinates at each precision with the last parse result
+     * cleared between parses
+     */
+    @Test
+    public void testRandom() {
+
+        MGRSParser parser = MGRSParser.create();
+        Random random = new Random(3);
+        GridType[] precisions = GridType.values();
+        for (int i = 0; i < 2000; i++) {
+            double latitude = -80.0 + random.nextDouble() * 164.0;
+            double longitude = -180.0 + random.nextDouble() * 360.0;
+            GridType precision = precisions[i % precisions.length];
+            String coordinate = MGRS.from(Point.point(longitude, latitude)).coordinate(precision);
+            if (i % 3 == 0) {
+                coordinate = coordinate.toLowerCase();
+            } else if (i % 3 == 1) {
+                coordinate = insertSpaces(coordinate, random);
+            }
+            assertParse(parser, coordinate);
+            assertEquals(MGRSParser.INVALID_FORMAT, parser.parse(coordinate + "1"));
+            assertTrue(Double.isNaN(parser.getLatitude()));
+            assertTrue(Double.isNaN(parser.getLongitude()));
+        }
+    }
+
+    /**
+     * Test parsing a range within a larger character sequence
+     */
+    @Test
+    public void testRange() {
+
+        String text = "xx,33UXP0500444996,4QFJ,,31UDQ1";
+        MGRSParser parser = MGRSParser.create();
+        assertEquals(MGRSParser.INVALID_FORMAT, parser.parse(text, 0, 2));
+        assertEquals(MGRSParser.VALID, parser.parse(text, 3, 18));
+        assertPoint("33UXP0500444996", parser);
+        assertEquals(MGRSParser.VALID, parser.parse(text, 19, 23));
+        assertPoint("4QFJ", parser);
+        assertEquals(MGRSParser.INVALID_FORMAT, parser.parse(text, 24, 24));
+        assertEquals(MGRSParser.INVALID_FORMAT, parser.parse(text, 25, text.length()));
+        assertEquals(MGRSParser.VALID, parser.parse(text, 25, text.length() - 1));
+        assertPoint("31UDQ", parser);
+    }
+
+    /**
+     * Parse the coordinate with a new parser
+     *
+     * @param coordinate coordinate
+     * @return status
+     */
+    private static byte parse(String coordinate) {
+        MGRSParser parser = MGRSParser.create();
+        byte status = parser.parse(coordinate);
+        if (status != MGRSParser.VALID) {
+            assertTrue(Double.isNaN(parser.getLatitude()));
+            assertTrue(Double.isNaN(parser.getLongitude()));
+        }
+        return status;
+    }
+
+    /**
+     * Assert the coordinate parses to the library point
+     *
+     * @param coordinate coordinate
+     */
+    private static void assertParse(String coordinate) {
+        assertParse(MGRSParser.create(), coordinate);
+    }
+
+    /**
+     * Assert the coordinate parses to the library point
+     *
+     * @param parser     parser
+     * @param coordinate coordinate
+     */
+    private static void assertParse(MGRSParser parser, String coordinate) {
+        assertEquals(coordinate, MGRSParser.VALID, parser.parse(coordinate));
+        assertPoint(coordinate, parser);
+    }
+
+    /**
+     * Assert the parser point matches the library point
+     *
+     * @param coordinate coordinate
+     * @param parser     parser
+     */
+    private static void assertPoint(String coordinate, MGRSParser parser) {
+        Point point;
+        try {
+            point = MGRS.parse(coordinate).toPoint().toDegrees();
+        } catch (ParseException e) {
+            throw new AssertionError(coordinate, e);
+        }
+        assertEquals(coordinate, point.getLatitude(), parser.getLatitude(), 0.0);
+        assertEquals(coordinate, point.getLongitude(), parser.getLongitude(), 0.0);
+    }
+
+    /**
+     * Assert the library does not parse the coordinate
+     *
+     * @param coordinate coordinate
+     */
+    private static void assertLibraryInvalid(String coordinate) {
+        boolean parsed;
+        try {
+            parsed = MGRS.isMGRS(coordinate) && MGRS.parse(coordinate) != null;
+        } catch (ParseException | IllegalArgumentException e) {
+            parsed = false;
+        }
+        assertFalse(coordinate, parsed);
+    }
+
+    /**
+     * Insert whitespace at random positions of the coordinate
+     *
+     * @param coordinate coordinate
+     * @param random     random
+     * @return coordinate with whitespace
+     */
+    private static String insertSpaces(String coordinate, Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < coordinate.length(); i++) {
+            if (random.nextInt(3) == 0) {
+                builder.append(' ');
+            }
+            builder.append(coordinate.charAt(i));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,85 @@
+package mil.nga.mgrs.geojson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.MGRSLabeler;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Grid GeoJSON writer tests
+ */
+public class GridGeoJSONWriterTest {
+
+    /**
+     * Bounds over the Norway and Svalbard exceptions
+     */
+    private static final Bounds BOUNDS = Bounds.degrees(1.0, 55.0, 13.0, 80.0);
+
+    /**
+     * Test the written line, label, and cell counts match the grid zone lines
+     * and MGRS labeler labels
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testCounts() throws IOException {
+
+        MGRSLabeler labeler = new MGRSLabeler();
+        for (GridType gridType : new GridType[]{GridType.HUNDRED_KILOMETER, GridType.TEN_KILOMETER}) {
+
+            long lineCount = 0;
+            long labelCount = 0;
+            for (GridZone zone : GridZones.getGridRange(BOUNDS)) {
+                List<GridLine> lines = zone.getLines(BOUNDS, gridType);
+                lineCount += lines != null ? lines.size() : 0;
+                List<GridLabel> labels = labeler.getLabels(BOUNDS, gridType, zone);
+                labelCount += labels != null ? labels.size() : 0;
+            }
+
+            StringWriter output = new StringWriter();
+            try (GridGeoJSONWriter writer = GridGeoJSONWriter.create(output)) {
+                assertEquals(lineCount, writer.writeLines(BOUNDS, gridType));
+                assertEquals(labelCount, writer.writeLabels(BOUNDS, gridType));
+                assertEquals(labelCount, writer.writeCells(BOUNDS, gridType));
+                assertEquals(lineCount + 2 * labelCount, writer.getFeatureCount());
+            }
+
+            String json = output.toString();
+            assertTrue(json.startsWith("{\"type\":\"FeatureCollection\""));
+            assertTrue(json.endsWith("]}"));
+            assertEquals(lineCount, count(json, "\"LineString\""));
+            assertEquals(labelCount, count(json, "\"Point\""));
+            assertEquals(labelCount, count(json, "\"Polygon\""));
+        }
+    }
+
+    /**
+     * Count the occurrences of the value
+     *
+     * @param json  JSON
+     * @param value value
+     * @return count
+     */
+    private static long count(String json, String value) {
+        long count = 0;
+        int index = json.indexOf(value);
+        while (index >= 0) {
+            count++;
+            index = json.indexOf(value, index + value.length());
+        }
+        return count;
+    }
+
+}
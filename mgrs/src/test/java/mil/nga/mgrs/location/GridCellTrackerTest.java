@@ -0,0 +1,159 @@
+package mil.nga.mgrs.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Grid cell tracker tests, compared against the MGRS library
+ */
+public class GridCellTrackerTest {
+
+    /**
+     * Walk start latitudes and longitudes: equator, mid latitudes, Norway,
+     * Svalbard, the antimeridian, and near the southern grid limit
+     */
+    private static final double[][] STARTS = {{0.0, 3.0}, {38.9, -77.0}, {56.0, 3.0}, {63.9, 8.99}, {78.0, 9.0},
+            {83.9, 20.99}, {-33.9, 179.99}, {12.0, -179.99}, {-79.9, 0.01}};
+
+    /**
+     * Walk steps per start
+     */
+    private static final int STEPS = 400;
+
+    /**
+     * Test random walks at each precision notify exactly when the library
+     * coordinate changes, resolving most positions by the bounds test
+     */
+    @Test
+    public void testWalk() {
+
+        Random random = new Random(5);
+        for (GridType precision : GridType.values()) {
+
+            GridCellTracker tracker = GridCellTracker.create(precision);
+            double step = precision == GridType.GZD ? 0.5 : precision.getPrecision() / 8.0 / 111320.0;
+
+            for (double[] start : STARTS) {
+                tracker.clear();
+                assertFalse(tracker.hasCell());
+
+                double latitude = start[0];
+                double longitude = start[1];
+                String previous = null;
+                for (int i = 0; i < STEPS; i++) {
+                    String expected = libraryCoordinate(latitude, longitude, precision);
+                    boolean changed = tracker.update(latitude, longitude);
+                    String message = precision + " " + latitude + ", " + longitude;
+                    assertEquals(message, !expected.equals(previous), changed);
+                    assertTrue(tracker.hasCell());
+                    assertEquals(message, expected, tracker.getCoordinate());
+                    previous = expected;
+
+                    double angle = random.nextDouble() * 2.0 * Math.PI;
+                    latitude = Math.max(-79.99, Math.min(83.99, latitude + step * Math.sin(angle)));
+                    longitude += step * Math.cos(angle) / Math.cos(Math.toRadians(latitude));
+                    if (longitude >= 180.0) {
+                        longitude -= 360.0;
+                    } else if (longitude < -180.0) {
+                        longitude += 360.0;
+                    }
+                }
+            }
+
+            long updates = STARTS.length * STEPS;
+            assertEquals(updates, tracker.getUpdateCount());
+            assertTrue(precision + " " + tracker.getConversionCount(), tracker.getConversionCount() < updates / 2);
+            tracker.resetCounts();
+            assertEquals(0, tracker.getUpdateCount());
+            assertEquals(0, tracker.getConversionCount());
+        }
+    }
+
+    /**
+     * Test positions within the current cell bounds are resolved without a
+     * conversion, and the coordinate outputs
+     */
+    @Test
+    public void testContains() {
+
+        GridCellTracker tracker = GridCellTracker.create(GridType.KILOMETER);
+        assertFalse(tracker.contains(38.9, -77.0));
+        assertTrue(tracker.update(38.9, -77.0));
+        assertEquals(1, tracker.getConversionCount());
+
+        String coordinate = libraryCoordinate(38.9, -77.0, GridType.KILOMETER);
+        assertEquals(coordinate, tracker.getCoordinate());
+        assertEquals(coordinate, tracker.getCoordinate(new StringBuilder()).toString());
+        char[] characters = new char[20];
+        int length = tracker.getCoordinate(characters, 1);
+        assertEquals(coordinate, new String(characters, 1, length));
+        assertEquals(coordinate, tracker.getMGRS().coordinate(GridType.KILOMETER));
+
+        for (int i = 1; i <= 10; i++) {
+            double latitude = 38.9 + i * 1e-6;
+            if (tracker.contains(latitude, -77.0)) {
+                assertFalse(tracker.update(latitude, -77.0));
+            }
+        }
+        assertEquals(11, tracker.getUpdateCount());
+        assertTrue(tracker.getConversionCount() < 11);
+    }
+
+    /**
+     * Test changing the precision clears the cell and the margin validation
+     */
+    @Test
+    public void testPrecisionAndMargin() {
+
+        GridCellTracker tracker = GridCellTracker.create(GridType.TEN_KILOMETER);
+        assertEquals(GridCellTracker.DEFAULT_MARGIN, tracker.getMargin(), 0.0);
+        assertTrue(tracker.update(52.5, 13.4));
+
+        tracker.setPrecision(GridType.TEN_KILOMETER);
+        assertTrue(tracker.hasCell());
+        assertFalse(tracker.update(52.5, 13.4));
+
+        tracker.setPrecision(GridType.HUNDRED_METER);
+        assertEquals(GridType.HUNDRED_METER, tracker.getPrecision());
+        assertFalse(tracker.hasCell());
+        assertFalse(tracker.contains(52.5, 13.4));
+        assertTrue(tracker.update(52.5, 13.4));
+        assertEquals(libraryCoordinate(52.5, 13.4, GridType.HUNDRED_METER), tracker.getCoordinate());
+
+        tracker.setMargin(0.0);
+        assertTrue(tracker.contains(52.5, 13.4));
+        tracker.setMargin(0.49);
+        assertEquals(0.49, tracker.getMargin(), 0.0);
+        for (double margin : new double[]{-0.1, 0.5, 1.0}) {
+            try {
+                tracker.setMargin(margin);
+                fail("Expected an invalid margin: " + margin);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Get the MGRS library coordinate
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param precision grid type precision
+     * @return coordinate
+     */
+    private static String libraryCoordinate(double latitude, double longitude, GridType precision) {
+        return MGRS.from(Point.point(longitude, latitude)).coordinate(precision);
+    }
+
+}
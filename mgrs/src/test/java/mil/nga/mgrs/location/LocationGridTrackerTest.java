@@ -0,0 +1,138 @@
+package mil.nga.mgrs.location;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.features.Point;
+import mil.nga.mgrs.MGRS;
+import mil.nga.mgrs.convert.MutableMGRS;
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Location grid tracker tests
+ */
+public class LocationGridTrackerTest {
+
+    /**
+     * Test a track across grid cells notifies the listener once per entered
+     * cell with the library coordinate
+     */
+    @Test
+    public void testTrack() {
+
+        final List<String> cells = new ArrayList<>();
+        LocationGridListener listener = new LocationGridListener() {
+            @Override
+            public void onGridCell(LocationGridTracker tracker, MutableMGRS mgrs, GridType precision) {
+                assertSame(tracker.getMGRS(), mgrs);
+                cells.add(mgrs.coordinate(precision));
+            }
+        };
+        LocationGridTracker tracker = LocationGridTracker.create(GridType.HUNDRED_METER, listener);
+        assertFalse(tracker.hasCell());
+
+        // walk east along a latitude, 10 meter steps over 5 kilometers
+        double latitude = 38.9;
+        double step = 10.0 / (111320.0 * Math.cos(Math.toRadians(latitude)));
+        int steps = 500;
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < steps; i++) {
+            double longitude = -77.02 + i * step;
+            String coordinate = libraryCoordinate(latitude, longitude, GridType.HUNDRED_METER);
+            if (expected.isEmpty() || !expected.get(expected.size() - 1).equals(coordinate)) {
+                expected.add(coordinate);
+            }
+            tracker.update(latitude, longitude);
+            assertEquals(coordinate, tracker.getCoordinate());
+        }
+
+        assertEquals(expected, cells);
+        assertEquals(expected.size(), tracker.getCellChangeCount());
+        assertEquals(steps, tracker.getUpdateCount());
+        assertTrue(tracker.getConversionCount() < steps / 2);
+        assertTrue(tracker.hasCell());
+
+        tracker.resetCounts();
+        assertEquals(0, tracker.getUpdateCount());
+        assertEquals(0, tracker.getConversionCount());
+        assertEquals(0, tracker.getCellChangeCount());
+    }
+
+    /**
+     * Test clearing the cell and changing the precision notify on the next
+     * location
+     */
+    @Test
+    public void testClearAndPrecision() {
+
+        final List<GridType> precisions = new ArrayList<>();
+        LocationGridTracker tracker = LocationGridTracker.create(GridType.KILOMETER,
+                new LocationGridListener() {
+                    @Override
+                    public void onGridCell(LocationGridTracker tracker, MutableMGRS mgrs, GridType precision) {
+                        precisions.add(precision);
+                    }
+                });
+
+        assertTrue(tracker.update(-33.9, 151.2));
+        assertFalse(tracker.update(-33.9, 151.2));
+        String kilometer = tracker.getCoordinate();
+
+        tracker.clear();
+        assertFalse(tracker.hasCell());
+        assertTrue(tracker.update(-33.9, 151.2));
+        assertEquals(kilometer, tracker.getCoordinate());
+
+        tracker.setPrecision(GridType.TEN_METER);
+        assertEquals(GridType.TEN_METER, tracker.getPrecision());
+        assertTrue(tracker.update(-33.9, 151.2));
+        assertNotEquals(kilometer, tracker.getCoordinate());
+        assertEquals(libraryCoordinate(-33.9, 151.2, GridType.TEN_METER), tracker.getCoordinate());
+        assertEquals(libraryCoordinate(-33.9, 151.2, GridType.TEN_METER),
+                tracker.getCoordinate(new StringBuilder()).toString());
+
+        tracker.setMargin(0.1);
+        assertEquals(0.1, tracker.getMargin(), 0.0);
+
+        List<GridType> expected = new ArrayList<>();
+        expected.add(GridType.KILOMETER);
+        expected.add(GridType.KILOMETER);
+        expected.add(GridType.TEN_METER);
+        assertEquals(expected, precisions);
+        assertEquals(3, tracker.getCellChangeCount());
+    }
+
+    /**
+     * Test a tracker without a listener
+     */
+    @Test
+    public void testNoListener() {
+        LocationGridTracker tracker = LocationGridTracker.create(GridType.GZD, null);
+        assertTrue(tracker.update(60.0, 3.0));
+        assertEquals("32V", tracker.getCoordinate());
+        assertFalse(tracker.update(60.5, 4.0));
+        assertTrue(tracker.update(60.0, 2.9));
+        assertEquals("31V", tracker.getCoordinate());
+    }
+
+    /**
+     * Get the MGRS library coordinate
+     *
+     * @param latitude  latitude
+     * @param longitude longitude
+     * @param precision grid type precision
+     * @return coordinate
+     */
+    private static String libraryCoordinate(double latitude, double longitude, GridType precision) {
+        return MGRS.from(Point.point(longitude, latitude)).coordinate(precision);
+    }
+
+}
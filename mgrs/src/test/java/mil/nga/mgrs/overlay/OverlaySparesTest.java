@@ -0,0 +1,116 @@
+package mil.nga.mgrs.overlay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grid overlay spares tests
+ */
+public class OverlaySparesTest {
+
+    /**
+     * Test recycled objects are hidden and reused in recycle order, and
+     * removed beyond the maximum
+     */
+    @Test
+    public void testRecycle() {
+
+        Spares spares = new Spares(2);
+        assertEquals(2, spares.getMaxSpares());
+        assertNull(spares.poll());
+
+        spares.recycle("a");
+        spares.recycle("b");
+        spares.recycle("c");
+        assertEquals(2, spares.size());
+        assertEquals(Arrays.asList("a", "b"), spares.hidden);
+        assertEquals(Arrays.asList("c"), spares.removed);
+
+        assertEquals("a", spares.poll());
+        spares.recycle("d");
+        assertEquals("b", spares.poll());
+        assertEquals("d", spares.poll());
+        assertNull(spares.poll());
+        assertEquals(0, spares.size());
+        assertEquals(Arrays.asList("c"), spares.removed);
+    }
+
+    /**
+     * Test removing all hidden objects
+     */
+    @Test
+    public void testRemoveAll() {
+
+        Spares spares = new Spares(3);
+        spares.recycle("a");
+        spares.recycle("b");
+        spares.removeAll();
+        assertEquals(0, spares.size());
+        assertNull(spares.poll());
+        assertEquals(Arrays.asList("a", "b"), spares.removed);
+
+        Spares none = new Spares(0);
+        none.recycle("a");
+        assertTrue(none.hidden.isEmpty());
+        assertEquals(Arrays.asList("a"), none.removed);
+        assertNull(none.poll());
+
+        try {
+            new Spares(-1);
+            fail("Expected an illegal argument exception");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Spares recording hidden and removed objects
+     */
+    private static class Spares extends OverlaySpares<String> {
+
+        /**
+         * Hidden objects
+         */
+        private final List<String> hidden = new ArrayList<>();
+
+        /**
+         * Removed objects
+         */
+        private final List<String> removed = new ArrayList<>();
+
+        /**
+         * Constructor
+         *
+         * @param maxSpares maximum number of hidden objects kept
+         */
+        private Spares(int maxSpares) {
+            super(maxSpares);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void hide(String object) {
+            hidden.add(object);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void remove(String object) {
+            removed.add(object);
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.MGRSLabeler;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Geometry cache tests
+ */
+public class GeometryCacheTest {
+
+    /**
+     * Edge grid zones: the Norway exception, the Svalbard exceptions, and the
+     * southern and northern limits
+     */
+    private static final String[] ZONES = {"31V", "32V", "31U", "32W", "31X", "33X", "35X", "37X",
+            "1C", "60C", "31C", "1X", "60X"};
+
+    /**
+     * Grid types and zoom levels
+     */
+    private static final Object[][] TYPES = {
+            {GridType.HUNDRED_KILOMETER, 6},
+            {GridType.HUNDRED_KILOMETER, 8},
+            {GridType.TEN_KILOMETER, 10},
+            {GridType.KILOMETER, 12},
+            {GridType.HUNDRED_METER, 14}};
+
+    /**
+     * Test cached lines and labels match the grid zone lines and MGRS labeler
+     * labels on tiles at the corners, edges, and center of the edge grid zones
+     */
+    @Test
+    public void testEdgeZones() {
+
+        GeometryCache cache = GeometryCache.create();
+        MGRSLabeler labeler = new MGRSLabeler();
+
+        for (int pass = 0; pass < 2; pass++) {
+            for (String zoneName : ZONES) {
+                int number = Integer.parseInt(zoneName.substring(0, zoneName.length() - 1));
+                char letter = zoneName.charAt(zoneName.length() - 1);
+                Bounds zoneBounds = GridZones.getGridZone(number, letter).getBounds();
+                double west = zoneBounds.getMinLongitude();
+                double south = zoneBounds.getMinLatitude();
+                double east = zoneBounds.getMaxLongitude();
+                double north = zoneBounds.getMaxLatitude();
+                double[] longitudes = {west, (west + east) / 2.0, east};
+                double[] latitudes = {south, (south + north) / 2.0, north};
+                for (Object[] type : TYPES) {
+                    GridType gridType = (GridType) type[0];
+                    int zoom = (Integer) type[1];
+                    for (double longitude : longitudes) {
+                        for (double latitude : latitudes) {
+                            Bounds bounds = getTileBounds(longitude, latitude, zoom);
+                            for (GridZone zone : GridZones.getGridRange(bounds)) {
+                                assertLines(zone.getLines(bounds, gridType),
+                                        cache.getLines(bounds, gridType, zone));
+                                assertLabels(labeler.getLabels(bounds, gridType, zone),
+                                        cache.getLabels(bounds, gridType, zone));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue(cache.getHitCount() > 0);
+        assertTrue(cache.getBytes() <= cache.getMaxBytes());
+    }
+
+    /**
+     * Test eviction keeps the cache within its byte budget and still produces
+     * the grid zone lines
+     */
+    @Test
+    public void testEviction() {
+
+        GeometryCache cache = GeometryCache.create(4 * 1024);
+        GridZone zone = GridZones.getGridZone(32, 'V');
+        Bounds bounds = getTileBounds(7.5, 60.0, 11);
+
+        assertLines(zone.getLines(bounds, GridType.KILOMETER), cache.getLines(bounds, GridType.KILOMETER, zone));
+        assertTrue(cache.getBytes() <= 4 * 1024);
+        assertTrue(cache.getMissCount() > 0);
+
+        cache.setMaxBytes(0);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+        assertLines(zone.getLines(bounds, GridType.KILOMETER), cache.getLines(bounds, GridType.KILOMETER, zone));
+    }
+
+    /**
+     * Get the meter bounds of the XYZ tile containing the coordinate
+     *
+     * @param longitude longitude
+     * @param latitude  latitude
+     * @param zoom      zoom level
+     * @return tile bounds
+     */
+    private static Bounds getTileBounds(double longitude, double latitude, int zoom) {
+        int tiles = GridUtils.tilesPerSide(zoom);
+        double latitudeRadians = Math.toRadians(latitude);
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * tiles);
+        int y = (int) Math.floor((1.0 - Math.log(Math.tan(latitudeRadians) + 1.0 / Math.cos(latitudeRadians))
+                / Math.PI) / 2.0 * tiles);
+        x = Math.max(0, Math.min(tiles - 1, x));
+        y = Math.max(0, Math.min(tiles - 1, y));
+        return GridUtils.getBounds(x, y, zoom);
+    }
+
+    /**
+     * Assert the lines match
+     *
+     * @param expected expected lines
+     * @param lines    lines
+     */
+    private static void assertLines(List<GridLine> expected, List<GridLine> lines) {
+        if (expected == null) {
+            assertNull(lines);
+        } else {
+            assertNotNull(lines);
+            assertEquals(expected.size(), lines.size());
+            for (int i = 0; i < expected.size(); i++) {
+                GridLine expectedLine = expected.get(i);
+                GridLine line = lines.get(i);
+                assertEquals(expectedLine.getPoint1(), line.getPoint1());
+                assertEquals(expectedLine.getPoint2(), line.getPoint2());
+                assertEquals(expectedLine.getGridType(), line.getGridType());
+            }
+        }
+    }
+
+    /**
+     * Assert the labels match
+     *
+     * @param expected expected labels
+     * @param labels   labels
+     */
+    private static void assertLabels(List<GridLabel> expected, List<GridLabel> labels) {
+        if (expected == null) {
+            assertNull(labels);
+        } else {
+            assertNotNull(labels);
+            assertEquals(expected.size(), labels.size());
+            for (int i = 0; i < expected.size(); i++) {
+                GridLabel expectedLabel = expected.get(i);
+                GridLabel label = labels.get(i);
+                assertEquals(expectedLabel.getName(), label.getName());
+                assertEquals(expectedLabel.getCenter(), label.getCenter());
+                assertEquals(expectedLabel.getBounds(), label.getBounds());
+                assertEquals(expectedLabel.getGridType(), label.getGridType());
+                assertEquals(expectedLabel.getCoordinate().toString(), label.getCoordinate().toString());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.features.GridLine;
+import mil.nga.mgrs.grid.GridLabel;
+import mil.nga.mgrs.grid.GridType;
+import mil.nga.mgrs.grid.MGRSLabeler;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Grid cells tests
+ */
+public class GridCellsTest {
+
+    /**
+     * Edge grid zones: the Norway exception, the Svalbard exceptions, and the
+     * southern and northern limits
+     */
+    private static final String[] ZONES = {"31V", "32V", "31X", "33X", "35X", "37X", "1C", "60C", "1X", "60X"};
+
+    /**
+     * Grid types and zoom levels
+     */
+    private static final Object[][] TYPES = {
+            {GridType.HUNDRED_KILOMETER, 7},
+            {GridType.TEN_KILOMETER, 10},
+            {GridType.KILOMETER, 12},
+            {GridType.HUNDRED_METER, 15}};
+
+    /**
+     * Test cell lines and labels match the grid zone lines and MGRS labeler
+     * labels on tiles at the corners, edges, and center of the edge grid zones
+     */
+    @Test
+    public void testEdgeZones() {
+
+        MGRSLabeler labeler = new MGRSLabeler();
+
+        for (String zoneName : ZONES) {
+            int number = Integer.parseInt(zoneName.substring(0, zoneName.length() - 1));
+            char letter = zoneName.charAt(zoneName.length() - 1);
+            Bounds zoneBounds = GridZones.getGridZone(number, letter).getBounds();
+            double west = zoneBounds.getMinLongitude();
+            double south = zoneBounds.getMinLatitude();
+            double east = zoneBounds.getMaxLongitude();
+            double north = zoneBounds.getMaxLatitude();
+            double[] longitudes = {west, (west + east) / 2.0, east};
+            double[] latitudes = {south, (south + north) / 2.0, north};
+            for (Object[] type : TYPES) {
+                GridType gridType = (GridType) type[0];
+                int zoom = (Integer) type[1];
+                for (double longitude : longitudes) {
+                    for (double latitude : latitudes) {
+                        Bounds bounds = getTileBounds(longitude, latitude, zoom);
+                        for (GridZone zone : GridZones.getGridRange(bounds)) {
+                            assertLines(zone.getLines(bounds, gridType), getLines(bounds, gridType, zone));
+                            assertLabels(labeler.getLabels(bounds, gridType, zone),
+                                    getLabels(bounds, gridType, zone));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the cell lines within the tile bounds, in the grid zone line order
+     *
+     * @param bounds   tile bounds
+     * @param gridType grid type
+     * @param zone     grid zone
+     * @return lines or null
+     */
+    private static List<GridLine> getLines(Bounds bounds, GridType gridType, GridZone zone) {
+        List<GridLine> lines = null;
+        Bounds drawBounds = zone.getDrawBounds(bounds, gridType);
+        if (drawBounds != null) {
+            lines = new ArrayList<>();
+            int precision = gridType.getPrecision();
+            for (double easting = drawBounds.getMinLongitude(); easting < drawBounds.getMaxLongitude(); easting += precision) {
+                for (double northing = drawBounds.getMinLatitude(); northing < drawBounds.getMaxLatitude(); northing += precision) {
+                    GridLine[] cellLines = GridCells.getLines(gridType, zone, easting, northing);
+                    assertEquals(2, cellLines.length);
+                    lines.add(cellLines[0]);
+                    lines.add(cellLines[1]);
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Get the cell labels within the tile bounds, in the MGRS labeler order
+     *
+     * @param bounds   tile bounds
+     * @param gridType grid type
+     * @param zone     grid zone
+     * @return labels or null
+     */
+    private static List<GridLabel> getLabels(Bounds bounds, GridType gridType, GridZone zone) {
+        List<GridLabel> labels = null;
+        Bounds drawBounds = zone.getDrawBounds(bounds, gridType);
+        if (drawBounds != null) {
+            labels = new ArrayList<>();
+            int precision = gridType.getPrecision();
+            for (double easting = drawBounds.getMinLongitude(); easting <= drawBounds.getMaxLongitude(); easting += precision) {
+                for (double northing = drawBounds.getMinLatitude(); northing <= drawBounds.getMaxLatitude(); northing += precision) {
+                    GridLabel label = GridCells.getLabel(gridType, zone, easting, northing);
+                    if (label != null) {
+                        labels.add(label);
+                    }
+                }
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Get the meter bounds of the XYZ tile containing the coordinate
+     *
+     * @param longitude longitude
+     * @param latitude  latitude
+     * @param zoom      zoom level
+     * @return tile bounds
+     */
+    private static Bounds getTileBounds(double longitude, double latitude, int zoom) {
+        int tiles = GridUtils.tilesPerSide(zoom);
+        double latitudeRadians = Math.toRadians(latitude);
+        int x = (int) Math.floor((longitude + 180.0) / 360.0 * tiles);
+        int y = (int) Math.floor((1.0 - Math.log(Math.tan(latitudeRadians) + 1.0 / Math.cos(latitudeRadians))
+                / Math.PI) / 2.0 * tiles);
+        x = Math.max(0, Math.min(tiles - 1, x));
+        y = Math.max(0, Math.min(tiles - 1, y));
+        return GridUtils.getBounds(x, y, zoom);
+    }
+
+    /**
+     * Assert the lines match
+     *
+     * @param expected expected lines
+     * @param lines    lines
+     */
+    private static void assertLines(List<GridLine> expected, List<GridLine> lines) {
+        if (expected == null) {
+            assertNull(lines);
+        } else {
+            assertNotNull(lines);
+            assertEquals(expected.size(), lines.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getPoint1(), lines.get(i).getPoint1());
+                assertEquals(expected.get(i).getPoint2(), lines.get(i).getPoint2());
+                assertEquals(expected.get(i).getGridType(), lines.get(i).getGridType());
+            }
+        }
+    }
+
+    /**
+     * Assert the labels match
+     *
+     * @param expected expected labels
+     * @param labels   labels
+     */
+    private static void assertLabels(List<GridLabel> expected, List<GridLabel> labels) {
+        if (expected == null) {
+            assertNull(labels);
+        } else {
+            assertNotNull(labels);
+            assertEquals(expected.size(), labels.size());
+            for (int i = 0; i < expected.size(); i++) {
+                GridLabel expectedLabel = expected.get(i);
+                GridLabel label = labels.get(i);
+                assertEquals(expectedLabel.getName(), label.getName());
+                assertEquals(expectedLabel.getCenter(), label.getCenter());
+                assertEquals(expectedLabel.getBounds(), label.getBounds());
+                assertEquals(expectedLabel.getGridType(), label.getGridType());
+                assertEquals(expectedLabel.getCoordinate().toString(), label.getCoordinate().toString());
+            }
+        }
+    }
+
+}
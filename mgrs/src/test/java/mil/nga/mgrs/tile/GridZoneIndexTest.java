@@ -0,0 +1,102 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mil.nga.grid.GridUtils;
+import mil.nga.grid.features.Bounds;
+import mil.nga.mgrs.gzd.GridZone;
+import mil.nga.mgrs.gzd.GridZones;
+
+/**
+ * Grid zone index tests
+ */
+public class GridZoneIndexTest {
+
+    /**
+     * Maximum zoom level compared against every tile's grid range
+     */
+    private static final int MAX_ZOOM = 8;
+
+    /**
+     * Test the zones collected for every tile at zoom levels 0 through 8,
+     * from the index up to its maximum zoom level and from the grid range
+     * beyond, match the grid range zones in the same order
+     */
+    @Test
+    public void testGridRange() {
+
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            GridZoneIndex index = GridZoneIndex.get(zoom);
+            if (zoom <= GridZoneIndex.MAX_ZOOM) {
+                assertNotNull(index);
+                assertEquals(zoom, index.getZoom());
+            } else {
+                assertNull(index);
+            }
+            int tiles = GridUtils.tilesPerSide(zoom);
+            for (int x = 0; x < tiles; x++) {
+                for (int y = 0; y < tiles; y++) {
+                    Bounds bounds = GridUtils.getBounds(x, y, zoom);
+                    List<String> expected = new ArrayList<>();
+                    for (GridZone zone : GridZones.getGridRange(bounds)) {
+                        expected.add(zone.getName());
+                    }
+                    assertEquals(zoom + "/" + x + "/" + y, expected, getZones(index, bounds, zoom));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test bounds that are not XYZ tiles are not indexed
+     */
+    @Test
+    public void testNotTile() {
+
+        assertNull(GridZoneIndex.get(-1));
+        assertNull(GridZoneIndex.get(GridZoneIndex.MAX_ZOOM + 1));
+        GridZoneIndex index = GridZoneIndex.get(3);
+        assertEquals(3, index.getZoom());
+
+        Bounds bounds = GridUtils.getBounds(2, 5, 3);
+        assertEquals(5 * 8 + 2, index.getTile(bounds, 3));
+        assertEquals(-1, index.getTile(bounds.toDegrees(), 3));
+        assertEquals(-1, index.getTile(bounds, 4));
+        assertEquals(-1, index.getTile(GridUtils.getBounds(2, 5, 2), 2));
+        assertEquals(-1, index.getTile(bounds.union(GridUtils.getBounds(3, 5, 3)), 3));
+    }
+
+    /**
+     * Get the zone names of the tile as collected for tile features, from
+     * the index when an indexed tile, otherwise from the grid range
+     *
+     * @param index  grid zone index or null
+     * @param bounds tile bounds
+     * @param zoom   zoom level
+     * @return zone names
+     */
+    private static List<String> getZones(GridZoneIndex index, Bounds bounds, int zoom) {
+        List<String> zones = new ArrayList<>();
+        int tile = index != null ? index.getTile(bounds, zoom) : -1;
+        if (tile != -1) {
+            for (int entry = index.getStart(tile); entry < index.getEnd(tile); entry++) {
+                zones.add(index.getZone(entry).getName());
+            }
+        } else {
+            assertTrue(zoom > GridZoneIndex.MAX_ZOOM);
+            for (GridZone zone : GridZones.getGridRange(bounds)) {
+                zones.add(zone.getName());
+            }
+        }
+        return zones;
+    }
+
+}
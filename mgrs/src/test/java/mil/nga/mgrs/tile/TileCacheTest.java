@@ -0,0 +1,169 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.Tile;
+
+import org.junit.Test;
+
+/**
+ * Tile cache tests
+ */
+public class TileCacheTest {
+
+    /**
+     * Estimated size of a test tile, data plus overhead
+     */
+    private static final int TILE_BYTES = 100 + 64;
+
+    /**
+     * Test cache hits, misses, and removal
+     */
+    @Test
+    public void testGetPut() {
+
+        TileCache cache = TileCache.create();
+        TileKey key = key(1, 0);
+        Tile tile = tile();
+
+        assertNull(cache.get(key));
+        cache.put(key, tile);
+        assertSame(tile, cache.get(key));
+        assertTrue(cache.contains(key));
+        assertEquals(1, cache.size());
+        assertEquals(TILE_BYTES, cache.getBytes());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 0.0);
+
+        assertSame(tile, cache.remove(key));
+        assertFalse(cache.contains(key));
+        assertEquals(0, cache.getBytes());
+
+        cache.resetCounts();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+
+    }
+
+    /**
+     * Test that a different style hash misses
+     */
+    @Test
+    public void testStyleHash() {
+
+        TileCache cache = TileCache.create();
+        cache.put(key(1, 7), tile());
+
+        assertNull(cache.get(key(1, 8)));
+        assertTrue(cache.contains(key(1, 7)));
+
+    }
+
+    /**
+     * Test least recently used eviction
+     */
+    @Test
+    public void testEviction() {
+
+        TileCache cache = TileCache.create(2 * TILE_BYTES);
+        cache.put(key(1, 0), tile());
+        cache.put(key(2, 0), tile());
+
+        // use the first so the second is least recently used
+        cache.get(key(1, 0));
+        cache.put(key(3, 0), tile());
+
+        assertTrue(cache.contains(key(1, 0)));
+        assertFalse(cache.contains(key(2, 0)));
+        assertTrue(cache.contains(key(3, 0)));
+        assertEquals(2 * TILE_BYTES, cache.getBytes());
+        assertEquals(1, cache.getEvictionCount());
+
+    }
+
+    /**
+     * Test replacing a tile updates the size
+     */
+    @Test
+    public void testReplace() {
+
+        TileCache cache = TileCache.create();
+        cache.put(key(1, 0), tile());
+        cache.put(key(1, 0), new Tile(256, 256, new byte[10]));
+
+        assertEquals(1, cache.size());
+        assertEquals(10 + 64, cache.getBytes());
+
+    }
+
+    /**
+     * Test tiles larger than the cache are not cached
+     */
+    @Test
+    public void testOversized() {
+
+        TileCache cache = TileCache.create(TILE_BYTES - 1);
+        cache.put(key(1, 0), tile());
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+
+    }
+
+    /**
+     * Test reducing the maximum size evicts tiles
+     */
+    @Test
+    public void testSetMaxBytes() {
+
+        TileCache cache = TileCache.create();
+        for (int i = 0; i < 10; i++) {
+            cache.put(key(i, 0), tile());
+        }
+        assertEquals(10, cache.size());
+
+        cache.setMaxBytes(3 * TILE_BYTES);
+        assertEquals(3, cache.size());
+        assertTrue(cache.contains(key(9, 0)));
+        assertFalse(cache.contains(key(6, 0)));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+
+    }
+
+    /**
+     * Test an invalid maximum size
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxBytes() {
+        TileCache.create(-1);
+    }
+
+    /**
+     * Create a tile key
+     *
+     * @param x         x coordinate
+     * @param styleHash style hash
+     * @return tile key
+     */
+    private static TileKey key(int x, int styleHash) {
+        return TileKey.create(x, 0, 10, 256, 256, styleHash, 0);
+    }
+
+    /**
+     * Create a tile with 100 bytes of data
+     *
+     * @return tile
+     */
+    private static Tile tile() {
+        return new Tile(256, 256, new byte[100]);
+    }
+
+}
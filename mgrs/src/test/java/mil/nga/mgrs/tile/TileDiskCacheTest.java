@@ -0,0 +1,386 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+/**
+ * Tile disk cache tests
+ */
+public class TileDiskCacheTest {
+
+    /**
+     * Test block size
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Test maximum bytes, 16 blocks
+     */
+    private static final int MAX_BYTES = 16 * BLOCK_SIZE;
+
+    /**
+     * Slab file
+     */
+    private File file;
+
+    /**
+     * Create the slab file location
+     *
+     * @throws IOException upon failure
+     */
+    @Before
+    public void createFile() throws IOException {
+        file = File.createTempFile("mgrs_tiles", ".slab");
+        assertTrue(file.delete());
+    }
+
+    /**
+     * Delete the slab file
+     */
+    @After
+    public void deleteFile() {
+        file.delete();
+    }
+
+    /**
+     * Test storing and reading tiles spanning multiple blocks
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testPutGet() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+
+            byte[] data = data(2500, 1);
+            assertTrue(cache.put(key(1, 0), new Tile(256, 256, data)));
+            assertEquals(1, cache.size());
+            assertEquals(3 * BLOCK_SIZE, cache.getBytes());
+
+            Tile tile = cache.get(key(1, 0));
+            assertNotNull(tile);
+            assertEquals(256, tile.width);
+            assertArrayEquals(data, tile.data);
+            assertNull(cache.get(key(2, 0)));
+            assertEquals(1, cache.getHitCount());
+            assertEquals(1, cache.getMissCount());
+
+            assertTrue(cache.remove(key(1, 0)));
+            assertFalse(cache.contains(key(1, 0)));
+            assertEquals(0, cache.getBytes());
+
+            assertFalse(cache.put(key(3, 0), new Tile(256, 256, data(MAX_BYTES + 1, 0))));
+        }
+
+    }
+
+    /**
+     * Test empty tile markers without data blocks persist across reopening
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testEmpty() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            assertTrue(cache.putEmpty(key(1, 0)));
+            assertTrue(cache.put(key(2, 0), TileProvider.NO_TILE));
+            assertTrue(cache.put(key(3, 0), new Tile(256, 256, data(1500, 3))));
+            assertEquals(3, cache.size());
+            assertEquals(2 * BLOCK_SIZE, cache.getBytes());
+            assertSame(TileProvider.NO_TILE, cache.get(key(1, 0)));
+            assertSame(TileProvider.NO_TILE, cache.get(key(2, 0)));
+            assertEquals(2, cache.getHitCount());
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(3, cache.size());
+            assertSame(TileProvider.NO_TILE, cache.get(key(1, 0)));
+            assertSame(TileProvider.NO_TILE, cache.get(key(2, 0)));
+            assertArrayEquals(data(1500, 3), cache.get(key(3, 0)).data);
+
+            // Empty markers use index records, evicted when the records run out
+            for (int i = 0; i < cache.getMaxTiles(); i++) {
+                assertTrue(cache.putEmpty(key(10 + i, 0)));
+            }
+            assertEquals(cache.getMaxTiles(), cache.size());
+            assertEquals(0, cache.getBytes());
+            assertFalse(cache.contains(key(3, 0)));
+            assertTrue(cache.remove(key(10, 0)));
+        }
+
+    }
+
+    /**
+     * Test tiles persist across reopening
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testReopen() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            for (int i = 0; i < 5; i++) {
+                cache.put(key(i, 0), new Tile(256, 256, data(1500, i)));
+            }
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(5, cache.size());
+            for (int i = 0; i < 5; i++) {
+                Tile tile = cache.get(key(i, 0));
+                assertNotNull(tile);
+                assertArrayEquals(data(1500, i), tile.data);
+            }
+        }
+
+    }
+
+    /**
+     * Test the least recently used order persists across reopening
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testEvictionAfterReopen() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            for (int i = 0; i < 16; i++) {
+                cache.put(key(i, 0), new Tile(256, 256, data(BLOCK_SIZE, i)));
+            }
+            // use the first so the second is least recently used
+            assertNotNull(cache.get(key(0, 0)));
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(16, cache.size());
+            cache.put(key(16, 0), new Tile(256, 256, data(BLOCK_SIZE, 16)));
+            assertEquals(16, cache.size());
+            assertEquals(1, cache.getEvictionCount());
+            assertTrue(cache.contains(key(0, 0)));
+            assertFalse(cache.contains(key(1, 0)));
+            assertTrue(cache.contains(key(16, 0)));
+        }
+
+    }
+
+    /**
+     * Test tiles of different style hashes do not invalidate each other
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testStyleHash() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            cache.put(key(1, 7), new Tile(256, 256, data(100, 7)));
+            assertNull(cache.get(key(1, 8)));
+            cache.put(key(1, 8), new Tile(256, 256, data(100, 8)));
+
+            assertArrayEquals(data(100, 7), cache.get(key(1, 7)).data);
+            assertArrayEquals(data(100, 8), cache.get(key(1, 8)).data);
+            assertEquals(2, cache.size());
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(2, cache.size());
+            assertTrue(cache.contains(key(1, 7)));
+            assertTrue(cache.contains(key(1, 8)));
+        }
+
+    }
+
+    /**
+     * Test a corrupt block chain table discards the entries
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testCorruptChain() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            for (int i = 0; i < 4; i++) {
+                cache.put(key(i, 0), new Tile(256, 256, data(2 * BLOCK_SIZE, i)));
+            }
+        }
+
+        // overwrite the block chain table following the 64 byte header
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.seek(64);
+            for (int block = 0; block < MAX_BYTES / BLOCK_SIZE; block++) {
+                randomAccessFile.writeInt(0x7F7F7F7F);
+            }
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getBytes());
+            assertTrue(cache.put(key(9, 0), new Tile(256, 256, data(MAX_BYTES, 9))));
+            assertArrayEquals(data(MAX_BYTES, 9), cache.get(key(9, 0)).data);
+        }
+
+    }
+
+    /**
+     * Test a corrupt header reformats the slab
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testCorruptHeader() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            cache.put(key(1, 0), new Tile(256, 256, data(100, 1)));
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.writeInt(0);
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(0, cache.size());
+            assertTrue(cache.put(key(1, 0), new Tile(256, 256, data(100, 1))));
+        }
+
+    }
+
+    /**
+     * Test a different layout of the same file reformats the slab
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testLayoutChange() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            cache.put(key(1, 0), new Tile(256, 256, data(100, 1)));
+        }
+
+        try (TileDiskCache cache = TileDiskCache.open(file, 2 * MAX_BYTES, BLOCK_SIZE)) {
+            assertEquals(0, cache.size());
+            assertEquals(2 * MAX_BYTES, cache.getMaxBytes());
+        }
+
+    }
+
+    /**
+     * Test the slab file cannot be opened twice
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testLocked() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            try {
+                open().close();
+                fail("Opened a locked tile disk cache");
+            } catch (IOException e) {
+                // expected
+            }
+            assertTrue(cache.isOpen());
+        }
+
+        // lock released on close
+        open().close();
+
+    }
+
+    /**
+     * Test a closed cache misses and stores nothing
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testClosed() throws IOException {
+
+        TileDiskCache cache = open();
+        cache.put(key(1, 0), new Tile(256, 256, data(100, 1)));
+        cache.close();
+
+        assertFalse(cache.isOpen());
+        assertNull(cache.get(key(1, 0)));
+        assertFalse(cache.contains(key(1, 0)));
+        assertFalse(cache.put(key(2, 0), new Tile(256, 256, data(100, 2))));
+        assertFalse(cache.remove(key(1, 0)));
+        assertEquals(0, cache.getBytes());
+        cache.clear();
+        cache.flush();
+        cache.close();
+
+    }
+
+    /**
+     * Test clearing the cache
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testClear() throws IOException {
+
+        try (TileDiskCache cache = open()) {
+            cache.put(key(1, 0), new Tile(256, 256, data(100, 1)));
+            cache.clear();
+            assertEquals(0, cache.size());
+        }
+
+        try (TileDiskCache cache = open()) {
+            assertEquals(0, cache.size());
+        }
+
+    }
+
+    /**
+     * Open the test cache
+     *
+     * @return tile disk cache
+     * @throws IOException upon failure
+     */
+    private TileDiskCache open() throws IOException {
+        return TileDiskCache.open(file, MAX_BYTES, BLOCK_SIZE);
+    }
+
+    /**
+     * Create a tile key
+     *
+     * @param x         x coordinate
+     * @param styleHash style hash
+     * @return tile key
+     */
+    private static TileKey key(int x, int styleHash) {
+        return TileKey.create(x, 0, 10, 256, 256, styleHash, 0);
+    }
+
+    /**
+     * Create test data
+     *
+     * @param length data length
+     * @param seed   data seed
+     * @return data
+     */
+    private static byte[] data(int length, int seed) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31 + seed);
+        }
+        return data;
+    }
+
+}
@@ -0,0 +1,40 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * Tile encoder tests
+ */
+public class TileEncoderTest {
+
+    /**
+     * Test the format hash identifies the encoder name and settings
+     */
+    @Test
+    public void testFormatHash() {
+
+        TileEncoder encoder = new PngTileEncoder("FAST_PNG", 1);
+        assertEquals(encoder.getFormatHash(), new PngTileEncoder("FAST_PNG", 1).getFormatHash());
+        assertEquals(encoder.getFormatHash(), TileEncoder.fastPng().getFormatHash());
+        assertNotEquals(encoder.getFormatHash(), new PngTileEncoder("FAST_PNG", 6).getFormatHash());
+        assertNotEquals(encoder.getFormatHash(), new PngTileEncoder("PNG", 1).getFormatHash());
+
+    }
+
+    /**
+     * Test tile keys of different encoders are different keys
+     */
+    @Test
+    public void testTileKey() {
+
+        TileEncoder fast = new PngTileEncoder("FAST_PNG", 1);
+        TileEncoder best = new PngTileEncoder("BEST_PNG", 9);
+        assertNotEquals(TileKey.create(1, 2, 3, 256, 256, 42, fast.getFormatHash()),
+                TileKey.create(1, 2, 3, 256, 256, 42, best.getFormatHash()));
+
+    }
+
+}
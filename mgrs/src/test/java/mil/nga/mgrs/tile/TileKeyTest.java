@@ -0,0 +1,54 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+/**
+ * Tile key tests
+ */
+public class TileKeyTest {
+
+    /**
+     * Test equal keys
+     */
+    @Test
+    public void testEquals() {
+
+        TileKey key = TileKey.create(3, 5, 4, 512, 256, 42, 7);
+        TileKey same = TileKey.create(3, 5, 4, 512, 256, 42, 7);
+
+        assertEquals(key, same);
+        assertEquals(key.hashCode(), same.hashCode());
+
+        assertEquals(3, key.getX());
+        assertEquals(5, key.getY());
+        assertEquals(4, key.getZoom());
+        assertEquals(512, key.getWidth());
+        assertEquals(256, key.getHeight());
+        assertEquals(42, key.getStyleHash());
+        assertEquals(7, key.getFormatHash());
+
+    }
+
+    /**
+     * Test keys differing by each field
+     */
+    @Test
+    public void testNotEquals() {
+
+        TileKey key = TileKey.create(3, 5, 4, 512, 256, 42, 7);
+
+        assertNotEquals(key, TileKey.create(4, 5, 4, 512, 256, 42, 7));
+        assertNotEquals(key, TileKey.create(3, 6, 4, 512, 256, 42, 7));
+        assertNotEquals(key, TileKey.create(3, 5, 5, 512, 256, 42, 7));
+        assertNotEquals(key, TileKey.create(3, 5, 4, 256, 256, 42, 7));
+        assertNotEquals(key, TileKey.create(3, 5, 4, 512, 512, 42, 7));
+        assertNotEquals(key, TileKey.create(3, 5, 4, 512, 256, 43, 7));
+        assertNotEquals(key, TileKey.create(3, 5, 4, 512, 256, 42, 8));
+        assertNotEquals(key, null);
+
+    }
+
+}
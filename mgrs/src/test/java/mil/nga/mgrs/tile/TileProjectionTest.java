@@ -0,0 +1,102 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import mil.nga.grid.features.Bounds;
+import mil.nga.grid.features.Point;
+import mil.nga.grid.tile.GridTile;
+import mil.nga.grid.tile.Pixel;
+import mil.nga.mgrs.features.GridLine;
+
+/**
+ * Tile projection tests
+ */
+public class TileProjectionTest {
+
+    /**
+     * Test projected pixels match the grid tile pixels of points within and
+     * around tiles across zoom levels
+     */
+    @Test
+    public void testPixels() {
+
+        Random random = new Random(8);
+        TileProjection projection = new TileProjection();
+        float[] pixels = new float[6];
+
+        for (int zoom = 0; zoom <= 20; zoom++) {
+            int tiles = 1 << zoom;
+            for (int i = 0; i < 50; i++) {
+                int x = random.nextInt(tiles);
+                int y = random.nextInt(tiles);
+                int width = random.nextBoolean() ? 256 : 512;
+                GridTile tile = GridTile.tile(width, width, x, y, zoom);
+                projection.setTile(tile);
+                assertEquals(width, projection.getWidth());
+                assertEquals(width, projection.getHeight());
+
+                Bounds bounds = tile.getBoundsDegrees();
+                double west = bounds.getMinLongitude();
+                double south = bounds.getMinLatitude();
+                double lonSpan = bounds.getMaxLongitude() - west;
+                double latSpan = bounds.getMaxLatitude() - south;
+                for (int j = 0; j < 20; j++) {
+                    Point point1 = Point.degrees(west + lonSpan * (random.nextDouble() * 3 - 1),
+                            south + latSpan * (random.nextDouble() * 3 - 1));
+                    Point point2 = Point.degrees(west + lonSpan * (random.nextDouble() * 3 - 1),
+                            south + latSpan * (random.nextDouble() * 3 - 1));
+                    Point meters = point1.toMeters();
+                    assertPixel(point1.getPixel(tile), projection, point1);
+                    assertPixel(meters.getPixel(tile), projection, meters);
+
+                    projection.project(GridLine.line(point1, point2), pixels, 2);
+                    Pixel pixel = point1.getPixel(tile);
+                    assertEquals(pixel.getX(), pixels[2], 0.0f);
+                    assertEquals(pixel.getY(), pixels[3], 0.0f);
+                    pixel = point2.getPixel(tile);
+                    assertEquals(pixel.getX(), pixels[4], 0.0f);
+                    assertEquals(pixel.getY(), pixels[5], 0.0f);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Test degree to meter conversions match the grid points, including the
+     * antimeridian and poles
+     */
+    @Test
+    public void testToMeters() {
+
+        double[] longitudes = {-190.0, -180.0, -179.999, -90.5, 0.0, 45.25, 179.999, 180.0, 190.0};
+        double[] latitudes = {-90.0, -89.99, -85.05112877980659, -80.0, 0.0, 56.0, 84.0,
+                85.05112877980659, 89.99, 90.0};
+
+        for (double longitude : longitudes) {
+            for (double latitude : latitudes) {
+                Point meters = Point.degrees(longitude, latitude).toMeters();
+                assertEquals(meters.getLongitude(), TileProjection.toMetersLongitude(longitude), 0.0);
+                assertEquals(meters.getLatitude(), TileProjection.toMetersLatitude(latitude), 0.0);
+            }
+        }
+
+    }
+
+    /**
+     * Assert the projected pixel of the point
+     *
+     * @param expected   expected pixel
+     * @param projection tile projection
+     * @param point      point
+     */
+    private static void assertPixel(Pixel expected, TileProjection projection, Point point) {
+        assertEquals(expected.getX(), projection.getXPixel(point), 0.0f);
+        assertEquals(expected.getY(), projection.getYPixel(point), 0.0f);
+    }
+
+}
@@ -0,0 +1,179 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tile scheduler tests
+ */
+public class TileSchedulerTest {
+
+    /**
+     * Viewport zoom level
+     */
+    private static final int ZOOM = 10;
+
+    /**
+     * Viewport tile range
+     */
+    private static final TileRange VIEWPORT = new TileRange(ZOOM, 500, 510, 300, 310);
+
+    /**
+     * Test renders with a free slot run without a viewport check
+     */
+    @Test
+    public void testFreeSlot() {
+
+        TileScheduler scheduler = TileScheduler.create(1);
+        scheduler.setViewport(VIEWPORT);
+
+        assertTrue(scheduler.acquire(0, 0, 3));
+        scheduler.release();
+        assertTrue(scheduler.acquire(900, 900, ZOOM));
+        scheduler.release();
+
+        assertEquals(2, scheduler.getScheduledCount());
+        assertEquals(0, scheduler.getDroppedCount());
+        assertFalse(scheduler.clearDropped());
+    }
+
+    /**
+     * Test waiting renders run in viewport priority order and are dropped
+     * when dequeued while outside the viewport
+     *
+     * @throws InterruptedException upon interruption
+     */
+    @Test
+    public void testDropWhenDequeued() throws InterruptedException {
+
+        TileScheduler scheduler = TileScheduler.create(1);
+        scheduler.setViewport(VIEWPORT);
+        assertTrue(scheduler.acquire(505, 305, ZOOM));
+
+        AtomicInteger outside = new AtomicInteger();
+        AtomicInteger farZoom = new AtomicInteger();
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger coarser = new AtomicInteger();
+        Thread[] threads = {
+                request(scheduler, 600, 305, ZOOM, outside),
+                request(scheduler, 1010, 610, ZOOM + 1, inside),
+                request(scheduler, 20, 20, ZOOM - 5, farZoom),
+                request(scheduler, 250, 150, ZOOM - 1, coarser)};
+        awaitWaiting(scheduler, threads.length);
+
+        scheduler.release();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, inside.get());
+        assertEquals(1, coarser.get());
+        assertEquals(-1, outside.get());
+        assertEquals(-1, farZoom.get());
+        assertEquals(3, scheduler.getScheduledCount());
+        assertEquals(2, scheduler.getDroppedCount());
+        assertEquals(0, scheduler.getRenders());
+        assertTrue(scheduler.clearDropped());
+        assertFalse(scheduler.clearDropped());
+    }
+
+    /**
+     * Test waiting renders are kept when the viewport moves to their tile
+     * before a slot frees up
+     *
+     * @throws InterruptedException upon interruption
+     */
+    @Test
+    public void testViewportMove() throws InterruptedException {
+
+        TileScheduler scheduler = TileScheduler.create(1);
+        scheduler.setViewport(VIEWPORT);
+        assertTrue(scheduler.acquire(505, 305, ZOOM));
+
+        AtomicInteger result = new AtomicInteger();
+        Thread thread = request(scheduler, 600, 305, ZOOM, result);
+        awaitWaiting(scheduler, 1);
+
+        scheduler.setViewport(new TileRange(ZOOM, 595, 605, 300, 310));
+        assertEquals(1, scheduler.getWaiting());
+        scheduler.release();
+        thread.join();
+
+        assertEquals(1, result.get());
+        assertEquals(0, scheduler.getDroppedCount());
+        assertFalse(scheduler.clearDropped());
+    }
+
+    /**
+     * Test waiting renders are never dropped without a viewport
+     *
+     * @throws InterruptedException upon interruption
+     */
+    @Test
+    public void testNoViewport() throws InterruptedException {
+
+        TileScheduler scheduler = TileScheduler.create(1);
+        assertTrue(scheduler.acquire(0, 0, 0));
+
+        AtomicInteger result = new AtomicInteger();
+        Thread thread = request(scheduler, 900, 900, 15, result);
+        awaitWaiting(scheduler, 1);
+
+        scheduler.setViewport(VIEWPORT);
+        scheduler.clearViewport();
+        scheduler.release();
+        thread.join();
+
+        assertEquals(1, result.get());
+        assertEquals(0, scheduler.getDroppedCount());
+    }
+
+    /**
+     * Start a render request thread, releasing the slot when granted
+     *
+     * @param scheduler tile scheduler
+     * @param x         x coordinate
+     * @param y         y coordinate
+     * @param zoom      zoom level
+     * @param result    set to 1 when granted, -1 when dropped
+     * @return thread
+     */
+    private static Thread request(final TileScheduler scheduler, final int x, final int y, final int zoom,
+                                  final AtomicInteger result) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                if (scheduler.acquire(x, y, zoom)) {
+                    result.set(1);
+                    scheduler.release();
+                } else {
+                    result.set(-1);
+                }
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Wait until the number of renders are waiting
+     *
+     * @param scheduler tile scheduler
+     * @param count     waiting count
+     * @throws InterruptedException upon interruption
+     */
+    private static void awaitWaiting(TileScheduler scheduler, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (scheduler.getWaiting() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, scheduler.getWaiting());
+    }
+
+}
@@ -0,0 +1,57 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Tile seed estimate tests
+ */
+public class TileSeedEstimateTest {
+
+    /**
+     * Test the estimated sizes
+     */
+    @Test
+    public void testBytes() {
+
+        TileSeedEstimate estimate = new TileSeedEstimate(10, 1500, 1024);
+        assertEquals(10, estimate.getTiles());
+        assertEquals(15000, estimate.getBytes());
+        assertEquals(10 * 2 * 1024, estimate.getDiskBytes());
+
+        estimate = new TileSeedEstimate(10, 0, 1024);
+        assertEquals(0, estimate.getBytes());
+        assertEquals(10 * 1024, estimate.getDiskBytes());
+
+    }
+
+    /**
+     * Test the estimate fits within the disk cache size and tile capacity
+     *
+     * @throws IOException upon failure
+     */
+    @Test
+    public void testFits() throws IOException {
+
+        File file = File.createTempFile("mgrs_tiles", ".slab");
+        try (TileDiskCache cache = TileDiskCache.open(file, 16 * 1024, 1024)) {
+            assertTrue(new TileSeedEstimate(8, 1500, 1024).fits(cache));
+            assertFalse(new TileSeedEstimate(9, 1500, 1024).fits(cache));
+
+            // fits the size in smaller blocks but not the tile capacity
+            assertEquals(16, cache.getMaxTiles());
+            assertTrue(new TileSeedEstimate(16, 100, 512).fits(cache));
+            assertFalse(new TileSeedEstimate(17, 100, 512).fits(cache));
+        } finally {
+            file.delete();
+        }
+
+    }
+
+}
@@ -0,0 +1,440 @@
+package mil.nga.mgrs.tile;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import mil.nga.mgrs.grid.GridType;
+
+/**
+ * Vector tile encoder tests, decoding the protobuf output
+ */
+public class VectorTileEncoderTest {
+
+    /**
+     * Test connected line segments are joined into line strings per grid type
+     */
+    @Test
+    public void testLines() {
+
+        VectorTileEncoder encoder = new VectorTileEncoder(512);
+        encoder.addLine(GridType.KILOMETER, 0, 0, 10, 0);
+        encoder.addLine(GridType.KILOMETER, 10, 0, 10, 10);
+        encoder.addLine(GridType.KILOMETER, -5, 20, 30, 600);
+        encoder.addLine(GridType.HUNDRED_KILOMETER, 100, 100, 100, 0);
+        assertFalse(encoder.isEmpty());
+
+        List<Layer> layers = decodeTile(encoder.encode());
+        assertEquals(1, layers.size());
+        Layer layer = layers.get(0);
+        assertEquals(VectorTileEncoder.LINES_LAYER, layer.name);
+        assertEquals(2, layer.version);
+        assertEquals(512, layer.extent);
+        assertEquals(Arrays.asList(VectorTileEncoder.TYPE_KEY), layer.keys);
+        assertEquals(2, layer.features.size());
+
+        Feature hundredKilometer = layer.features.get(0);
+        assertEquals(2, hundredKilometer.type);
+        assertEquals(GridType.HUNDRED_KILOMETER.name(), layer.getValue(hundredKilometer, VectorTileEncoder.TYPE_KEY));
+        assertEquals(1, hundredKilometer.geometry.size());
+        assertArrayEquals(new int[]{100, 100, 100, 0}, hundredKilometer.geometry.get(0));
+
+        Feature kilometer = layer.features.get(1);
+        assertEquals(2, kilometer.type);
+        assertEquals(GridType.KILOMETER.name(), layer.getValue(kilometer, VectorTileEncoder.TYPE_KEY));
+        assertEquals(2, kilometer.geometry.size());
+        assertArrayEquals(new int[]{0, 0, 10, 0, 10, 10}, kilometer.geometry.get(0));
+        assertArrayEquals(new int[]{-5, 20, 30, 600}, kilometer.geometry.get(1));
+    }
+
+    /**
+     * Test labels are encoded as points with type and name properties, beyond
+     * the initial label capacity
+     */
+    @Test
+    public void testLabels() {
+
+        VectorTileEncoder encoder = new VectorTileEncoder();
+        int count = 40;
+        for (int i = 0; i < count; i++) {
+            GridType type = i % 2 == 0 ? GridType.GZD : GridType.HUNDRED_KILOMETER;
+            encoder.addLabel(type, "L" + (i % 5), i * 100, -i);
+        }
+
+        List<Layer> layers = decodeTile(encoder.encode());
+        assertEquals(1, layers.size());
+        Layer layer = layers.get(0);
+        assertEquals(VectorTileEncoder.LABELS_LAYER, layer.name);
+        assertEquals(VectorTileEncoder.DEFAULT_EXTENT, layer.extent);
+        assertEquals(Arrays.asList(VectorTileEncoder.TYPE_KEY, VectorTileEncoder.NAME_KEY), layer.keys);
+        assertEquals(2 + 5, layer.values.size());
+        assertEquals(count, layer.features.size());
+        for (int i = 0; i < count; i++) {
+            Feature feature = layer.features.get(i);
+            assertEquals(1, feature.type);
+            GridType type = i % 2 == 0 ? GridType.GZD : GridType.HUNDRED_KILOMETER;
+            assertEquals(type.name(), layer.getValue(feature, VectorTileEncoder.TYPE_KEY));
+            assertEquals("L" + (i % 5), layer.getValue(feature, VectorTileEncoder.NAME_KEY));
+            assertEquals(1, feature.geometry.size());
+            assertArrayEquals(new int[]{i * 100, -i}, feature.geometry.get(0));
+        }
+    }
+
+    /**
+     * Test the lines and labels layers together, many segments, and reset
+     */
+    @Test
+    public void testTileAndReset() {
+
+        VectorTileEncoder encoder = new VectorTileEncoder();
+        assertTrue(encoder.isEmpty());
+        assertEquals(0, encoder.encode().length);
+
+        int segments = 100;
+        for (int i = 0; i < segments; i++) {
+            encoder.addLine(GridType.TEN_KILOMETER, i, i, i + 1, i + 1);
+        }
+        encoder.addLine(GridType.TEN_KILOMETER, 4096, 0, 0, 4096);
+        encoder.addLabel(GridType.TEN_KILOMETER, "12345", 2048, 2048);
+
+        List<Layer> layers = decodeTile(encoder.encode());
+        assertEquals(2, layers.size());
+        assertEquals(VectorTileEncoder.LINES_LAYER, layers.get(0).name);
+        assertEquals(VectorTileEncoder.LABELS_LAYER, layers.get(1).name);
+        List<int[]> lines = layers.get(0).features.get(0).geometry;
+        assertEquals(2, lines.size());
+        assertEquals((segments + 1) * 2, lines.get(0).length);
+        assertEquals(segments, lines.get(0)[segments * 2]);
+        assertArrayEquals(new int[]{4096, 0, 0, 4096}, lines.get(1));
+
+        encoder.reset();
+        assertTrue(encoder.isEmpty());
+        assertEquals(0, encoder.encode().length);
+
+        encoder.addLabel(GridType.GZD, "31U", 1, 2);
+        layers = decodeTile(encoder.encode());
+        assertEquals(1, layers.size());
+        assertEquals(2, layers.get(0).values.size());
+    }
+
+    /**
+     * Test the extent must be positive
+     */
+    @Test
+    public void testExtent() {
+        assertEquals(VectorTileEncoder.DEFAULT_EXTENT, new VectorTileEncoder().getExtent());
+        assertEquals(256, new VectorTileEncoder(256).getExtent());
+        try {
+            new VectorTileEncoder(0);
+            fail("Expected an invalid extent");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Decode the vector tile layers
+     *
+     * @param bytes tile bytes
+     * @return layers
+     */
+    private static List<Layer> decodeTile(byte[] bytes) {
+        List<Layer> layers = new ArrayList<>();
+        Reader reader = new Reader(bytes);
+        while (reader.hasNext()) {
+            int tag = reader.readVarint();
+            assertEquals(3 << 3 | 2, tag);
+            layers.add(decodeLayer(reader.readBytes()));
+        }
+        return layers;
+    }
+
+    /**
+     * Decode a layer
+     *
+     * @param bytes layer bytes
+     * @return layer
+     */
+    private static Layer decodeLayer(byte[] bytes) {
+        Layer layer = new Layer();
+        Reader reader = new Reader(bytes);
+        while (reader.hasNext()) {
+            int tag = reader.readVarint();
+            switch (tag >>> 3) {
+                case 15:
+                    layer.version = reader.readVarint();
+                    break;
+                case 1:
+                    layer.name = reader.readString();
+                    break;
+                case 2:
+                    layer.features.add(decodeFeature(reader.readBytes()));
+                    break;
+                case 3:
+                    layer.keys.add(reader.readString());
+                    break;
+                case 4:
+                    Reader value = new Reader(reader.readBytes());
+                    assertEquals(1 << 3 | 2, value.readVarint());
+                    layer.values.add(value.readString());
+                    assertFalse(value.hasNext());
+                    break;
+                case 5:
+                    layer.extent = reader.readVarint();
+                    break;
+                default:
+                    fail("Unexpected layer field: " + (tag >>> 3));
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Decode a feature
+     *
+     * @param bytes feature bytes
+     * @return feature
+     */
+    private static Feature decodeFeature(byte[] bytes) {
+        Feature feature = new Feature();
+        Reader reader = new Reader(bytes);
+        while (reader.hasNext()) {
+            int tag = reader.readVarint();
+            switch (tag >>> 3) {
+                case 2:
+                    Reader tags = new Reader(reader.readBytes());
+                    while (tags.hasNext()) {
+                        feature.tags.add(tags.readVarint());
+                    }
+                    break;
+                case 3:
+                    feature.type = reader.readVarint();
+                    break;
+                case 4:
+                    decodeGeometry(new Reader(reader.readBytes()), feature.geometry);
+                    break;
+                default:
+                    fail("Unexpected feature field: " + (tag >>> 3));
+            }
+        }
+        return feature;
+    }
+
+    /**
+     * Decode the geometry commands into absolute coordinate parts, one per
+     * move to command
+     *
+     * @param reader   geometry reader
+     * @param geometry geometry parts
+     */
+    private static void decodeGeometry(Reader reader, List<int[]> geometry) {
+        int x = 0;
+        int y = 0;
+        List<Integer> part = null;
+        while (reader.hasNext()) {
+            int command = reader.readVarint();
+            int id = command & 0x7;
+            int count = command >>> 3;
+            assertTrue(id == 1 || id == 2);
+            if (id == 1) {
+                assertEquals(1, count);
+                if (part != null) {
+                    geometry.add(toArray(part));
+                }
+                part = new ArrayList<>();
+            }
+            for (int i = 0; i < count; i++) {
+                x += unZigZag(reader.readVarint());
+                y += unZigZag(reader.readVarint());
+                part.add(x);
+                part.add(y);
+            }
+        }
+        if (part != null) {
+            geometry.add(toArray(part));
+        }
+    }
+
+    /**
+     * Convert the coordinates to an array
+     *
+     * @param values coordinates
+     * @return array
+     */
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Zig zag decode a geometry parameter
+     *
+     * @param value encoded parameter
+     * @return parameter
+     */
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decoded layer
+     */
+    private static class Layer {
+
+        /**
+         * Version
+         */
+        private int version;
+
+        /**
+         * Name
+         */
+        private String name;
+
+        /**
+         * Extent
+         */
+        private int extent;
+
+        /**
+         * Keys
+         */
+        private final List<String> keys = new ArrayList<>();
+
+        /**
+         * String values
+         */
+        private final List<String> values = new ArrayList<>();
+
+        /**
+         * Features
+         */
+        private final List<Feature> features = new ArrayList<>();
+
+        /**
+         * Get the feature property value
+         *
+         * @param feature feature
+         * @param key     property key
+         * @return value or null
+         */
+        private String getValue(Feature feature, String key) {
+            String value = null;
+            for (int i = 0; i < feature.tags.size(); i += 2) {
+                if (keys.get(feature.tags.get(i)).equals(key)) {
+                    value = values.get(feature.tags.get(i + 1));
+                }
+            }
+            return value;
+        }
+
+    }
+
+    /**
+     * Decoded feature
+     */
+    private static class Feature {
+
+        /**
+         * Geometry type
+         */
+        private int type;
+
+        /**
+         * Key and value index tags
+         */
+        private final List<Integer> tags = new ArrayList<>();
+
+        /**
+         * Geometry parts as absolute x, y coordinates
+         */
+        private final List<int[]> geometry = new ArrayList<>();
+
+    }
+
+    /**
+     * Protobuf reader
+     */
+    private static class Reader {
+
+        /**
+         * Bytes
+         */
+        private final byte[] bytes;
+
+        /**
+         * Read position
+         */
+        private int position = 0;
+
+        /**
+         * Constructor
+         *
+         * @param bytes bytes
+         */
+        private Reader(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        /**
+         * Check if bytes remain
+         *
+         * @return true if more bytes
+         */
+        private boolean hasNext() {
+            return position < bytes.length;
+        }
+
+        /**
+         * Read a varint
+         *
+         * @return value
+         */
+        private int readVarint() {
+            int value = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = bytes[position++] & 0xFF;
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        /**
+         * Read length delimited bytes
+         *
+         * @return bytes
+         */
+        private byte[] readBytes() {
+            int length = readVarint();
+            byte[] value = Arrays.copyOfRange(bytes, position, position + length);
+            position += length;
+            return value;
+        }
+
+        /**
+         * Read a length delimited string
+         *
+         * @return string
+         */
+        private String readString() {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+    }
+
+}